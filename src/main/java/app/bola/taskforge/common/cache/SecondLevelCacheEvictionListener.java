@@ -0,0 +1,53 @@
+package app.bola.taskforge.common.cache;
+
+import app.bola.taskforge.common.entity.BaseEntity;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tells the other instances to drop their second-level cache copy of an entity once a change to it has been committed.
+ * This instance's own cache is kept current by Hibernate.
+ */
+@Component
+public class SecondLevelCacheEvictionListener {
+
+	private final ObjectProvider<SecondLevelCacheInvalidation> invalidation;
+
+	public SecondLevelCacheEvictionListener(ObjectProvider<SecondLevelCacheInvalidation> invalidation) {
+		this.invalidation = invalidation;
+	}
+
+	@PostPersist
+	public void onInserted(BaseEntity entity) {
+		afterCommit(() -> invalidation.ifAvailable(target -> target.publishInserted(Hibernate.getClass(entity), entity.getId())));
+	}
+
+	@PostUpdate
+	public void onUpdated(BaseEntity entity) {
+		afterCommit(() -> invalidation.ifAvailable(target -> target.publish(Hibernate.getClass(entity), entity.getId(), false)));
+	}
+
+	@PostRemove
+	public void onRemoved(BaseEntity entity) {
+		afterCommit(() -> invalidation.ifAvailable(target -> target.publish(Hibernate.getClass(entity), entity.getId(), true)));
+	}
+
+	private void afterCommit(Runnable publication) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					publication.run();
+				}
+			});
+		} else {
+			publication.run();
+		}
+	}
+}
@@ -0,0 +1,102 @@
+package app.bola.taskforge.common.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Keeps the second-level caches of all instances in line with each other through Redis pub/sub.
+ * <p>
+ * Each instance caches entities in its own memory. When one of them commits a change to a cached entity it publishes
+ * {@code <node> <entity name> <id> <inserted|updated|removed>} on {@code app.cache.invalidation.channel}, and every
+ * other instance evicts that entity, its cached collections and the cached query results. A new entity is in no
+ * instance's cache yet, but may belong in query results cached before it existed, such as an empty lookup by the
+ * email it registers with, so an insert only evicts the query results. Natural-id mappings never change
+ * since {@code publicId} is immutable, so they are only evicted when the entity is removed. A message that is lost
+ * while Redis is unavailable leaves the entry in place until its region's TTL expires.
+ */
+@Slf4j
+@Component
+public class SecondLevelCacheInvalidation implements MessageListener {
+
+	private static final String SEPARATOR = " ";
+	private static final String REMOVED = "removed";
+	private static final String UPDATED = "updated";
+	private static final String INSERTED = "inserted";
+
+	private final String nodeId = UUID.randomUUID().toString();
+	private final EntityManagerFactory entityManagerFactory;
+	private final StringRedisTemplate redisTemplate;
+	private final String channel;
+
+	public SecondLevelCacheInvalidation(EntityManagerFactory entityManagerFactory, StringRedisTemplate redisTemplate,
+	                                    @Value("${app.cache.invalidation.channel:taskforge:cache-invalidation}") String channel) {
+		this.entityManagerFactory = entityManagerFactory;
+		this.redisTemplate = redisTemplate;
+		this.channel = channel;
+	}
+
+	public String getChannel() {
+		return channel;
+	}
+
+	public void publish(Class<?> entityType, String id, boolean removed) {
+		publish(entityType, id, removed ? REMOVED : UPDATED);
+	}
+
+	public void publishInserted(Class<?> entityType, String id) {
+		publish(entityType, id, INSERTED);
+	}
+
+	private void publish(Class<?> entityType, String id, String change) {
+		String message = String.join(SEPARATOR, nodeId, entityType.getName(), id, change);
+		try {
+			redisTemplate.convertAndSend(channel, message);
+		} catch (RuntimeException exception) {
+			log.warn("Could not publish cache invalidation for {} {}", entityType.getSimpleName(), id, exception);
+		}
+	}
+
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR);
+		if (parts.length != 4 || nodeId.equals(parts[0])) {
+			return;
+		}
+		try {
+			if (INSERTED.equals(parts[3])) {
+				entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache().evictQueryRegions();
+			} else {
+				evict(parts[1], parts[2], REMOVED.equals(parts[3]));
+			}
+		} catch (RuntimeException exception) {
+			log.warn("Could not apply cache invalidation for {} {}", parts[1], parts[2], exception);
+		}
+	}
+
+	void evict(String entityName, String id, boolean removed) {
+		SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+		Cache cache = sessionFactory.getCache();
+		cache.evictEntityData(entityName, id);
+		sessionFactory.getMappingMetamodel().forEachCollectionDescriptor(collection -> {
+			if (collection.hasCache() && entityName.equals(collection.getOwnerEntityPersister().getEntityName())) {
+				cache.evictCollectionData(collection.getRole(), id);
+			}
+		});
+		if (removed) {
+			cache.evictNaturalIdData(entityName);
+		}
+		// Cached results may list the entity by its old values, e.g. a member looked up by a changed email.
+		cache.evictQueryRegions();
+		log.debug("Evicted {} {} after a change on another instance", entityName, id);
+	}
+}
@@ -1,11 +1,10 @@
 package app.bola.taskforge.common.controller;
 
+import app.bola.taskforge.common.pagination.CursorPage;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Collection;
-
 public interface BaseController<REQ, RES> {
 	
 	@PostMapping("create-new")
@@ -19,7 +18,8 @@ public interface BaseController<REQ, RES> {
 	}
 	
 	@GetMapping("all")
-	default ResponseEntity<Collection<RES>> getAll() {
+	default ResponseEntity<CursorPage<RES>> getAll(@RequestParam(required = false) String cursor,
+	                                               @RequestParam(defaultValue = "20") int size) {
 		throw new UnsupportedOperationException("This method is not implemented");
 	}
 	
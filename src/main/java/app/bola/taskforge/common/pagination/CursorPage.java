@@ -0,0 +1,16 @@
+package app.bola.taskforge.common.pagination;
+
+import java.util.List;
+
+/**
+ * A page of a keyset-paginated listing.
+ *
+ * @param items      the items on this page
+ * @param nextCursor the opaque cursor to pass back for the next page, or {@code null} on the last page
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+	
+	public boolean hasNext() {
+		return nextCursor != null;
+	}
+}
@@ -0,0 +1,31 @@
+package app.bola.taskforge.common.pagination;
+
+import app.bola.taskforge.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * The position after the last row of a page ordered by {@code (createdAt, id)}, handed to clients as an opaque
+ * URL-safe string.
+ */
+public record KeysetCursor(LocalDateTime createdAt, String id) {
+	
+	private static final char SEPARATOR = '|';
+	
+	public String encode() {
+		String raw = createdAt.toString() + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	public static KeysetCursor decode(String cursor) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = raw.indexOf(SEPARATOR);
+			return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+		} catch (RuntimeException exception) {
+			throw new InvalidRequestException("Invalid page cursor");
+		}
+	}
+}
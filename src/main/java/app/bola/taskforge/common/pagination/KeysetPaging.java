@@ -0,0 +1,49 @@
+package app.bola.taskforge.common.pagination;
+
+import app.bola.taskforge.common.entity.BaseEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Turns keyset queries ordered by {@code (createdAt, id)} into {@link CursorPage}s, with page sizes capped at
+ * {@code app.pagination.max-page-size}.
+ */
+@Component
+public class KeysetPaging {
+
+	private final int maxPageSize;
+
+	public KeysetPaging(@Value("${app.pagination.max-page-size:100}") int maxPageSize) {
+		this.maxPageSize = maxPageSize;
+	}
+
+	/**
+	 * @param size  the page size the client asked for, clamped to {@code 1..max-page-size}
+	 * @param query runs the keyset query with the given limit
+	 */
+	public <E extends BaseEntity, R> CursorPage<R> page(int size, Function<Limit, List<E>> query, Function<? super E, R> mapper) {
+		return page(size, query, row -> new KeysetCursor(row.getCreatedAt(), row.getId()),
+			rows -> rows.stream().<R>map(mapper).toList());
+	}
+	
+	/**
+	 * Pages through rows that are not entities, such as projections, mapping the whole page at once so that whatever
+	 * the rows refer to can be read for all of them together.
+	 *
+	 * @param position the {@code (createdAt, id)} of a row
+	 */
+	public <E, R> CursorPage<R> page(int size, Function<Limit, List<E>> query, Function<? super E, KeysetCursor> position,
+	                                 Function<List<E>, List<R>> mapper) {
+		int pageSize = Math.clamp(size, 1, maxPageSize);
+		// One row past the page tells whether there is a next page without a count query.
+		List<E> rows = query.apply(Limit.of(pageSize + 1));
+
+		List<E> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+		String nextCursor = rows.size() > pageSize ? position.apply(page.getLast()).encode() : null;
+		return new CursorPage<>(mapper.apply(page), nextCursor);
+	}
+}
@@ -1,11 +1,14 @@
 package app.bola.taskforge.common.service;
 
 import app.bola.taskforge.common.entity.BaseEntity;
+import app.bola.taskforge.common.pagination.CursorPage;
 import app.bola.taskforge.exception.InvalidRequestException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.Collection;
 import java.util.Set;
@@ -23,6 +26,13 @@ public interface BaseService<REQ, ENT extends BaseEntity, RES> {
 	
 	Collection<RES> findAll();
 	
+	/**
+	 * Lists the tenant's entities a page at a time, newest first.
+	 *
+	 * @param cursor the {@link CursorPage#nextCursor()} of the previous page, or {@code null} for the first page
+	 */
+	CursorPage<RES> findPage(String cursor, int size);
+	
 	void delete(String publicId);
 	
 	default RES toResponse(ENT entity) {
@@ -35,6 +45,14 @@ public interface BaseService<REQ, ENT extends BaseEntity, RES> {
 	}
 	
 	
+	/**
+	 * @return the name of the authenticated user making the change, or {@code SYSTEM} when there is none
+	 */
+	default String currentActor() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		return authentication == null ? "SYSTEM" : authentication.getName();
+	}
+	
 	default  <T> void performValidation(Validator validator, T request){
 		if (request == null) {
 			throw new NullPointerException("Request cannot be null");
@@ -0,0 +1,112 @@
+package app.bola.taskforge.common.utilities;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * Collects items submitted from any thread and hands them to a batch handler in groups.
+ * <p>
+ * A batch is dispatched as soon as it holds {@code maxBatchSize} items, or {@code window} after its first item
+ * arrived, whichever comes first. The handler runs on {@code dispatchExecutor} and must return one result per item,
+ * in the order it received them. Each result completes the future returned by {@link #submit} for that item.
+ */
+@Slf4j
+public class MicroBatcher<T, R> {
+
+	private final String name;
+	private final int maxBatchSize;
+	private final Duration window;
+	private final ScheduledExecutorService scheduler;
+	private final Executor dispatchExecutor;
+	private final Function<List<T>, List<R>> batchHandler;
+
+	private final Object lock = new Object();
+	private List<PendingItem<T, R>> pending = new ArrayList<>();
+	private ScheduledFuture<?> scheduledFlush;
+
+	public MicroBatcher(String name, int maxBatchSize, Duration window, ScheduledExecutorService scheduler,
+	                    Executor dispatchExecutor, Function<List<T>, List<R>> batchHandler) {
+		if (maxBatchSize < 1) {
+			throw new IllegalArgumentException("maxBatchSize must be at least 1");
+		}
+		this.name = name;
+		this.maxBatchSize = maxBatchSize;
+		this.window = window;
+		this.scheduler = scheduler;
+		this.dispatchExecutor = dispatchExecutor;
+		this.batchHandler = batchHandler;
+	}
+
+	public CompletableFuture<R> submit(T item) {
+		CompletableFuture<R> result = new CompletableFuture<>();
+		List<PendingItem<T, R>> ready = null;
+		synchronized (lock) {
+			pending.add(new PendingItem<>(item, result));
+			if (pending.size() >= maxBatchSize) {
+				ready = drain();
+			} else if (scheduledFlush == null) {
+				scheduledFlush = scheduler.schedule(this::flush, window.toMillis(), TimeUnit.MILLISECONDS);
+			}
+		}
+		if (ready != null) {
+			dispatch(ready);
+		}
+		return result;
+	}
+
+	/**
+	 * Dispatches whatever is pending without waiting for the window to elapse.
+	 */
+	public void flush() {
+		List<PendingItem<T, R>> ready;
+		synchronized (lock) {
+			ready = pending.isEmpty() ? null : drain();
+		}
+		if (ready != null) {
+			dispatch(ready);
+		}
+	}
+
+	private List<PendingItem<T, R>> drain() {
+		if (scheduledFlush != null) {
+			scheduledFlush.cancel(false);
+			scheduledFlush = null;
+		}
+		List<PendingItem<T, R>> batch = pending;
+		pending = new ArrayList<>();
+		return batch;
+	}
+
+	private void dispatch(List<PendingItem<T, R>> batch) {
+		try {
+			dispatchExecutor.execute(() -> handle(batch));
+		} catch (RejectedExecutionException exception) {
+			log.warn("{} batch of {} item(s) was rejected", name, batch.size());
+			batch.forEach(item -> item.result().completeExceptionally(exception));
+		}
+	}
+
+	private void handle(List<PendingItem<T, R>> batch) {
+		try {
+			List<R> results = batchHandler.apply(batch.stream().map(PendingItem::item).toList());
+			if (results.size() != batch.size()) {
+				throw new IllegalStateException("%s handler returned %d result(s) for %d item(s)"
+					.formatted(name, results.size(), batch.size()));
+			}
+			for (int index = 0; index < batch.size(); index++) {
+				batch.get(index).result().complete(results.get(index));
+			}
+		} catch (Exception exception) {
+			log.error("{} batch of {} item(s) failed", name, batch.size(), exception);
+			batch.forEach(item -> item.result().completeExceptionally(exception));
+		}
+	}
+
+	private record PendingItem<T, R>(T item, CompletableFuture<R> result) {
+	}
+}
@@ -0,0 +1,94 @@
+package app.bola.taskforge.config;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The HTTP client shared by every outbound integration: the mail provider and the OAuth providers.
+ * <p>
+ * Requests run on reactor-netty's event loops over a pool of keep-alive connections. Each destination
+ * ({@code host:port}) gets its own pool of at most {@code app.http.client.destination.default.max-connections}
+ * connections, overridable per destination listed in {@code app.http.client.destinations}, e.g.
+ * {@code app.http.client.destination.api.brevo.com.max-connections=20}. A caller waits at most
+ * {@code app.http.client.pending-acquire-timeout} for a connection and {@code app.http.client.read-timeout} for an
+ * answer, so a remote that stops responding fails its own requests instead of holding threads indefinitely.
+ * Pool and request metrics are published under {@code reactor.netty.*}.
+ */
+@Slf4j
+@Configuration
+public class HttpClientConfig {
+
+	private static final String DESTINATION_PREFIX = "app.http.client.destination.";
+
+	@Bean(destroyMethod = "dispose")
+	public ConnectionProvider outboundConnectionProvider(Environment environment,
+	                                                     @Value("${app.http.client.destinations:}") List<String> destinations,
+	                                                     @Value("${app.http.client.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+	                                                     @Value("#{T(java.time.Duration).parse('${app.http.client.pending-acquire-timeout:PT5S}')}") Duration pendingAcquireTimeout,
+	                                                     @Value("#{T(java.time.Duration).parse('${app.http.client.max-idle-time:PT30S}')}") Duration maxIdleTime) {
+		int defaultMaxConnections = environment.getProperty(DESTINATION_PREFIX + "default.max-connections", Integer.class, 50);
+		ConnectionProvider.Builder builder = pooled(ConnectionProvider.builder("outbound"), defaultMaxConnections,
+			pendingAcquireMaxCount, pendingAcquireTimeout, maxIdleTime);
+		for (String destination : destinations) {
+			if (destination.isBlank()) {
+				continue;
+			}
+			String host = destination.trim();
+			int maxConnections = environment.getProperty(DESTINATION_PREFIX + host + ".max-connections", Integer.class, defaultMaxConnections);
+			int port = environment.getProperty(DESTINATION_PREFIX + host + ".port", Integer.class, 443);
+			builder.forRemoteHost(InetSocketAddress.createUnresolved(host, port),
+				spec -> pooled(spec, maxConnections, pendingAcquireMaxCount, pendingAcquireTimeout, maxIdleTime));
+			log.info("Outbound connections to {}:{} are limited to {}", host, port, maxConnections);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * A destination's pool starts from reactor-netty's defaults, not from the builder's, so every pool is given the
+	 * same limits here.
+	 */
+	private static <S extends ConnectionProvider.ConnectionPoolSpec<S>> S pooled(S spec, int maxConnections,
+	                                                                          int pendingAcquireMaxCount,
+	                                                                          Duration pendingAcquireTimeout,
+	                                                                          Duration maxIdleTime) {
+		return spec.maxConnections(maxConnections)
+			.pendingAcquireMaxCount(pendingAcquireMaxCount)
+			.pendingAcquireTimeout(pendingAcquireTimeout)
+			.maxIdleTime(maxIdleTime)
+			.evictInBackground(maxIdleTime)
+			.metrics(true);
+	}
+
+	@Bean
+	public HttpClient outboundHttpClient(ConnectionProvider outboundConnectionProvider,
+	                                     @Value("#{T(java.time.Duration).parse('${app.http.client.connect-timeout:PT3S}')}") Duration connectTimeout,
+	                                     @Value("#{T(java.time.Duration).parse('${app.http.client.read-timeout:PT10S}')}") Duration readTimeout) {
+		return HttpClient.create(outboundConnectionProvider)
+			.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+			.responseTimeout(readTimeout)
+			// Tag by path only: query strings carry tokens and would give every request its own series.
+			.metrics(true, HttpClientConfig::pathOf);
+	}
+
+	@Bean
+	public RestTemplate restTemplate(HttpClient outboundHttpClient) {
+		return new RestTemplate(new ReactorClientHttpRequestFactory(outboundHttpClient));
+	}
+
+	static String pathOf(String uri) {
+		int query = uri.indexOf('?');
+		return query < 0 ? uri : uri.substring(0, query);
+	}
+}
@@ -0,0 +1,82 @@
+package app.bola.taskforge.config;
+
+import app.bola.taskforge.common.cache.SecondLevelCacheInvalidation;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate's second-level cache, kept in Caffeine caches behind the JCache API.
+ * <p>
+ * Every region listed in {@code app.cache.regions} is created up front with at most
+ * {@code app.cache.region.<region>.max-size} entries that expire {@code app.cache.region.<region>.ttl} after they were
+ * written, both falling back to {@code app.cache.region.default.*}. Hibernate refuses to start if an entity asks for a
+ * region that is not listed, so no region can grow without a bound. Other instances are told about committed changes
+ * through {@link SecondLevelCacheInvalidation}. Hits and misses per region are published as
+ * {@code hibernate.second.level.cache.requests}.
+ */
+@Slf4j
+@Configuration
+public class SecondLevelCacheConfig {
+
+	private static final String REGION_PREFIX = "app.cache.region.";
+
+	@Bean(destroyMethod = "close")
+	public CacheManager hibernateCacheManager(Environment environment, @Value("${app.cache.regions:}") List<String> regions) {
+		CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+		// A manager of its own rather than the provider's default one, so contexts sharing a JVM do not share regions.
+		CacheManager cacheManager = provider.getCacheManager(URI.create("taskforge:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+		for (String region : regions) {
+			if (region.isBlank()) {
+				continue;
+			}
+			String name = region.trim();
+			long maxSize = property(environment, name, "max-size", Long.class, 10_000L);
+			Duration ttl = Duration.parse(property(environment, name, "ttl", String.class, "PT10M"));
+
+			CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+			configuration.setMaximumSize(OptionalLong.of(maxSize));
+			configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+			cacheManager.createCache(name, configuration);
+			log.info("Second-level cache region {} holds up to {} entries for {}", name, maxSize, ttl);
+		}
+		return cacheManager;
+	}
+
+	@Bean
+	public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+		return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+	}
+
+	@Bean
+	public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+	                                                                        SecondLevelCacheInvalidation invalidation) {
+		RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+		container.setConnectionFactory(connectionFactory);
+		container.addMessageListener(invalidation, new ChannelTopic(invalidation.getChannel()));
+		return container;
+	}
+
+	private static <T> T property(Environment environment, String region, String name, Class<T> type, T defaultValue) {
+		T fallback = environment.getProperty(REGION_PREFIX + "default." + name, type, defaultValue);
+		return environment.getProperty(REGION_PREFIX + region + "." + name, type, fallback);
+	}
+}
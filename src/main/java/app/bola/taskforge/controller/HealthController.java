@@ -1,17 +1,27 @@
 package app.bola.taskforge.controller;
 
+import app.bola.taskforge.domain.context.TenantContext;
+import app.bola.taskforge.notification.channel.ChannelExecutor;
+import app.bola.taskforge.notification.channel.ChannelExecutorRegistry;
+import app.bola.taskforge.notification.channel.WebSocketOutboundQueue;
+import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 import java.lang.management.ManagementFactory;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
+@RequiredArgsConstructor
 @RequestMapping("/api/health")
 public class HealthController {
 
+    private final ChannelExecutorRegistry channelExecutorRegistry;
+    private final WebSocketOutboundQueue webSocketOutboundQueue;
+
     private final long startTime = System.currentTimeMillis();
 
     @GetMapping
@@ -31,4 +41,14 @@ public class HealthController {
 
         return health;
     }
+
+    @GetMapping("/channels")
+    public List<ChannelExecutor.ChannelExecutorStats> channels() {
+        return channelExecutorRegistry.stats();
+    }
+
+    @GetMapping("/websocket-queues")
+    public WebSocketOutboundQueue.TenantQueueStats webSocketQueues() {
+        return webSocketOutboundQueue.stats(TenantContext.getCurrentTenant());
+    }
 }
@@ -1,6 +1,7 @@
 package app.bola.taskforge.controller;
 
 import app.bola.taskforge.common.controller.BaseController;
+import app.bola.taskforge.common.pagination.CursorPage;
 import app.bola.taskforge.service.MemberService;
 import app.bola.taskforge.service.dto.InvitationResponse;
 import app.bola.taskforge.service.dto.MemberRequest;
@@ -65,12 +66,14 @@ public class MemberController implements BaseController<MemberRequest, MemberRes
 	@GetMapping
 	@Operation(summary = "Get all members", description = "Retrieves all members the user has access to")
 	@ApiResponses(value = {
-		@ApiResponse(responseCode = "200", description = "List of members",
-				content = @Content(mediaType = "application/json", schema = @Schema(implementation = MemberResponse.class))),
+		@ApiResponse(responseCode = "200", description = "A page of members"),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
 		@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
 	})
-	public ResponseEntity<Collection<MemberResponse>> getAll() {
-		return ResponseEntity.ok(memberService.findAll());
+	public ResponseEntity<CursorPage<MemberResponse>> getAll(
+			@Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of members per page") @RequestParam(defaultValue = "20") int size) {
+		return ResponseEntity.ok(memberService.findPage(cursor, size));
 	}
 	
 	@PutMapping("/{publicId}")
@@ -0,0 +1,105 @@
+package app.bola.taskforge.controller;
+
+import app.bola.taskforge.common.pagination.CursorPage;
+import app.bola.taskforge.notification.service.InboxService;
+import app.bola.taskforge.notification.service.PushDeviceService;
+import app.bola.taskforge.service.dto.NotificationResponse;
+import app.bola.taskforge.service.dto.PushDeviceRequest;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("api/notifications")
+@Tag(name = "Notification Inbox", description = "APIs for reading the in-app notification inbox")
+@SecurityRequirement(name = "bearerAuth")
+public class NotificationController {
+
+	private final InboxService inboxService;
+	private final PushDeviceService pushDeviceService;
+
+	@GetMapping
+	@Operation(summary = "List notifications", description = "Lists the current member's notifications, newest first")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "A page of notifications"),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
+		@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+	})
+	public ResponseEntity<CursorPage<NotificationResponse>> list(
+			@Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of notifications per page") @RequestParam(defaultValue = "20") int size,
+			Principal principal) {
+		return ResponseEntity.ok(inboxService.list(principal.getName(), cursor, size));
+	}
+
+	@GetMapping("unread-count")
+	@Operation(summary = "Get unread count", description = "Returns the number of unread notifications for the badge")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Unread count"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+	})
+	public ResponseEntity<Map<String, Long>> unreadCount(Principal principal) {
+		return ResponseEntity.ok(Map.of("unread", inboxService.unreadCount(principal.getName())));
+	}
+
+	@PatchMapping("read")
+	@Operation(summary = "Mark notifications as read", description = "Marks the given notifications as read")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "200", description = "Unread count after the update"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+	})
+	public ResponseEntity<Map<String, Long>> markRead(
+			@io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Public IDs of the notifications", required = true)
+			@RequestBody List<String> notificationIds,
+			Principal principal) {
+		return ResponseEntity.ok(Map.of("unread", inboxService.markRead(principal.getName(), notificationIds)));
+	}
+
+	@PatchMapping("read-all")
+	@Operation(summary = "Mark all notifications as read", description = "Marks every notification of the current member as read")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "204", description = "All notifications marked as read"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+	})
+	public ResponseEntity<Void> markAllRead(Principal principal) {
+		inboxService.markAllRead(principal.getName());
+		return ResponseEntity.noContent().build();
+	}
+	
+	@PostMapping("devices")
+	@Operation(summary = "Register a push device", description = "Registers a device to receive push notifications on")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "204", description = "Device registered"),
+		@ApiResponse(responseCode = "400", description = "Invalid request data", content = @Content),
+		@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+	})
+	public ResponseEntity<Void> registerDevice(@Valid @RequestBody PushDeviceRequest request, Principal principal) {
+		pushDeviceService.register(principal.getName(), request);
+		return ResponseEntity.noContent().build();
+	}
+	
+	@DeleteMapping("devices/{token}")
+	@Operation(summary = "Unregister a push device", description = "Stops push notifications to the device")
+	@ApiResponses(value = {
+		@ApiResponse(responseCode = "204", description = "Device unregistered"),
+		@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+	})
+	public ResponseEntity<Void> unregisterDevice(@PathVariable String token, Principal principal) {
+		pushDeviceService.unregister(principal.getName(), token);
+		return ResponseEntity.noContent().build();
+	}
+}
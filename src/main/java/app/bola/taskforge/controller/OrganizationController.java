@@ -1,6 +1,7 @@
 package app.bola.taskforge.controller;
 
 import app.bola.taskforge.common.controller.BaseController;
+import app.bola.taskforge.common.pagination.CursorPage;
 import app.bola.taskforge.service.OrganizationService;
 import app.bola.taskforge.service.dto.*;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,8 +18,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Collection;
-
 @RestController
 @AllArgsConstructor
 @RequestMapping(value = "api/organization")
@@ -66,12 +65,14 @@ public class OrganizationController implements BaseController<OrganizationReques
 	@GetMapping("all")
 	@Operation(summary = "Get all organizations", description = "Retrieves all organizations the user has access to")
 	@ApiResponses(value = {
-		@ApiResponse(responseCode = "200", description = "List of organizations",
-				content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrganizationResponse.class))),
+		@ApiResponse(responseCode = "200", description = "A page of organizations"),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
 		@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
 	})
-	public ResponseEntity<Collection<OrganizationResponse>> getAll() {
-		return ResponseEntity.ok(organizationService.findAll());
+	public ResponseEntity<CursorPage<OrganizationResponse>> getAll(
+			@Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of organizations per page") @RequestParam(defaultValue = "20") int size) {
+		return ResponseEntity.ok(organizationService.findPage(cursor, size));
 	}
 	
 	@PutMapping("{publicId}")
@@ -126,15 +127,17 @@ public class OrganizationController implements BaseController<OrganizationReques
 	@Operation(summary = "Get organization members",
 			description = "Retrieves all members of an organization")
 	@ApiResponses(value = {
-		@ApiResponse(responseCode = "200", description = "List of members",
-				content = @Content(mediaType = "application/json", schema = @Schema(implementation = MemberResponse.class))),
+		@ApiResponse(responseCode = "200", description = "A page of members"),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
 		@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
 		@ApiResponse(responseCode = "404", description = "Organization not found", content = @Content)
 	})
-	public ResponseEntity<Collection<MemberResponse>> getMembers(
+	public ResponseEntity<CursorPage<MemberResponse>> getMembers(
 			@Parameter(description = "Public ID of the organization", required = true)
-			@PathVariable("public-id") String publicId) {
+			@PathVariable("public-id") String publicId,
+			@Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of members per page") @RequestParam(defaultValue = "20") int size) {
 		log.info("Fetching members for organization with publicId: {}", publicId);
-		return ResponseEntity.ok(organizationService.getMembers(publicId));
+		return ResponseEntity.ok(organizationService.getMembers(publicId, cursor, size));
 	}
 }
@@ -1,6 +1,7 @@
 package app.bola.taskforge.controller;
 
 import app.bola.taskforge.common.controller.BaseController;
+import app.bola.taskforge.common.pagination.CursorPage;
 import app.bola.taskforge.service.ProjectService;
 import app.bola.taskforge.service.dto.ProjectRequest;
 import app.bola.taskforge.service.dto.ProjectResponse;
@@ -19,9 +20,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Collection;
-import java.util.Set;
-
 @Slf4j
 @RestController
 @AllArgsConstructor
@@ -67,12 +65,14 @@ public class ProjectController implements BaseController<ProjectRequest, Project
 	@GetMapping("all")
 	@Operation(summary = "Get all projects", description = "Retrieves all projects the user has access to")
 	@ApiResponses(value = {
-		@ApiResponse(responseCode = "200", description = "List of projects",
-				content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectResponse.class))),
+		@ApiResponse(responseCode = "200", description = "A page of projects"),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
 		@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
 	})
-	public ResponseEntity<Collection<ProjectResponse>> getAll() {
-		return ResponseEntity.ok(projectService.findAll());
+	public ResponseEntity<CursorPage<ProjectResponse>> getAll(
+			@Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of projects per page") @RequestParam(defaultValue = "20") int size) {
+		return ResponseEntity.ok(projectService.findPage(cursor, size));
 	}
 	
 	@PutMapping("/{publicId}")
@@ -160,32 +160,38 @@ public class ProjectController implements BaseController<ProjectRequest, Project
 		@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
 		@ApiResponse(responseCode = "404", description = "Organization not found", content = @Content)
 	})
-	public ResponseEntity<Set<ProjectResponse>> getProjectsByOrganization(
+	public ResponseEntity<CursorPage<ProjectResponse>> getProjectsByOrganization(
 			@Parameter(description = "ID of the organization", required = true)
-			@PathVariable String organizationId) {
-		return ResponseEntity.ok(projectService.getAllByOrganizationId(organizationId));
+			@PathVariable String organizationId,
+			@Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of projects per page") @RequestParam(defaultValue = "20") int size) {
+		return ResponseEntity.ok(projectService.getAllByOrganizationId(organizationId, cursor, size));
 	}
 	
 	
 	@GetMapping("{projectId}/members")
 	@Operation(summary = "Get all members in project", description = "Retrieves all members for a specific project")
 	@ApiResponses(value = {
-		@ApiResponse(responseCode = "200", description = "List of members",
-				content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectResponse.class))),
+		@ApiResponse(responseCode = "200", description = "A page of members"),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
 		@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
 		@ApiResponse(responseCode = "404", description = "Project not found", content = @Content)
 	})
-	public ResponseEntity<Set<MemberResponse>> getProjectMembers(
+	public ResponseEntity<CursorPage<MemberResponse>> getProjectMembers(
 			@Parameter(description = "ID of the project", required = true)
-			@PathVariable String projectId) {
-		return ResponseEntity.ok(projectService.getProjectMembers(projectId));
+			@PathVariable String projectId,
+			@Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of members per page") @RequestParam(defaultValue = "20") int size) {
+		return ResponseEntity.ok(projectService.getProjectMembers(projectId, cursor, size));
 	}
 	
 	@GetMapping("{projectId}/tasks")
 	@Operation(summary = "Get all tasks in project", description = "Retrieves all tasks for a specific project")
-	public ResponseEntity<Set<TaskResponse>> getProjectTasks(
+	public ResponseEntity<CursorPage<TaskResponse>> getProjectTasks(
 			@Parameter(description = "ID of the project", required = true) 
-			@PathVariable String projectId) {
-		return ResponseEntity.ok(projectService.getProjectTasks(projectId));
+			@PathVariable String projectId,
+			@Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "20") int size) {
+		return ResponseEntity.ok(projectService.getProjectTasks(projectId, cursor, size));
 	}
 }
@@ -1,6 +1,7 @@
 package app.bola.taskforge.controller;
 
 import app.bola.taskforge.common.controller.BaseController;
+import app.bola.taskforge.common.pagination.CursorPage;
 import app.bola.taskforge.service.TaskService;
 import app.bola.taskforge.service.dto.TaskRequest;
 import app.bola.taskforge.service.dto.TaskResponse;
@@ -67,12 +68,14 @@ public class TaskController implements BaseController<TaskRequest, TaskResponse>
 	@GetMapping("all")
 	@Operation(summary = "Get all tasks", description = "Retrieves all tasks the user has access to")
 	@ApiResponses(value = {
-		@ApiResponse(responseCode = "200", description = "List of tasks",
-				content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskResponse.class))),
+		@ApiResponse(responseCode = "200", description = "A page of tasks"),
+		@ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
 		@ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
 	})
-	public ResponseEntity<Collection<TaskResponse>> getAll() {
-		return ResponseEntity.ok(taskService.findAll());
+	public ResponseEntity<CursorPage<TaskResponse>> getAll(
+			@Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "20") int size) {
+		return ResponseEntity.ok(taskService.findPage(cursor, size));
 	}
 	
 	@PutMapping("/{publicId}")
@@ -147,7 +150,10 @@ public class TaskController implements BaseController<TaskRequest, TaskResponse>
 	}
 	
 	@GetMapping()
-	public ResponseEntity<Set<TaskResponse>> getProjectSpecificTasks(@RequestParam("projectid") String projectId) {
-		return ResponseEntity.ok(taskService.getProjectSpecificTasks(projectId));
+	public ResponseEntity<CursorPage<TaskResponse>> getProjectSpecificTasks(
+			@RequestParam("projectid") String projectId,
+			@Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+			@Parameter(description = "Number of tasks per page") @RequestParam(defaultValue = "20") int size) {
+		return ResponseEntity.ok(taskService.getProjectSpecificTasks(projectId, cursor, size));
 	}
 }
@@ -13,6 +13,7 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
+@Table(indexes = @Index(name = "idx_comment_tenant_page", columnList = "organization_id, createdAt, id"))
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
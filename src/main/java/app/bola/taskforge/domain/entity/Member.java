@@ -1,5 +1,6 @@
 package app.bola.taskforge.domain.entity;
 
+import app.bola.taskforge.common.cache.SecondLevelCacheEvictionListener;
 import app.bola.taskforge.common.entity.BaseEntity;
 import app.bola.taskforge.domain.enums.Role;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -7,6 +8,9 @@ import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.*;
 import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -17,6 +21,11 @@ import java.util.Set;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = @Index(name = "idx_member_tenant_page", columnList = "organization_id, createdAt, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member")
+@NaturalIdCache(region = "member-natural-id")
+@EntityListeners(SecondLevelCacheEvictionListener.class)
 public class Member extends BaseEntity {
 	
 	@Column(unique = true, nullable = false)
@@ -45,6 +54,7 @@ public class Member extends BaseEntity {
 	
 	@ElementCollection(fetch = FetchType.EAGER)
 	@Enumerated(EnumType.STRING)
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "member-roles")
 	private Set<Role> roles;
 	
 	@ManyToMany
@@ -8,7 +8,10 @@ import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
+import java.time.LocalDateTime;
+
 @Entity
+@Table(indexes = @Index(name = "idx_notification_inbox", columnList = "recipient_id, createdAt, id"))
 @Getter
 @Setter
 @SuperBuilder
@@ -27,5 +30,14 @@ public class Notification extends BaseEntity {
     private NotificationType type;
     @Enumerated(value = EnumType.STRING)
     private NotificationStatus status;
+    /**
+     * When the notification went out in a digest email, so no digest includes it twice.
+     */
+    private LocalDateTime digestedAt;
+    /**
+     * Whether the bundle was also sent by email on its own, so the digest does not email it again. Cleared if that
+     * email is dead-lettered, to have the digest carry it instead.
+     */
+    private boolean emailed;
     
 }
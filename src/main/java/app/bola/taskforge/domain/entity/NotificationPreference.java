@@ -1,21 +1,24 @@
 package app.bola.taskforge.domain.entity;
 
 import app.bola.taskforge.common.entity.BaseEntity;
-import jakarta.persistence.Entity;
-import jakarta.persistence.OneToOne;
+import app.bola.taskforge.notification.service.PreferenceCacheEvictionListener;
+import app.bola.taskforge.domain.enums.DigestFrequency;
+import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Builder;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
-import java.time.LocalTime;
+import java.time.*;
+import java.util.Optional;
 
 @Entity
 @Getter
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(PreferenceCacheEvictionListener.class)
 public class NotificationPreference extends BaseEntity {
 
 	@Builder.Default
@@ -26,14 +29,74 @@ public class NotificationPreference extends BaseEntity {
 	private boolean allowEmail = Boolean.FALSE;
 	private LocalTime quietHoursStart;
 	private LocalTime quietHoursEnd;
+	/**
+	 * The zone the quiet hours are expressed in. Falls back to the organization's time zone, then UTC.
+	 */
+	private String timeZone;
+	/**
+	 * How often the member gets an email summarising what they have not read yet. Low-priority notifications of
+	 * digest recipients are left to the digest instead of being emailed one by one.
+	 */
+	@Builder.Default
+	@Enumerated(value = EnumType.STRING)
+	private DigestFrequency digestFrequency = DigestFrequency.NONE;
+	/**
+	 * The hour of the day, in the organization's time zone, at which the daily digest goes out.
+	 */
+	@Builder.Default
+	private int digestHour = 8;
 	
 	@OneToOne(mappedBy = "notificationPreference")
 	private Member member;
 	
+	/**
+	 * Windows whose end is before their start, e.g. 22:00 to 07:00, run through midnight.
+	 * The start is inclusive and the end exclusive.
+	 */
 	public boolean isInQuietHours(LocalTime currentTime) {
-		if (quietHoursStart == null || quietHoursEnd == null) {
+		if (quietHoursStart == null || quietHoursEnd == null || quietHoursStart.equals(quietHoursEnd)) {
 			return false;
 		}
-		return currentTime.isAfter(quietHoursStart) && currentTime.isBefore(quietHoursEnd);
+		if (quietHoursStart.isBefore(quietHoursEnd)) {
+			return !currentTime.isBefore(quietHoursStart) && currentTime.isBefore(quietHoursEnd);
+		}
+		return !currentTime.isBefore(quietHoursStart) || currentTime.isBefore(quietHoursEnd);
+	}
+	
+	public boolean isInQuietHours(Instant now) {
+		return isInQuietHours(now.atZone(resolveZone()).toLocalTime());
+	}
+	
+	/**
+	 * @return the instant at which the quiet window that {@code now} falls in ends, or empty if {@code now}
+	 * is outside quiet hours
+	 */
+	public Optional<Instant> quietHoursEndAfter(Instant now) {
+		ZoneId zone = resolveZone();
+		ZonedDateTime localNow = now.atZone(zone);
+		if (!isInQuietHours(localNow.toLocalTime())) {
+			return Optional.empty();
+		}
+		LocalDate endDate = localNow.toLocalTime().isBefore(quietHoursEnd) ? localNow.toLocalDate() : localNow.toLocalDate().plusDays(1);
+		return Optional.of(ZonedDateTime.of(endDate, quietHoursEnd, zone).toInstant());
+	}
+	
+	public boolean isDigestEnabled() {
+		return digestFrequency != null && digestFrequency != DigestFrequency.NONE;
+	}
+	
+	public ZoneId resolveZone() {
+		String zone = timeZone;
+		if (zone == null && member != null && member.getOrganization() != null) {
+			zone = member.getOrganization().getTimeZone();
+		}
+		if (zone == null || zone.isBlank()) {
+			return ZoneOffset.UTC;
+		}
+		try {
+			return ZoneId.of(zone);
+		} catch (DateTimeException exception) {
+			return ZoneOffset.UTC;
+		}
 	}
 }
@@ -1,12 +1,18 @@
 package app.bola.taskforge.domain.entity;
 
+import app.bola.taskforge.common.cache.SecondLevelCacheEvictionListener;
 import app.bola.taskforge.common.entity.BaseEntity;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.OneToMany;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -17,6 +23,10 @@ import java.util.Set;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "organization")
+@NaturalIdCache(region = "organization-natural-id")
+@EntityListeners(SecondLevelCacheEvictionListener.class)
 public class Organization extends BaseEntity {
 	
 	@Column(unique = true, nullable = false)
@@ -17,15 +17,30 @@ import java.util.Set;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"name", "organization_id"}))
+@NamedEntityGraph(name = Project.SUMMARY_GRAPH, attributeNodes = {
+	@NamedAttributeNode("organization"),
+	@NamedAttributeNode("teamLead")
+})
+@NamedEntityGraph(name = Project.DETAIL_GRAPH, attributeNodes = {
+	@NamedAttributeNode("organization"),
+	@NamedAttributeNode("teamLead"),
+	@NamedAttributeNode("members")
+})
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"name", "organization_id"}),
+	indexes = @Index(name = "idx_project_tenant_page", columnList = "organization_id, createdAt, id"))
 public class Project extends BaseEntity {
 
+	/** For pages of projects. Members are left to batch fetching, as joining them would defeat the page limit. */
+	public static final String SUMMARY_GRAPH = "Project.summary";
+	/** For a single project, members included. */
+	public static final String DETAIL_GRAPH = "Project.detail";
+
 	private String name;
 	private String description;
 	private boolean archived;
 	private DateRange dateRange;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private Organization organization;
 	
 	@Enumerated(value = EnumType.STRING)
@@ -41,7 +56,7 @@ public class Project extends BaseEntity {
 	@Builder.Default
 	private Set<Task> tasks = new HashSet<>();
 	
-	@OneToOne
+	@OneToOne(fetch = FetchType.LAZY)
 	private Member teamLead;
 	
 	@ManyToMany(fetch = FetchType.LAZY)
@@ -0,0 +1,29 @@
+package app.bola.taskforge.domain.entity;
+
+import app.bola.taskforge.common.entity.BaseEntity;
+import app.bola.taskforge.domain.enums.DevicePlatform;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * A device a member receives push notifications on, identified by the token the push gateway issued for it.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_push_device_member", columnList = "member_id"))
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PushDevice extends BaseEntity {
+	
+	@Column(unique = true, nullable = false, length = 512)
+	private String token;
+	
+	@Enumerated(value = EnumType.STRING)
+	private DevicePlatform platform;
+	
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
+	private Member member;
+}
@@ -16,6 +16,8 @@ import java.util.Set;
 
 /**
  * An actionable unit of work to be done
+ * <p>
+ * Its associations are lazy; queries pick what to load with one of the entity graphs below.
  */
 
 @Getter
@@ -24,8 +26,26 @@ import java.util.Set;
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
+@NamedEntityGraph(name = Task.SUMMARY_GRAPH, attributeNodes = {
+	@NamedAttributeNode("project"),
+	@NamedAttributeNode("organization"),
+	@NamedAttributeNode("assignee")
+})
+@NamedEntityGraph(name = Task.PROJECT_MEMBERS_GRAPH, attributeNodes = {
+	@NamedAttributeNode(value = "project", subgraph = "members"),
+	@NamedAttributeNode("organization")
+}, subgraphs = @NamedSubgraph(name = "members", attributeNodes = @NamedAttributeNode("members")))
+@Table(indexes = {
+	@Index(name = "idx_task_tenant_page", columnList = "organization_id, createdAt, id"),
+	@Index(name = "idx_task_project_page", columnList = "project_id, createdAt, id")
+})
 public class Task extends BaseEntity {
 	
+	/** What a {@code TaskResponse} reads, for lists and single tasks alike. */
+	public static final String SUMMARY_GRAPH = "Task.summary";
+	/** The project with its members, for checks on who may act on the task. */
+	public static final String PROJECT_MEMBERS_GRAPH = "Task.projectMembers";
+	
 	private String title;
 	private String description;
 	private LocalDate dueDate;
@@ -33,13 +53,13 @@ public class Task extends BaseEntity {
 	private boolean pinned;
 	private LocalDateTime completedAt;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private Project project;
 	
-	@OneToOne
+	@OneToOne(fetch = FetchType.LAZY)
 	private Member assignee;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	private Organization organization;
 	
 	@OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
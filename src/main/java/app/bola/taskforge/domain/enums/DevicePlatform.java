@@ -0,0 +1,8 @@
+package app.bola.taskforge.domain.enums;
+
+public enum DevicePlatform {
+	
+	ANDROID,
+	IOS,
+	WEB,
+}
@@ -1,7 +1,6 @@
 package app.bola.taskforge.event;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 import lombok.*;
 import org.springframework.context.ApplicationEvent;
@@ -12,8 +11,6 @@ public class TaskForgeEvent extends ApplicationEvent {
 	
 	private String metadata;
 	private String initiatorId;
-	private List<String> userIdList;
-	private List<String> userEmailList;
 	private String organizationId;
 	private LocalDateTime dateTimeStamp;
 	
@@ -26,8 +23,6 @@ public class TaskForgeEvent extends ApplicationEvent {
 		
 		return "[" +
 				       "initiatorId: " + initiatorId + ", " +
-				       "userIdList: " + userIdList + ", " +
-				       "userEmailList: " + userEmailList + ", " +
 				       "organizationId: " + organizationId + ", " +
 				       "dateTimeStamp: " + dateTimeStamp +
 				       "]";
@@ -0,0 +1,29 @@
+package app.bola.taskforge.event.bus;
+
+import app.bola.taskforge.event.TaskForgeEvent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Carries domain events from the services that raise them to the components that react to them, off the thread
+ * that published them.
+ * <p>
+ * Events are keyed by {@link TaskForgeEvent#getOrganizationId() organization}. The transport is chosen with
+ * {@code app.events.transport}: {@code pulsar} in deployed environments, {@code in-memory} (the default) for
+ * local runs and tests.
+ */
+public interface EventBus {
+	
+	/**
+	 * @return a future that completes once the transport has taken responsibility for the event
+	 */
+	CompletableFuture<Void> publish(TaskForgeEvent event);
+	
+	/**
+	 * Registers a handler under a subscription name. Instances that subscribe with the same name share the events
+	 * between them, each event going to one of them. A handler that throws has the event redelivered where the
+	 * transport supports it.
+	 */
+	void subscribe(String subscription, Consumer<TaskForgeEvent> handler);
+}
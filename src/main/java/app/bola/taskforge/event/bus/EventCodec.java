@@ -0,0 +1,72 @@
+package app.bola.taskforge.event.bus;
+
+import app.bola.taskforge.event.ProjectEvent;
+import app.bola.taskforge.event.TaskEvent;
+import app.bola.taskforge.event.TaskForgeEvent;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Turns domain events into bytes and back for transports that leave the JVM.
+ * <p>
+ * An event is written as {@code {"type": "...", "event": {...}}}. The event's {@code source}, typically the entity
+ * that raised it, stays behind; decoded events carry the name of the bus as their source instead.
+ */
+@Component
+public class EventCodec {
+	
+	private static final String SOURCE = "event-bus";
+	private static final Map<String, Function<Object, TaskForgeEvent>> FACTORIES = Map.of(
+		TaskEvent.class.getSimpleName(), TaskEvent::new,
+		ProjectEvent.class.getSimpleName(), ProjectEvent::new
+	);
+	
+	private final ObjectMapper objectMapper;
+	
+	public EventCodec(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper.copy().addMixIn(TaskForgeEvent.class, TaskForgeEventMixin.class);
+	}
+	
+	public byte[] encode(TaskForgeEvent event) {
+		ObjectNode envelope = objectMapper.createObjectNode();
+		envelope.put("type", event.getClass().getSimpleName());
+		envelope.set("event", objectMapper.valueToTree(event));
+		try {
+			return objectMapper.writeValueAsBytes(envelope);
+		} catch (IOException exception) {
+			throw new IllegalArgumentException("Could not encode " + event, exception);
+		}
+	}
+	
+	public TaskForgeEvent decode(byte[] payload) {
+		try {
+			JsonNode envelope = objectMapper.readTree(payload);
+			String type = envelope.path("type").asText();
+			Function<Object, TaskForgeEvent> factory = FACTORIES.get(type);
+			if (factory == null) {
+				throw new IllegalArgumentException("Unknown event type: " + type);
+			}
+			return objectMapper.readerForUpdating(factory.apply(SOURCE)).readValue(envelope.get("event"));
+		} catch (IOException exception) {
+			throw new IllegalArgumentException("Could not decode event", exception);
+		}
+	}
+	
+	@JsonIgnoreProperties(value = "sourceEntityType", allowGetters = true, ignoreUnknown = true)
+	private abstract static class TaskForgeEventMixin {
+		
+		@JsonIgnore
+		abstract Object getSource();
+		
+		@JsonIgnore
+		abstract long getTimestamp();
+	}
+}
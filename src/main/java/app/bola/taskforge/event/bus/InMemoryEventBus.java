@@ -0,0 +1,58 @@
+package app.bola.taskforge.event.bus;
+
+import app.bola.taskforge.event.TaskForgeEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * An {@link EventBus} that stays inside the JVM, for local runs and tests that have no broker.
+ * <p>
+ * Like the Pulsar transport it spreads events over a fixed number of partitions by organization, each drained by a
+ * single thread, so the events of one organization are handled in the order they were published.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryEventBus implements EventBus {
+	
+	private final List<ExecutorService> partitions;
+	private final Map<String, Consumer<TaskForgeEvent>> subscriptions = new ConcurrentHashMap<>();
+	
+	public InMemoryEventBus(@Value("${app.events.partitions:4}") int partitionCount) {
+		this.partitions = IntStream.range(0, partitionCount)
+			.mapToObj(index -> Executors.newSingleThreadExecutor(Thread.ofPlatform().name("event-bus-" + index).daemon(true).factory()))
+			.toList();
+	}
+	
+	@Override
+	public CompletableFuture<Void> publish(TaskForgeEvent event) {
+		ExecutorService partition = partitions.get(Math.floorMod(String.valueOf(event.getOrganizationId()).hashCode(), partitions.size()));
+		subscriptions.forEach((subscription, handler) -> partition.execute(() -> {
+			try {
+				handler.accept(event);
+			} catch (Exception exception) {
+				log.error("Subscription {} failed to handle {}", subscription, event, exception);
+			}
+		}));
+		return CompletableFuture.completedFuture(null);
+	}
+	
+	@Override
+	public void subscribe(String subscription, Consumer<TaskForgeEvent> handler) {
+		subscriptions.put(subscription, handler);
+	}
+	
+	@PreDestroy
+	void shutdown() {
+		partitions.forEach(ExecutorService::shutdown);
+	}
+}
@@ -0,0 +1,101 @@
+package app.bola.taskforge.event.bus;
+
+import app.bola.taskforge.event.TaskForgeEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pulsar.client.api.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * An {@link EventBus} on a Pulsar topic.
+ * <p>
+ * Events are keyed by organization, so each organization's events land on the same partition. The topic is expected
+ * to be created as a partitioned topic ahead of time, e.g.
+ * {@code pulsar-admin topics create-partitioned-topic <topic> -p 8}. The producer batches messages for up to
+ * {@code app.events.pulsar.batching-max-delay} and compresses each batch with LZ4. Subscriptions are
+ * {@code Shared}, so every instance subscribing under the same name takes a share of the events.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.events.transport", havingValue = "pulsar")
+public class PulsarEventBus implements EventBus {
+	
+	private final PulsarClient pulsarClient;
+	private final EventCodec eventCodec;
+	private final String topic;
+	private final Producer<byte[]> producer;
+	private final List<org.apache.pulsar.client.api.Consumer<byte[]>> consumers = new CopyOnWriteArrayList<>();
+	
+	public PulsarEventBus(PulsarClient pulsarClient, EventCodec eventCodec,
+	                      @Value("${app.events.pulsar.topic:persistent://public/default/taskforge-domain-events}") String topic,
+	                      @Value("${app.events.pulsar.batching-max-messages:500}") int batchingMaxMessages,
+	                      @Value("#{T(java.time.Duration).parse('${app.events.pulsar.batching-max-delay:PT0.01S}')}") Duration batchingMaxDelay)
+		throws PulsarClientException {
+		if (pulsarClient == null) {
+			throw new IllegalStateException("app.events.transport is pulsar but no Pulsar client could be created");
+		}
+		this.pulsarClient = pulsarClient;
+		this.eventCodec = eventCodec;
+		this.topic = topic;
+		this.producer = pulsarClient.newProducer(Schema.BYTES)
+			.topic(topic)
+			.enableBatching(true)
+			.batchingMaxMessages(batchingMaxMessages)
+			.batchingMaxPublishDelay(batchingMaxDelay.toMillis(), TimeUnit.MILLISECONDS)
+			.compressionType(CompressionType.LZ4)
+			.blockIfQueueFull(true)
+			.create();
+	}
+	
+	@Override
+	public CompletableFuture<Void> publish(TaskForgeEvent event) {
+		return producer.newMessage()
+			.key(String.valueOf(event.getOrganizationId()))
+			.value(eventCodec.encode(event))
+			.sendAsync()
+			.whenComplete((messageId, exception) -> {
+				if (exception != null) {
+					log.error("Failed to publish {} to {}", event, topic, exception);
+				}
+			})
+			.thenApply(messageId -> null);
+	}
+	
+	@Override
+	public void subscribe(String subscription, Consumer<TaskForgeEvent> handler) {
+		try {
+			consumers.add(pulsarClient.newConsumer(Schema.BYTES)
+				.topic(topic)
+				.subscriptionName(subscription)
+				.subscriptionType(SubscriptionType.Shared)
+				.messageListener((consumer, message) -> {
+					try {
+						handler.accept(eventCodec.decode(message.getValue()));
+						consumer.acknowledgeAsync(message);
+					} catch (Exception exception) {
+						log.error("Subscription {} failed to handle message {}, it will be redelivered", subscription, message.getMessageId(), exception);
+						consumer.negativeAcknowledge(message);
+					}
+				})
+				.subscribe());
+			log.info("Subscribed {} to {}", subscription, topic);
+		} catch (PulsarClientException exception) {
+			throw new IllegalStateException("Could not subscribe " + subscription + " to " + topic, exception);
+		}
+	}
+	
+	@PreDestroy
+	void close() {
+		consumers.forEach(consumer -> consumer.closeAsync());
+		producer.flushAsync().thenCompose(ignored -> producer.closeAsync());
+	}
+}
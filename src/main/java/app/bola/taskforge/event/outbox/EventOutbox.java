@@ -0,0 +1,41 @@
+package app.bola.taskforge.event.outbox;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * A domain event written in the same transaction as the change that raised it, waiting for the
+ * {@link EventOutboxRelay} to publish it.
+ * <p>
+ * Ids come from a sequence rather than {@code BaseEntity}'s UUIDs, so the relay can publish events in the order they
+ * were raised, and Hibernate can batch the inserts of a transaction that raises several events.
+ * <p>
+ * An event the relay cannot decode is dead-lettered: it keeps its row with {@code deadLetteredAt} and the error set,
+ * for someone to fix or discard, and the relay moves on past it.
+ */
+@Setter
+@Getter
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "event_outbox")
+public class EventOutbox {
+	
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_outbox_seq")
+	@SequenceGenerator(name = "event_outbox_seq", sequenceName = "event_outbox_seq", allocationSize = 50)
+	private Long id;
+	private String eventType;
+	private String organizationId;
+	@JdbcTypeCode(SqlTypes.JSON)
+	private String payload;
+	private Instant createdAt;
+	private Instant deadLetteredAt;
+	@Column(length = 1000)
+	private String lastError;
+}
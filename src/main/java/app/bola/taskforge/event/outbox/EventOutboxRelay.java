@@ -0,0 +1,153 @@
+package app.bola.taskforge.event.outbox;
+
+import app.bola.taskforge.event.TaskForgeEvent;
+import app.bola.taskforge.event.bus.EventBus;
+import app.bola.taskforge.event.bus.EventCodec;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves events from the {@link EventOutbox} onto the {@link EventBus}.
+ * <p>
+ * Each batch is read oldest first, published, and deleted in one transaction once the bus has accepted every event
+ * in it. If publishing fails or the node dies, the transaction rolls back and the whole batch is published again,
+ * so events are delivered at least once. An entry that cannot be decoded is dead-lettered in place rather than
+ * failing its batch, which would otherwise hold up every event behind it.
+ * <p>
+ * Besides polling every {@code app.events.outbox.poll-interval}, the relay is woken up by {@link #wakeUp()} as soon
+ * as a transaction that wrote events commits.
+ */
+@Slf4j
+@Component
+public class EventOutboxRelay {
+	
+	private static final long RELAY_LOCK_KEY = 0x7461736b_6f757462L;
+	
+	final EventOutboxRepository outboxRepository;
+	final EventBus eventBus;
+	final EventCodec eventCodec;
+	final ScheduledExecutorService scheduledExecutorService;
+	final TransactionTemplate transactionTemplate;
+	@Value("#{T(java.time.Duration).parse('${app.events.outbox.poll-interval:PT1S}')}")
+	private Duration pollInterval;
+	@Value("#{T(java.time.Duration).parse('${app.events.outbox.publish-timeout:PT10S}')}")
+	private Duration publishTimeout;
+	@Value("${app.events.outbox.batch-size:200}")
+	private int batchSize;
+	private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+	private ScheduledFuture<?> poller;
+	
+	public EventOutboxRelay(EventOutboxRepository outboxRepository, EventBus eventBus, EventCodec eventCodec,
+	                        ScheduledExecutorService scheduledExecutorService, PlatformTransactionManager transactionManager) {
+		this.outboxRepository = outboxRepository;
+		this.eventBus = eventBus;
+		this.eventCodec = eventCodec;
+		this.scheduledExecutorService = scheduledExecutorService;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+	
+	@PostConstruct
+	void start() {
+		long interval = pollInterval.toMillis();
+		poller = scheduledExecutorService.scheduleWithFixedDelay(this::relay, interval, interval, TimeUnit.MILLISECONDS);
+	}
+	
+	@PreDestroy
+	void stop() {
+		if (poller != null) {
+			poller.cancel(false);
+		}
+	}
+	
+	/**
+	 * Relays pending events now instead of at the next poll. Calls made while a wake-up is already queued are folded
+	 * into it.
+	 */
+	public void wakeUp() {
+		if (wakeUpPending.compareAndSet(false, true)) {
+			scheduledExecutorService.execute(() -> {
+				wakeUpPending.set(false);
+				relay();
+			});
+		}
+	}
+	
+	void relay() {
+		try {
+			int relayed;
+			do {
+				relayed = relayBatch();
+			} while (relayed == batchSize);
+		} catch (Exception exception) {
+			log.error("Failed to relay events from the outbox, they will be retried", exception);
+		}
+	}
+	
+	int relayBatch() {
+		Integer relayed = transactionTemplate.execute(status -> {
+			if (!outboxRepository.tryLockRelay(RELAY_LOCK_KEY)) {
+				return 0;
+			}
+			List<EventOutbox> batch = outboxRepository.findOldest(batchSize);
+			if (batch.isEmpty()) {
+				return 0;
+			}
+			List<EventOutbox> decoded = new ArrayList<>(batch.size());
+			List<CompletableFuture<?>> published = new ArrayList<>(batch.size());
+			for (EventOutbox entry : batch) {
+				TaskForgeEvent event;
+				try {
+					event = decode(entry);
+				} catch (RuntimeException exception) {
+					deadLetter(entry, exception);
+					continue;
+				}
+				published.add(eventBus.publish(event));
+				decoded.add(entry);
+			}
+			await(CompletableFuture.allOf(published.toArray(CompletableFuture[]::new)));
+			if (!decoded.isEmpty()) {
+				outboxRepository.deleteAllInBatch(decoded);
+			}
+			log.debug("Relayed {} event(s) up to outbox id {}", decoded.size(), batch.getLast().getId());
+			return batch.size();
+		});
+		return relayed == null ? 0 : relayed;
+	}
+	
+	private TaskForgeEvent decode(EventOutbox entry) {
+		return eventCodec.decode(entry.getPayload().getBytes(StandardCharsets.UTF_8));
+	}
+	
+	private void deadLetter(EventOutbox entry, RuntimeException exception) {
+		log.error("Dead-lettering outbox event {} of type {}, it cannot be decoded", entry.getId(), entry.getEventType(), exception);
+		entry.setDeadLetteredAt(Instant.now());
+		entry.setLastError(StringUtils.abbreviate(exception.getMessage(), 1000));
+		outboxRepository.save(entry);
+	}
+	
+	private void await(CompletableFuture<?> published) {
+		try {
+			published.get(publishTimeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while publishing outbox events", exception);
+		} catch (ExecutionException | TimeoutException exception) {
+			throw new IllegalStateException("The event bus did not accept the outbox batch", exception);
+		}
+	}
+}
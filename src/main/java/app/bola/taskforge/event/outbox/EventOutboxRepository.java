@@ -0,0 +1,22 @@
+package app.bola.taskforge.event.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface EventOutboxRepository extends JpaRepository<EventOutbox, Long> {
+	
+	/**
+	 * Takes the transaction-scoped advisory lock that makes a node the only relay until its transaction ends.
+	 * Only one relay publishes at a time, so events leave the outbox in the order they were written.
+	 *
+	 * @return whether the lock was acquired; {@code false} means another node is relaying
+	 */
+	@Query(value = "SELECT pg_try_advisory_xact_lock(:lockKey)", nativeQuery = true)
+	boolean tryLockRelay(@Param("lockKey") long lockKey);
+	
+	@Query(value = "SELECT * FROM event_outbox WHERE dead_lettered_at IS NULL ORDER BY id LIMIT :limit", nativeQuery = true)
+	List<EventOutbox> findOldest(@Param("limit") int limit);
+}
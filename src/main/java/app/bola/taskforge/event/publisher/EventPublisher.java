@@ -1,25 +1,83 @@
 package app.bola.taskforge.event.publisher;
 
 import app.bola.taskforge.event.TaskForgeEvent;
+import app.bola.taskforge.event.bus.EventCodec;
+import app.bola.taskforge.event.outbox.EventOutbox;
+import app.bola.taskforge.event.outbox.EventOutboxRelay;
+import app.bola.taskforge.event.outbox.EventOutboxRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Records domain events in the {@link EventOutbox}, from where the {@link EventOutboxRelay} publishes them.
+ * <p>
+ * Inside a transaction, events are collected and written together just before it commits, so a transaction costs
+ * one batched insert however many events it raises, and a rolled back transaction leaves no events behind.
+ */
 @Slf4j
 @Component
 public class EventPublisher {
 
-    private final ApplicationEventPublisher applicationEventPublisher;
+    private static final Object PENDING_EVENTS_KEY = new Object();
 
-    public EventPublisher(ApplicationEventPublisher applicationEventPublisher) {
-        this.applicationEventPublisher = applicationEventPublisher;
+    private final EventCodec eventCodec;
+    private final EventOutboxRepository outboxRepository;
+    private final EventOutboxRelay outboxRelay;
+
+    public EventPublisher(EventCodec eventCodec, EventOutboxRepository outboxRepository, EventOutboxRelay outboxRelay) {
+        this.eventCodec = eventCodec;
+        this.outboxRepository = outboxRepository;
+        this.outboxRelay = outboxRelay;
     }
 
     public void publishEvent(TaskForgeEvent event) {
         log.info("Publishing Event:: {}", event);
-        applicationEventPublisher.publishEvent(event);
+        EventOutbox entry = EventOutbox.builder()
+            .eventType(event.getClass().getSimpleName())
+            .organizationId(event.getOrganizationId())
+            .payload(new String(eventCodec.encode(event), StandardCharsets.UTF_8))
+            .createdAt(Instant.now())
+            .build();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pendingEvents().add(entry);
+            return;
+        }
+        outboxRepository.save(entry);
+        outboxRelay.wakeUp();
     }
 
+    @SuppressWarnings("unchecked")
+    private List<EventOutbox> pendingEvents() {
+        List<EventOutbox> pending = (List<EventOutbox>) TransactionSynchronizationManager.getResource(PENDING_EVENTS_KEY);
+        if (pending != null) {
+            return pending;
+        }
+        List<EventOutbox> events = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(PENDING_EVENTS_KEY, events);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                outboxRepository.saveAll(events);
+            }
 
+            @Override
+            public void afterCommit() {
+                outboxRelay.wakeUp();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_EVENTS_KEY);
+            }
+        });
+        return events;
+    }
 }
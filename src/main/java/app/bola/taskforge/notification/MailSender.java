@@ -1,56 +1,42 @@
 package app.bola.taskforge.notification;
 
 import app.bola.taskforge.domain.entity.Invitation;
-import app.bola.taskforge.domain.enums.NotificationType;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
+import app.bola.taskforge.notification.model.ChannelType;
+import app.bola.taskforge.notification.model.NotificationBundle;
+import app.bola.taskforge.notification.service.ChannelRouter;
 import org.apache.commons.lang3.StringUtils;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.http.*;
-import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
+import java.time.Instant;
+import java.util.*;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Sends account emails through Brevo.
+ * <p>
+ * Welcome and invitation emails are queued in the delivery outbox with the caller's transaction and sent by the
+ * email channel once it commits, with the outbox's retries, so a slow provider never holds a request or a
+ * database transaction open.
+ */
 @Slf4j
 @Component
 public class MailSender {
 	
 	
-	private static final String API_KEY = "api-key";
-	private final String apiKey;
-	private final RestTemplate restTemplate;
-	private final Context context;
 	private final TemplateEngine templateEngine;
-	public static final String brevoUrl = "https://api.brevo.com/v3/smtp/email";
+	private final ChannelRouter channelRouter;
 	
 	
-	public MailSender(@Value("${app.brevo.api-key}") String apiKey,
-	                  RestTemplate restTemplate, Context context, 
-					  @Qualifier("emailTemplateEngine") TemplateEngine templateEngine) {
-		this.apiKey = apiKey;
-		this.restTemplate = restTemplate;
-		this.context = context;
+	public MailSender(@Qualifier("emailTemplateEngine") TemplateEngine templateEngine,
+	                  ChannelRouter channelRouter) {
 		this.templateEngine = templateEngine;
+		this.channelRouter = channelRouter;
 	}
 	
-	@NonNull
-	private HttpHeaders getHttpHeaders() {
-		HttpHeaders headers = new HttpHeaders();
-		headers.set(API_KEY, apiKey);
-		headers.setContentType(MediaType.APPLICATION_JSON);
-		headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-		return headers;
-	}
-	
-	public ResponseEntity<?> sendWelcomeEmail(String username, String email, String organizationName) {
+	public void queueWelcomeEmail(String username, String email, String organizationName) {
 		Map<String, Object> contextVariables = Map.of(
 			"username", username,
 			"organizationName", organizationName,
@@ -60,8 +46,7 @@ public class MailSender {
 			"organizationLogoUrl", "https://taskforge.s3.amazonaws.com/logo.png",
 			"dashboardUrl", "https://app.taskforge.com/dashboard"
 		);
-		context.setVariables(contextVariables);
-		String htmlContent = templateEngine.process("admin-welcome.html", context);
+		String htmlContent = templateEngine.process("admin-welcome.html", new Context(Locale.getDefault(), contextVariables));
 		log.info("This is the html content {}", htmlContent);
 		log.info("This is the html content length: {} characters", htmlContent != null ? htmlContent.length() : 0);
 		if (htmlContent == null || htmlContent.isEmpty() || htmlContent.equals("admin-welcome.html")) {
@@ -69,10 +54,10 @@ public class MailSender {
 			htmlContent = "<html><body><h1>Welcome to TaskForge</h1><p>Hello " + username + 
 				",</p><p>Welcome to " + organizationName + "!</p></body></html>";
 		}
-		return sendEmail("Welcome to TaskForge", htmlContent, List.of(new Notification.Recipient(email, username)));
+		queueEmail("Welcome to TaskForge", htmlContent, email, username);
 	}
 	
-	public ResponseEntity<?> sendInvitationMail(Invitation invitation, String organizationName){
+	public void queueInvitationMail(Invitation invitation, String organizationName){
 		String inviteeName = StringUtils.isNotBlank(invitation.getInviteeName()) ?
 				                     invitation.getInviteeName() : invitation.getEmail().split("@")[0];
 		Map<String, Object> contextVariables = Map.of(
@@ -83,8 +68,7 @@ public class MailSender {
 			"invitationLink", invitation.getInvitationLink(),
 			"organizationName", organizationName
 		);
-		context.setVariables(contextVariables);
-		String htmlContent = templateEngine.process("member-invitation.html", context);
+		String htmlContent = templateEngine.process("member-invitation.html", new Context(Locale.getDefault(), contextVariables));
 
 		if (htmlContent == null || htmlContent.isEmpty() || htmlContent.equals("member-invitation.html")) {
 			log.error("Failed to process invitation template. Check Thymeleaf configuration.");
@@ -95,79 +79,21 @@ public class MailSender {
 				"<p><a href='" + invitation.getInvitationLink() + "'>Click here to accept the invitation</a></p>" +
 				"</body></html>";
 		}
-		return sendEmail(String.format("Invitation to join %s on TaskForge", organizationName), htmlContent,
-				List.of(new Notification.Recipient(invitation.getEmail(), inviteeName)));
-	}
-	
-	public ResponseEntity<?> sendEmail(String subject, String content, List<Notification.Recipient> recipients) {
-		HttpHeaders headers = getHttpHeaders();
-		Notification.Sender sender = new Notification.Sender("noreply@taskforge.com", "TaskForge Team");
-		Notification notification = new Notification(subject, content, sender, recipients);
-		HttpEntity<Notification> requestEntity = new HttpEntity<>(notification, headers);
-		
-		ResponseEntity<Notification> response = restTemplate.postForEntity(brevoUrl, requestEntity, Notification.class);
-		if (response.getBody() != null && response.getStatusCode().is2xxSuccessful()) {
-			log.info("Email sent successfully to: {}");
-			return ResponseEntity.status(HttpStatus.OK).body(response.getBody());
-		}
-		else if (response.getBody() != null && !response.getStatusCode().is2xxSuccessful()){
-			return ResponseEntity.status(500).body("Failed to send email");
-		}
-		return ResponseEntity.status(500).body("Failed to send email: No response body");
+		queueEmail(String.format("Invitation to join %s on TaskForge", organizationName), htmlContent,
+				invitation.getEmail(), inviteeName);
 	}
 	
-	
-	public ResponseEntity<?> sendEmail(List<Notification.Recipient> members, String subject, String body) {
-		HttpHeaders headers = getHttpHeaders();
-		
-		HttpEntity<Notification> requestEntity =
-				new HttpEntity<>(buildNotificationObject(members, subject, body), headers);
-		
-		ResponseEntity<Notification> response = restTemplate.postForEntity(brevoUrl, requestEntity, Notification.class);
-		
-		if (response.getBody() != null) {
-			if (!response.getStatusCode().is2xxSuccessful()) {
-				return ResponseEntity.status(response.getStatusCode())
-						       .body("Failed to send email: " + response.getBody());
-			}
-			else {
-				return ResponseEntity.ok(app.bola.taskforge.domain.entity.Notification.builder()
-						                         .title(Objects.requireNonNull(response.getBody()).getSubject())
-						                         .body(Objects.requireNonNull(response.getBody()).getHtmlContent())
-						                         .type(NotificationType.MEMBER_INVITED)
-						                         .build());
-			}
-		}
-		return ResponseEntity.status(500).body("Failed to send email: No response body");
-	}
-	
-	private Notification buildNotificationObject(List<Notification.Recipient> recipients, String subject, String body) {
-		
-
-		Notification.Sender sender = new Notification.Sender("noreply@taskforge.com", "TaskForge Team");
-		return new Notification(subject, body, sender, recipients);
-	}
-	
-	@Getter
-	@AllArgsConstructor
-	public static class Notification {
-		private String subject;
-		private String htmlContent;
-		private Sender sender;
-		private List<Recipient> to;
-		
-		@Getter
-		@AllArgsConstructor
-		public static class Recipient {
-			private String email;
-			private String name;
-		}
-		
-		@Getter
-		@AllArgsConstructor
-		private static class Sender {
-			private String email;
-			private String name;
-		}
+	private void queueEmail(String subject, String htmlContent, String email, String recipientName) {
+		NotificationBundle bundle = NotificationBundle.builder()
+			.id(UUID.randomUUID().toString())
+			.title(subject)
+			.htmlMessage(htmlContent)
+			.emailTo(email)
+			.channels(Set.of(ChannelType.EMAIL))
+			.payload(Collections.singletonMap("recipientName", recipientName))
+			.scheduledAt(Instant.now())
+			.build();
+		channelRouter.routeAfterCommit(bundle);
+		log.debug("Queued \"{}\" for {}", subject, email);
 	}
 }
@@ -0,0 +1,115 @@
+package app.bola.taskforge.notification.channel;
+
+import app.bola.taskforge.notification.model.ChannelType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded executor dedicated to the deliveries of a single {@link ChannelType}.
+ * <p>
+ * At most {@code maxThreads} deliveries run at once, on platform or virtual threads, and at most
+ * {@code queueCapacity} wait behind them. Once both are full the configured {@link RejectionPolicy} applies,
+ * so a slow provider on one channel backs up its own queue instead of the threads other channels rely on.
+ */
+@Slf4j
+public class ChannelExecutor implements Executor {
+
+	public enum RejectionPolicy {
+		/** Reject the delivery, which goes back to the outbox without counting as an attempt. */
+		ABORT,
+		/** Run the delivery on the submitting thread, slowing the producer down. */
+		CALLER_RUNS
+	}
+
+	private static final ThreadLocal<Boolean> ABORT_WHEN_FULL = ThreadLocal.withInitial(() -> false);
+
+	private final ChannelType channelType;
+	private final boolean virtualThreads;
+	private final int queueCapacity;
+	private final ThreadPoolExecutor delegate;
+	private final LongAdder submitted = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+
+	public ChannelExecutor(ChannelType channelType, int maxThreads, int queueCapacity,
+	                       boolean virtualThreads, RejectionPolicy rejectionPolicy) {
+		this.channelType = channelType;
+		this.virtualThreads = virtualThreads;
+		this.queueCapacity = queueCapacity;
+
+		String prefix = "channel-" + channelType.getType() + "-";
+		ThreadFactory threadFactory = virtualThreads
+			? Thread.ofVirtual().name(prefix, 0).factory()
+			: Thread.ofPlatform().name(prefix, 0).daemon(true).factory();
+		RejectedExecutionHandler fallback = rejectionPolicy == RejectionPolicy.CALLER_RUNS
+			? new ThreadPoolExecutor.CallerRunsPolicy()
+			: new ThreadPoolExecutor.AbortPolicy();
+
+		this.delegate = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS,
+			new ArrayBlockingQueue<>(queueCapacity), threadFactory, (task, executor) -> {
+				rejected.increment();
+				if (ABORT_WHEN_FULL.get()) {
+					log.warn("{} delivery queue is full ({} queued), rejecting a timer submission", channelType, queueCapacity);
+					throw new RejectedExecutionException(channelType + " delivery queue is full");
+				}
+				log.warn("{} delivery queue is full ({} queued), applying {}", channelType, queueCapacity, rejectionPolicy);
+				fallback.rejectedExecution(task, executor);
+			});
+		this.delegate.allowCoreThreadTimeOut(true);
+	}
+
+	@Override
+	public void execute(Runnable command) {
+		submitted.increment();
+		delegate.execute(command);
+	}
+
+	/**
+	 * This executor as seen from a batching or coalescing timer: once full it always rejects, whatever the
+	 * {@link RejectionPolicy}, so a delivery never runs on the timer thread and holds back the other timers.
+	 */
+	public Executor rejectingWhenFull() {
+		return command -> {
+			ABORT_WHEN_FULL.set(true);
+			try {
+				execute(command);
+			} finally {
+				ABORT_WHEN_FULL.remove();
+			}
+		};
+	}
+
+	/**
+	 * How many more deliveries can be submitted right now without being rejected: idle threads plus free queue slots.
+	 */
+	public int remainingCapacity() {
+		return Math.max(0, delegate.getMaximumPoolSize() - delegate.getActiveCount()) + delegate.getQueue().remainingCapacity();
+	}
+
+	public ChannelExecutorStats stats() {
+		long submittedCount = submitted.sum();
+		long rejectedCount = rejected.sum();
+		return new ChannelExecutorStats(
+			channelType,
+			virtualThreads,
+			delegate.getMaximumPoolSize(),
+			delegate.getActiveCount(),
+			delegate.getQueue().size(),
+			queueCapacity,
+			submittedCount,
+			delegate.getCompletedTaskCount(),
+			rejectedCount,
+			submittedCount == 0 ? 0 : (double) rejectedCount / submittedCount
+		);
+	}
+
+	void shutdown() {
+		delegate.shutdown();
+	}
+
+	public record ChannelExecutorStats(ChannelType channel, boolean virtualThreads, int maxThreads, int activeCount,
+	                                   int queueDepth, int queueCapacity, long submitted, long completed,
+	                                   long rejected, double rejectionRate) {
+	}
+}
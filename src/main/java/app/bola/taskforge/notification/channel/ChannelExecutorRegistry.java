@@ -0,0 +1,59 @@
+package app.bola.taskforge.notification.channel;
+
+import app.bola.taskforge.notification.model.ChannelType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds one {@link ChannelExecutor} per {@link ChannelType}.
+ * <p>
+ * Each channel is configured under {@code app.notification.channel.<type>.*} and falls back to
+ * {@code app.notification.channel.default.*}, e.g. {@code app.notification.channel.email.max-threads=8}.
+ */
+@Slf4j
+@Component
+public class ChannelExecutorRegistry {
+
+	private static final String PREFIX = "app.notification.channel.";
+
+	private final Map<ChannelType, ChannelExecutor> executors = new EnumMap<>(ChannelType.class);
+
+	public ChannelExecutorRegistry(Environment environment) {
+		for (ChannelType channelType : ChannelType.values()) {
+			String channel = channelType.getType();
+			int maxThreads = property(environment, channel, "max-threads", Integer.class, 4);
+			int queueCapacity = property(environment, channel, "queue-capacity", Integer.class, 500);
+			boolean virtualThreads = property(environment, channel, "virtual-threads", Boolean.class, false);
+			ChannelExecutor.RejectionPolicy rejectionPolicy = property(environment, channel, "rejection-policy",
+				ChannelExecutor.RejectionPolicy.class, ChannelExecutor.RejectionPolicy.ABORT);
+
+			executors.put(channelType, new ChannelExecutor(channelType, maxThreads, queueCapacity, virtualThreads, rejectionPolicy));
+			log.info("{} deliveries: {} {} thread(s), queue capacity {}, {} when full", channelType, maxThreads,
+				virtualThreads ? "virtual" : "platform", queueCapacity, rejectionPolicy);
+		}
+	}
+
+	private static <T> T property(Environment environment, String channel, String name, Class<T> type, T defaultValue) {
+		T fallback = environment.getProperty(PREFIX + "default." + name, type, defaultValue);
+		return environment.getProperty(PREFIX + channel + "." + name, type, fallback);
+	}
+
+	public ChannelExecutor executorFor(ChannelType channelType) {
+		return executors.get(channelType);
+	}
+
+	public List<ChannelExecutor.ChannelExecutorStats> stats() {
+		return executors.values().stream().map(ChannelExecutor::stats).toList();
+	}
+
+	@PreDestroy
+	void shutdown() {
+		executors.values().forEach(ChannelExecutor::shutdown);
+	}
+}
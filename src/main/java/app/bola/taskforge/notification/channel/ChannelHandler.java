@@ -5,6 +5,7 @@ import app.bola.taskforge.notification.model.DeliveryResult;
 import app.bola.taskforge.notification.model.NotificationBundle;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface ChannelHandler {
 	
@@ -16,8 +17,11 @@ public interface ChannelHandler {
 		return false;
 	}
 	
-	default CompletableFuture<DeliveryResult> deliverAsync(NotificationBundle bundle) {
-		return CompletableFuture.supplyAsync(() -> deliver(bundle));
+	/**
+	 * Delivers the bundle on the given executor, which is the bulkhead reserved for this handler's channel.
+	 */
+	default CompletableFuture<DeliveryResult> deliverAsync(NotificationBundle bundle, Executor executor) {
+		return CompletableFuture.supplyAsync(() -> deliver(bundle), executor);
 	}
 	
 	default DeliveryResult deliver(NotificationBundle bundle) {
@@ -0,0 +1,200 @@
+package app.bola.taskforge.notification.channel;
+
+import app.bola.taskforge.common.utilities.MicroBatcher;
+import app.bola.taskforge.notification.model.ChannelType;
+import app.bola.taskforge.notification.model.DeliveryResult;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Sends rendered emails through the Brevo transactional API.
+ * <p>
+ * Emails handed to {@link #dispatch} are grouped for up to {@code app.notification.email.batch.window} or
+ * {@code app.notification.email.batch.max-size} emails and sent as a single request with one
+ * {@code messageVersions} entry per email. Brevo answers with one message id per version, in order,
+ * which is what the per-email {@link DeliveryResult}s are built from.
+ * <p>
+ * Brevo rejects the whole request when one of its recipients is invalid. Such a batch is split in halves and each
+ * half sent again, so only the offending email fails and its batchmates do not spend their retries.
+ */
+@Slf4j
+@Component
+public class EmailBatchDispatcher {
+
+	private static final String API_KEY = "api-key";
+	private static final EmailRequestObject.Sender SENDER = new EmailRequestObject.Sender("noreply@taskforge.com", "TaskForge");
+
+	private final RestTemplate restTemplate;
+	private final String mailClientProviderUrl;
+	private final HttpHeaders httpHeaders;
+	private final MicroBatcher<EmailMessage, DeliveryResult> batcher;
+
+	public EmailBatchDispatcher(RestTemplate restTemplate,
+	                            @Qualifier("batchWindowScheduler") ScheduledExecutorService scheduledExecutorService,
+	                            ChannelExecutorRegistry executorRegistry,
+	                            @Value("${app.brevo.api-url}") String mailClientProviderUrl,
+	                            @Value("${app.brevo.api-key}") String mailApiKey,
+	                            @Value("${app.notification.email.batch.max-size:100}") int maxBatchSize,
+	                            @Value("#{T(java.time.Duration).parse('${app.notification.email.batch.window:PT0.5S}')}") Duration window) {
+		this.restTemplate = restTemplate;
+		this.mailClientProviderUrl = mailClientProviderUrl;
+		this.httpHeaders = new HttpHeaders();
+		this.httpHeaders.set(API_KEY, mailApiKey);
+		this.httpHeaders.setContentType(MediaType.APPLICATION_JSON);
+		this.httpHeaders.setAccept(List.of(MediaType.APPLICATION_JSON));
+		this.batcher = new MicroBatcher<>("email", maxBatchSize, window, scheduledExecutorService,
+			executorRegistry.executorFor(ChannelType.EMAIL).rejectingWhenFull(), this::send);
+	}
+
+	/**
+	 * Queues the email for the next batch.
+	 */
+	public CompletableFuture<DeliveryResult> dispatch(EmailMessage message) {
+		return batcher.submit(message);
+	}
+
+	/**
+	 * Sends the emails in a single provider request, bypassing the batch window.
+	 *
+	 * @return one result per email, in the order given
+	 */
+	public List<DeliveryResult> send(List<EmailMessage> messages) {
+		if (messages.isEmpty()) {
+			return List.of();
+		}
+		EmailMessage first = messages.getFirst();
+		EmailRequestObject emailObject = new EmailRequestObject();
+		emailObject.setSender(SENDER);
+		emailObject.setSubject(first.subject());
+		emailObject.setHtmlContent(first.htmlContent());
+		emailObject.setMessageVersions(messages.stream()
+			.map(message -> new EmailRequestObject.MessageVersion(
+				List.of(new EmailRequestObject.Recipient(message.emailTo(), message.recipientName())),
+				message.subject(), message.htmlContent()))
+			.toList());
+
+		try {
+			ResponseEntity<EmailResponseObject> response = restTemplate.postForEntity(mailClientProviderUrl,
+				new HttpEntity<>(emailObject, httpHeaders), EmailResponseObject.class);
+			if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+				return failAll(messages, "HTTP error: " + response.getStatusCode());
+			}
+			log.debug("Sent {} email(s) in one provider request", messages.size());
+			return toResults(messages, response.getBody());
+		} catch (HttpClientErrorException exception) {
+			if (messages.size() > 1 && rejectsMessages(exception.getStatusCode())) {
+				log.warn("Provider rejected a batch of {} email(s) with {}, splitting it", messages.size(), exception.getStatusCode());
+				int middle = messages.size() / 2;
+				List<DeliveryResult> results = new ArrayList<>(send(messages.subList(0, middle)));
+				results.addAll(send(messages.subList(middle, messages.size())));
+				return results;
+			}
+			log.error("Email delivery rejected for {} bundle(s)", messages.size(), exception);
+			return failAll(messages, exception.getMessage());
+		} catch (Exception exception) {
+			log.error("Email delivery failed for {} bundle(s)", messages.size(), exception);
+			return failAll(messages, exception.getMessage());
+		}
+	}
+
+	/**
+	 * A 4xx points at the content of the request, except for those about the account or the rate limit, which every
+	 * smaller request would get as well.
+	 */
+	private static boolean rejectsMessages(HttpStatusCode statusCode) {
+		return statusCode.is4xxClientError() && !statusCode.isSameCodeAs(HttpStatus.UNAUTHORIZED)
+			&& !statusCode.isSameCodeAs(HttpStatus.FORBIDDEN) && !statusCode.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+	}
+
+	private List<DeliveryResult> toResults(List<EmailMessage> messages, EmailResponseObject response) {
+		List<String> messageIds = response.getMessageIds() != null ? response.getMessageIds()
+			: response.getMessageId() != null ? List.of(response.getMessageId()) : List.of();
+
+		List<DeliveryResult> results = new ArrayList<>(messages.size());
+		for (int index = 0; index < messages.size(); index++) {
+			String messageId = index < messageIds.size() ? messageIds.get(index) : null;
+			results.add(DeliveryResult.success(messages.get(index).bundleId(), ChannelType.EMAIL, messageId));
+		}
+		return results;
+	}
+
+	private List<DeliveryResult> failAll(List<EmailMessage> messages, String errorMessage) {
+		return messages.stream()
+			.map(message -> DeliveryResult.failure(message.bundleId(), ChannelType.EMAIL, errorMessage))
+			.toList();
+	}
+
+	@PreDestroy
+	void flush() {
+		batcher.flush();
+	}
+
+	public record EmailMessage(String bundleId, String emailTo, String recipientName, String subject, String htmlContent) {
+	}
+
+	@Getter
+	@Setter
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private static class EmailRequestObject {
+
+		private String subject;
+		private String htmlContent;
+		private Sender sender;
+		private List<MessageVersion> messageVersions;
+
+		@Getter
+		@AllArgsConstructor
+		@JsonInclude(JsonInclude.Include.NON_NULL)
+		public static class MessageVersion {
+			private List<Recipient> to;
+			private String subject;
+			private String htmlContent;
+		}
+
+		@Getter
+		@AllArgsConstructor
+		public static class Recipient {
+			private String email;
+			private String name;
+		}
+
+		@Getter
+		@AllArgsConstructor
+		private static class Sender {
+			private String email;
+			private String name;
+		}
+	}
+
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	private static class EmailResponseObject {
+		private String messageId;
+		private List<String> messageIds;
+		private String code;
+		private String message;
+	}
+}
@@ -0,0 +1,85 @@
+package app.bola.taskforge.notification.channel;
+
+import app.bola.taskforge.common.utilities.MicroBatcher;
+import app.bola.taskforge.notification.model.ChannelType;
+import app.bola.taskforge.notification.model.DeliveryResult;
+import app.bola.taskforge.notification.model.NotificationBundle;
+import app.bola.taskforge.notification.service.InboxService;
+import app.bola.taskforge.notification.template.NotificationTemplateRenderer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Stores bundles in their recipients' in-app inbox. Bundles are grouped for up to
+ * {@code app.notification.inbox.batch.window} so a burst is written with a single batched insert.
+ */
+@Slf4j
+@Component
+public class InboxChannelHandler implements ChannelHandler {
+
+	final InboxService inboxService;
+	final NotificationTemplateRenderer templateRenderer;
+	private final MicroBatcher<NotificationBundle, DeliveryResult> batcher;
+
+	public InboxChannelHandler(InboxService inboxService,
+	                           @Qualifier("pushNotificationTemplateRenderer") NotificationTemplateRenderer templateRenderer,
+	                           @Qualifier("batchWindowScheduler") ScheduledExecutorService scheduledExecutorService, ChannelExecutorRegistry executorRegistry,
+	                           @Value("${app.notification.inbox.batch.max-size:200}") int maxBatchSize,
+	                           @Value("#{T(java.time.Duration).parse('${app.notification.inbox.batch.window:PT0.2S}')}") Duration window) {
+		this.inboxService = inboxService;
+		this.templateRenderer = templateRenderer;
+		this.batcher = new MicroBatcher<>("inbox", maxBatchSize, window, scheduledExecutorService,
+			executorRegistry.executorFor(ChannelType.INBOX).rejectingWhenFull(), this::store);
+	}
+
+	@Override
+	public ChannelType getChannelType() {
+		return ChannelType.INBOX;
+	}
+
+	@Override
+	public boolean canHandle(NotificationBundle bundle) {
+		return bundle.getChannels().contains(ChannelType.INBOX) && StringUtils.isNotBlank(bundle.getUserId());
+	}
+
+	@Override
+	public CompletableFuture<DeliveryResult> deliverAsync(NotificationBundle bundle, Executor executor) {
+		return CompletableFuture.supplyAsync(() -> render(bundle), executor)
+			.thenCompose(batcher::submit)
+			.exceptionally(exception -> {
+				log.error("Inbox delivery failed for bundle: {}", bundle.getId(), exception);
+				return DeliveryResult.failure(bundle.getId(), ChannelType.INBOX, exception.getMessage());
+			});
+	}
+
+	@Override
+	public DeliveryResult deliver(NotificationBundle bundle) {
+		return store(List.of(render(bundle))).getFirst();
+	}
+
+	private NotificationBundle render(NotificationBundle bundle) {
+		if (StringUtils.isBlank(bundle.getMessage()) && StringUtils.isNotBlank(bundle.getTemplateName())) {
+			bundle.setMessage(templateRenderer.render(bundle.getTemplateName(), "push", bundle.getTemplateVariables()));
+		}
+		return bundle;
+	}
+
+	private List<DeliveryResult> store(List<NotificationBundle> bundles) {
+		Set<String> stored = inboxService.store(bundles);
+		return bundles.stream()
+			.map(bundle -> stored.contains(bundle.getId())
+				? DeliveryResult.success(bundle.getId(), ChannelType.INBOX, bundle.getUserId())
+				: DeliveryResult.failure(bundle.getId(), ChannelType.INBOX, "Recipient not found"))
+			.toList();
+	}
+}
@@ -0,0 +1,102 @@
+package app.bola.taskforge.notification.channel;
+
+import app.bola.taskforge.notification.model.ChannelType;
+import app.bola.taskforge.notification.model.DeliveryResult;
+import app.bola.taskforge.notification.model.DeliveryStatus;
+import app.bola.taskforge.notification.model.NotificationBundle;
+import app.bola.taskforge.notification.service.PushDeviceService;
+import app.bola.taskforge.notification.template.NotificationTemplateRenderer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Sends bundles to every device the recipient registered, through the {@link PushGatewayClient}.
+ * <p>
+ * The bundle counts as delivered when at least one device received it. Tokens the gateway reports as unregistered
+ * are removed; when no other device accepted the bundle it is {@code DROPPED} rather than retried.
+ */
+@Slf4j
+@Component
+public class PushChannelHandler implements ChannelHandler {
+	
+	final PushGatewayClient gatewayClient;
+	final PushDeviceService deviceService;
+	final NotificationTemplateRenderer templateRenderer;
+	
+	public PushChannelHandler(PushGatewayClient gatewayClient, PushDeviceService deviceService,
+	                          @Qualifier("pushNotificationTemplateRenderer") NotificationTemplateRenderer templateRenderer) {
+		this.gatewayClient = gatewayClient;
+		this.deviceService = deviceService;
+		this.templateRenderer = templateRenderer;
+	}
+	
+	@Override
+	public ChannelType getChannelType() {
+		return ChannelType.PUSH;
+	}
+	
+	@Override
+	public boolean canHandle(NotificationBundle bundle) {
+		return gatewayClient.isEnabled() && bundle.getChannels().contains(ChannelType.PUSH)
+			&& StringUtils.isNotBlank(bundle.getUserId());
+	}
+	
+	@Override
+	public CompletableFuture<DeliveryResult> deliverAsync(NotificationBundle bundle, Executor executor) {
+		return CompletableFuture.supplyAsync(() -> deviceService.tokensOf(bundle.getUserId()), executor)
+			.thenCompose(tokens -> {
+				if (tokens.isEmpty()) {
+					return CompletableFuture.completedFuture(
+						DeliveryResult.dropped(bundle.getId(), ChannelType.PUSH, "No push device registered"));
+				}
+				return gatewayClient.send(toPushMessage(bundle), tokens)
+					.thenApplyAsync(results -> summarize(bundle, results), executor);
+			})
+			.exceptionally(exception -> {
+				log.error("Push delivery failed for bundle: {}", bundle.getId(), exception);
+				return DeliveryResult.failure(bundle.getId(), ChannelType.PUSH, exception.getMessage());
+			});
+	}
+	
+	@Override
+	public DeliveryResult deliver(NotificationBundle bundle) {
+		return deliverAsync(bundle, Runnable::run).join();
+	}
+	
+	private PushGatewayClient.PushMessage toPushMessage(NotificationBundle bundle) {
+		String message = StringUtils.isNotBlank(bundle.getMessage()) ? bundle.getMessage()
+			: templateRenderer.render(bundle.getTemplateName(), "push", bundle.getTemplateVariables());
+		return new PushGatewayClient.PushMessage(bundle.getId(), bundle.getTitle(), message, bundle.getPayload());
+	}
+	
+	private DeliveryResult summarize(NotificationBundle bundle, Map<String, DeliveryResult> results) {
+		Map<DeliveryStatus, List<DeliveryResult>> byStatus = results.values().stream()
+			.collect(Collectors.groupingBy(DeliveryResult::getStatus));
+		List<String> unregistered = results.entrySet().stream()
+			.filter(entry -> entry.getValue().getStatus() == DeliveryStatus.DROPPED)
+			.map(Map.Entry::getKey)
+			.toList();
+		deviceService.removeTokens(unregistered);
+		log.debug("Push bundle {} reached {} of {} device(s)", bundle.getId(),
+			byStatus.getOrDefault(DeliveryStatus.SUCCESS, List.of()).size(), results.size());
+		
+		List<DeliveryResult> delivered = byStatus.getOrDefault(DeliveryStatus.SUCCESS, List.of());
+		if (!delivered.isEmpty()) {
+			String messageIds = delivered.stream().map(DeliveryResult::getExternalId).collect(Collectors.joining(","));
+			return DeliveryResult.success(bundle.getId(), ChannelType.PUSH, messageIds);
+		}
+		List<DeliveryResult> failed = byStatus.getOrDefault(DeliveryStatus.FAILED, List.of());
+		if (!failed.isEmpty()) {
+			return DeliveryResult.failure(bundle.getId(), ChannelType.PUSH, failed.getFirst().getErrorMessage());
+		}
+		return DeliveryResult.dropped(bundle.getId(), ChannelType.PUSH, "Every push device is unregistered");
+	}
+}
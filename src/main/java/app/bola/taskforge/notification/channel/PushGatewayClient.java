@@ -0,0 +1,178 @@
+package app.bola.taskforge.notification.channel;
+
+import app.bola.taskforge.notification.model.ChannelType;
+import app.bola.taskforge.notification.model.DeliveryResult;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends push notifications to the push gateway at {@code app.notification.push.gateway.url}.
+ * <p>
+ * Requests go over HTTP/2 ({@code h2} with TLS, or {@code h2c} for a plain-text gateway such as a local stub) through
+ * a pool of at most {@code app.notification.push.gateway.max-connections} connections, each carrying up to
+ * {@code app.notification.push.gateway.max-concurrent-streams} requests at once. The tokens of a message are sent in
+ * requests of at most {@code app.notification.push.batch.max-tokens} tokens, and the gateway answers with one result
+ * per token.
+ */
+@Slf4j
+@Component
+public class PushGatewayClient {
+
+	/** Per-token statuses that mean the token will never be valid again. */
+	private static final Set<String> UNREGISTERED = Set.of("UNREGISTERED", "INVALID_TOKEN");
+
+	private final ObjectMapper objectMapper;
+	private final ConnectionProvider connectionProvider;
+	private final HttpClient httpClient;
+	private final String gatewayUrl;
+	private final int maxTokensPerRequest;
+
+	public PushGatewayClient(ObjectMapper objectMapper,
+	                         @Value("${app.notification.push.gateway.url:}") String gatewayUrl,
+	                         @Value("${app.notification.push.gateway.api-key:}") String apiKey,
+	                         @Value("${app.notification.push.gateway.protocol:H2}") HttpProtocol protocol,
+	                         @Value("${app.notification.push.gateway.max-connections:4}") int maxConnections,
+	                         @Value("${app.notification.push.gateway.max-concurrent-streams:100}") int maxConcurrentStreams,
+	                         @Value("#{T(java.time.Duration).parse('${app.notification.push.gateway.response-timeout:PT10S}')}") Duration responseTimeout,
+	                         @Value("${app.notification.push.batch.max-tokens:500}") int maxTokensPerRequest) {
+		this.objectMapper = objectMapper;
+		this.gatewayUrl = gatewayUrl;
+		this.maxTokensPerRequest = maxTokensPerRequest;
+		this.connectionProvider = ConnectionProvider.builder("push-gateway")
+			.allocationStrategy(Http2AllocationStrategy.builder()
+				.minConnections(1)
+				.maxConnections(maxConnections)
+				.maxConcurrentStreams(maxConcurrentStreams)
+				.build())
+			.build();
+		HttpClient client = HttpClient.create(connectionProvider)
+			.protocol(protocol)
+			.responseTimeout(responseTimeout)
+			.headers(headers -> {
+				headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+				headers.set(HttpHeaderNames.ACCEPT, HttpHeaderValues.APPLICATION_JSON);
+				if (StringUtils.isNotBlank(apiKey)) {
+					headers.set(HttpHeaderNames.AUTHORIZATION, "Bearer " + apiKey);
+				}
+			});
+		this.httpClient = protocol == HttpProtocol.H2 ? client.secure() : client;
+	}
+
+	public boolean isEnabled() {
+		return StringUtils.isNotBlank(gatewayUrl);
+	}
+
+	/**
+	 * Sends the message to every token, in as many requests as {@code app.notification.push.batch.max-tokens} calls
+	 * for, all of them in flight at once.
+	 *
+	 * @return one result per token: {@code SUCCESS}, {@code FAILED} when worth retrying, or {@code DROPPED} when the
+	 * gateway no longer knows the token
+	 */
+	public CompletableFuture<Map<String, DeliveryResult>> send(PushMessage message, List<String> tokens) {
+		List<List<String>> batches = new ArrayList<>();
+		for (int from = 0; from < tokens.size(); from += maxTokensPerRequest) {
+			batches.add(tokens.subList(from, Math.min(from + maxTokensPerRequest, tokens.size())));
+		}
+		return Flux.fromIterable(batches)
+			.flatMap(batch -> sendBatch(message, batch))
+			.collect(LinkedHashMap<String, DeliveryResult>::new, Map::putAll)
+			.<Map<String, DeliveryResult>>map(Collections::unmodifiableMap)
+			.toFuture();
+	}
+
+	private Mono<Map<String, DeliveryResult>> sendBatch(PushMessage message, List<String> tokens) {
+		byte[] body;
+		try {
+			body = objectMapper.writeValueAsBytes(new PushRequest(tokens, message.title(), message.body(), message.data()));
+		} catch (Exception exception) {
+			return Mono.just(failAll(message, tokens, exception.getMessage()));
+		}
+		return httpClient.post()
+			.uri(gatewayUrl)
+			.send(Mono.just(Unpooled.wrappedBuffer(body)))
+			.responseSingle((response, content) -> content.asByteArray()
+				.defaultIfEmpty(new byte[0])
+				.map(bytes -> toResults(message, tokens, response.status(), bytes)))
+			.onErrorResume(exception -> {
+				log.error("Push gateway request for bundle {} failed", message.bundleId(), exception);
+				return Mono.just(failAll(message, tokens, exception.getMessage()));
+			});
+	}
+
+	private Map<String, DeliveryResult> toResults(PushMessage message, List<String> tokens, HttpResponseStatus status, byte[] body) {
+		if (status.code() / 100 != 2) {
+			return failAll(message, tokens, "HTTP error: " + status);
+		}
+		PushResponse response;
+		try {
+			response = objectMapper.readValue(body, PushResponse.class);
+		} catch (Exception exception) {
+			return failAll(message, tokens, "Unreadable gateway response: " + exception.getMessage());
+		}
+
+		Map<String, TokenResult> byToken = new HashMap<>();
+		if (response.results() != null) {
+			response.results().forEach(result -> byToken.put(result.token(), result));
+		}
+		Map<String, DeliveryResult> results = new LinkedHashMap<>();
+		for (String token : tokens) {
+			TokenResult result = byToken.get(token);
+			if (result == null) {
+				results.put(token, DeliveryResult.failure(message.bundleId(), ChannelType.PUSH, "No result for token"));
+			} else if ("OK".equalsIgnoreCase(result.status())) {
+				results.put(token, DeliveryResult.success(message.bundleId(), ChannelType.PUSH, result.messageId()));
+			} else if (UNREGISTERED.contains(String.valueOf(result.status()).toUpperCase())) {
+				results.put(token, DeliveryResult.dropped(message.bundleId(), ChannelType.PUSH, result.status()));
+			} else {
+				results.put(token, DeliveryResult.failure(message.bundleId(), ChannelType.PUSH,
+					Objects.requireNonNullElse(result.error(), result.status())));
+			}
+		}
+		return results;
+	}
+
+	private static Map<String, DeliveryResult> failAll(PushMessage message, List<String> tokens, String errorMessage) {
+		Map<String, DeliveryResult> results = new LinkedHashMap<>();
+		tokens.forEach(token -> results.put(token, DeliveryResult.failure(message.bundleId(), ChannelType.PUSH, errorMessage)));
+		return results;
+	}
+
+	@PreDestroy
+	void shutdown() {
+		connectionProvider.dispose();
+	}
+
+	public record PushMessage(String bundleId, String title, String body, Map<String, Object> data) {
+	}
+
+	record PushRequest(List<String> tokens, String title, String body, Map<String, Object> data) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	record PushResponse(List<TokenResult> results) {
+	}
+
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	record TokenResult(String token, String status, String messageId, String error) {
+	}
+}
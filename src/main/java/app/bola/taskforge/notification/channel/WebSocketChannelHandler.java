@@ -11,7 +11,9 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Slf4j
 @Component
@@ -19,11 +21,14 @@ public class WebSocketChannelHandler implements ChannelHandler{
 	
 	final SimpMessagingTemplate messagingTemplate;
 	final NotificationTemplateRenderer templateRenderer;
+	final WebSocketOutboundQueue outboundQueue;
 	
 	public WebSocketChannelHandler(SimpMessagingTemplate messagingTemplate,
-	                               @Qualifier("pushNotificationTemplateRenderer") NotificationTemplateRenderer templateRenderer) {
+	                               @Qualifier("pushNotificationTemplateRenderer") NotificationTemplateRenderer templateRenderer,
+	                               WebSocketOutboundQueue outboundQueue) {
 		this.messagingTemplate = messagingTemplate;
 		this.templateRenderer = templateRenderer;
+		this.outboundQueue = outboundQueue;
 	}
 	
 	@Override
@@ -38,15 +43,9 @@ public class WebSocketChannelHandler implements ChannelHandler{
 	
 	@Override
 	public DeliveryResult deliver(NotificationBundle bundle) {
-		String message = templateRenderer.render(bundle.getTemplateName(), "push", bundle.getTemplateVariables());
-		bundle.setMessage(message);
 		try {
-			String tenantId = bundle.getPayload().get("tenantId").toString();
-			if (StringUtils.isBlank(tenantId)) {
-				throw new TaskForgeException("Tenant ID not found in NotificationBundle");
-			}
-			String destination = String.format("/topic/%s/user/%s", tenantId, bundle.getUserId());
-			messagingTemplate.convertAndSendToUser(bundle.getUserId(), destination, bundle);
+			String destination = render(bundle);
+			messagingTemplate.convertAndSendToUser(bundle.getUserId(), destination, new WebSocketOutboundQueue.WebSocketFrame(List.of(bundle)));
 			
 			log.debug("WebSocket notification sent to user: {}", bundle.getUserId());
 			return DeliveryResult.success(bundle.getId(), ChannelType.WEBSOCKET, destination);
@@ -57,12 +56,34 @@ public class WebSocketChannelHandler implements ChannelHandler{
 		}
 	}
 	
+	/**
+	 * Renders the bundle on the WebSocket executor and hands it to the user's {@link WebSocketOutboundQueue},
+	 * which sends it together with whatever else is pending for the user.
+	 */
 	@Override
-	public CompletableFuture<DeliveryResult> deliverAsync(NotificationBundle bundle) {
-		return CompletableFuture.supplyAsync(() -> deliver(bundle))
+	public CompletableFuture<DeliveryResult> deliverAsync(NotificationBundle bundle, Executor executor) {
+		return CompletableFuture.supplyAsync(() -> render(bundle), executor)
+			.thenCompose(destination -> outboundQueue.enqueue(tenantOf(bundle), bundle.getUserId(), destination, bundle))
 			.exceptionally(ex -> {
 				log.error("Async delivery failed for bundle: {}", bundle.getId(), ex);
 				return DeliveryResult.failure(bundle.getId(), ChannelType.WEBSOCKET, ex.getMessage());
 			});
 	}
+	
+	/**
+	 * @return the user destination the bundle is sent to
+	 */
+	private String render(NotificationBundle bundle) {
+		String message = templateRenderer.render(bundle.getTemplateName(), "push", bundle.getTemplateVariables());
+		bundle.setMessage(message);
+		return String.format("/topic/%s/user/%s", tenantOf(bundle), bundle.getUserId());
+	}
+	
+	private static String tenantOf(NotificationBundle bundle) {
+		Object tenantId = bundle.getPayload() == null ? null : bundle.getPayload().get("tenantId");
+		if (tenantId == null || StringUtils.isBlank(tenantId.toString())) {
+			throw new TaskForgeException("Tenant ID not found in NotificationBundle");
+		}
+		return tenantId.toString();
+	}
 }
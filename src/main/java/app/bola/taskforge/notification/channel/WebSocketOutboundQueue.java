@@ -0,0 +1,277 @@
+package app.bola.taskforge.notification.channel;
+
+import app.bola.taskforge.notification.metrics.NotificationMetrics;
+import app.bola.taskforge.notification.model.ChannelType;
+import app.bola.taskforge.notification.model.DeliveryResult;
+import app.bola.taskforge.notification.model.NotificationBundle;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queues outgoing WebSocket notifications per user and sends whatever has piled up for a user as one frame.
+ * <p>
+ * The first bundle queued for a user schedules a flush {@code app.notification.websocket.queue.coalesce-window}
+ * later; bundles arriving in the meantime join the same {@link WebSocketFrame}, up to
+ * {@code app.notification.websocket.queue.max-frame-size} per frame. A user has at most one flush scheduled or in
+ * flight at a time: the user's queue stays in place while its frame is being sent, and whatever arrived meanwhile is
+ * flushed once the send returns, so frames to a user are sent one after the other. A user's queue holds at most
+ * {@code app.notification.websocket.queue.max-depth} bundles; beyond that the {@link OverflowPolicy} decides what
+ * gives way. Dropped bundles are reported as {@code DROPPED}, not retried; they remain in the member's inbox.
+ */
+@Slf4j
+@Component
+public class WebSocketOutboundQueue {
+
+	public enum OverflowPolicy {
+		/** Drops the oldest queued bundle to make room for the new one. */
+		DROP_OLDEST,
+		/** Keeps the queue as it is and drops the new bundle. */
+		DROP_NEWEST,
+		/** Replaces a queued bundle about the same entity with the new one, dropping the oldest if there is none. */
+		COLLAPSE
+	}
+
+	private final SimpMessagingTemplate messagingTemplate;
+	private final ScheduledExecutorService scheduledExecutorService;
+	private final Executor flushExecutor;
+	private final NotificationMetrics metrics;
+	private final int maxDepth;
+	private final int maxFrameSize;
+	private final Duration coalesceWindow;
+	private final OverflowPolicy overflowPolicy;
+	private final Map<String, UserQueue> queues = new ConcurrentHashMap<>();
+	private final Map<String, TenantCounters> tenantCounters = new ConcurrentHashMap<>();
+
+	public WebSocketOutboundQueue(SimpMessagingTemplate messagingTemplate,
+	                              @Qualifier("batchWindowScheduler") ScheduledExecutorService scheduledExecutorService,
+	                              ChannelExecutorRegistry executorRegistry, NotificationMetrics metrics,
+	                              @Value("${app.notification.websocket.queue.max-depth:100}") int maxDepth,
+	                              @Value("${app.notification.websocket.queue.max-frame-size:50}") int maxFrameSize,
+	                              @Value("#{T(java.time.Duration).parse('${app.notification.websocket.queue.coalesce-window:PT0.025S}')}") Duration coalesceWindow,
+	                              @Value("${app.notification.websocket.queue.overflow-policy:DROP_OLDEST}") OverflowPolicy overflowPolicy) {
+		this(messagingTemplate, scheduledExecutorService, executorRegistry.executorFor(ChannelType.WEBSOCKET).rejectingWhenFull(), metrics,
+			maxDepth, maxFrameSize, coalesceWindow, overflowPolicy);
+	}
+
+	WebSocketOutboundQueue(SimpMessagingTemplate messagingTemplate, ScheduledExecutorService scheduledExecutorService,
+	                       Executor flushExecutor, NotificationMetrics metrics, int maxDepth, int maxFrameSize, Duration coalesceWindow,
+	                       OverflowPolicy overflowPolicy) {
+		this.messagingTemplate = messagingTemplate;
+		this.scheduledExecutorService = scheduledExecutorService;
+		this.flushExecutor = flushExecutor;
+		this.metrics = metrics;
+		this.maxDepth = maxDepth;
+		this.maxFrameSize = maxFrameSize;
+		this.coalesceWindow = coalesceWindow;
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * @return a future completed once the frame carrying the bundle has been sent, or once the bundle was dropped
+	 */
+	public CompletableFuture<DeliveryResult> enqueue(String tenantId, String userId, String destination, NotificationBundle bundle) {
+		String userKey = tenantId + ":" + userId;
+		Pending entry = new Pending(bundle, new CompletableFuture<>());
+		TenantCounters counters = countersFor(tenantId);
+		List<Pending> dropped = new ArrayList<>();
+		boolean[] scheduleFlush = {false};
+
+		queues.compute(userKey, (key, queue) -> {
+			UserQueue userQueue = queue == null ? new UserQueue(tenantId, userId, destination) : queue;
+			admit(userQueue, entry, dropped);
+			if (!userQueue.flushScheduled) {
+				userQueue.flushScheduled = true;
+				scheduleFlush[0] = true;
+			}
+			return userQueue;
+		});
+
+		counters.depth.addAndGet(1 - dropped.size());
+		dropped.forEach(pending -> {
+			counters.dropped.increment();
+			metrics.webSocketDropped(tenantId);
+			pending.result().complete(DeliveryResult.dropped(pending.bundle().getId(), ChannelType.WEBSOCKET,
+				"Dropped by the " + overflowPolicy + " policy, " + userKey + " is not keeping up"));
+		});
+		if (scheduleFlush[0]) {
+			scheduledExecutorService.schedule(() -> flushLater(userKey), coalesceWindow.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		return entry.result();
+	}
+
+	private void admit(UserQueue queue, Pending entry, List<Pending> dropped) {
+		if (queue.pending.size() < maxDepth) {
+			queue.pending.addLast(entry);
+			return;
+		}
+		switch (overflowPolicy) {
+			case DROP_NEWEST -> dropped.add(entry);
+			case DROP_OLDEST -> {
+				dropped.add(queue.pending.pollFirst());
+				queue.pending.addLast(entry);
+			}
+			case COLLAPSE -> {
+				Pending replaced = findSameEntity(queue, entry.bundle());
+				if (replaced == null) {
+					replaced = queue.pending.peekFirst();
+				}
+				queue.pending.remove(replaced);
+				dropped.add(replaced);
+				queue.pending.addLast(entry);
+			}
+		}
+	}
+
+	private static Pending findSameEntity(UserQueue queue, NotificationBundle bundle) {
+		List<String> entityIds = bundle.getSourceEntityIds();
+		if (entityIds == null || entityIds.isEmpty()) {
+			return null;
+		}
+		String entityId = entityIds.getLast();
+		for (Pending pending : queue.pending) {
+			List<String> pendingIds = pending.bundle().getSourceEntityIds();
+			if (pendingIds != null && !pendingIds.isEmpty() && entityId.equals(pendingIds.getLast())) {
+				return pending;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Hands the user's flush to the WebSocket executor. When that is full the flush is retried a coalesce window
+	 * later rather than sent on the calling thread, which is a timer or another user's flush; the user's queue keeps
+	 * filling meanwhile, bounded by its {@link OverflowPolicy}.
+	 */
+	private void flushLater(String userKey) {
+		try {
+			flushExecutor.execute(() -> flush(userKey));
+		} catch (RejectedExecutionException exception) {
+			log.debug("WebSocket executor is full, retrying the flush to {} in {}", userKey, coalesceWindow);
+			scheduledExecutorService.schedule(() -> flushLater(userKey), coalesceWindow.toMillis(), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	void flush(String userKey) {
+		List<Pending> frame = new ArrayList<>();
+		UserQueue[] flushed = new UserQueue[1];
+		queues.computeIfPresent(userKey, (key, queue) -> {
+			flushed[0] = queue;
+			while (!queue.pending.isEmpty() && frame.size() < maxFrameSize) {
+				frame.add(queue.pending.pollFirst());
+			}
+			return frame.isEmpty() ? null : queue;
+		});
+		if (frame.isEmpty()) {
+			return;
+		}
+
+		UserQueue queue = flushed[0];
+		TenantCounters counters = countersFor(queue.tenantId);
+		counters.depth.addAndGet(-frame.size());
+		try {
+			List<NotificationBundle> bundles = frame.stream().map(Pending::bundle).toList();
+			messagingTemplate.convertAndSendToUser(queue.userId, queue.destination, new WebSocketFrame(bundles));
+			counters.frames.increment();
+			counters.bundles.add(frame.size());
+			metrics.webSocketFrameSent(queue.tenantId, frame.size());
+			frame.forEach(pending -> pending.result().complete(
+				DeliveryResult.success(pending.bundle().getId(), ChannelType.WEBSOCKET, queue.destination)));
+			log.debug("Sent {} bundle(s) to {} in one frame", frame.size(), userKey);
+		} catch (Exception exception) {
+			log.error("WebSocket frame to {} failed", userKey, exception);
+			frame.forEach(pending -> pending.result().complete(
+				DeliveryResult.failure(pending.bundle().getId(), ChannelType.WEBSOCKET, exception.getMessage())));
+		}
+		if (completeFlush(userKey)) {
+			flushLater(userKey);
+		}
+	}
+
+	/**
+	 * Ends the flush in flight for a user, dropping the user's queue if nothing arrived while the frame was sent.
+	 *
+	 * @return whether bundles are still pending and need another flush
+	 */
+	private boolean completeFlush(String userKey) {
+		boolean[] morePending = {false};
+		queues.computeIfPresent(userKey, (key, queue) -> {
+			if (queue.pending.isEmpty()) {
+				return null;
+			}
+			morePending[0] = true;
+			return queue;
+		});
+		return morePending[0];
+	}
+
+	private TenantCounters countersFor(String tenantId) {
+		return tenantCounters.computeIfAbsent(String.valueOf(tenantId), tenant -> {
+			TenantCounters counters = new TenantCounters();
+			metrics.tenantGauge("notification.websocket.queue.depth", tenant, counters.depth::get);
+			return counters;
+		});
+	}
+
+	/**
+	 * @return the queue statistics of one tenant, all zero if nothing was ever queued for it
+	 */
+	public TenantQueueStats stats(String tenantId) {
+		TenantCounters counters = tenantCounters.get(String.valueOf(tenantId));
+		return counters == null ? new TenantQueueStats(tenantId, 0, 0, 0, 0) : counters.snapshot(tenantId);
+	}
+
+	public List<TenantQueueStats> stats() {
+		return tenantCounters.entrySet().stream()
+			.map(entry -> entry.getValue().snapshot(entry.getKey()))
+			.sorted(Comparator.comparing(TenantQueueStats::tenantId))
+			.toList();
+	}
+
+	/**
+	 * What a client receives: every bundle that was queued for it since the previous frame, oldest first.
+	 */
+	public record WebSocketFrame(List<NotificationBundle> bundles) {
+	}
+
+	public record TenantQueueStats(String tenantId, long queueDepth, long framesSent, long bundlesSent, long dropped) {
+	}
+
+	private record Pending(NotificationBundle bundle, CompletableFuture<DeliveryResult> result) {
+	}
+
+	private static final class UserQueue {
+
+		final String tenantId;
+		final String userId;
+		final String destination;
+		final Deque<Pending> pending = new ArrayDeque<>();
+		boolean flushScheduled;
+
+		UserQueue(String tenantId, String userId, String destination) {
+			this.tenantId = tenantId;
+			this.userId = userId;
+			this.destination = destination;
+		}
+	}
+
+	private static final class TenantCounters {
+
+		final AtomicLong depth = new AtomicLong();
+		final LongAdder frames = new LongAdder();
+		final LongAdder bundles = new LongAdder();
+		final LongAdder dropped = new LongAdder();
+
+		TenantQueueStats snapshot(String tenantId) {
+			return new TenantQueueStats(tenantId, depth.get(), frames.sum(), bundles.sum(), dropped.sum());
+		}
+	}
+}
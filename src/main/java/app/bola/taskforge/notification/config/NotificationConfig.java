@@ -1,15 +1,18 @@
 package app.bola.taskforge.notification.config;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
-import org.thymeleaf.context.Context;
 
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
@@ -20,9 +23,27 @@ public class NotificationConfig {
 	@Value("${scheduled.notification.thread-pool-size:10}")
 	private String threadPoolSize;
 	
+	@Value("${scheduled.notification.batch-window-pool-size:2}")
+	private String batchWindowPoolSize;
+	
+	/**
+	 * Runs the pollers: the debounce lanes, quiet hours, both outboxes and the digest launcher.
+	 */
 	@Bean
+	@Primary
 	public ScheduledExecutorService scheduledExecutorService() {
-		return Executors.newScheduledThreadPool(Integer.parseInt(threadPoolSize));
+		return Executors.newScheduledThreadPool(Integer.parseInt(threadPoolSize),
+			Thread.ofPlatform().name("notification-poller-", 0).daemon(true).factory());
+	}
+	
+	/**
+	 * Fires the batching and coalescing windows of the channels, apart from the pollers so a long poll never holds
+	 * back a flush. These timers only hand work to the channel executors and never send anything themselves.
+	 */
+	@Bean
+	public ScheduledExecutorService batchWindowScheduler() {
+		return Executors.newScheduledThreadPool(Integer.parseInt(batchWindowPoolSize),
+			Thread.ofPlatform().name("notification-batch-window-", 0).daemon(true).factory());
 	}
 	
 	@Bean
@@ -34,11 +55,6 @@ public class NotificationConfig {
 		return messageSource;
 	}
 	
-	@Bean
-	public Context context() {
-		return new Context();
-	}
-	
 	@Bean
 	public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
 		RedisTemplate<String, Object> template = new RedisTemplate<>();
@@ -48,4 +64,25 @@ public class NotificationConfig {
 		return template;
 	}
 	
+	/**
+	 * Every pipeline here is a bounded batch, so it is written to Redis in one go when it is closed. Lettuce's
+	 * default flushes each command of a pipeline on its own.
+	 */
+	@Bean
+	public static BeanPostProcessor pipeliningFlushPolicy() {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (bean instanceof LettuceConnectionFactory connectionFactory) {
+					flushPipelinesOnClose(connectionFactory);
+				}
+				return bean;
+			}
+		};
+	}
+	
+	public static void flushPipelinesOnClose(LettuceConnectionFactory connectionFactory) {
+		connectionFactory.setPipeliningFlushPolicy(LettuceConnection.PipeliningFlushPolicy.flushOnClose());
+	}
+	
 }
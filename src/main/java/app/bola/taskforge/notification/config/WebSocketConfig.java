@@ -9,6 +9,9 @@ import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import java.time.Duration;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -18,6 +21,10 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 	private String clientLogin;
 	@Value("${spring.rabbitmq.client-passcode}")
 	private String clientPasscode;
+	@Value("#{T(java.time.Duration).parse('${app.notification.websocket.send-time-limit:PT10S}')}")
+	private Duration sendTimeLimit;
+	@Value("${app.notification.websocket.send-buffer-size-limit:524288}")
+	private int sendBufferSizeLimit;
 	
 	final TenantChannelInterceptor tenantChannelInterceptor;
 	final WebsocketLoggingHandshakeInterceptor loggingHandshakeInterceptor;
@@ -43,6 +50,16 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 				.setClientPasscode(clientPasscode);
 	}
 	
+	/**
+	 * A session that cannot take its frames within the time limit, or lets more than the buffer limit pile up,
+	 * is closed rather than allowed to hold on to memory.
+	 */
+	@Override
+	public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+		registration.setSendTimeLimit((int) sendTimeLimit.toMillis())
+				.setSendBufferSizeLimit(sendBufferSizeLimit);
+	}
+	
 	@Override
 	public void registerStompEndpoints(StompEndpointRegistry registry) {
 		registry.addEndpoint("/taskforge-ws")
@@ -1,11 +1,12 @@
 package app.bola.taskforge.notification.consumer;
 
-import app.bola.taskforge.event.TaskEvent;
-import app.bola.taskforge.event.ProjectEvent;
+import app.bola.taskforge.domain.context.TenantContext;
+import app.bola.taskforge.event.TaskForgeEvent;
+import app.bola.taskforge.event.bus.EventBus;
 import app.bola.taskforge.notification.service.NotificationService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 @Slf4j
@@ -13,15 +14,25 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class NotificationEventConsumer {
 	
+	private static final String SUBSCRIPTION = "notification-service";
+	
+	final EventBus eventBus;
 	final NotificationService notificationService;
 	
-	@EventListener
-	public void consumeTaskEvent(TaskEvent event) {
-		notificationService.processEvent(event);
+	@PostConstruct
+	void subscribe() {
+		eventBus.subscribe(SUBSCRIPTION, this::consume);
 	}
-
-	@EventListener
-	public void consumeProjectEvent(ProjectEvent event){
-		notificationService.processEvent(event);
+	
+	/**
+	 * Events arrive on a bus thread, so the tenant of the event is made current for the time it is processed.
+	 */
+	void consume(TaskForgeEvent event) {
+		TenantContext.setCurrentTenant(event.getOrganizationId());
+		try {
+			notificationService.processEvent(event);
+		} finally {
+			TenantContext.clear();
+		}
 	}
 }
@@ -0,0 +1,53 @@
+package app.bola.taskforge.notification.digest;
+
+import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.domain.entity.Notification;
+import app.bola.taskforge.domain.enums.DigestFrequency;
+import app.bola.taskforge.repository.NotificationRepository;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.data.domain.Limit;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders the digest of one member from the unread notifications no earlier digest included. Members with nothing
+ * new are filtered out.
+ */
+public class DigestItemProcessor implements ItemProcessor<Member, NotificationDigest> {
+
+	private final NotificationRepository notificationRepository;
+	private final TemplateEngine templateEngine;
+	private final String frontendBaseUrl;
+	private final int maxItems;
+
+	public DigestItemProcessor(NotificationRepository notificationRepository, TemplateEngine templateEngine,
+	                           String frontendBaseUrl, int maxItems) {
+		this.notificationRepository = notificationRepository;
+		this.templateEngine = templateEngine;
+		this.frontendBaseUrl = frontendBaseUrl;
+		this.maxItems = maxItems;
+	}
+
+	@Override
+	public NotificationDigest process(Member member) {
+		List<Notification> notifications = notificationRepository.findDigestItems(member.getId(), Limit.of(maxItems));
+		if (notifications.isEmpty()) {
+			return null;
+		}
+		DigestFrequency frequency = member.getNotificationPreference().getDigestFrequency();
+		String subject = String.format("Your %s TaskForge digest: %d unread notification%s",
+			frequency == DigestFrequency.HOURLY ? "hourly" : "daily", notifications.size(), notifications.size() == 1 ? "" : "s");
+		Context context = new Context(Locale.getDefault(), Map.of(
+			"recipientName", member.getFirstName() == null ? "" : member.getFirstName(),
+			"organizationName", member.getOrganization() == null ? "" : member.getOrganization().getName(),
+			"notifications", notifications,
+			"inboxUrl", frontendBaseUrl + "/notifications"));
+		String htmlContent = templateEngine.process("notification-digest.html", context);
+		return new NotificationDigest(member.getPublicId(), member.getEmail(), member.getFirstName(), subject, htmlContent,
+			notifications.stream().map(Notification::getId).toList());
+	}
+}
@@ -0,0 +1,92 @@
+package app.bola.taskforge.notification.digest;
+
+import app.bola.taskforge.notification.channel.EmailBatchDispatcher;
+import app.bola.taskforge.notification.model.DeliveryResult;
+import app.bola.taskforge.notification.model.DeliveryStatus;
+import app.bola.taskforge.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Claims the notifications of a chunk's digests, sends the claimed digests as one email provider request and hands
+ * the notifications of every digest that was not accepted back to the next run.
+ * <p>
+ * Claiming marks the notifications as digested in a transaction of its own that commits before anything is sent,
+ * so neither a chunk that is retried nor a run that overlaps this one can send them again. A digest is only sent
+ * when this writer claimed all of its notifications. A crash between claiming and sending loses the digest rather
+ * than sending it twice; its notifications are still in the inbox.
+ */
+@Slf4j
+public class DigestItemWriter implements ItemWriter<NotificationDigest> {
+
+	private final EmailBatchDispatcher emailBatchDispatcher;
+	private final NotificationRepository notificationRepository;
+	private final TransactionTemplate claimTransaction;
+	private final String runId;
+
+	public DigestItemWriter(EmailBatchDispatcher emailBatchDispatcher, NotificationRepository notificationRepository,
+	                        PlatformTransactionManager transactionManager, String runId) {
+		this.emailBatchDispatcher = emailBatchDispatcher;
+		this.notificationRepository = notificationRepository;
+		this.claimTransaction = new TransactionTemplate(transactionManager);
+		this.claimTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.runId = runId;
+	}
+
+	@Override
+	public void write(Chunk<? extends NotificationDigest> chunk) {
+		// The column keeps microseconds, so the claim can be matched again when it is released.
+		LocalDateTime claimedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+		List<NotificationDigest> digests = claim(chunk.getItems(), claimedAt);
+		if (digests.isEmpty()) {
+			return;
+		}
+		List<DeliveryResult> results = emailBatchDispatcher.send(digests.stream()
+			.map(digest -> new EmailBatchDispatcher.EmailMessage("digest:" + runId + ":" + digest.memberPublicId(),
+				digest.email(), digest.recipientName(), digest.subject(), digest.htmlContent()))
+			.toList());
+
+		List<String> unsent = new ArrayList<>();
+		for (int index = 0; index < digests.size(); index++) {
+			DeliveryResult result = results.get(index);
+			if (result.getStatus() != DeliveryStatus.SUCCESS) {
+				log.warn("Digest for {} was not sent: {}", digests.get(index).memberPublicId(), result.getErrorMessage());
+				unsent.addAll(digests.get(index).notificationIds());
+			}
+		}
+		if (!unsent.isEmpty()) {
+			claimTransaction.executeWithoutResult(status -> notificationRepository.releaseDigested(unsent, claimedAt));
+		}
+	}
+
+	/**
+	 * @return the digests all of whose notifications were claimed. The share of a digest another run got to first
+	 * is released again.
+	 */
+	private List<NotificationDigest> claim(List<? extends NotificationDigest> digests, LocalDateTime claimedAt) {
+		List<NotificationDigest> claimed = new ArrayList<>();
+		claimTransaction.executeWithoutResult(status -> {
+			for (NotificationDigest digest : digests) {
+				int marked = notificationRepository.markDigested(digest.notificationIds(), claimedAt);
+				if (marked == digest.notificationIds().size()) {
+					claimed.add(digest);
+					continue;
+				}
+				log.debug("Digest for {} is being sent by another run", digest.memberPublicId());
+				if (marked > 0) {
+					notificationRepository.releaseDigested(digest.notificationIds(), claimedAt);
+				}
+			}
+		});
+		return claimed;
+	}
+}
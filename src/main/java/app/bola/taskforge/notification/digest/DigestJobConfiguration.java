@@ -0,0 +1,125 @@
+package app.bola.taskforge.notification.digest;
+
+import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.domain.enums.DigestFrequency;
+import app.bola.taskforge.notification.channel.EmailBatchDispatcher;
+import app.bola.taskforge.repository.NotificationRepository;
+import app.bola.taskforge.repository.OrganizationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.database.JpaPagingItemReader;
+import org.springframework.batch.item.database.builder.JpaPagingItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.thymeleaf.TemplateEngine;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * The digest job: a manager step that partitions the run by tenant and a chunk-oriented worker step that reads the
+ * tenant's digest recipients, renders one digest per recipient and sends each chunk as one email batch.
+ * <p>
+ * The job is launched by {@link DigestScheduler} once an hour with the hour as its identifying {@code runAt}
+ * parameter, so a run that completed is never repeated, and launching a failed run again resumes it where it
+ * stopped.
+ */
+@Configuration
+public class DigestJobConfiguration {
+
+	static final String JOB_NAME = "notificationDigestJob";
+
+	@Value("${app.notification.digest.chunk-size:100}")
+	private int chunkSize;
+	@Value("${app.notification.digest.partition-concurrency:4}")
+	private int partitionConcurrency;
+
+	@Bean
+	public Job notificationDigestJob(JobRepository jobRepository, Step digestManagerStep) {
+		return new JobBuilder(JOB_NAME, jobRepository)
+			.start(digestManagerStep)
+			.build();
+	}
+
+	@Bean
+	public Step digestManagerStep(JobRepository jobRepository, TenantDigestPartitioner digestPartitioner,
+	                              Step digestWorkerStep) {
+		SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("digest-");
+		taskExecutor.setConcurrencyLimit(partitionConcurrency);
+		return new StepBuilder("digestManagerStep", jobRepository)
+			.partitioner("digestWorkerStep", digestPartitioner)
+			.step(digestWorkerStep)
+			.taskExecutor(taskExecutor)
+			.build();
+	}
+
+	@Bean
+	public Step digestWorkerStep(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+	                             JpaPagingItemReader<Member> digestRecipientReader, DigestItemProcessor digestItemProcessor,
+	                             DigestItemWriter digestItemWriter) {
+		return new StepBuilder("digestWorkerStep", jobRepository)
+			.<Member, NotificationDigest>chunk(chunkSize, transactionManager)
+			.reader(digestRecipientReader)
+			.processor(digestItemProcessor)
+			.writer(digestItemWriter)
+			.build();
+	}
+
+	@Bean
+	@JobScope
+	public TenantDigestPartitioner digestPartitioner(OrganizationRepository organizationRepository,
+	                                                 @Value("#{jobParameters['runAt']}") String runAt) {
+		return new TenantDigestPartitioner(organizationRepository, Instant.parse(runAt));
+	}
+
+	/**
+	 * Members of the partition's tenant who get an hourly digest, or a daily one at the partition's local hour.
+	 */
+	@Bean
+	@StepScope
+	public JpaPagingItemReader<Member> digestRecipientReader(EntityManagerFactory entityManagerFactory,
+	                                                         @Value("#{stepExecutionContext['tenantId']}") String tenantId,
+	                                                         @Value("#{stepExecutionContext['localHour']}") Integer localHour) {
+		return new JpaPagingItemReaderBuilder<Member>()
+			.name("digestRecipientReader")
+			.entityManagerFactory(entityManagerFactory)
+			.queryString("""
+				SELECT m FROM Member m JOIN FETCH m.notificationPreference p
+				WHERE m.organization.publicId = :tenantId AND m.deleted = false AND p.allowNotification = true
+				AND (p.digestFrequency = :hourly OR (p.digestFrequency = :daily AND p.digestHour = :localHour))
+				ORDER BY m.id
+				""")
+			.parameterValues(Map.of("tenantId", tenantId, "localHour", localHour,
+				"hourly", DigestFrequency.HOURLY, "daily", DigestFrequency.DAILY))
+			.pageSize(chunkSize)
+			.build();
+	}
+
+	@Bean
+	@StepScope
+	public DigestItemProcessor digestItemProcessor(NotificationRepository notificationRepository,
+	                                               @Qualifier("emailTemplateEngine") TemplateEngine templateEngine,
+	                                               @Value("${app.frontend.base-url}") String frontendBaseUrl,
+	                                               @Value("${app.notification.digest.max-items:50}") int maxItems) {
+		return new DigestItemProcessor(notificationRepository, templateEngine, frontendBaseUrl, maxItems);
+	}
+
+	@Bean
+	@StepScope
+	public DigestItemWriter digestItemWriter(EmailBatchDispatcher emailBatchDispatcher,
+	                                         NotificationRepository notificationRepository,
+	                                         PlatformTransactionManager transactionManager,
+	                                         @Value("#{jobParameters['runAt']}") String runAt) {
+		return new DigestItemWriter(emailBatchDispatcher, notificationRepository, transactionManager, runAt);
+	}
+}
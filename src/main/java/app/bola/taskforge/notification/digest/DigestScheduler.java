@@ -0,0 +1,82 @@
+package app.bola.taskforge.notification.digest;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Launches the digest job at the start of every hour, and once at startup for the current hour in case no node was
+ * up when it started. Every node runs the schedule; the job repository lets only one of them run a given hour.
+ */
+@Slf4j
+@Component
+public class DigestScheduler {
+
+	private final JobLauncher jobLauncher;
+	private final Job digestJob;
+	private final ScheduledExecutorService scheduledExecutorService;
+	private final boolean enabled;
+	private ScheduledFuture<?> schedule;
+
+	public DigestScheduler(JobLauncher jobLauncher, @Qualifier("notificationDigestJob") Job digestJob,
+	                       ScheduledExecutorService scheduledExecutorService,
+	                       @Value("${app.notification.digest.enabled:true}") boolean enabled) {
+		this.jobLauncher = jobLauncher;
+		this.digestJob = digestJob;
+		this.scheduledExecutorService = scheduledExecutorService;
+		this.enabled = enabled;
+	}
+
+	@PostConstruct
+	void start() {
+		if (!enabled) {
+			log.info("Notification digests are disabled");
+			return;
+		}
+		Instant now = Instant.now();
+		long untilNextHour = Duration.between(now, now.truncatedTo(ChronoUnit.HOURS).plus(1, ChronoUnit.HOURS)).toMillis();
+		scheduledExecutorService.execute(this::runCurrentHour);
+		schedule = scheduledExecutorService.scheduleAtFixedRate(this::runCurrentHour, untilNextHour,
+			TimeUnit.HOURS.toMillis(1), TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	void stop() {
+		if (schedule != null) {
+			schedule.cancel(false);
+		}
+	}
+
+	void runCurrentHour() {
+		run(Instant.now().truncatedTo(ChronoUnit.HOURS));
+	}
+
+	void run(Instant hour) {
+		JobParameters parameters = new JobParametersBuilder()
+			.addString("runAt", hour.toString())
+			.toJobParameters();
+		try {
+			jobLauncher.run(digestJob, parameters);
+		} catch (JobInstanceAlreadyCompleteException | JobExecutionAlreadyRunningException exception) {
+			log.debug("Digest run for {} is already done or in progress elsewhere", hour);
+		} catch (Exception exception) {
+			log.error("Digest run for {} failed, its notifications stay in line for the next digest", hour, exception);
+		}
+	}
+}
@@ -0,0 +1,10 @@
+package app.bola.taskforge.notification.digest;
+
+import java.util.List;
+
+/**
+ * A rendered digest email and the notifications it includes.
+ */
+public record NotificationDigest(String memberPublicId, String email, String recipientName, String subject,
+                                 String htmlContent, List<String> notificationIds) {
+}
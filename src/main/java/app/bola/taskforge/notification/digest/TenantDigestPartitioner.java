@@ -0,0 +1,59 @@
+package app.bola.taskforge.notification.digest;
+
+import app.bola.taskforge.domain.entity.Organization;
+import app.bola.taskforge.repository.OrganizationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Splits a digest run into one partition per organization, each carrying the hour it is in the organization's
+ * {@code timeZone} at the time of the run, so daily digests go out at the same local hour everywhere.
+ */
+@Slf4j
+public class TenantDigestPartitioner implements Partitioner {
+
+	static final String TENANT_ID = "tenantId";
+	static final String LOCAL_HOUR = "localHour";
+
+	private final OrganizationRepository organizationRepository;
+	private final Instant runAt;
+
+	public TenantDigestPartitioner(OrganizationRepository organizationRepository, Instant runAt) {
+		this.organizationRepository = organizationRepository;
+		this.runAt = runAt;
+	}
+
+	@Override
+	public Map<String, ExecutionContext> partition(int gridSize) {
+		Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+		for (Organization organization : organizationRepository.findAllScoped()) {
+			ExecutionContext context = new ExecutionContext();
+			context.putString(TENANT_ID, organization.getPublicId());
+			context.putInt(LOCAL_HOUR, runAt.atZone(zoneOf(organization)).getHour());
+			partitions.put("tenant:" + organization.getPublicId(), context);
+		}
+		log.info("Digest run for {} split into {} tenant partition(s)", runAt, partitions.size());
+		return partitions;
+	}
+
+	private static ZoneId zoneOf(Organization organization) {
+		String zone = organization.getTimeZone();
+		if (zone == null || zone.isBlank()) {
+			return ZoneOffset.UTC;
+		}
+		try {
+			return ZoneId.of(zone);
+		} catch (DateTimeException exception) {
+			log.warn("Organization {} has an invalid time zone {}, using UTC", organization.getPublicId(), zone);
+			return ZoneOffset.UTC;
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package app.bola.taskforge.notification.metrics;
+
+import app.bola.taskforge.notification.channel.ChannelExecutor;
+import app.bola.taskforge.notification.channel.ChannelExecutorRegistry;
+import app.bola.taskforge.notification.model.ChannelType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the load of every channel's delivery executor, the same figures {@code /api/health/channels} shows.
+ */
+@Component
+public class ChannelExecutorMetrics implements MeterBinder {
+	
+	private final ChannelExecutorRegistry executorRegistry;
+	
+	public ChannelExecutorMetrics(ChannelExecutorRegistry executorRegistry) {
+		this.executorRegistry = executorRegistry;
+	}
+	
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		for (ChannelType channelType : ChannelType.values()) {
+			ChannelExecutor executor = executorRegistry.executorFor(channelType);
+			String channel = channelType.getType();
+			gauge(registry, "notification.channel.executor.active", channel, executor, stats -> stats.stats().activeCount());
+			gauge(registry, "notification.channel.executor.queued", channel, executor, stats -> stats.stats().queueDepth());
+			gauge(registry, "notification.channel.executor.queue.capacity", channel, executor, stats -> stats.stats().queueCapacity());
+			FunctionCounter.builder("notification.channel.executor.submitted", executor, stats -> stats.stats().submitted())
+				.tag("channel", channel)
+				.register(registry);
+			FunctionCounter.builder("notification.channel.executor.rejected", executor, stats -> stats.stats().rejected())
+				.tag("channel", channel)
+				.register(registry);
+		}
+	}
+	
+	private static void gauge(MeterRegistry registry, String name, String channel, ChannelExecutor executor,
+	                          ToDoubleFunction<ChannelExecutor> value) {
+		Gauge.builder(name, executor, value).tag("channel", channel).register(registry);
+	}
+}
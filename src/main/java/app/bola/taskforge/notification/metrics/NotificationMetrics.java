@@ -0,0 +1,170 @@
+package app.bola.taskforge.notification.metrics;
+
+import app.bola.taskforge.notification.model.ChannelType;
+import app.bola.taskforge.notification.model.DeliveryStatus;
+import io.micrometer.core.instrument.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Records how long each stage of the notification pipeline takes and how it ends: event intake, preference
+ * lookup, debouncing, merging, template rendering and delivery per channel.
+ * <p>
+ * Meters that carry a {@code tenant} tag go through {@link #tenantTag}: the first
+ * {@code app.notification.metrics.max-tenant-tags} tenants seen get their own tag value, every tenant after that
+ * is reported as {@value #OTHER_TENANT}, so the number of series stays bounded however many tenants there are.
+ */
+@Slf4j
+@Component
+public class NotificationMetrics {
+
+	static final String OTHER_TENANT = "other";
+	static final String NO_TENANT = "none";
+
+	private final MeterRegistry meterRegistry;
+	private final int maxTenantTags;
+	private final Set<String> taggedTenants = ConcurrentHashMap.newKeySet();
+
+	public NotificationMetrics(MeterRegistry meterRegistry,
+	                           @Value("${app.notification.metrics.max-tenant-tags:100}") int maxTenantTags) {
+		this.meterRegistry = meterRegistry;
+		this.maxTenantTags = maxTenantTags;
+	}
+
+	public String tenantTag(String tenantId) {
+		if (tenantId == null || tenantId.isBlank()) {
+			return NO_TENANT;
+		}
+		if (taggedTenants.contains(tenantId)) {
+			return tenantId;
+		}
+		synchronized (taggedTenants) {
+			if (taggedTenants.size() < maxTenantTags) {
+				taggedTenants.add(tenantId);
+				return tenantId;
+			}
+		}
+		return OTHER_TENANT;
+	}
+
+	public void eventProcessed(String tenantId, String eventType, Duration elapsed) {
+		Timer.builder("notification.intake")
+			.description("Time from receiving a domain event to handing its recipients to the debounce engine")
+			.tags("tenant", tenantTag(tenantId), "type", eventType)
+			.register(meterRegistry)
+			.record(elapsed);
+	}
+
+	public void preferencesLoaded(Duration elapsed, int cacheHits, int cacheMisses) {
+		Timer.builder("notification.preference.lookup")
+			.description("Time to resolve the preferences of a batch of recipients")
+			.register(meterRegistry)
+			.record(elapsed);
+		Counter.builder("notification.preference.cache").tag("result", "hit").register(meterRegistry).increment(cacheHits);
+		Counter.builder("notification.preference.cache").tag("result", "miss").register(meterRegistry).increment(cacheMisses);
+	}
+
+	/**
+	 * @param age how long the oldest of the flushed candidates waited in the debounce buffer
+	 */
+	public void debounceFlushed(String tenantId, String lane, Duration age, int candidates) {
+		Timer.builder("notification.debounce.age")
+			.description("Time candidates spent in the debounce buffer before being flushed")
+			.tags("tenant", tenantTag(tenantId), "lane", lane)
+			.register(meterRegistry)
+			.record(age);
+		DistributionSummary.builder("notification.debounce.candidates")
+			.description("Candidates merged into one bundle")
+			.tag("lane", lane)
+			.register(meterRegistry)
+			.record(candidates);
+	}
+
+	public void merged(Duration elapsed) {
+		Timer.builder("notification.debounce.merge").register(meterRegistry).record(elapsed);
+	}
+
+	public void rendered(String channel, Duration elapsed, boolean success) {
+		Timer.builder("notification.template.render")
+			.tags("channel", String.valueOf(channel), "outcome", success ? "success" : "failure")
+			.register(meterRegistry)
+			.record(elapsed);
+	}
+
+	/**
+	 * Runs the render and records how long it took and whether it threw.
+	 */
+	public String timeRender(String channel, Supplier<String> render) {
+		long start = System.nanoTime();
+		boolean success = false;
+		try {
+			String rendered = render.get();
+			success = true;
+			return rendered;
+		} finally {
+			rendered(channel, since(start), success);
+		}
+	}
+
+	public void delivered(ChannelType channel, String tenantId, DeliveryStatus status, Duration elapsed) {
+		Timer.builder("notification.delivery")
+			.description("Time from dispatching a bundle on a channel to knowing the outcome")
+			.tags("channel", channel.getType(), "tenant", tenantTag(tenantId), "outcome", String.valueOf(status).toLowerCase())
+			.register(meterRegistry)
+			.record(elapsed);
+	}
+
+	public void webSocketFrameSent(String tenantId, int bundles) {
+		DistributionSummary.builder("notification.websocket.frame.bundles")
+			.description("Bundles coalesced into one WebSocket frame")
+			.tag("tenant", tenantTag(tenantId))
+			.register(meterRegistry)
+			.record(bundles);
+	}
+
+	public void webSocketDropped(String tenantId) {
+		Counter.builder("notification.websocket.dropped")
+			.description("Bundles shed because a WebSocket consumer was not keeping up")
+			.tag("tenant", tenantTag(tenantId))
+			.register(meterRegistry)
+			.increment();
+	}
+
+	/**
+	 * Registers a tenant-tagged gauge, unless the tenant is past the cardinality limit, where values of different
+	 * tenants would end up in one series.
+	 */
+	public void tenantGauge(String name, String tenantId, Supplier<Number> value) {
+		String tenant = tenantTag(tenantId);
+		if (!OTHER_TENANT.equals(tenant)) {
+			gauge(name, value, "tenant", tenant);
+		}
+	}
+
+	/**
+	 * Registers a gauge whose value is read on every scrape. A failing read, e.g. Redis being unreachable,
+	 * reports {@code NaN} instead of failing the scrape.
+	 */
+	public void gauge(String name, Supplier<Number> value, String... tags) {
+		Gauge.builder(name, () -> {
+				try {
+					return value.get();
+				} catch (Exception exception) {
+					log.debug("Could not read gauge {}", name, exception);
+					return Double.NaN;
+				}
+			})
+			.tags(tags)
+			.register(meterRegistry);
+	}
+
+	public static Duration since(long startNanos) {
+		return Duration.ofNanos(System.nanoTime() - startNanos);
+	}
+}
@@ -7,7 +7,8 @@ public enum ChannelType {
 	
 	WEBSOCKET("websocket"),
 	EMAIL("email"),
-	PUSH("push");
+	PUSH("push"),
+	INBOX("inbox");
 
 	private final String type;
 
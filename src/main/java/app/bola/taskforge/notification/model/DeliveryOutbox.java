@@ -0,0 +1,50 @@
+package app.bola.taskforge.notification.model;
+
+import app.bola.taskforge.common.entity.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * A pending or finished delivery of one bundle on one channel.
+ * <p>
+ * The {@code idempotencyKey} is {@code bundleId:channel} and is unique, so a bundle is never queued,
+ * and therefore never sent, twice on the same channel.
+ */
+@Setter
+@Getter
+@Entity
+@SuperBuilder
+@NoArgsConstructor
+@Table(name = "delivery_outbox",
+	uniqueConstraints = {@UniqueConstraint(columnNames = {"idempotency_key"})},
+	indexes = {@Index(name = "idx_delivery_outbox_due", columnList = "channel, status, next_attempt_at")})
+public class DeliveryOutbox extends BaseEntity {
+	
+	@Column(name = "idempotency_key", nullable = false)
+	private String idempotencyKey;
+	private String bundleId;
+	@Enumerated(EnumType.STRING)
+	private ChannelType channel;
+	@Enumerated(EnumType.STRING)
+	private DeliveryStatus status;
+	private int attempts;
+	@Column(name = "next_attempt_at")
+	private Instant nextAttemptAt;
+	private Instant deliveredAt;
+	private String externalId;
+	@Column(length = 1000)
+	private String lastError;
+	@JdbcTypeCode(SqlTypes.JSON)
+	private NotificationBundle bundle;
+	
+	public static String idempotencyKey(String bundleId, ChannelType channel) {
+		return bundleId + ":" + channel.name();
+	}
+}
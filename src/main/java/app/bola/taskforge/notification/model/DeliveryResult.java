@@ -41,4 +41,18 @@ public class DeliveryResult {
 				.retryCount(0)
 				.build();
 	}
+	
+	/**
+	 * A delivery that was given up on purpose and must not be retried.
+	 */
+	public static DeliveryResult dropped(String bundleId, ChannelType channelType, String reason) {
+		return DeliveryResult.builder()
+				.bundleId(bundleId)
+				.channel(channelType)
+				.status(DeliveryStatus.DROPPED)
+				.errorMessage(reason)
+				.deliveredAt(Instant.now())
+				.retryCount(0)
+				.build();
+	}
 }
@@ -6,4 +6,6 @@ public enum DeliveryStatus {
 	SUCCESS,         // Delivery succeeded
 	PENDING,         // Delivery is pending
 	RETRYING,       // Delivery is being retried
+	DEAD_LETTERED,  // Delivery gave up after the last retry
+	DROPPED,        // Delivery was shed on purpose, e.g. to keep up with a slow consumer
 }
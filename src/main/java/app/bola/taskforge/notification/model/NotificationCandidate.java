@@ -14,11 +14,17 @@ import java.util.Map;
 @AllArgsConstructor
 public class NotificationCandidate {
     
+    private String id;
     private String userId;
+    private String tenantId;
     private String debounceKey;
     private EventType notificationType;
     private String sourceEntityId;
     private String sourceEntityType;
     private Map<String, Object> eventData;
     private NotificationPriority priority;
+    /**
+     * Epoch millis at which the candidate was raised.
+     */
+    private long createdAt;
 }
\ No newline at end of file
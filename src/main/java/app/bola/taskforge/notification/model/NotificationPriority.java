@@ -1,5 +1,23 @@
 package app.bola.taskforge.notification.model;
 
+import app.bola.taskforge.event.EventType;
+
 public enum NotificationPriority {
-    HIGH, MEDIUM, LOW
+    HIGH, MEDIUM, LOW;
+
+    /**
+     * HIGH for events that ask something of the recipient, MEDIUM for changes they would want to hear about soon,
+     * LOW for everything else.
+     */
+    public static NotificationPriority of(EventType eventType) {
+        if (eventType == null) {
+            return MEDIUM;
+        }
+        return switch (eventType) {
+            case TASK_ASSIGNED, TASK_DUE, MENTIONED_IN_COMMENT, MEMBER_INVITED -> HIGH;
+            case TASK_CREATED, TASK_COMPLETED, TASK_DELETED, COMMENT_ADDED, COMMENT_REPLIED,
+                 PROJECT_COMPLETED, PROJECT_DELETED, MEMBER_ADDED, MEMBER_REMOVED -> MEDIUM;
+            default -> LOW;
+        };
+    }
 }
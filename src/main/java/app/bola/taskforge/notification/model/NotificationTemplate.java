@@ -1,8 +1,12 @@
 package app.bola.taskforge.notification.model;
 
 
+import app.bola.taskforge.common.cache.SecondLevelCacheEvictionListener;
 import app.bola.taskforge.common.entity.BaseEntity;
+import app.bola.taskforge.notification.template.NotificationTemplateCacheEvictionListener;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.Lob;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
@@ -11,12 +15,19 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalIdCache;
 
 @Setter
 @Getter
 @Entity
 @SuperBuilder
 @NoArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "notification-template")
+@NaturalIdCache(region = "notification-template-natural-id")
+@EntityListeners({NotificationTemplateCacheEvictionListener.class, SecondLevelCacheEvictionListener.class})
 @Table(uniqueConstraints = {@UniqueConstraint(columnNames = {"name", "channel"})})
 public class NotificationTemplate extends BaseEntity {
 	
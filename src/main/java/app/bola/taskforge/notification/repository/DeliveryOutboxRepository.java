@@ -0,0 +1,33 @@
+package app.bola.taskforge.notification.repository;
+
+import app.bola.taskforge.notification.model.DeliveryOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface DeliveryOutboxRepository extends JpaRepository<DeliveryOutbox, String> {
+	
+	boolean existsByIdempotencyKey(String idempotencyKey);
+	
+	/**
+	 * Locks up to {@code limit} deliveries on the channel that are due for an attempt. Rows already locked by another node are
+	 * skipped rather than waited on, so concurrent pollers never claim the same delivery.
+	 * Must be called inside a transaction.
+	 *
+	 * @param now   the time against which {@code next_attempt_at} is compared
+	 * @param channel the name of the channel to claim deliveries for
+	 * @param limit the maximum number of deliveries to claim
+	 * @return the claimed deliveries, oldest first
+	 */
+	@Query(value = """
+		SELECT * FROM delivery_outbox
+		WHERE channel = :channel AND status IN ('PENDING', 'RETRYING') AND next_attempt_at <= :now
+		ORDER BY next_attempt_at
+		LIMIT :limit
+		FOR UPDATE SKIP LOCKED
+		""", nativeQuery = true)
+	List<DeliveryOutbox> lockDue(@Param("now") Instant now, @Param("channel") String channel, @Param("limit") int limit);
+}
@@ -24,5 +24,15 @@ public interface NotificationTemplateRepository extends JpaRepository<Notificati
 	 */
 	Optional<NotificationTemplate> findByNameAndChannel(String name, String channel);
 	
+	/**
+	 * Find a notification template by its name, channel and language.
+	 *
+	 * @param name     the name of the notification template
+	 * @param channel  the channel of the notification template
+	 * @param language the ISO language code of the notification template
+	 * @return the notification template if found, otherwise empty
+	 */
+	Optional<NotificationTemplate> findByNameAndChannelAndLanguage(String name, String channel, String language);
+	
 	boolean existsByName(String name);
 }
@@ -1,15 +1,24 @@
 package app.bola.taskforge.notification.service;
 
 import app.bola.taskforge.domain.entity.NotificationPreference;
+import app.bola.taskforge.notification.channel.ChannelExecutorRegistry;
 import app.bola.taskforge.notification.channel.ChannelHandler;
+import app.bola.taskforge.notification.metrics.NotificationMetrics;
+import app.bola.taskforge.notification.model.DeliveryOutbox;
 import app.bola.taskforge.notification.model.DeliveryResult;
 import app.bola.taskforge.notification.model.NotificationBundle;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @Slf4j
 @Component
@@ -17,33 +26,133 @@ import java.util.concurrent.CompletableFuture;
 public class ChannelRouter {
 	
 	private final List<ChannelHandler> channelHandlers;
+	private final ChannelExecutorRegistry executorRegistry;
+	private final DeliveryOutboxService outboxService;
+	private final DeferredDeliveryStore deferredDeliveryStore;
+	private final NotificationMetrics metrics;
 	
+	/**
+	 * Routes the bundle now, or keeps it in the {@link DeferredDeliveryStore} until the member's quiet hours end.
+	 */
 	public void route(NotificationBundle bundle, NotificationPreference preference) {
-		//We need to do something with the preference here,
-		// We need to consider quiet hours, when the current time is within the user's quiet hours window
-		// We should not send the notification, but rather find a way to store it for later
-		// So when it is time to send the notification (i.e. the current time is in the window of the user's quiet hours)
-		// We can then send the notification, so we will like have a place that we will be storing things like this
-		// And then they will execute automatically when the time is right, So we will be configuring it that
-		// Each of the notifications to sent later will execute at its own time.
+		Optional<Instant> releaseAt = preference.quietHoursEndAfter(Instant.now());
+		if (releaseAt.isPresent()) {
+			deferredDeliveryStore.defer(bundle, tenantOf(bundle, preference), releaseAt.get());
+			return;
+		}
 		route(bundle);
 	}
 	
+	private static String tenantOf(NotificationBundle bundle, NotificationPreference preference) {
+		if (preference.getMember() != null && preference.getMember().getOrganization() != null) {
+			return preference.getMember().getOrganization().getPublicId();
+		}
+		return tenantOf(bundle);
+	}
+	
+	private static String tenantOf(NotificationBundle bundle) {
+		Object tenantId = bundle == null || bundle.getPayload() == null ? null : bundle.getPayload().get("tenantId");
+		return tenantId == null ? null : tenantId.toString();
+	}
+	
+	/**
+	 * Queues the bundle in the delivery outbox for every channel that can handle it and makes the first attempt
+	 * right away. Failed attempts are retried by the {@link DeliveryOutboxPoller}.
+	 */
 	public void route(NotificationBundle bundle) {
-		
-		List<CompletableFuture<DeliveryResult>> futures = channelHandlers.stream()
+		channelHandlers.stream()
 			.filter(handler -> handler.canHandle(bundle))
-			.map(handler -> handler.deliverAsync(bundle))
-			.toList();
-		
-		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-				.thenRun(() -> futures.forEach(future -> {
-					try {
-						DeliveryResult result = future.get();
-						// statusService.recordDelivery(result);
-					} catch (Exception e) {
-						log.error("Failed to get delivery result", e);
-					}
-				}));
+			.forEach(handler -> outboxService.enqueue(bundle, handler.getChannelType())
+				.ifPresent(entry -> dispatch(handler, entry)));
+	}
+	
+	/**
+	 * Queues the bundle in the delivery outbox as part of the caller's transaction and makes the first attempt once
+	 * that transaction has committed, on the channel's executor. Nothing is sent for a transaction that rolls back,
+	 * and the transaction never waits on a provider. Deliveries that are not attempted after the commit, e.g. because
+	 * the node went down, are picked up by the {@link DeliveryOutboxPoller} once their claim runs out.
+	 * Without an active transaction the bundle is {@link #route(NotificationBundle) routed} right away.
+	 */
+	public void routeAfterCommit(NotificationBundle bundle) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			route(bundle);
+			return;
+		}
+		List<Runnable> attempts = new ArrayList<>();
+		channelHandlers.stream()
+			.filter(handler -> handler.canHandle(bundle))
+			.forEach(handler -> outboxService.enqueue(bundle, handler.getChannelType())
+				.ifPresent(entry -> attempts.add(() -> dispatchLater(handler, entry))));
+		if (attempts.isEmpty()) {
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				attempts.forEach(Runnable::run);
+			}
+		});
+	}
+	
+	/**
+	 * Dispatches from the channel's executor rather than the committing thread, which still holds the finished
+	 * transaction that recording the result must not join.
+	 */
+	private void dispatchLater(ChannelHandler handler, DeliveryOutbox entry) {
+		try {
+			executorRegistry.executorFor(handler.getChannelType()).execute(() -> dispatch(handler, entry));
+		} catch (RejectedExecutionException exception) {
+			log.warn("{} delivery queue is full, {} is left to the outbox poller", handler.getChannelType(), entry.getIdempotencyKey());
+		}
+	}
+	
+	/**
+	 * Makes another attempt at a delivery claimed from the outbox.
+	 */
+	public CompletableFuture<DeliveryResult> redeliver(DeliveryOutbox entry) {
+		return channelHandlers.stream()
+			.filter(handler -> handler.getChannelType() == entry.getChannel())
+			.findFirst()
+			.map(handler -> dispatch(handler, entry))
+			.orElseGet(() -> {
+				DeliveryResult result = DeliveryResult.failure(entry.getBundleId(), entry.getChannel(), "No handler for channel");
+				outboxService.record(entry.getId(), result);
+				return CompletableFuture.completedFuture(result);
+			});
+	}
+	
+	private CompletableFuture<DeliveryResult> dispatch(ChannelHandler handler, DeliveryOutbox entry) {
+		long start = System.nanoTime();
+		CompletableFuture<DeliveryResult> delivery;
+		try {
+			delivery = handler.deliverAsync(entry.getBundle(), executorRegistry.executorFor(handler.getChannelType()));
+		} catch (RejectedExecutionException exception) {
+			return release(handler, entry);
+		}
+		return delivery
+			.exceptionally(exception -> DeliveryResult.failure(entry.getBundleId(), entry.getChannel(), exception.getMessage()))
+			.whenComplete((result, exception) -> {
+				metrics.delivered(entry.getChannel(), tenantOf(entry.getBundle()), result.getStatus(), NotificationMetrics.since(start));
+				try {
+					outboxService.record(entry.getId(), result);
+				} catch (Exception recordException) {
+					log.error("Failed to record delivery result for {}", entry.getIdempotencyKey(), recordException);
+				}
+			});
+	}
+	
+	/**
+	 * A delivery the channel's executor had no room for was never tried, so it is handed back to the outbox poller
+	 * without counting as an attempt. Otherwise a sustained backlog would dead-letter deliveries that were never sent.
+	 */
+	private CompletableFuture<DeliveryResult> release(ChannelHandler handler, DeliveryOutbox entry) {
+		log.warn("{} delivery queue is full, {} is left to the outbox poller", handler.getChannelType(), entry.getIdempotencyKey());
+		try {
+			outboxService.release(entry.getId());
+		} catch (Exception exception) {
+			log.error("Failed to release {}, it is retried once its claim runs out", entry.getIdempotencyKey(), exception);
+		}
+		return CompletableFuture.completedFuture(
+			DeliveryResult.failure(entry.getBundleId(), entry.getChannel(), "Delivery queue is full"));
 	}
 }
@@ -0,0 +1,69 @@
+package app.bola.taskforge.notification.service;
+
+import java.util.*;
+
+/**
+ * What a debounce key has gathered since it was last flushed, as kept in its Redis hash.
+ * <p>
+ * The hash is updated in place by every candidate, so its size depends on the number of distinct event types and
+ * on {@code app.notification.debounce.max-entity-ids}, not on the number of events:
+ * <ul>
+ *     <li>{@code id}, {@code tenant}, {@code user}: set by the first candidate</li>
+ *     <li>{@code first}, {@code last}: the earliest and latest {@code createdAt}, in epoch millis</li>
+ *     <li>{@code total}: the number of candidates</li>
+ *     <li>{@code type:<event type>}: the number of candidates per event type</li>
+ *     <li>{@code entity:<id>}: {@code <position>:<entity type>} for each distinct source entity, up to the bound</li>
+ *     <li>{@code entities}, {@code omitted}: how many entity ids were kept and how many references did not fit</li>
+ * </ul>
+ */
+record DebounceAggregate(String id, String tenantId, String userId, long firstAt, long lastAt, long total,
+                         Map<String, Long> eventCounts, List<String> entityIds, List<String> entityTypes,
+                         long omittedEntities) {
+
+	private static final String TYPE_PREFIX = "type:";
+	private static final String ENTITY_PREFIX = "entity:";
+
+	/**
+	 * @param fields the reply of {@code HGETALL}, field names and values alternating
+	 */
+	static DebounceAggregate of(List<String> fields) {
+		Map<String, String> hash = new HashMap<>();
+		for (int index = 0; index + 1 < fields.size(); index += 2) {
+			hash.put(fields.get(index), fields.get(index + 1));
+		}
+
+		Map<String, Long> eventCounts = new TreeMap<>();
+		SortedMap<Long, String[]> entities = new TreeMap<>();
+		hash.forEach((field, value) -> {
+			if (field.startsWith(TYPE_PREFIX) && field.length() > TYPE_PREFIX.length()) {
+				eventCounts.put(field.substring(TYPE_PREFIX.length()), number(value));
+			} else if (field.startsWith(ENTITY_PREFIX)) {
+				int separator = value.indexOf(':');
+				String entityType = separator < 0 ? "" : value.substring(separator + 1);
+				entities.put(number(separator < 0 ? value : value.substring(0, separator)),
+					new String[]{field.substring(ENTITY_PREFIX.length()), entityType});
+			}
+		});
+
+		return new DebounceAggregate(blankToNull(hash.get("id")), blankToNull(hash.get("tenant")), blankToNull(hash.get("user")),
+			number(hash.get("first")), number(hash.get("last")), number(hash.get("total")), eventCounts,
+			entities.values().stream().map(entity -> entity[0]).toList(),
+			entities.values().stream().map(entity -> entity[1]).toList(),
+			number(hash.get("omitted")));
+	}
+
+	private static long number(String value) {
+		if (value == null || value.isBlank()) {
+			return 0;
+		}
+		try {
+			return (long) Double.parseDouble(value);
+		} catch (NumberFormatException exception) {
+			return 0;
+		}
+	}
+
+	private static String blankToNull(String value) {
+		return value == null || value.isBlank() ? null : value;
+	}
+}
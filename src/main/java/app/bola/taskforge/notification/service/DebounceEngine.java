@@ -1,111 +1,370 @@
 package app.bola.taskforge.notification.service;
 
 import app.bola.taskforge.domain.entity.NotificationPreference;
+import app.bola.taskforge.notification.metrics.NotificationMetrics;
 import app.bola.taskforge.notification.model.ChannelType;
 import app.bola.taskforge.notification.model.NotificationBundle;
 import app.bola.taskforge.notification.model.NotificationCandidate;
+import app.bola.taskforge.notification.model.NotificationPriority;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Gathers notification candidates per debounce key and flushes them as a single bundle once the debounce window
+ * has elapsed.
+ * <p>
+ * Every {@link NotificationPriority} has its own {@link DebounceLane} with its own window, so a task assignment
+ * goes out within a fraction of a second while low-value updates are held back and merged for much longer.
+ * A debounce key is a Redis hash holding a {@link DebounceAggregate} that every candidate updates in place, so a
+ * busy key costs as much memory as a quiet one. The time at which each key is due lives in the lane's
+ * {@link RedisDelayQueue}. A handful of poller threads per lane on every node claim due keys in batches,
+ * so the schedule is shared by the whole cluster and survives restarts.
+ */
 @Slf4j
 @Component
 public class DebounceEngine {
-	
+
+	/**
+	 * Adds a candidate to an aggregate, see {@link DebounceAggregate} for the fields.
+	 */
+	private static final String AGGREGATE_FUNCTION = """
+		local function aggregate(key, id, tenant, user, eventType, entityId, entityType, createdAt, maxEntities)
+		    redis.call('HSETNX', key, 'id', id)
+		    redis.call('HSETNX', key, 'tenant', tenant)
+		    redis.call('HSETNX', key, 'user', user)
+		    redis.call('HINCRBY', key, 'total', 1)
+		    if eventType ~= '' then redis.call('HINCRBY', key, 'type:' .. eventType, 1) end
+		    local at = tonumber(createdAt) or 0
+		    if at > 0 then
+		        local first = tonumber(redis.call('HGET', key, 'first'))
+		        if not first or at < first then redis.call('HSET', key, 'first', createdAt) end
+		        local last = tonumber(redis.call('HGET', key, 'last'))
+		        if not last or at > last then redis.call('HSET', key, 'last', createdAt) end
+		    end
+		    if entityId ~= '' and redis.call('HEXISTS', key, 'entity:' .. entityId) == 0 then
+		        local kept = tonumber(redis.call('HGET', key, 'entities')) or 0
+		        if kept < tonumber(maxEntities) then
+		            redis.call('HSET', key, 'entity:' .. entityId, (kept + 1) .. ':' .. entityType)
+		            redis.call('HINCRBY', key, 'entities', 1)
+		        else
+		            redis.call('HINCRBY', key, 'omitted', 1)
+		        end
+		    end
+		end
+		""";
+
+	/**
+	 * Adds a candidate to the aggregate of its debounce key and schedules the key unless it is pending already.
+	 * Returns 1 if the key was scheduled.
+	 */
+	private static final RedisScript<Long> SUBMIT_SCRIPT = RedisScript.of(AGGREGATE_FUNCTION + """
+		aggregate(KEYS[1], ARGV[1], ARGV[2], ARGV[3], ARGV[4], ARGV[5], ARGV[6], ARGV[7], ARGV[8])
+		redis.call('PEXPIRE', KEYS[1], ARGV[9])
+		return redis.call('ZADD', KEYS[2], 'NX', ARGV[10], KEYS[1])
+		""", Long.class);
+
+	/**
+	 * Moves the aggregate aside to an in-flight key and returns it, so candidates arriving during the flush start a
+	 * new aggregate. An in-flight aggregate left behind by a flush that crashed is returned again as it is.
+	 * Keys still holding a list of serialized candidates, as they were buffered before there were aggregates,
+	 * are folded into an aggregate first.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static final RedisScript<List> CLAIM_SCRIPT = RedisScript.of(AGGREGATE_FUNCTION + """
+		local function text(value)
+		    if value == nil or value == cjson.null then return '' end
+		    return tostring(value)
+		end
+		if redis.call('EXISTS', KEYS[2]) == 0 then
+		    local keyType = redis.call('TYPE', KEYS[1]).ok
+		    if keyType == 'list' then
+		        for _, item in ipairs(redis.call('LRANGE', KEYS[1], 0, -1)) do
+		            local ok, candidate = pcall(cjson.decode, item)
+		            if ok and type(candidate) == 'table' then
+		                aggregate(KEYS[2], ARGV[1], text(candidate.tenantId), text(candidate.userId),
+		                    text(candidate.notificationType), text(candidate.sourceEntityId),
+		                    text(candidate.sourceEntityType), text(candidate.createdAt), ARGV[2])
+		            end
+		        end
+		        redis.call('DEL', KEYS[1])
+		    elseif keyType == 'hash' then
+		        redis.call('RENAME', KEYS[1], KEYS[2])
+		    else
+		        return {}
+		    end
+		    redis.call('PEXPIRE', KEYS[2], ARGV[3])
+		end
+		return redis.call('HGETALL', KEYS[2])
+		""", List.class);
+
+	/**
+	 * Drops the in-flight aggregate and either releases the key or, when candidates arrived while the key was
+	 * being flushed, schedules it again. Returns -1 and changes nothing when the claim's lease, ARGV[2], ran out
+	 * and the key was claimed again, leaving the aggregate to the node that holds it now.
+	 */
+	private static final RedisScript<Long> ACKNOWLEDGE_SCRIPT = RedisScript.of("""
+		if tonumber(redis.call('ZSCORE', KEYS[1], KEYS[2])) ~= tonumber(ARGV[2]) then
+		    return -1
+		end
+		redis.call('DEL', KEYS[3])
+		if redis.call('EXISTS', KEYS[2]) == 0 then
+		    redis.call('ZREM', KEYS[1], KEYS[2])
+		    return 0
+		end
+		redis.call('ZADD', KEYS[1], ARGV[1], KEYS[2])
+		return 1
+		""", Long.class);
+
 	final ChannelRouter channelRouter;
-	final RedisTemplate<String, Object> redisTemplate;
+	final PreferenceManager preferenceManager;
+	final StringRedisTemplate stringRedisTemplate;
 	final ScheduledExecutorService scheduledExecutorService;
-	@Value("#{T(java.time.Duration).parse('${app.notification.debounce-window:PT10M}')}")
-	private Duration debounceWindow;
-	private static final Set<String> scheduledKeys = ConcurrentHashMap.newKeySet();
-	
-	public DebounceEngine(ChannelRouter channelRouter, RedisTemplate<String, Object> redisTemplate,
-	                      ScheduledExecutorService scheduledExecutorService){
+	final NotificationMetrics metrics;
+	private final Map<NotificationPriority, DebounceLane> lanes = new EnumMap<>(NotificationPriority.class);
+	@Value("#{T(java.time.Duration).parse('${app.notification.debounce.claim-lease:PT1M}')}")
+	private Duration claimLease;
+	@Value("${app.notification.debounce.claim-batch-size:100}")
+	private int claimBatchSize;
+	@Value("${app.notification.debounce.pipeline-batch-size:500}")
+	private int pipelineBatchSize;
+	@Value("${app.notification.debounce.max-entity-ids:50}")
+	private int maxEntityIds;
+	private final List<ScheduledFuture<?>> pollers = new ArrayList<>();
+
+	public DebounceEngine(ChannelRouter channelRouter, PreferenceManager preferenceManager,
+	                      StringRedisTemplate stringRedisTemplate, ScheduledExecutorService scheduledExecutorService,
+	                      NotificationMetrics metrics, Environment environment){
 		this.channelRouter = channelRouter;
-		this.redisTemplate = redisTemplate;
+		this.preferenceManager = preferenceManager;
+		this.stringRedisTemplate = stringRedisTemplate;
 		this.scheduledExecutorService = scheduledExecutorService;
-		this.redisTemplate.setHashValueSerializer(new Jackson2JsonRedisSerializer<>(NotificationCandidate.class));
+		this.metrics = metrics;
+		for (NotificationPriority priority : NotificationPriority.values()) {
+			lanes.put(priority, DebounceLane.of(priority, environment, stringRedisTemplate));
+		}
 	}
-	
-	public void submit(Map<NotificationCandidate, NotificationPreference> preferenceMap) {
-		preferenceMap.forEach((candidate, preference) -> {
-			String debounceKey = candidate.getDebounceKey();
-			
-			redisTemplate.opsForList().rightPush(debounceKey, candidate);
-			redisTemplate.expire(debounceKey, debounceWindow);
-			
-			if (scheduledKeys.add(debounceKey)) {
-				scheduleProcessing(debounceKey, preference);
-			} else {
-				log.info("Debounce key {} is already scheduled, skipping rescheduling.", debounceKey);
+
+	@PostConstruct
+	void startPollers() {
+		for (DebounceLane lane : lanes.values()) {
+			long interval = lane.pollInterval().toMillis();
+			for (int index = 0; index < lane.pollerThreads(); index++) {
+				pollers.add(scheduledExecutorService.scheduleWithFixedDelay(() -> pollDueKeys(lane), interval, interval, TimeUnit.MILLISECONDS));
 			}
-		});
+			log.info("Started {} debounce poller(s) every {} on {}, {} window, merging per {}", lane.pollerThreads(),
+				lane.pollInterval(), lane.dueIndex().getKey(), lane.window(), lane.mergeScope());
+
+			String laneTag = DebounceLane.name(lane.priority());
+			RedisDelayQueue dueIndex = lane.dueIndex();
+			metrics.gauge("notification.debounce.pending", dueIndex::size, "lane", laneTag);
+			// How far the pollers are behind: the time since the earliest pending key became due, 0 when none is overdue.
+			metrics.gauge("notification.debounce.lag.seconds", () -> dueIndex.earliestDueAt()
+				.map(dueAt -> Math.max(0, Duration.between(dueAt, Instant.now()).toMillis()) / 1000.0)
+				.orElse(0.0), "lane", laneTag);
+		}
+	}
+
+	@PreDestroy
+	void stopPollers() {
+		pollers.forEach(poller -> poller.cancel(false));
+		pollers.clear();
 	}
-	
-	private void scheduleProcessing(String debounceKey, NotificationPreference preference) {
-		scheduledExecutorService.schedule(() -> {
-			try {
-				List<Object> objects = redisTemplate.opsForList().range(debounceKey, 0, -1);
-				if (objects != null) {
-					List<NotificationCandidate> candidates =
-							objects.stream().map(obj -> (NotificationCandidate) obj).toList();
-					
-					NotificationBundle bundle = mergeNotifications(candidates, preference);
-					
-					channelRouter.route(bundle, preference);
-					
-					redisTemplate.delete(debounceKey);
+
+	/**
+	 * Adds the candidates to the aggregates of their lane and schedules every debounce key that is not pending yet.
+	 * Candidates are written in pipelined batches of {@code app.notification.debounce.pipeline-batch-size},
+	 * so a fan-out costs one network round trip per batch rather than one per recipient.
+	 *
+	 * @return the debounce keys that were scheduled by this call
+	 */
+	public Set<String> submit(Map<NotificationCandidate, NotificationPreference> preferenceMap) {
+		Instant now = Instant.now();
+
+		List<NotificationCandidate> candidates = new ArrayList<>(preferenceMap.keySet());
+		Set<String> scheduledKeys = new LinkedHashSet<>();
+		for (int from = 0; from < candidates.size(); from += pipelineBatchSize) {
+			List<NotificationCandidate> batch = candidates.subList(from, Math.min(from + pipelineBatchSize, candidates.size()));
+
+			List<Object> replies = submitPipelined(batch, now);
+			for (int index = 0; index < batch.size(); index++) {
+				if (Long.valueOf(1).equals(replies.get(index))) {
+					NotificationCandidate candidate = batch.get(index);
+					scheduledKeys.add(laneOf(candidate).debounceKey(candidate));
 				}
-				
-			} catch (Exception e) {
-				throw new RuntimeException(e);
-			} finally {
-				scheduledKeys.remove(debounceKey);
 			}
-		}, debounceWindow.toMillis(), TimeUnit.MILLISECONDS);
+		}
+		log.debug("Submitted {} candidate(s) in {} pipeline(s), {} new debounce key(s) scheduled",
+			candidates.size(), (candidates.size() + pipelineBatchSize - 1) / pipelineBatchSize, scheduledKeys.size());
+		return scheduledKeys;
+	}
+
+	/**
+	 * Runs the submit script by its SHA so a batch does not carry the script text once per candidate. When Redis
+	 * has lost its script cache (a restart, a failover or {@code SCRIPT FLUSH}) every call of the batch fails alike,
+	 * so the script is loaded and the batch sent again.
+	 */
+	private List<Object> submitPipelined(List<NotificationCandidate> batch, Instant now) {
+		try {
+			return stringRedisTemplate.executePipelined(submitCallback(batch, now));
+		} catch (RuntimeException exception) {
+			if (!isNoScript(exception)) {
+				throw exception;
+			}
+			log.info("Submit script is not cached by Redis, loading it");
+			stringRedisTemplate.execute((RedisCallback<String>) connection ->
+				connection.scriptingCommands().scriptLoad(bytes(SUBMIT_SCRIPT.getScriptAsString())));
+			return stringRedisTemplate.executePipelined(submitCallback(batch, now));
+		}
+	}
+
+	private RedisCallback<Object> submitCallback(List<NotificationCandidate> batch, Instant now) {
+		return connection -> {
+			for (NotificationCandidate candidate : batch) {
+				DebounceLane lane = laneOf(candidate);
+				long pendingTtl = lane.window().multipliedBy(2).plus(claimLease).toMillis();
+				connection.scriptingCommands().evalSha(SUBMIT_SCRIPT.getSha1(), ReturnType.INTEGER, 2,
+					bytes(lane.debounceKey(candidate)), bytes(lane.dueIndex().getKey()),
+					bytes(candidate.getId() == null ? UUID.randomUUID().toString() : candidate.getId()),
+					bytes(candidate.getTenantId()), bytes(candidate.getUserId()),
+					bytes(candidate.getNotificationType() == null ? null : candidate.getNotificationType().name()),
+					bytes(candidate.getSourceEntityId()), bytes(candidate.getSourceEntityType()),
+					bytes(String.valueOf(candidate.getCreatedAt())), bytes(String.valueOf(maxEntityIds)),
+					bytes(String.valueOf(pendingTtl)), bytes(String.valueOf(now.plus(lane.window()).toEpochMilli())));
+			}
+			return null;
+		};
+	}
+
+	private static boolean isNoScript(Throwable exception) {
+		for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+			if (cause.getMessage() != null && cause.getMessage().contains("NOSCRIPT")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static byte[] bytes(String value) {
+		return (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private DebounceLane laneOf(NotificationCandidate candidate) {
+		return lanes.get(candidate.getPriority() == null ? NotificationPriority.MEDIUM : candidate.getPriority());
+	}
+
+	void pollDueKeys(DebounceLane lane) {
+		try {
+			List<RedisDelayQueue.Claim> claimed;
+			do {
+				claimed = lane.dueIndex().claimDue(Instant.now(), claimBatchSize, claimLease);
+				claimed.forEach(claim -> flush(lane, claim));
+			} while (claimed.size() == claimBatchSize);
+		} catch (Exception exception) {
+			log.error("Failed to poll due debounce keys of the {} lane", lane.priority(), exception);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void flush(DebounceLane lane, RedisDelayQueue.Claim claim) {
+		RedisDelayQueue dueIndex = lane.dueIndex();
+		String debounceKey = claim.member();
+		String inFlightKey = debounceKey + ":flushing";
+		try {
+			long inFlightTtl = lane.window().multipliedBy(2).plus(claimLease).toMillis();
+			List<String> fields = stringRedisTemplate.execute(CLAIM_SCRIPT, List.of(debounceKey, inFlightKey),
+				UUID.randomUUID().toString(), String.valueOf(maxEntityIds), String.valueOf(inFlightTtl));
+			if (fields == null || fields.isEmpty()) {
+				dueIndex.complete(claim);
+				return;
+			}
+			DebounceAggregate aggregate = DebounceAggregate.of(fields);
+
+			NotificationPreference preference = preferenceManager
+				.getPreferences(aggregate.tenantId(), List.of(aggregate.userId()))
+				.get(aggregate.userId());
+
+			if (aggregate.firstAt() > 0) {
+				metrics.debounceFlushed(aggregate.tenantId(), DebounceLane.name(lane.priority()),
+					Duration.ofMillis(System.currentTimeMillis() - aggregate.firstAt()), (int) aggregate.total());
+			}
+
+			if (preference != null && preference.isAllowNotification()) {
+				long mergeStart = System.nanoTime();
+				NotificationBundle bundle = mergeNotifications(aggregate, lane.priority(), preference);
+				metrics.merged(NotificationMetrics.since(mergeStart));
+				channelRouter.route(bundle, preference);
+			}
+
+			Long acknowledged = stringRedisTemplate.execute(ACKNOWLEDGE_SCRIPT, List.of(dueIndex.getKey(), debounceKey, inFlightKey),
+				String.valueOf(Instant.now().plus(lane.window()).toEpochMilli()), String.valueOf(claim.leaseExpiresAt()));
+			if (Long.valueOf(-1).equals(acknowledged)) {
+				log.warn("Claim on debounce key {} expired during its flush, another node has taken it over", debounceKey);
+			}
+		} catch (Exception exception) {
+			log.error("Failed to flush debounce key {}, it will be retried once its claim expires", debounceKey, exception);
+		}
 	}
-	
-	private NotificationBundle mergeNotifications(List<NotificationCandidate> candidates, NotificationPreference preference) {
-		
-		candidates.sort(Comparator.comparing(NotificationCandidate::getPriority));
-		NotificationCandidate firstCandidate = candidates.getFirst();
-		
-		List<String> sourceEntityIds = candidates.stream().map(NotificationCandidate::getSourceEntityId).toList();
-		List<String> sourceEntityTypes = candidates.stream().map(NotificationCandidate::getSourceEntityType).toList();
-		
-		if (firstCandidate != null) {
-			return NotificationBundle.builder()
-				.scheduledAt(Instant.now())
-				.sourceEntityIds(sourceEntityIds)
-				.userId(firstCandidate.getUserId())
-				.sourceEntityTypes(sourceEntityTypes)
-				.channels(getAllowedChannels(preference))
-				.emailTo(preference.getMember().getEmail())
-				.quietHours(new NotificationBundle.QuietHours(preference.getQuietHoursStart(), preference.getQuietHoursEnd()))
-				.build();
+
+	/**
+	 * The bundle takes its id from the aggregate, so an in-flight aggregate that is flushed again after a crash
+	 * produces the same bundle and the delivery outbox recognises it as already queued.
+	 */
+	private NotificationBundle mergeNotifications(DebounceAggregate aggregate, NotificationPriority priority, NotificationPreference preference) {
+		Map<String, Object> payload = new HashMap<>();
+		payload.put("tenantId", aggregate.tenantId());
+		payload.put("eventCount", aggregate.total());
+		payload.put("eventCounts", aggregate.eventCounts());
+		payload.put("firstEventAt", aggregate.firstAt());
+		payload.put("lastEventAt", aggregate.lastAt());
+		if (aggregate.omittedEntities() > 0) {
+			payload.put("omittedEntityCount", aggregate.omittedEntities());
 		}
-		
-		log.warn("No candidates found for merging notifications, returning empty bundle.");
-		return NotificationBundle.builder().build();
+		return NotificationBundle.builder()
+			.id(aggregate.id() == null ? UUID.randomUUID().toString() : aggregate.id())
+			.payload(payload)
+			.scheduledAt(Instant.now())
+			.sourceEntityIds(aggregate.entityIds())
+			.userId(aggregate.userId())
+			.sourceEntityTypes(aggregate.entityTypes())
+			.channels(getAllowedChannels(preference, priority))
+			.emailTo(preference.getMember().getEmail())
+			.quietHours(new NotificationBundle.QuietHours(preference.getQuietHoursStart(), preference.getQuietHoursEnd()))
+			.build();
 	}
-	
-	private Set<ChannelType> getAllowedChannels(NotificationPreference preference) {
+
+	/**
+	 * Digest recipients get low-priority bundles in their digest rather than by email. The digest is built from the
+	 * inbox, so their bundles are always stored there; the ones that are also emailed are flagged there and left
+	 * out of the digest.
+	 */
+	private Set<ChannelType> getAllowedChannels(NotificationPreference preference, NotificationPriority priority) {
 		Set<ChannelType> allowedChannels = new HashSet<>();
-		if (preference.isAllowEmail()) {
+		if (preference.isAllowEmail() && !(preference.isDigestEnabled() && priority == NotificationPriority.LOW)) {
 			allowedChannels.add(ChannelType.EMAIL);
 		}
+		if (preference.isDigestEnabled()) {
+			allowedChannels.add(ChannelType.INBOX);
+		}
 		if (preference.isAllowInApp()) {
 			allowedChannels.add(ChannelType.WEBSOCKET);
 			allowedChannels.add(ChannelType.PUSH);
+			allowedChannels.add(ChannelType.INBOX);
 		}
 		return allowedChannels;
 	}
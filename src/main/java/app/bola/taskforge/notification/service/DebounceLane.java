@@ -0,0 +1,68 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.notification.model.NotificationCandidate;
+import app.bola.taskforge.notification.model.NotificationPriority;
+import org.springframework.core.env.Environment;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * The debounce settings and due index of one {@link NotificationPriority}.
+ * <p>
+ * Each lane is configured under {@code app.notification.debounce.lane.<priority>.*} and falls back to
+ * {@code app.notification.debounce.lane.default.*}, e.g. {@code app.notification.debounce.lane.high.window=PT0.3S}.
+ */
+record DebounceLane(NotificationPriority priority, Duration window, Duration pollInterval, int pollerThreads,
+                   MergeScope mergeScope, RedisDelayQueue dueIndex) {
+
+	/**
+	 * Which candidates of a lane end up in the same bundle.
+	 */
+	enum MergeScope {
+		/** Candidates about the same entity and event type are merged. */
+		EVENT,
+		/** Every candidate of a recipient in the lane is merged, whatever it is about. */
+		RECIPIENT
+	}
+
+	private static final String PREFIX = "app.notification.debounce.lane.";
+	private static final String DUE_INDEX_KEY = "notification:debounce:due";
+
+	static DebounceLane of(NotificationPriority priority, Environment environment, StringRedisTemplate stringRedisTemplate) {
+		String lane = name(priority);
+		// The medium lane keeps the due index that was shared by every priority before there were lanes,
+		// so keys that were pending when a node is upgraded are still flushed.
+		String dueIndexKey = priority == NotificationPriority.MEDIUM ? DUE_INDEX_KEY : DUE_INDEX_KEY + ":" + lane;
+		return new DebounceLane(priority,
+			duration(environment, lane, "window", "PT10M"),
+			duration(environment, lane, "poll-interval", "PT1S"),
+			property(environment, lane, "poller-threads", Integer.class, 2),
+			property(environment, lane, "merge-scope", MergeScope.class, MergeScope.EVENT),
+			new RedisDelayQueue(dueIndexKey, stringRedisTemplate));
+	}
+
+	private static <T> T property(Environment environment, String lane, String name, Class<T> type, T defaultValue) {
+		T fallback = environment.getProperty(PREFIX + "default." + name, type, defaultValue);
+		return environment.getProperty(PREFIX + lane + "." + name, type, fallback);
+	}
+
+	private static Duration duration(Environment environment, String lane, String name, String defaultValue) {
+		return Duration.parse(property(environment, lane, name, String.class, defaultValue));
+	}
+
+	static String name(NotificationPriority priority) {
+		return priority.name().toLowerCase();
+	}
+
+	/**
+	 * @return the Redis hash the candidate is aggregated into until the lane flushes it
+	 */
+	String debounceKey(NotificationCandidate candidate) {
+		String lane = name(priority);
+		return switch (mergeScope) {
+			case EVENT -> "notification:debounce:" + lane + ":" + candidate.getDebounceKey();
+			case RECIPIENT -> "notification:debounce:" + lane + ":" + candidate.getTenantId() + ":" + candidate.getUserId();
+		};
+	}
+}
@@ -0,0 +1,199 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.notification.model.NotificationBundle;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisZSetCommands.ZAddArgs;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Holds bundles that arrived during a member's quiet hours until the quiet window ends.
+ * <p>
+ * Release times are rounded up to the minute. Each minute is a bucket: a Redis set of the users whose
+ * window ends in that minute, scheduled in a {@link RedisDelayQueue} by the minute's start. The bundles themselves
+ * are kept in one list per user and bucket, so releasing a bucket costs one sweep over its users however many
+ * bundles they have collected, and those bundles can be merged before they are delivered.
+ * <p>
+ * Draining moves a user's bundles to a releasing list rather than deleting them. They stay there until they are
+ * {@link #acknowledge acknowledged} after routing, and a sweep that finds a releasing list left behind hands out
+ * its bundles again, so a node that dies mid-sweep loses nothing.
+ */
+@Slf4j
+@Component
+public class DeferredDeliveryStore {
+
+	static final String DUE_INDEX_KEY = "notification:quiet:due";
+	private static final String BUCKET_KEY_PREFIX = "notification:quiet:bucket:";
+	private static final String BUNDLES_KEY_PREFIX = "notification:quiet:bundles:";
+	static final int MAX_BUNDLES_PER_DRAIN = 1000;
+	private static final Duration RELEASING_TTL = Duration.ofDays(1);
+
+	/**
+	 * For each pair of keys, a user's pending list and its releasing list, returns what the releasing list holds or,
+	 * when it is empty, moves up to ARGV[1] bundles from the pending list into it and returns those.
+	 */
+	@SuppressWarnings("rawtypes")
+	private static final RedisScript<List> DRAIN_SCRIPT = RedisScript.of("""
+		local drained = {}
+		for index = 1, #KEYS, 2 do
+		    local pending, releasing = KEYS[index], KEYS[index + 1]
+		    local bundles = redis.call('LRANGE', releasing, 0, -1)
+		    if #bundles == 0 then
+		        bundles = redis.call('LRANGE', pending, 0, tonumber(ARGV[1]) - 1)
+		        if #bundles > 0 then
+		            redis.call('LTRIM', pending, #bundles, -1)
+		            redis.call('RPUSH', releasing, unpack(bundles))
+		            redis.call('PEXPIRE', releasing, ARGV[2])
+		        end
+		    end
+		    drained[#drained + 1] = bundles
+		end
+		return drained
+		""", List.class);
+
+	private final StringRedisTemplate stringRedisTemplate;
+	private final ObjectMapper objectMapper;
+	private final RedisDelayQueue dueIndex;
+
+	public DeferredDeliveryStore(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper) {
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.objectMapper = objectMapper;
+		this.dueIndex = new RedisDelayQueue(DUE_INDEX_KEY, stringRedisTemplate);
+	}
+
+	/**
+	 * Keeps the bundle until {@code releaseAt}, rounded up to the next minute.
+	 */
+	public void defer(NotificationBundle bundle, String tenantId, Instant releaseAt) {
+		Instant bucketStart = releaseAt.truncatedTo(ChronoUnit.MINUTES);
+		if (bucketStart.isBefore(releaseAt)) {
+			bucketStart = bucketStart.plus(1, ChronoUnit.MINUTES);
+		}
+		String bucket = String.valueOf(bucketStart.toEpochMilli() / 60_000);
+		String userKey = tenantId + ":" + bundle.getUserId();
+		byte[] serializedBundle = serialize(bundle);
+		// Keep the bundles for a day past their release in case the bucket is never swept, e.g. Redis lost the index.
+		long ttlMillis = Duration.between(Instant.now(), bucketStart).plusDays(1).toMillis();
+		long score = bucketStart.toEpochMilli();
+
+		stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+			byte[] listKey = key(pendingKey(bucket, userKey));
+			connection.listCommands().rPush(listKey, serializedBundle);
+			connection.keyCommands().pExpire(listKey, ttlMillis);
+			connection.setCommands().sAdd(key(BUCKET_KEY_PREFIX + bucket), key(userKey));
+			connection.zSetCommands().zAdd(key(DUE_INDEX_KEY), score, key(bucket), ZAddArgs.ifNotExists());
+			return null;
+		});
+		log.debug("Deferred bundle {} for {} until {}", bundle.getId(), userKey, bucketStart);
+	}
+
+	List<RedisDelayQueue.Claim> claimDueBuckets(Instant now, int limit, Duration lease) {
+		return dueIndex.claimDue(now, limit, lease);
+	}
+
+	/**
+	 * @return up to {@code count} users that are still waiting in the bucket, as {@code tenantId:userId}.
+	 * Users are only removed once they have been {@link #release released}, so a node that dies mid-sweep loses nothing.
+	 */
+	List<String> pendingUsers(String bucket, int count) {
+		List<String> users = stringRedisTemplate.opsForSet().randomMembers(BUCKET_KEY_PREFIX + bucket, count);
+		return users == null ? List.of() : users.stream().distinct().toList();
+	}
+
+	/**
+	 * Takes up to {@link #MAX_BUNDLES_PER_DRAIN} of the bundles every given user has deferred to the bucket, in one
+	 * script call. The bundles move to the user's releasing list, where they stay until they are
+	 * {@link #acknowledge acknowledged}, and a user whose releasing list is not empty gets those bundles again instead.
+	 *
+	 * @return each user's bundles, oldest first, keyed by {@code tenantId:userId}. Users with nothing left are
+	 * omitted, a user whose bundles could not be read has an empty list and still needs acknowledging.
+	 */
+	@SuppressWarnings("unchecked")
+	Map<String, List<NotificationBundle>> drain(String bucket, List<String> userKeys) {
+		List<String> keys = new ArrayList<>(userKeys.size() * 2);
+		userKeys.forEach(userKey -> {
+			keys.add(pendingKey(bucket, userKey));
+			keys.add(releasingKey(bucket, userKey));
+		});
+		List<Object> replies = stringRedisTemplate.execute(DRAIN_SCRIPT, keys,
+			String.valueOf(MAX_BUNDLES_PER_DRAIN), String.valueOf(RELEASING_TTL.toMillis()));
+
+		Map<String, List<NotificationBundle>> bundles = new LinkedHashMap<>();
+		for (int index = 0; replies != null && index < userKeys.size(); index++) {
+			List<String> serialized = (List<String>) replies.get(index);
+			if (serialized == null || serialized.isEmpty()) {
+				continue;
+			}
+			bundles.put(userKeys.get(index), serialized.stream().map(this::deserialize).filter(Objects::nonNull).toList());
+		}
+		return bundles;
+	}
+
+	/**
+	 * Drops the bundles the users were last handed by {@link #drain}, once they have been routed.
+	 */
+	void acknowledge(String bucket, Collection<String> userKeys) {
+		if (!userKeys.isEmpty()) {
+			stringRedisTemplate.delete(userKeys.stream().map(userKey -> releasingKey(bucket, userKey)).toList());
+		}
+	}
+
+	/**
+	 * Removes users from the bucket. Only call it once {@link #drain} has nothing left for them.
+	 */
+	void release(String bucket, List<String> userKeys) {
+		if (!userKeys.isEmpty()) {
+			stringRedisTemplate.opsForSet().remove(BUCKET_KEY_PREFIX + bucket, userKeys.toArray());
+		}
+	}
+
+	/**
+	 * Drops the bucket from the schedule once every user in it has been released.
+	 */
+	boolean completeIfEmpty(RedisDelayQueue.Claim bucket) {
+		Long remaining = stringRedisTemplate.opsForSet().size(BUCKET_KEY_PREFIX + bucket.member());
+		if (remaining == null || remaining == 0) {
+			return dueIndex.complete(bucket);
+		}
+		return false;
+	}
+
+	private static String pendingKey(String bucket, String userKey) {
+		return BUNDLES_KEY_PREFIX + bucket + ":" + userKey;
+	}
+
+	private static String releasingKey(String bucket, String userKey) {
+		return pendingKey(bucket, userKey) + ":releasing";
+	}
+
+	private static byte[] key(String key) {
+		return RedisSerializer.string().serialize(key);
+	}
+
+	private byte[] serialize(NotificationBundle bundle) {
+		try {
+			return objectMapper.writeValueAsBytes(bundle);
+		} catch (JsonProcessingException exception) {
+			throw new IllegalStateException("Could not serialize bundle " + bundle.getId(), exception);
+		}
+	}
+
+	private NotificationBundle deserialize(String json) {
+		try {
+			return objectMapper.readValue(json, NotificationBundle.class);
+		} catch (JsonProcessingException exception) {
+			log.error("Dropping a deferred bundle that could not be read: {}", json, exception);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.notification.channel.ChannelExecutorRegistry;
+import app.bola.taskforge.notification.model.ChannelType;
+import app.bola.taskforge.notification.model.DeliveryOutbox;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically claims deliveries from the outbox whose retry is due and hands them back to the {@link ChannelRouter}.
+ * <p>
+ * Each channel claims no more deliveries than its executor can take right now, so a backed-up channel leaves the
+ * rest in the outbox instead of claiming them only to have them rejected.
+ */
+@Slf4j
+@Component
+public class DeliveryOutboxPoller {
+
+	final ChannelRouter channelRouter;
+	final DeliveryOutboxService outboxService;
+	final ChannelExecutorRegistry executorRegistry;
+	final ScheduledExecutorService scheduledExecutorService;
+	@Value("#{T(java.time.Duration).parse('${app.notification.outbox.poll-interval:PT5S}')}")
+	private Duration pollInterval;
+	@Value("${app.notification.outbox.claim-batch-size:100}")
+	private int claimBatchSize;
+	private ScheduledFuture<?> poller;
+
+	public DeliveryOutboxPoller(ChannelRouter channelRouter, DeliveryOutboxService outboxService,
+	                            ChannelExecutorRegistry executorRegistry, ScheduledExecutorService scheduledExecutorService) {
+		this.channelRouter = channelRouter;
+		this.outboxService = outboxService;
+		this.executorRegistry = executorRegistry;
+		this.scheduledExecutorService = scheduledExecutorService;
+	}
+
+	@PostConstruct
+	void start() {
+		long interval = pollInterval.toMillis();
+		poller = scheduledExecutorService.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	void stop() {
+		if (poller != null) {
+			poller.cancel(false);
+		}
+	}
+
+	void poll() {
+		for (ChannelType channel : ChannelType.values()) {
+			try {
+				poll(channel);
+			} catch (Exception exception) {
+				log.error("Failed to poll the delivery outbox for {}", channel, exception);
+			}
+		}
+	}
+
+	private void poll(ChannelType channel) {
+		List<DeliveryOutbox> claimed;
+		int limit;
+		do {
+			limit = Math.min(claimBatchSize, executorRegistry.executorFor(channel).remainingCapacity());
+			if (limit == 0) {
+				return;
+			}
+			claimed = outboxService.claimDue(channel, limit);
+			claimed.forEach(channelRouter::redeliver);
+		} while (claimed.size() == limit);
+	}
+}
@@ -0,0 +1,145 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.notification.model.*;
+import app.bola.taskforge.notification.repository.DeliveryOutboxRepository;
+import app.bola.taskforge.repository.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keeps track of every channel delivery in the {@link DeliveryOutbox} so failed deliveries are retried
+ * instead of lost.
+ * <p>
+ * A failed attempt is retried after an exponentially growing, jittered delay of
+ * {@code app.notification.outbox.base-backoff * 2^(attempts - 1)}, capped at {@code app.notification.outbox.max-backoff}.
+ * After {@code app.notification.outbox.max-attempts} attempts the delivery is dead-lettered. A dead-lettered email
+ * is handed to the recipient's digest instead.
+ */
+@Slf4j
+@Component
+public class DeliveryOutboxService {
+
+	private final DeliveryOutboxRepository outboxRepository;
+	private final NotificationRepository notificationRepository;
+	private final int maxAttempts;
+	private final Duration baseBackoff;
+	private final Duration maxBackoff;
+	private final Duration claimLease;
+
+	public DeliveryOutboxService(DeliveryOutboxRepository outboxRepository, NotificationRepository notificationRepository,
+	                             @Value("${app.notification.outbox.max-attempts:6}") int maxAttempts,
+	                             @Value("#{T(java.time.Duration).parse('${app.notification.outbox.base-backoff:PT10S}')}") Duration baseBackoff,
+	                             @Value("#{T(java.time.Duration).parse('${app.notification.outbox.max-backoff:PT30M}')}") Duration maxBackoff,
+	                             @Value("#{T(java.time.Duration).parse('${app.notification.outbox.claim-lease:PT2M}')}") Duration claimLease) {
+		this.outboxRepository = outboxRepository;
+		this.notificationRepository = notificationRepository;
+		this.maxAttempts = maxAttempts;
+		this.baseBackoff = baseBackoff;
+		this.maxBackoff = maxBackoff;
+		this.claimLease = claimLease;
+	}
+
+	/**
+	 * Records the delivery of the bundle on the channel, claimed by the caller for the duration of the lease.
+	 * Deliberately not transactional: a duplicate key has to fail in its own transaction for it to be caught here.
+	 *
+	 * @return the new outbox entry, or empty if the bundle was already queued on this channel
+	 */
+	public Optional<DeliveryOutbox> enqueue(NotificationBundle bundle, ChannelType channel) {
+		String idempotencyKey = DeliveryOutbox.idempotencyKey(bundle.getId(), channel);
+		if (outboxRepository.existsByIdempotencyKey(idempotencyKey)) {
+			log.debug("Skipping {}, it has already been queued", idempotencyKey);
+			return Optional.empty();
+		}
+		DeliveryOutbox entry = DeliveryOutbox.builder()
+			.idempotencyKey(idempotencyKey)
+			.bundleId(bundle.getId())
+			.channel(channel)
+			.bundle(bundle)
+			.status(DeliveryStatus.PENDING)
+			.nextAttemptAt(Instant.now().plus(claimLease))
+			.build();
+		try {
+			return Optional.of(outboxRepository.saveAndFlush(entry));
+		} catch (DataIntegrityViolationException exception) {
+			log.debug("Skipping {}, it was queued concurrently", idempotencyKey);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Claims up to {@code limit} deliveries on the channel that are due for another attempt. Claimed deliveries are hidden from
+	 * other pollers until their lease runs out, so a node that dies mid-delivery only delays the retry.
+	 */
+	@Transactional
+	public List<DeliveryOutbox> claimDue(ChannelType channel, int limit) {
+		Instant now = Instant.now();
+		List<DeliveryOutbox> due = outboxRepository.lockDue(now, channel.name(), limit);
+		due.forEach(entry -> entry.setNextAttemptAt(now.plus(claimLease)));
+		return due;
+	}
+
+	/**
+	 * Hands a claimed delivery back for the next poll without counting an attempt, for deliveries that could not
+	 * even be started.
+	 */
+	@Transactional
+	public void release(String outboxId) {
+		outboxRepository.findById(outboxId).ifPresent(entry -> entry.setNextAttemptAt(Instant.now()));
+	}
+
+	@Transactional
+	public void record(String outboxId, DeliveryResult result) {
+		outboxRepository.findById(outboxId).ifPresent(entry -> {
+			entry.setAttempts(entry.getAttempts() + 1);
+			result.setRetryCount(entry.getAttempts() - 1);
+
+			if (result.getStatus() == DeliveryStatus.SUCCESS) {
+				entry.setStatus(DeliveryStatus.SUCCESS);
+				entry.setExternalId(result.getExternalId());
+				entry.setDeliveredAt(result.getDeliveredAt());
+				entry.setLastError(null);
+				return;
+			}
+
+			entry.setLastError(StringUtils.abbreviate(result.getErrorMessage(), 1000));
+			if (result.getStatus() == DeliveryStatus.DROPPED) {
+				entry.setStatus(DeliveryStatus.DROPPED);
+				log.debug("{} was dropped: {}", entry.getIdempotencyKey(), entry.getLastError());
+				return;
+			}
+			if (entry.getAttempts() >= maxAttempts) {
+				entry.setStatus(DeliveryStatus.DEAD_LETTERED);
+				log.error("Dead-lettering {} after {} attempt(s): {}", entry.getIdempotencyKey(), entry.getAttempts(), entry.getLastError());
+				if (entry.getChannel() == ChannelType.EMAIL) {
+					notificationRepository.clearEmailed(entry.getBundleId());
+				}
+				return;
+			}
+			Duration delay = backoff(entry.getAttempts());
+			entry.setStatus(DeliveryStatus.RETRYING);
+			entry.setNextAttemptAt(Instant.now().plus(delay));
+			log.warn("{} failed on attempt {}, retrying in {}: {}", entry.getIdempotencyKey(), entry.getAttempts(), delay, entry.getLastError());
+		});
+	}
+
+	/**
+	 * @return a delay between half and all of the capped exponential backoff for the given attempt, so deliveries
+	 * that failed together during an outage do not all retry at the same moment
+	 */
+	Duration backoff(int attempts) {
+		long exponential = baseBackoff.toMillis() << Math.min(attempts - 1, 20);
+		long capped = Math.min(exponential, maxBackoff.toMillis());
+		return Duration.ofMillis(ThreadLocalRandom.current().nextLong(capped / 2, capped + 1));
+	}
+}
@@ -0,0 +1,195 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.common.pagination.CursorPage;
+import app.bola.taskforge.common.pagination.KeysetCursor;
+import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.domain.entity.Notification;
+import app.bola.taskforge.domain.enums.NotificationStatus;
+import app.bola.taskforge.exception.EntityNotFoundException;
+import app.bola.taskforge.notification.model.ChannelType;
+import app.bola.taskforge.notification.model.NotificationBundle;
+import app.bola.taskforge.repository.NotificationRepository;
+import app.bola.taskforge.repository.UserRepository;
+import app.bola.taskforge.service.dto.NotificationResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The in-app inbox: every delivered bundle becomes a {@link Notification} in its recipient's inbox.
+ * <p>
+ * Each member's unread count is kept in Redis under {@code notification:unread:{tenantId}:{memberId}}, so reading
+ * the badge never queries the notification table. It is incremented by the rows each insert committed and
+ * decremented by the rows each update actually marked as read, after the change commits. Increments and decrements
+ * commute, so the counter is exact whatever order they land in; it can dip below zero for a moment, which the badge
+ * reads as zero. The counter never expires, and a missing one means nothing is unread.
+ */
+@Slf4j
+@Component
+public class InboxService {
+
+	static final String UNREAD_KEY_PREFIX = "notification:unread:";
+
+	private final NotificationRepository notificationRepository;
+	private final UserRepository userRepository;
+	private final StringRedisTemplate stringRedisTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int maxPageSize;
+
+	public InboxService(NotificationRepository notificationRepository, UserRepository userRepository,
+	                    StringRedisTemplate stringRedisTemplate, PlatformTransactionManager transactionManager,
+	                    @Value("${app.notification.inbox.max-page-size:100}") int maxPageSize) {
+		this.notificationRepository = notificationRepository;
+		this.userRepository = userRepository;
+		this.stringRedisTemplate = stringRedisTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.maxPageSize = maxPageSize;
+	}
+
+	/**
+	 * Writes the bundles to their recipients' inboxes in one batched insert and bumps the unread counters once
+	 * the insert has committed.
+	 *
+	 * @return the ids of the bundles that were stored; bundles whose recipient no longer exists are left out
+	 */
+	public Set<String> store(List<NotificationBundle> bundles) {
+		if (bundles.isEmpty()) {
+			return Set.of();
+		}
+		List<Notification> stored = transactionTemplate.execute(status -> {
+			Map<String, Member> recipients = userRepository.findAllByPublicIdIn(
+					bundles.stream().map(NotificationBundle::getUserId).collect(Collectors.toSet()))
+				.stream()
+				.collect(Collectors.toMap(Member::getPublicId, Function.identity()));
+			List<Notification> notifications = bundles.stream()
+				.filter(bundle -> recipients.containsKey(bundle.getUserId()))
+				.map(bundle -> toNotification(bundle, recipients.get(bundle.getUserId())))
+				.toList();
+			return notificationRepository.saveAll(notifications);
+		});
+		incrementUnread(stored);
+		return stored.stream().map(Notification::getReferenceId).collect(Collectors.toSet());
+	}
+
+	private static Notification toNotification(NotificationBundle bundle, Member recipient) {
+		return Notification.builder()
+			.title(bundle.getTitle())
+			.body(bundle.getMessage())
+			.referenceId(bundle.getId())
+			.recipient(recipient)
+			.status(NotificationStatus.DELIVERED)
+			.emailed(bundle.getChannels() != null && bundle.getChannels().contains(ChannelType.EMAIL)
+				&& StringUtils.isNotBlank(bundle.getEmailTo()))
+			.build();
+	}
+
+	private void incrementUnread(List<Notification> notifications) {
+		Map<String, Long> increments = notifications.stream()
+			.collect(Collectors.groupingBy(notification -> unreadKey(notification.getRecipient()), Collectors.counting()));
+		stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+			increments.forEach((key, count) -> connection.stringCommands().incrBy(RedisSerializer.string().serialize(key), count));
+			return null;
+		});
+	}
+
+	public long unreadCount(String email) {
+		return unreadCount(findMember(email));
+	}
+
+	private long unreadCount(Member member) {
+		String count = stringRedisTemplate.opsForValue().get(unreadKey(member));
+		return count == null ? 0 : Math.max(0, Long.parseLong(count));
+	}
+
+	/**
+	 * Lists the member's inbox, newest first.
+	 *
+	 * @param cursor the {@link CursorPage#nextCursor()} of the previous page, or {@code null} for the first page
+	 */
+	public CursorPage<NotificationResponse> list(String email, String cursor, int size) {
+		Member member = findMember(email);
+		int pageSize = Math.clamp(size, 1, maxPageSize);
+		// One row past the page tells whether there is a next page without a count query.
+		Limit limit = Limit.of(pageSize + 1);
+		List<Notification> rows;
+		if (cursor == null || cursor.isBlank()) {
+			rows = notificationRepository.findInboxFirstPage(member.getId(), limit);
+		} else {
+			KeysetCursor position = KeysetCursor.decode(cursor);
+			rows = notificationRepository.findInboxPageAfter(member.getId(), position.createdAt(), position.id(), limit);
+		}
+
+		List<Notification> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+		String nextCursor = null;
+		if (rows.size() > pageSize) {
+			Notification last = page.getLast();
+			nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+		}
+		return new CursorPage<>(page.stream().map(InboxService::toResponse).toList(), nextCursor);
+	}
+
+	private static NotificationResponse toResponse(Notification notification) {
+		return NotificationResponse.builder()
+			.publicId(notification.getPublicId())
+			.title(notification.getTitle())
+			.body(notification.getBody())
+			.read(notification.isRead())
+			.referenceId(notification.getReferenceId())
+			.type(notification.getType())
+			.createdAt(notification.getCreatedAt())
+			.build();
+	}
+
+	/**
+	 * Marks the given notifications as read in a single update.
+	 *
+	 * @return the member's unread count afterwards
+	 */
+	public long markRead(String email, Collection<String> notificationIds) {
+		Member member = findMember(email);
+		if (notificationIds.isEmpty()) {
+			return unreadCount(email);
+		}
+		Integer marked = transactionTemplate.execute(status -> notificationRepository.markRead(member.getId(), notificationIds));
+		return decrementUnread(member, marked == null ? 0 : marked);
+	}
+
+	/**
+	 * Marks every notification of the member as read and takes the rows it marked off the counter. Setting it to
+	 * zero instead would erase an increment for a notification that arrived after the update.
+	 */
+	public void markAllRead(String email) {
+		Member member = findMember(email);
+		Integer marked = transactionTemplate.execute(status -> notificationRepository.markAllRead(member.getId()));
+		decrementUnread(member, marked == null ? 0 : marked);
+	}
+
+	private long decrementUnread(Member member, int count) {
+		if (count == 0) {
+			return unreadCount(member);
+		}
+		Long remaining = stringRedisTemplate.opsForValue().decrement(unreadKey(member), count);
+		return remaining == null ? 0 : Math.max(0, remaining);
+	}
+
+	private Member findMember(String email) {
+		return userRepository.findByEmail(email)
+			.orElseThrow(() -> new EntityNotFoundException("Member not found"));
+	}
+
+	static String unreadKey(Member member) {
+		String tenantId = member.getOrganization() == null ? null : member.getOrganization().getPublicId();
+		return UNREAD_KEY_PREFIX + tenantId + ":" + member.getPublicId();
+	}
+}
@@ -1,28 +1,54 @@
 package app.bola.taskforge.notification.service;
 
+import app.bola.taskforge.domain.context.TenantContext;
 import app.bola.taskforge.domain.entity.NotificationPreference;
+import app.bola.taskforge.event.EventType;
 import app.bola.taskforge.event.ProjectEvent;
 import app.bola.taskforge.event.TaskEvent;
+import app.bola.taskforge.notification.metrics.NotificationMetrics;
 import app.bola.taskforge.notification.model.NotificationCandidate;
 import app.bola.taskforge.notification.model.NotificationPriority;
-import lombok.AllArgsConstructor;
+import app.bola.taskforge.repository.ProjectRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Turns domain events into notification candidates for everyone in the event's scope.
+ * <p>
+ * Events only name their scope, the project. Its members are streamed from the database in keyset-ordered chunks
+ * of {@code app.notification.recipients.chunk-size}, and each chunk is run through the preference check and the
+ * {@link DebounceEngine} before the next one is read, so a fan-out holds one chunk in memory however large the
+ * project is.
+ */
 @Slf4j
 @Component
-@AllArgsConstructor
 public class NotificationService {
 
     final DebounceEngine debounceEngine;
     final PreferenceManager preferenceManager;
+    final ProjectRepository projectRepository;
+    final NotificationMetrics metrics;
+    private final int recipientChunkSize;
+
+    public NotificationService(DebounceEngine debounceEngine, PreferenceManager preferenceManager,
+                               ProjectRepository projectRepository, NotificationMetrics metrics,
+                               @Value("${app.notification.recipients.chunk-size:500}") int recipientChunkSize) {
+        this.debounceEngine = debounceEngine;
+        this.preferenceManager = preferenceManager;
+        this.projectRepository = projectRepository;
+        this.metrics = metrics;
+        this.recipientChunkSize = recipientChunkSize;
+    }
 
     private final Map<Class<?>, Function<Object, Map<String, Object>>> eventDataGenerators = new HashMap<>();
 
@@ -41,39 +67,58 @@ public class NotificationService {
 		return Map.of("projectId", event.getProjectId(), "eventType", event.getEventType().name());
 	}
 	
+    /**
+     * Fans the event out to the members of its project. An event that cannot be read, e.g. one missing its ids, is
+     * logged and dropped since no retry would fix it. Any other failure, such as Redis or the database being
+     * unavailable, is thrown so the bus redelivers the event; chunks already submitted before the failure are
+     * submitted again on redelivery and merged by the {@link DebounceEngine}.
+     */
     public <T> void processEvent(T event) {
+        long start = System.nanoTime();
         try {
-            List<NotificationPreference> preferences = getUserNotificationPreferences(event);
-            if (preferences == null) return;
-            Map<NotificationCandidate, NotificationPreference> preferenceMap = mapPreferenceToNotificationCandidate(event, preferences);
-            debounceEngine.submit(preferenceMap);
-        } catch (Exception exception) {
-            log.error("Failed to process event: {}", event, exception);
+            String projectId = extractProjectId(event);
+            if (StringUtils.isBlank(projectId)) {
+                log.info("Event has no project scope, nobody to notify: {}", event);
+                return;
+            }
+            String tenantId = TenantContext.getCurrentTenant();
+            int recipients = 0;
+            List<String> chunk;
+            String lastMemberId = "";
+            do {
+                chunk = projectRepository.findMemberIdsAfter(projectId, tenantId, lastMemberId, Limit.of(recipientChunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                processChunk(event, tenantId, chunk);
+                recipients += chunk.size();
+                lastMemberId = chunk.getLast();
+            } while (chunk.size() == recipientChunkSize);
+            log.debug("Fanned out {} to {} project member(s)", event, recipients);
+        } catch (IllegalArgumentException | NullPointerException | ClassCastException exception) {
+            log.error("Dropping malformed event: {}", event, exception);
+        } finally {
+            metrics.eventProcessed(TenantContext.getCurrentTenant(), extractEventType(event), NotificationMetrics.since(start));
         }
     }
-	
-    private <T> List<NotificationPreference> getUserNotificationPreferences(T event) {
-        List<String> userIdList = extractUserIdList(event);
-        List<NotificationPreference> preferences = new ArrayList<>();
-        for (String userId : userIdList) {
-            NotificationPreference preference = preferenceManager.getPreference(userId);
-            if (preference != null && preference.isAllowNotification())
-                preferences.add(preference);
-        }
+
+    private <T> void processChunk(T event, String tenantId, List<String> userIds) {
+        List<NotificationPreference> preferences = preferenceManager.getPreferences(tenantId, userIds).values().stream()
+                .filter(NotificationPreference::isAllowNotification)
+                .toList();
         if (preferences.isEmpty()) {
-            log.info("No notification preferences found for users: {}", userIdList);
-            return null;
+            return;
         }
-        return preferences;
+        debounceEngine.submit(mapPreferenceToNotificationCandidate(event, preferences));
     }
-	
-    private <T> List<String> extractUserIdList(T event) {
+
+    private <T> String extractProjectId(T event) {
         if (event instanceof TaskEvent) {
-            return ((TaskEvent) event).getUserIdList();
+            return ((TaskEvent) event).getProjectId();
         } else if (event instanceof ProjectEvent) {
-            return ((ProjectEvent) event).getUserIdList();
+            return ((ProjectEvent) event).getProjectId();
         }
-        return new ArrayList<>();
+        return null;
     }
 	
     private <T> Map<NotificationCandidate, NotificationPreference> mapPreferenceToNotificationCandidate(T event, List<NotificationPreference> preferences) {
@@ -88,13 +133,19 @@ public class NotificationService {
         String sourceEntityId = extractSourceEntityId(event);
         String sourceEntityType = extractSourceEntityType(event);
         String eventType = extractEventType(event);
+        // Task and project events name their types after the shared EventType constants.
+        EventType notificationType = StringUtils.isBlank(eventType) ? null : EventType.valueOf(eventType);
         return NotificationCandidate.builder()
+                .id(UUID.randomUUID().toString())
                 .debounceKey(generateDebounceKey(userId, sourceEntityId, eventType))
                 .userId(userId)
+                .tenantId(TenantContext.getCurrentTenant())
                 .sourceEntityId(sourceEntityId)
                 .sourceEntityType(sourceEntityType)
                 .eventData(eventData)
-                .priority(NotificationPriority.HIGH)
+                .notificationType(notificationType)
+                .priority(NotificationPriority.of(notificationType))
+                .createdAt(System.currentTimeMillis())
                 .build();
     }
 	
@@ -123,10 +174,10 @@ public class NotificationService {
         return "";
     }
     private <T> String extractEventType(T event) {
-        if (event instanceof TaskEvent) {
-            return ((TaskEvent) event).getEventType().name();
-        } else if (event instanceof ProjectEvent) {
-            return ((ProjectEvent) event).getEventType().name();
+        if (event instanceof TaskEvent taskEvent && taskEvent.getEventType() != null) {
+            return taskEvent.getEventType().name();
+        } else if (event instanceof ProjectEvent projectEvent && projectEvent.getEventType() != null) {
+            return projectEvent.getEventType().name();
         }
         return "";
     }
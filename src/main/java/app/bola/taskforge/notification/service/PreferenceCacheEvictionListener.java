@@ -0,0 +1,55 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.domain.entity.NotificationPreference;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the {@link PreferenceManager} cache of this and every other instance in line with the database by evicting
+ * a member's preference once a change to it has been committed.
+ */
+@Component
+public class PreferenceCacheEvictionListener {
+
+	private final ObjectProvider<PreferenceManager> preferenceManager;
+	private final ObjectProvider<PreferenceCacheInvalidation> invalidation;
+
+	public PreferenceCacheEvictionListener(ObjectProvider<PreferenceManager> preferenceManager,
+	                                       ObjectProvider<PreferenceCacheInvalidation> invalidation) {
+		this.preferenceManager = preferenceManager;
+		this.invalidation = invalidation;
+	}
+
+	@PostUpdate
+	@PostRemove
+	public void onPreferenceChanged(NotificationPreference preference) {
+		Runnable eviction = () -> evict(preference);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					eviction.run();
+				}
+			});
+		} else {
+			eviction.run();
+		}
+	}
+
+	private void evict(NotificationPreference preference) {
+		Member member = preference.getMember();
+		if (member == null || member.getOrganization() == null) {
+			preferenceManager.ifAvailable(PreferenceManager::evictAll);
+			invalidation.ifAvailable(PreferenceCacheInvalidation::publishAll);
+			return;
+		}
+		String tenantId = member.getOrganization().getPublicId();
+		preferenceManager.ifAvailable(manager -> manager.evict(tenantId, member.getPublicId()));
+		invalidation.ifAvailable(target -> target.publish(tenantId, member.getPublicId()));
+	}
+}
@@ -0,0 +1,80 @@
+package app.bola.taskforge.notification.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Evicts a changed preference from the {@link PreferenceManager} cache of every other instance through Redis pub/sub.
+ * <p>
+ * Messages are {@code <node> <tenant> <user>} on {@code app.notification.preference.cache.invalidation-channel}, or
+ * {@code <node> *} to drop every cached preference. A message that is lost while Redis is unavailable leaves the
+ * preference cached until {@code app.notification.preference.cache.ttl} expires.
+ */
+@Slf4j
+@Component
+public class PreferenceCacheInvalidation implements MessageListener {
+
+	private static final String SEPARATOR = " ";
+	private static final String ALL = "*";
+
+	private final String nodeId = UUID.randomUUID().toString();
+	private final PreferenceManager preferenceManager;
+	private final StringRedisTemplate redisTemplate;
+	private final RedisMessageListenerContainer listenerContainer;
+	private final String channel;
+
+	public PreferenceCacheInvalidation(PreferenceManager preferenceManager, StringRedisTemplate redisTemplate,
+	                                   RedisMessageListenerContainer listenerContainer,
+	                                   @Value("${app.notification.preference.cache.invalidation-channel:taskforge:preference-invalidation}") String channel) {
+		this.preferenceManager = preferenceManager;
+		this.redisTemplate = redisTemplate;
+		this.listenerContainer = listenerContainer;
+		this.channel = channel;
+	}
+
+	@PostConstruct
+	void subscribe() {
+		listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+	}
+
+	public void publish(String tenantId, String userId) {
+		send(String.join(SEPARATOR, nodeId, tenantId, userId));
+	}
+
+	public void publishAll() {
+		send(String.join(SEPARATOR, nodeId, ALL));
+	}
+
+	private void send(String message) {
+		try {
+			redisTemplate.convertAndSend(channel, message);
+		} catch (RuntimeException exception) {
+			log.warn("Could not publish preference cache invalidation {}", message, exception);
+		}
+	}
+
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+		if (nodeId.equals(parts[0])) {
+			return;
+		}
+		if (parts.length == 2 && ALL.equals(parts[1])) {
+			preferenceManager.evictAll();
+			log.debug("Evicted every cached preference after a change on another instance");
+		} else if (parts.length == 3) {
+			preferenceManager.evict(parts[1], parts[2]);
+			log.debug("Evicted the preference of {} in {} after a change on another instance", parts[2], parts[1]);
+		}
+	}
+}
@@ -1,22 +1,101 @@
 package app.bola.taskforge.notification.service;
 
+import app.bola.taskforge.domain.context.TenantContext;
 import app.bola.taskforge.domain.entity.NotificationPreference;
+import app.bola.taskforge.notification.metrics.NotificationMetrics;
 import app.bola.taskforge.repository.NotificationPreferenceRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
+import java.time.Duration;
+import java.util.*;
 
+/**
+ * Resolves member notification preferences for event fan-out.
+ * <p>
+ * Preferences are cached per tenant and user. Cache misses are loaded in chunks of
+ * {@code app.notification.preference.batch-size} ids, one query per chunk, so the cost of
+ * resolving the recipients of an event grows with the number of chunks rather than the number of recipients.
+ */
+@Slf4j
 @Component
-@RequiredArgsConstructor
 public class PreferenceManager {
-	
+
 	private final NotificationPreferenceRepository preferenceRepository;
-	
-	
+	private final Cache<PreferenceKey, NotificationPreference> preferenceCache;
+	private final NotificationMetrics metrics;
+	private final int batchSize;
+
+	public PreferenceManager(NotificationPreferenceRepository preferenceRepository, NotificationMetrics metrics,
+	                         @Value("${app.notification.preference.batch-size:500}") int batchSize,
+	                         @Value("${app.notification.preference.cache.max-size:10000}") long maxSize,
+	                         @Value("#{T(java.time.Duration).parse('${app.notification.preference.cache.ttl:PT5M}')}") Duration ttl) {
+		this.preferenceRepository = preferenceRepository;
+		this.metrics = metrics;
+		this.batchSize = batchSize;
+		this.preferenceCache = Caffeine.newBuilder()
+			.maximumSize(maxSize)
+			.expireAfterWrite(ttl)
+			.build();
+	}
+
 	public NotificationPreference getPreference(String userId) {
-		Optional<NotificationPreference> optionalPreference = preferenceRepository.findByUserId(userId);
-		System.out.println("Fetched preference for userId " + userId + ": " + optionalPreference.get());
-		return optionalPreference.orElse(null);
+		return getPreferences(TenantContext.getCurrentTenant(), List.of(userId)).get(userId);
+	}
+
+	/**
+	 * @return the preferences of the given users keyed by user id, in the order the ids were supplied.
+	 * Users without a preference in the tenant are left out.
+	 */
+	public Map<String, NotificationPreference> getPreferences(String tenantId, Collection<String> userIds) {
+		Map<String, NotificationPreference> preferences = new LinkedHashMap<>();
+		if (StringUtils.isBlank(tenantId) || userIds == null || userIds.isEmpty()) {
+			return preferences;
+		}
+
+		long start = System.nanoTime();
+		Set<String> distinctIds = new LinkedHashSet<>(userIds);
+		List<String> misses = new ArrayList<>();
+		for (String userId : distinctIds) {
+			NotificationPreference cached = preferenceCache.getIfPresent(new PreferenceKey(tenantId, userId));
+			if (cached != null) {
+				preferences.put(userId, cached);
+			} else {
+				misses.add(userId);
+				preferences.put(userId, null);
+			}
+		}
+
+		int roundTrips = 0;
+		for (int from = 0; from < misses.size(); from += batchSize) {
+			List<String> chunk = misses.subList(from, Math.min(from + batchSize, misses.size()));
+			for (NotificationPreference preference : preferenceRepository.findAllByUserIds(chunk, tenantId)) {
+				String userId = preference.getMember().getPublicId();
+				preferenceCache.put(new PreferenceKey(tenantId, userId), preference);
+				preferences.put(userId, preference);
+			}
+			roundTrips++;
+		}
+		preferences.values().removeIf(Objects::isNull);
+		metrics.preferencesLoaded(NotificationMetrics.since(start), distinctIds.size() - misses.size(), misses.size());
+
+		log.debug("Resolved {} preferences for tenant {}: {} cache hits, {} loaded in {} round trip(s)",
+			preferences.size(), tenantId, distinctIds.size() - misses.size(), misses.size(), roundTrips);
+		return preferences;
+	}
+
+	public void evict(String tenantId, String userId) {
+		preferenceCache.invalidate(new PreferenceKey(tenantId, userId));
+	}
+
+	public void evictAll() {
+		preferenceCache.invalidateAll();
+	}
+
+	private record PreferenceKey(String tenantId, String userId) {
 	}
 }
@@ -0,0 +1,62 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.domain.entity.PushDevice;
+import app.bola.taskforge.exception.EntityNotFoundException;
+import app.bola.taskforge.repository.PushDeviceRepository;
+import app.bola.taskforge.repository.UserRepository;
+import app.bola.taskforge.service.dto.PushDeviceRequest;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps track of the devices each member receives push notifications on.
+ */
+@Slf4j
+@Component
+@AllArgsConstructor
+public class PushDeviceService {
+	
+	private final PushDeviceRepository pushDeviceRepository;
+	private final UserRepository userRepository;
+	
+	/**
+	 * Registers the device for the member. A token that is already registered, e.g. after another member signed in
+	 * on the same device, is moved to this member.
+	 */
+	@Transactional
+	public void register(String email, PushDeviceRequest request) {
+		Member member = userRepository.findByEmail(email)
+			.orElseThrow(() -> new EntityNotFoundException("Member not found"));
+		PushDevice device = pushDeviceRepository.findByToken(request.getToken())
+			.orElseGet(() -> PushDevice.builder().token(request.getToken()).build());
+		device.setMember(member);
+		device.setPlatform(request.getPlatform());
+		pushDeviceRepository.save(device);
+	}
+	
+	@Transactional
+	public void unregister(String email, String token) {
+		pushDeviceRepository.deleteByTokenAndMemberEmail(token, email);
+	}
+	
+	public List<String> tokensOf(String memberPublicId) {
+		return pushDeviceRepository.findTokensByMember(memberPublicId);
+	}
+	
+	/**
+	 * Forgets tokens the push gateway no longer recognises, so they are not sent to again.
+	 */
+	@Transactional
+	public void removeTokens(Collection<String> tokens) {
+		if (!tokens.isEmpty()) {
+			int removed = pushDeviceRepository.deleteByTokenIn(tokens);
+			log.info("Removed {} unregistered push device(s)", removed);
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.notification.model.ChannelType;
+import app.bola.taskforge.notification.model.NotificationBundle;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sweeps the {@link DeferredDeliveryStore} once per due minute bucket and routes each user's deferred bundles
+ * as a single merged bundle, one per {@link DeferredDeliveryStore#MAX_BUNDLES_PER_DRAIN} bundles.
+ * <p>
+ * Bundles are acknowledged only after they have been routed, so after a crash they are routed again. A merged
+ * bundle takes its id from the bundles in it, which lets the delivery outbox recognise it as already queued.
+ */
+@Slf4j
+@Component
+public class QuietHoursReleasePoller {
+
+	private static final int BUCKET_CLAIM_BATCH_SIZE = 10;
+
+	final ChannelRouter channelRouter;
+	final DeferredDeliveryStore deferredDeliveryStore;
+	final ScheduledExecutorService scheduledExecutorService;
+	@Value("#{T(java.time.Duration).parse('${app.notification.quiet-hours.sweep-interval:PT15S}')}")
+	private Duration sweepInterval;
+	@Value("#{T(java.time.Duration).parse('${app.notification.quiet-hours.claim-lease:PT5M}')}")
+	private Duration claimLease;
+	@Value("${app.notification.quiet-hours.release-batch-size:500}")
+	private int releaseBatchSize;
+	private ScheduledFuture<?> poller;
+
+	public QuietHoursReleasePoller(ChannelRouter channelRouter, DeferredDeliveryStore deferredDeliveryStore,
+	                               ScheduledExecutorService scheduledExecutorService) {
+		this.channelRouter = channelRouter;
+		this.deferredDeliveryStore = deferredDeliveryStore;
+		this.scheduledExecutorService = scheduledExecutorService;
+	}
+
+	@PostConstruct
+	void start() {
+		long interval = sweepInterval.toMillis();
+		poller = scheduledExecutorService.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	void stop() {
+		if (poller != null) {
+			poller.cancel(false);
+		}
+	}
+
+	void sweep() {
+		try {
+			List<RedisDelayQueue.Claim> buckets;
+			do {
+				buckets = deferredDeliveryStore.claimDueBuckets(Instant.now(), BUCKET_CLAIM_BATCH_SIZE, claimLease);
+				buckets.forEach(this::releaseBucket);
+			} while (buckets.size() == BUCKET_CLAIM_BATCH_SIZE);
+		} catch (Exception exception) {
+			log.error("Failed to sweep quiet-hours buckets", exception);
+		}
+	}
+
+	private void releaseBucket(RedisDelayQueue.Claim claim) {
+		String bucket = claim.member();
+		int released = 0;
+		List<String> users;
+		while (!(users = deferredDeliveryStore.pendingUsers(bucket, releaseBatchSize)).isEmpty()) {
+			Map<String, List<NotificationBundle>> drained;
+			List<String> draining = users;
+			while (!(drained = deferredDeliveryStore.drain(bucket, draining)).isEmpty()) {
+				drained.forEach(this::deliver);
+				deferredDeliveryStore.acknowledge(bucket, drained.keySet());
+				draining = List.copyOf(drained.keySet());
+			}
+			deferredDeliveryStore.release(bucket, users);
+			released += users.size();
+		}
+		deferredDeliveryStore.completeIfEmpty(claim);
+		log.info("Released quiet-hours bucket {} for {} user(s)", bucket, released);
+	}
+
+	private void deliver(String userKey, List<NotificationBundle> bundles) {
+		if (bundles.isEmpty()) {
+			return;
+		}
+		NotificationBundle merged = merge(bundles);
+		try {
+			channelRouter.route(merged);
+		} catch (Exception exception) {
+			log.error("Failed to release deferred bundles for {}, deferring them for another minute", userKey, exception);
+			String tenantId = userKey.substring(0, userKey.lastIndexOf(':'));
+			deferredDeliveryStore.defer(merged, tenantId, Instant.now().plusSeconds(60));
+		}
+	}
+
+	/**
+	 * Folds the bundles a user collected during quiet hours into one. The newest bundle supplies the content
+	 * and the sources and channels of all of them are kept.
+	 */
+	static NotificationBundle merge(List<NotificationBundle> bundles) {
+		if (bundles.size() == 1) {
+			return bundles.getFirst();
+		}
+		NotificationBundle latest = bundles.getLast();
+		String bundleIds = bundles.stream().map(NotificationBundle::getId).filter(Objects::nonNull).collect(Collectors.joining(","));
+		Set<ChannelType> channels = bundles.stream()
+			.map(NotificationBundle::getChannels)
+			.filter(Objects::nonNull)
+			.flatMap(Set::stream)
+			.collect(Collectors.toCollection(() -> EnumSet.noneOf(ChannelType.class)));
+
+		return NotificationBundle.builder()
+			.id(UUID.nameUUIDFromBytes(bundleIds.getBytes(StandardCharsets.UTF_8)).toString())
+			.userId(latest.getUserId())
+			.emailTo(latest.getEmailTo())
+			.title(latest.getTitle())
+			.templateName(latest.getTemplateName())
+			.templateVariables(latest.getTemplateVariables())
+			.payload(latest.getPayload())
+			.quietHours(latest.getQuietHours())
+			.channels(channels)
+			.scheduledAt(Instant.now())
+			.sourceEntityIds(concat(bundles, NotificationBundle::getSourceEntityIds))
+			.sourceEntityTypes(concat(bundles, NotificationBundle::getSourceEntityTypes))
+			.build();
+	}
+
+	private static List<String> concat(List<NotificationBundle> bundles, Function<NotificationBundle, List<String>> field) {
+		return bundles.stream().map(field).filter(Objects::nonNull).flatMap(List::stream).toList();
+	}
+}
@@ -0,0 +1,115 @@
+package app.bola.taskforge.notification.service;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A due-time index shared by every node, kept in a Redis sorted set whose score is the epoch millisecond
+ * at which a member becomes due.
+ * <p>
+ * Claiming is done by a script that moves due members to {@code now + lease} in the same step that reads them,
+ * so two nodes never claim the same member at once. A member that is not {@link #complete completed} before its
+ * lease runs out becomes due again, which is what lets pending work survive a node crash or restart.
+ * <p>
+ * The score a claim moved a member to is its fencing token. A later claim can only happen once the member is due
+ * again, at or after that score, so it always moves the member to a higher one. Completing compares the score
+ * with the token first, which keeps a worker whose lease ran out from removing a member another node now holds.
+ */
+public class RedisDelayQueue {
+
+	@SuppressWarnings("rawtypes")
+	private static final RedisScript<List> CLAIM_SCRIPT = RedisScript.of("""
+		local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+		for _, member in ipairs(due) do
+		    redis.call('ZADD', KEYS[1], 'XX', ARGV[3], member)
+		end
+		return due
+		""", List.class);
+
+	private static final RedisScript<Long> COMPLETE_SCRIPT = RedisScript.of("""
+		if tonumber(redis.call('ZSCORE', KEYS[1], ARGV[1])) ~= tonumber(ARGV[2]) then
+		    return 0
+		end
+		return redis.call('ZREM', KEYS[1], ARGV[1])
+		""", Long.class);
+
+	private final String key;
+	private final StringRedisTemplate redisTemplate;
+
+	public RedisDelayQueue(String key, StringRedisTemplate redisTemplate) {
+		this.key = key;
+		this.redisTemplate = redisTemplate;
+	}
+
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * Schedules the member unless it is already scheduled.
+	 *
+	 * @return true if the member was added, false if it was already pending
+	 */
+	public boolean scheduleIfAbsent(String member, Instant dueAt) {
+		return Boolean.TRUE.equals(redisTemplate.opsForZSet().addIfAbsent(key, member, dueAt.toEpochMilli()));
+	}
+
+	public void reschedule(String member, Instant dueAt) {
+		redisTemplate.opsForZSet().add(key, member, dueAt.toEpochMilli());
+	}
+
+	/**
+	 * Atomically claims up to {@code limit} members that are due at {@code now}.
+	 * Claimed members stay in the queue, hidden until {@code now + lease}.
+	 */
+	@SuppressWarnings("unchecked")
+	public List<Claim> claimDue(Instant now, int limit, Duration lease) {
+		long leaseExpiresAt = now.plus(lease).toEpochMilli();
+		List<String> claimed = redisTemplate.execute(CLAIM_SCRIPT, List.of(key),
+			String.valueOf(now.toEpochMilli()), String.valueOf(limit), String.valueOf(leaseExpiresAt));
+		return claimed == null ? Collections.emptyList()
+			: claimed.stream().map(member -> new Claim(member, leaseExpiresAt)).toList();
+	}
+
+	/**
+	 * Removes the member if the claim still holds it.
+	 *
+	 * @return false if the lease ran out and the member was claimed again or rescheduled since
+	 */
+	public boolean complete(Claim claim) {
+		Long removed = redisTemplate.execute(COMPLETE_SCRIPT, List.of(key), claim.member(), String.valueOf(claim.leaseExpiresAt()));
+		return Long.valueOf(1).equals(removed);
+	}
+
+	public long size() {
+		Long size = redisTemplate.opsForZSet().zCard(key);
+		return size == null ? 0 : size;
+	}
+
+	/**
+	 * @return when the member that is due first is due, or empty if the queue is empty
+	 */
+	public Optional<Instant> earliestDueAt() {
+		Set<ZSetOperations.TypedTuple<String>> earliest = redisTemplate.opsForZSet().rangeWithScores(key, 0, 0);
+		if (earliest == null || earliest.isEmpty()) {
+			return Optional.empty();
+		}
+		Double score = earliest.iterator().next().getScore();
+		return score == null ? Optional.empty() : Optional.of(Instant.ofEpochMilli(score.longValue()));
+	}
+
+	/**
+	 * A member held by one claim, until {@code leaseExpiresAt} in epoch milliseconds, which is also the claim's
+	 * fencing token.
+	 */
+	public record Claim(String member, long leaseExpiresAt) {
+	}
+}
@@ -1,68 +1,83 @@
 package app.bola.taskforge.notification.template;
 
-import app.bola.taskforge.notification.model.NotificationTemplate;
-import app.bola.taskforge.notification.repository.NotificationTemplateRepository;
+import app.bola.taskforge.notification.metrics.NotificationMetrics;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
 
+import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Renders email notifications. Every render builds its own {@link Context}, so renders can run in parallel.
+ */
+@Slf4j
 @Component
 public class EmailNotificationTemplateRenderer implements NotificationTemplateRenderer {
 	
-	final Context context;
 	final MessageSource messageSource;
-	final SpringTemplateEngine templateEngine;
-	final NotificationTemplateRepository templateRepository;
+	final SpringTemplateEngine layoutEngine;
+	final TemplateEngine templateEngine;
+	final NotificationTemplateCache templateCache;
+	final NotificationMetrics metrics;
 	
-	public EmailNotificationTemplateRenderer(Context context, MessageSource messageSource, SpringTemplateEngine templateEngine,
-	                                         NotificationTemplateRepository templateRepository) {
-		this.context = context;
+	public EmailNotificationTemplateRenderer(MessageSource messageSource, SpringTemplateEngine layoutEngine,
+	                                         NotificationTemplateCache templateCache, NotificationMetrics metrics) {
 		this.messageSource = messageSource;
-		this.templateEngine = templateEngine;
-		this.templateRepository = templateRepository;
+		this.layoutEngine = layoutEngine;
+		this.templateCache = templateCache;
+		this.metrics = metrics;
+		this.templateEngine = templateCache.newTemplateEngine(TemplateMode.HTML, messageSource);
 	}
 	
 	@Override
 	public String render(String templateName, String channel, Map<String, Object> variables) {
-		
-		NotificationTemplate template = templateRepository.findByNameAndChannel(templateName, channel).orElse(null);
-		if (template == null) {
-			return render(templateName, variables);
-		}
-		variables.put("contentFragment", "email-fragments :: " + template.getName());
-		context.setVariables(variables);
-		return templateEngine.process("base-event", context);
+		return metrics.timeRender(channel, () -> {
+			NotificationTemplateCache.CachedTemplate template = templateCache.get(templateName, channel, null).orElse(null);
+			if (template == null) {
+				return render(templateName, variables);
+			}
+			Context context = new Context(Locale.getDefault(), copyOf(variables));
+			context.setVariable("contentFragment", "email-fragments :: " + template.template().getName());
+			return layoutEngine.process("base-event", context);
+		});
 	}
 	
 	
 	public String render(String templateName, Map<String, Object> variables) {
-		NotificationTemplate template = templateRepository.findByName(templateName).orElse(null);
+		NotificationTemplateCache.CachedTemplate template = templateCache.get(templateName, null, null).orElse(null);
 		if (template == null) {
 			return "";
 		}
-		context.setVariables(variables);
-		return templateEngine.process(template.getBody(), context);
+		return templateEngine.process(template.spec(), new Context(Locale.getDefault(), copyOf(variables)));
 	}
 	
 	@Override
 	public String render(String templateName, String channel, Map<String, Object> variables, Locale locale) {
-		NotificationTemplate template = templateRepository.findByNameAndChannel(templateName, channel).orElse(null);
-		if (template == null) {
-			return "";
-		}
-		variables.forEach((key, value) -> {
-			if (value instanceof String) {
-				String message = messageSource.getMessage((String) value, null, (String) value, locale);
-				context.setVariable(key, message);
-			} else {
-				context.setVariable(key, value);
+		return metrics.timeRender(channel, () -> {
+			NotificationTemplateCache.CachedTemplate template = templateCache.get(templateName, channel, locale).orElse(null);
+			if (template == null) {
+				return "";
 			}
+			Context context = new Context(locale);
+			copyOf(variables).forEach((key, value) -> {
+				if (value instanceof String) {
+					String message = messageSource.getMessage((String) value, null, (String) value, locale);
+					context.setVariable(key, message);
+				} else {
+					context.setVariable(key, value);
+				}
+			});
+			return templateEngine.process(template.spec(), context);
 		});
-		context.setLocale(locale);
-		return templateEngine.process(template.getBody(), context);
+	}
+	
+	private static Map<String, Object> copyOf(Map<String, Object> variables) {
+		return variables == null ? new HashMap<>() : new HashMap<>(variables);
 	}
 }
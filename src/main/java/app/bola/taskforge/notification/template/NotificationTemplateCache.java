@@ -0,0 +1,149 @@
+package app.bola.taskforge.notification.template;
+
+import app.bola.taskforge.notification.model.NotificationTemplate;
+import app.bola.taskforge.notification.repository.NotificationTemplateRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.IEngineConfiguration;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.AbstractConfigurableTemplateResolver;
+import org.thymeleaf.templateresource.ITemplateResource;
+import org.thymeleaf.templateresource.StringTemplateResource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps notification templates in memory so rendering does not query the database.
+ * <p>
+ * A template is looked up by name, channel and locale, and is handed to Thymeleaf under a resource name that also
+ * carries its version, with its body passed along as a resolution attribute. The engines built by
+ * {@link #newTemplateEngine} therefore parse each version of a template once and reuse the parsed form for every
+ * render after that, and nothing but the bounded caches holds on to a body. Changes to a template row evict it on
+ * every instance through {@link NotificationTemplateCacheEvictionListener}.
+ */
+@Slf4j
+@Component
+public class NotificationTemplateCache {
+
+	private static final String BODY_ATTRIBUTE = "body";
+
+	private final NotificationTemplateRepository templateRepository;
+	private final Cache<TemplateKey, Optional<CachedTemplate>> templates;
+	private final List<TemplateEngine> engines = new CopyOnWriteArrayList<>();
+
+	public NotificationTemplateCache(NotificationTemplateRepository templateRepository,
+	                                 @Value("${app.notification.template.cache.max-size:1000}") long maxSize,
+	                                 @Value("#{T(java.time.Duration).parse('${app.notification.template.cache.ttl:PT1H}')}") Duration ttl) {
+		this.templateRepository = templateRepository;
+		this.templates = Caffeine.newBuilder()
+			.maximumSize(maxSize)
+			.expireAfterWrite(ttl)
+			.build();
+	}
+
+	/**
+	 * @param channel the template's channel, or null for a template of that name on any channel
+	 * @return the active template for the locale's language, falling back to the template of any language
+	 */
+	public Optional<CachedTemplate> get(String name, String channel, Locale locale) {
+		String language = locale == null ? null : locale.getLanguage();
+		return templates.get(new TemplateKey(name, channel, language), this::load);
+	}
+
+	private Optional<CachedTemplate> load(TemplateKey key) {
+		Optional<NotificationTemplate> template;
+		if (key.channel() == null) {
+			template = templateRepository.findByName(key.name());
+		} else {
+			template = key.language() == null ? Optional.empty()
+				: templateRepository.findByNameAndChannelAndLanguage(key.name(), key.channel(), key.language());
+			if (template.isEmpty()) {
+				template = templateRepository.findByNameAndChannel(key.name(), key.channel());
+			}
+		}
+		return template.filter(NotificationTemplate::isActive).map(found -> {
+			String resourceName = "%s:%s:%s:v%s".formatted(found.getName(), found.getChannel(), found.getLanguage(), found.getVersion());
+			log.debug("Cached notification template {}", resourceName);
+			return new CachedTemplate(resourceName, found);
+		});
+	}
+
+	/**
+	 * Drops every cached version of the template, in every locale, along with its parsed form.
+	 */
+	public void evict(String name, String channel) {
+		Map<TemplateKey, Optional<CachedTemplate>> cached = templates.asMap();
+		List<TemplateKey> evicted = cached.keySet().stream()
+			.filter(key -> Objects.equals(key.name(), name) && (key.channel() == null || Objects.equals(key.channel(), channel)))
+			.toList();
+		for (TemplateKey key : evicted) {
+			Optional<CachedTemplate> template = cached.remove(key);
+			if (template != null && template.isPresent()) {
+				String resourceName = template.get().resourceName();
+				engines.forEach(engine -> engine.clearTemplateCacheFor(resourceName));
+			}
+		}
+	}
+
+	public void evictAll() {
+		templates.invalidateAll();
+		engines.forEach(TemplateEngine::clearTemplateCache);
+	}
+
+	/**
+	 * Builds an engine that resolves templates from this cache. Each renderer gets its own engine so that none of them
+	 * has to reconfigure an engine another component relies on.
+	 */
+	public TemplateEngine newTemplateEngine(TemplateMode templateMode, MessageSource messageSource) {
+		SpringTemplateEngine engine = new SpringTemplateEngine();
+		engine.setTemplateResolver(new CachedTemplateResolver(templateMode));
+		engine.setTemplateEngineMessageSource(messageSource);
+		engine.setEnableSpringELCompiler(true);
+		engines.add(engine);
+		return engine;
+	}
+
+	public record CachedTemplate(String resourceName, NotificationTemplate template) {
+
+		/**
+		 * What to hand to an engine built by {@link #newTemplateEngine} to render this template.
+		 */
+		public TemplateSpec spec() {
+			String body = template.getBody() == null ? "" : template.getBody();
+			return new TemplateSpec(resourceName, null, (TemplateMode) null, Map.of(BODY_ATTRIBUTE, body));
+		}
+	}
+
+	private record TemplateKey(String name, String channel, String language) {
+	}
+
+	private final class CachedTemplateResolver extends AbstractConfigurableTemplateResolver {
+
+		CachedTemplateResolver(TemplateMode templateMode) {
+			setTemplateMode(templateMode);
+			setCacheable(true);
+			setCheckExistence(true);
+		}
+
+		@Override
+		protected ITemplateResource computeTemplateResource(IEngineConfiguration configuration, String ownerTemplate,
+		                                                    String template, String resourceName, String characterEncoding,
+		                                                    Map<String, Object> templateResolutionAttributes) {
+			Object body = templateResolutionAttributes == null ? null : templateResolutionAttributes.get(BODY_ATTRIBUTE);
+			return body == null ? null : new StringTemplateResource(body.toString());
+		}
+	}
+}
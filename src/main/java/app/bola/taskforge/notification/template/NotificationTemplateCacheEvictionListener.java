@@ -0,0 +1,47 @@
+package app.bola.taskforge.notification.template;
+
+import app.bola.taskforge.notification.model.NotificationTemplate;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Evicts a template from the {@link NotificationTemplateCache} of this and every other instance once a change to it
+ * has been committed. Inserts are included because a new template may replace a cached fallback in another language.
+ */
+@Component
+public class NotificationTemplateCacheEvictionListener {
+
+	private final ObjectProvider<NotificationTemplateCache> templateCache;
+	private final ObjectProvider<NotificationTemplateCacheInvalidation> invalidation;
+
+	public NotificationTemplateCacheEvictionListener(ObjectProvider<NotificationTemplateCache> templateCache,
+	                                                 ObjectProvider<NotificationTemplateCacheInvalidation> invalidation) {
+		this.templateCache = templateCache;
+		this.invalidation = invalidation;
+	}
+
+	@PostPersist
+	@PostUpdate
+	@PostRemove
+	public void onTemplateChanged(NotificationTemplate template) {
+		Runnable eviction = () -> {
+			templateCache.ifAvailable(cache -> cache.evict(template.getName(), template.getChannel()));
+			invalidation.ifAvailable(target -> target.publish(template.getName(), template.getChannel()));
+		};
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					eviction.run();
+				}
+			});
+		} else {
+			eviction.run();
+		}
+	}
+}
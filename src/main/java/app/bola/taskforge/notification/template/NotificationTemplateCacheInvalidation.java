@@ -0,0 +1,67 @@
+package app.bola.taskforge.notification.template;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Evicts a changed template from the {@link NotificationTemplateCache} of every other instance through Redis pub/sub.
+ * <p>
+ * Messages are {@code <node> <channel> <name>} on {@code app.notification.template.cache.invalidation-channel},
+ * received through the listener container the second-level cache invalidation runs on. A message that is lost while
+ * Redis is unavailable leaves the template cached until its TTL expires.
+ */
+@Slf4j
+@Component
+public class NotificationTemplateCacheInvalidation implements MessageListener {
+
+	private static final String SEPARATOR = " ";
+
+	private final String nodeId = UUID.randomUUID().toString();
+	private final NotificationTemplateCache templateCache;
+	private final StringRedisTemplate redisTemplate;
+	private final RedisMessageListenerContainer listenerContainer;
+	private final String channel;
+
+	public NotificationTemplateCacheInvalidation(NotificationTemplateCache templateCache, StringRedisTemplate redisTemplate,
+	                                             RedisMessageListenerContainer listenerContainer,
+	                                             @Value("${app.notification.template.cache.invalidation-channel:taskforge:template-invalidation}") String channel) {
+		this.templateCache = templateCache;
+		this.redisTemplate = redisTemplate;
+		this.listenerContainer = listenerContainer;
+		this.channel = channel;
+	}
+
+	@PostConstruct
+	void subscribe() {
+		listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+	}
+
+	public void publish(String name, String templateChannel) {
+		String message = String.join(SEPARATOR, nodeId, String.valueOf(templateChannel), name);
+		try {
+			redisTemplate.convertAndSend(channel, message);
+		} catch (RuntimeException exception) {
+			log.warn("Could not publish template cache invalidation for {} on {}", name, templateChannel, exception);
+		}
+	}
+
+	@Override
+	public void onMessage(Message message, byte[] pattern) {
+		String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+		if (parts.length != 3 || nodeId.equals(parts[0])) {
+			return;
+		}
+		templateCache.evict(parts[2], "null".equals(parts[1]) ? null : parts[1]);
+		log.debug("Evicted template {} on {} after a change on another instance", parts[2], parts[1]);
+	}
+}
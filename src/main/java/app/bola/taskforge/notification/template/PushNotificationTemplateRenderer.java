@@ -1,51 +1,48 @@
 package app.bola.taskforge.notification.template;
 
-import app.bola.taskforge.notification.model.NotificationTemplate;
-import app.bola.taskforge.notification.repository.NotificationTemplateRepository;
+import app.bola.taskforge.notification.metrics.NotificationMetrics;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Component;
+import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
 import org.thymeleaf.templatemode.TemplateMode;
-import org.thymeleaf.templateresolver.StringTemplateResolver;
 
 import java.util.Locale;
 import java.util.Map;
 
+/**
+ * Renders push and WebSocket notifications as plain text, on an engine of its own rather than the shared
+ * HTML engine.
+ */
 @Component
 public class PushNotificationTemplateRenderer implements NotificationTemplateRenderer {
 	
-	final Context context;
 	final MessageSource messageSource;
-	final SpringTemplateEngine templateEngine;
-	final NotificationTemplateRepository templateRepository;
+	final TemplateEngine templateEngine;
+	final NotificationTemplateCache templateCache;
+	final NotificationMetrics metrics;
 	
-	public PushNotificationTemplateRenderer(Context context, MessageSource messageSource, SpringTemplateEngine templateEngine,
-	                                        NotificationTemplateRepository templateRepository) {
-		this.context = context;
+	public PushNotificationTemplateRenderer(MessageSource messageSource, NotificationTemplateCache templateCache,
+	                                        NotificationMetrics metrics) {
 		this.messageSource = messageSource;
-		this.templateEngine = templateEngine;
-		this.templateRepository = templateRepository;
-		
-		StringTemplateResolver templateResolver = new StringTemplateResolver();
-		templateResolver.setTemplateMode(TemplateMode.TEXT);
-		templateResolver.setCacheable(true);
-		
-		templateEngine.setTemplateResolver(templateResolver);
+		this.templateCache = templateCache;
+		this.metrics = metrics;
+		this.templateEngine = templateCache.newTemplateEngine(TemplateMode.TEXT, messageSource);
 	}
 	
 	@Override
 	public String render(String templateName, String channel, Map<String, Object> variables) {
-		NotificationTemplate template = templateRepository.findByNameAndChannel(templateName, channel).orElse(null);
-		if (template == null) {
-			return "";
-		}
-		
-		context.setVariables(variables);
-		return templateEngine.process(template.getName(), context);	}
+		return render(templateName, channel, variables, Locale.getDefault());
+	}
 	
 	@Override
 	public String render(String templateName, String channel, Map<String, Object> variables, Locale locale) {
-		return "";
+		return metrics.timeRender(channel, () -> {
+			NotificationTemplateCache.CachedTemplate template = templateCache.get(templateName, channel, locale).orElse(null);
+			if (template == null) {
+				return "";
+			}
+			return templateEngine.process(template.spec(), new Context(locale, variables));
+		});
 	}
 }
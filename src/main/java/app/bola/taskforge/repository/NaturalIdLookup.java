@@ -0,0 +1,12 @@
+package app.bola.taskforge.repository;
+
+import java.util.Optional;
+
+/**
+ * Loads entities by their {@code publicId} natural id, so that the lookup is answered from the second-level cache when
+ * the entity's natural ids are cached, instead of running a query every time.
+ */
+public interface NaturalIdLookup {
+
+	<T> Optional<T> findByNaturalId(Class<T> type, String publicId);
+}
@@ -0,0 +1,29 @@
+package app.bola.taskforge.repository;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class NaturalIdLookupImpl implements NaturalIdLookup {
+
+	private final EntityManager entityManager;
+
+	public NaturalIdLookupImpl(EntityManager entityManager) {
+		this.entityManager = entityManager;
+	}
+
+	/**
+	 * Runs in a transaction because the shared entity manager hands out a session that is closed as soon as
+	 * {@code unwrap} returns when there is none.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public <T> Optional<T> findByNaturalId(Class<T> type, String publicId) {
+		if (publicId == null) {
+			return Optional.empty();
+		}
+		return entityManager.unwrap(Session.class).bySimpleNaturalId(type).loadOptional(publicId);
+	}
+}
@@ -3,16 +3,39 @@ package app.bola.taskforge.repository;
 import app.bola.taskforge.domain.entity.NotificationPreference;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface NotificationPreferenceRepository extends JpaRepository<NotificationPreference, String> {
-	
+
 	@Query("""
     SELECT p FROM #{#entityName} p WHERE p.member.id = :userId
     AND p.member.deleted = false
     AND p.member.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()}
     """)
 	Optional<NotificationPreference> findByUserId(String userId);
-	
-}
\ No newline at end of file
+
+	/**
+	 * Loads the preferences of a batch of members in a single round trip.
+	 * The member, its organization and its roles are fetched in the same query so that
+	 * the returned preferences can be used outside the persistence context.
+	 *
+	 * @param userIds  public ids of the members
+	 * @param tenantId public id of the organization the members belong to
+	 * @return the preferences found, members without a preference are simply absent
+	 */
+	@Query("""
+    SELECT p FROM #{#entityName} p
+    JOIN FETCH p.member m
+    JOIN FETCH m.organization o
+    LEFT JOIN FETCH m.roles
+    WHERE m.publicId IN :userIds
+    AND m.deleted = false
+    AND o.publicId = :tenantId
+    """)
+	List<NotificationPreference> findAllByUserIds(@Param("userIds") Collection<String> userIds, @Param("tenantId") String tenantId);
+
+}
@@ -0,0 +1,84 @@
+package app.bola.taskforge.repository;
+
+import app.bola.taskforge.domain.entity.Notification;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface NotificationRepository extends JpaRepository<Notification, String> {
+	
+	/**
+	 * Pages through a member's inbox, newest first, using the {@code (recipient, createdAt, id)} index.
+	 */
+	@Query("""
+    SELECT n FROM Notification n
+    WHERE n.recipient.id = :recipientId AND n.deleted = false
+    ORDER BY n.createdAt DESC, n.id DESC
+    """)
+	List<Notification> findInboxFirstPage(@Param("recipientId") String recipientId, Limit limit);
+	
+	/**
+	 * The page after the row at {@code (createdAt, id)}.
+	 */
+	@Query("""
+    SELECT n FROM Notification n
+    WHERE n.recipient.id = :recipientId AND n.deleted = false
+    AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id))
+    ORDER BY n.createdAt DESC, n.id DESC
+    """)
+	List<Notification> findInboxPageAfter(@Param("recipientId") String recipientId, @Param("createdAt") LocalDateTime createdAt,
+	                                      @Param("id") String id, Limit limit);
+	
+	/**
+	 * @return the number of notifications that were unread before this call
+	 */
+	@Modifying
+	@Query("""
+    UPDATE Notification n SET n.read = true
+    WHERE n.recipient.id = :recipientId AND n.publicId IN :publicIds AND n.read = false
+    """)
+	int markRead(@Param("recipientId") String recipientId, @Param("publicIds") Collection<String> publicIds);
+	
+	@Modifying
+	@Query("UPDATE Notification n SET n.read = true WHERE n.recipient.id = :recipientId AND n.read = false")
+	int markAllRead(@Param("recipientId") String recipientId);
+	
+	@Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient.id = :recipientId AND n.deleted = false AND n.read = false")
+	long countUnread(@Param("recipientId") String recipientId);
+	
+	/**
+	 * The recipient's unread notifications that were neither emailed on their own nor included in a digest yet,
+	 * oldest first.
+	 */
+	@Query("""
+    SELECT n FROM Notification n
+    WHERE n.recipient.id = :recipientId AND n.deleted = false AND n.read = false AND n.digestedAt IS NULL
+    AND n.emailed = false
+    ORDER BY n.createdAt, n.id
+    """)
+	List<Notification> findDigestItems(@Param("recipientId") String recipientId, Limit limit);
+	
+	/**
+	 * Hands the notification of a bundle whose email was dead-lettered back to the digest.
+	 */
+	@Modifying
+	@Query("UPDATE Notification n SET n.emailed = false WHERE n.referenceId = :referenceId AND n.emailed = true")
+	int clearEmailed(@Param("referenceId") String referenceId);
+	
+	@Modifying
+	@Query("UPDATE Notification n SET n.digestedAt = :digestedAt WHERE n.id IN :ids AND n.digestedAt IS NULL")
+	int markDigested(@Param("ids") Collection<String> ids, @Param("digestedAt") LocalDateTime digestedAt);
+	
+	/**
+	 * Undoes a {@link #markDigested} made at {@code digestedAt}, leaving rows another run marked alone.
+	 */
+	@Modifying
+	@Query("UPDATE Notification n SET n.digestedAt = NULL WHERE n.id IN :ids AND n.digestedAt = :digestedAt")
+	int releaseDigested(@Param("ids") Collection<String> ids, @Param("digestedAt") LocalDateTime digestedAt);
+}
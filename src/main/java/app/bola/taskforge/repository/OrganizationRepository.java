@@ -2,31 +2,51 @@
 package app.bola.taskforge.repository;
 
 import app.bola.taskforge.domain.entity.Organization;
-import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface OrganizationRepository extends TenantAwareRepository<Organization, String> {
+public interface OrganizationRepository extends TenantAwareRepository<Organization, String>, NaturalIdLookup {
 	
 	boolean existsByName(String name);
 	
+	/**
+	 * Resolved through the natural-id cache, so repeated lookups of the same organization do not reach the database.
+	 */
 	@Override
-	@Query("SELECT o FROM Organization o WHERE o.publicId = :id")
-	Optional<Organization> findByIdScoped(@Param("id") String id);
+	default Optional<Organization> findByIdScoped(String id) {
+		return findByNaturalId(Organization.class, id);
+	}
 	
 	@Override
 	@Query("SELECT o FROM Organization o WHERE o.deleted = false")
 	List<Organization> findAllScoped();
 	
 	@Override
-	@Query("SELECT o FROM Organization o WHERE o.publicId IN :ids AND o.deleted = false")
-	List<Organization> findAllByIdScoped(@Param("ids") List<String> ids);
+	@Query("SELECT o FROM Organization o WHERE o.deleted = false ORDER BY o.createdAt DESC, o.id DESC")
+	List<Organization> findFirstPageScoped(Limit limit);
 	
 	@Override
-	@Modifying
-	@Query("UPDATE Organization o SET o.deleted = true WHERE o.publicId = :id")
-	void deleteByIdScopedInternal(@Param("id") String id, @Param("tenantId") String tenantId);
+	@Query("SELECT o FROM Organization o WHERE o.deleted = false AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) ORDER BY o.createdAt DESC, o.id DESC")
+	List<Organization> findPageAfterScoped(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Limit limit);
+	
+	@Override
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("SELECT o FROM Organization o WHERE o.deleted = false")
+	Stream<Organization> streamAllScoped();
+	
+	@Override
+	@Query("SELECT o FROM Organization o WHERE o.publicId IN :ids AND o.deleted = false")
+	List<Organization> findAllByIdScoped(@Param("ids") List<String> ids);
 }
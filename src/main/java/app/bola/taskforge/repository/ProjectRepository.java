@@ -1,11 +1,186 @@
 package app.bola.taskforge.repository;
 
+import app.bola.taskforge.common.pagination.KeysetCursor;
 import app.bola.taskforge.domain.entity.Organization;
 import app.bola.taskforge.domain.entity.Project;
+import app.bola.taskforge.repository.projection.MemberView;
+import app.bola.taskforge.repository.projection.ProjectMemberView;
+import app.bola.taskforge.repository.projection.ProjectView;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * A single project is loaded with {@link Project#DETAIL_GRAPH} and pages of projects with {@link Project#SUMMARY_GRAPH};
+ * the members of a page are then read in batches of {@code hibernate.default_batch_fetch_size}.
+ */
 public interface ProjectRepository extends TenantAwareRepository<Project, String> {
 	
+	@EntityGraph(Project.SUMMARY_GRAPH)
 	List<Project> findAllByOrganization(Organization organization);
+	
+	@Override
+	@EntityGraph(Project.DETAIL_GRAPH)
+	@Query("SELECT p FROM Project p WHERE p.publicId = :id AND p.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND p.deleted = false")
+	Optional<Project> findByIdScoped(@Param("id") String id);
+	
+	@Override
+	@EntityGraph(Project.SUMMARY_GRAPH)
+	@Query("SELECT p FROM Project p WHERE p.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND p.deleted = false")
+	List<Project> findAllScoped();
+	
+	@Override
+	@EntityGraph(Project.SUMMARY_GRAPH)
+	@Query("SELECT p FROM Project p WHERE p.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND p.deleted = false ORDER BY p.createdAt DESC, p.id DESC")
+	List<Project> findFirstPageScoped(Limit limit);
+	
+	@Override
+	@EntityGraph(Project.SUMMARY_GRAPH)
+	@Query("SELECT p FROM Project p WHERE p.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND p.deleted = false AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) ORDER BY p.createdAt DESC, p.id DESC")
+	List<Project> findPageAfterScoped(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Limit limit);
+	
+	/**
+	 * Read-only queries select {@link ProjectView}s: just the columns of the response, with nothing added to the
+	 * persistence context.
+	 */
+	String PROJECT_VIEW = """
+    SELECT new app.bola.taskforge.repository.projection.ProjectView(p.id, p.publicId, p.name, p.description, p.status,
+        p.priority, p.category, p.archived, p.dateRange.startDate, p.dateRange.endDate, p.createdBy, p.modifiedBy,
+        p.createdAt, p.lastModifiedAt,
+        new app.bola.taskforge.repository.projection.MemberView(l.publicId, l.email, l.firstName, l.lastName,
+            l.imageUrl, l.active, l.deleted, l.createdBy, l.modifiedBy, l.createdAt, l.lastModifiedAt))
+    FROM Project p JOIN p.organization o LEFT JOIN p.teamLead l
+    """;
+	
+	@Query(PROJECT_VIEW + """
+    WHERE p.publicId = :id AND o.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()}
+    AND p.deleted = false
+    """)
+	Optional<ProjectView> findViewByIdScoped(@Param("id") String id);
+	
+	/**
+	 * The internal id of the tenant's project, for read-only lookups that only need to filter by it.
+	 */
+	@Query("""
+    SELECT p.id FROM Project p
+    WHERE p.publicId = :id AND p.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()}
+    AND p.deleted = false
+    """)
+	Optional<String> findInternalIdScoped(@Param("id") String id);
+	
+	@Query(PROJECT_VIEW + """
+    WHERE o.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND p.deleted = false
+    ORDER BY p.createdAt DESC, p.id DESC
+    """)
+	List<ProjectView> findFirstViewPageScoped(Limit limit);
+	
+	@Query(PROJECT_VIEW + """
+    WHERE o.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND p.deleted = false
+    AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id))
+    ORDER BY p.createdAt DESC, p.id DESC
+    """)
+	List<ProjectView> findViewPageAfterScoped(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Limit limit);
+	
+	default List<ProjectView> findViewPageScoped(String cursor, Limit limit) {
+		if (cursor == null || cursor.isBlank()) {
+			return findFirstViewPageScoped(limit);
+		}
+		KeysetCursor position = KeysetCursor.decode(cursor);
+		return findViewPageAfterScoped(position.createdAt(), position.id(), limit);
+	}
+	
+	/**
+	 * Pages through an organization's projects, newest first, using the {@code (organization, createdAt, id)} index.
+	 */
+	@Query(PROJECT_VIEW + """
+    WHERE o.id = :organizationId AND p.deleted = false
+    ORDER BY p.createdAt DESC, p.id DESC
+    """)
+	List<ProjectView> findOrganizationFirstViewPage(@Param("organizationId") String organizationId, Limit limit);
+	
+	/**
+	 * The page after the row at {@code (createdAt, id)}.
+	 */
+	@Query(PROJECT_VIEW + """
+    WHERE o.id = :organizationId AND p.deleted = false
+    AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id))
+    ORDER BY p.createdAt DESC, p.id DESC
+    """)
+	List<ProjectView> findOrganizationViewPageAfter(@Param("organizationId") String organizationId, @Param("createdAt") LocalDateTime createdAt,
+	                                                @Param("id") String id, Limit limit);
+	
+	default List<ProjectView> findOrganizationViewPage(String organizationId, String cursor, Limit limit) {
+		if (cursor == null || cursor.isBlank()) {
+			return findOrganizationFirstViewPage(organizationId, limit);
+		}
+		KeysetCursor position = KeysetCursor.decode(cursor);
+		return findOrganizationViewPageAfter(organizationId, position.createdAt(), position.id(), limit);
+	}
+	
+	/**
+	 * The members of every project in {@code projectIds}, keyed by the projects' internal ids.
+	 */
+	@Query("""
+    SELECT new app.bola.taskforge.repository.projection.ProjectMemberView(p.id,
+        new app.bola.taskforge.repository.projection.MemberView(m.publicId, m.email, m.firstName, m.lastName,
+            m.imageUrl, m.active, m.deleted, m.createdBy, m.modifiedBy, m.createdAt, m.lastModifiedAt))
+    FROM Project p JOIN p.members m
+    WHERE p.id IN :projectIds
+    """)
+	List<ProjectMemberView> findMemberViews(@Param("projectIds") Collection<String> projectIds);
+	
+	String MEMBER_VIEW = """
+    SELECT new app.bola.taskforge.repository.projection.MemberView(m.publicId, m.email, m.firstName, m.lastName,
+        m.imageUrl, m.active, m.deleted, m.createdBy, m.modifiedBy, m.createdAt, m.lastModifiedAt)
+    FROM Project p JOIN p.members m
+    """;
+	
+	/**
+	 * Pages through a project's members, newest first. A {@link MemberView} has no internal id, so ties on
+	 * {@code createdAt} are broken by the public id, which the cursor carries instead.
+	 */
+	@Query(MEMBER_VIEW + """
+    WHERE p.id = :projectId
+    ORDER BY m.createdAt DESC, m.publicId DESC
+    """)
+	List<MemberView> findFirstMemberViewPage(@Param("projectId") String projectId, Limit limit);
+	
+	/**
+	 * The page after the member at {@code (createdAt, publicId)}.
+	 */
+	@Query(MEMBER_VIEW + """
+    WHERE p.id = :projectId
+    AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.publicId < :publicId))
+    ORDER BY m.createdAt DESC, m.publicId DESC
+    """)
+	List<MemberView> findMemberViewPageAfter(@Param("projectId") String projectId, @Param("createdAt") LocalDateTime createdAt,
+	                                         @Param("publicId") String publicId, Limit limit);
+	
+	default List<MemberView> findMemberViewPage(String projectId, String cursor, Limit limit) {
+		if (cursor == null || cursor.isBlank()) {
+			return findFirstMemberViewPage(projectId, limit);
+		}
+		KeysetCursor position = KeysetCursor.decode(cursor);
+		return findMemberViewPageAfter(projectId, position.createdAt(), position.id(), limit);
+	}
+	
+	/**
+	 * Reads a project's member ids a chunk at a time, in id order, starting after {@code afterMemberId}.
+	 * Pass an empty string for the first chunk and the last id of each chunk for the next one.
+	 */
+	@Query("""
+    SELECT m.publicId FROM Project p JOIN p.members m
+    WHERE p.publicId = :projectId AND p.organization.publicId = :tenantId
+    AND m.deleted = false AND m.publicId > :afterMemberId
+    ORDER BY m.publicId
+    """)
+	List<String> findMemberIdsAfter(@Param("projectId") String projectId, @Param("tenantId") String tenantId,
+	                                @Param("afterMemberId") String afterMemberId, Limit limit);
 }
@@ -0,0 +1,27 @@
+package app.bola.taskforge.repository;
+
+import app.bola.taskforge.domain.entity.PushDevice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PushDeviceRepository extends JpaRepository<PushDevice, String> {
+	
+	Optional<PushDevice> findByToken(String token);
+	
+	@Query("SELECT d.token FROM PushDevice d WHERE d.member.publicId = :memberId AND d.deleted = false")
+	List<String> findTokensByMember(@Param("memberId") String memberPublicId);
+	
+	@Modifying
+	@Query("DELETE FROM PushDevice d WHERE d.token IN :tokens")
+	int deleteByTokenIn(@Param("tokens") Collection<String> tokens);
+	
+	@Modifying
+	@Query("DELETE FROM PushDevice d WHERE d.token = :token AND d.member.email = :email")
+	int deleteByTokenAndMemberEmail(@Param("token") String token, @Param("email") String email);
+}
@@ -1,10 +1,118 @@
 package app.bola.taskforge.repository;
 
+import app.bola.taskforge.common.pagination.KeysetCursor;
 import app.bola.taskforge.domain.entity.Task;
+import app.bola.taskforge.repository.projection.TaskView;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Every query that returns tasks to be mapped to responses loads them with {@link Task#SUMMARY_GRAPH}, so a page of
+ * tasks is read in one statement however many projects, organizations and assignees it spans.
+ */
 public interface TaskRepository extends TenantAwareRepository<Task, String> {
 	
+	@EntityGraph(Task.SUMMARY_GRAPH)
 	List<Task> findByProject_Id(String projectId);
+	
+	@Override
+	@EntityGraph(Task.SUMMARY_GRAPH)
+	@Query("SELECT t FROM Task t WHERE t.publicId = :id AND t.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND t.deleted = false")
+	Optional<Task> findByIdScoped(@Param("id") String id);
+	
+	/**
+	 * Loads the task with its project's members, for checking whether someone may act on it.
+	 */
+	@EntityGraph(Task.PROJECT_MEMBERS_GRAPH)
+	@Query("SELECT t FROM Task t WHERE t.publicId = :id AND t.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND t.deleted = false")
+	Optional<Task> findWithProjectMembersByIdScoped(@Param("id") String id);
+	
+	@Override
+	@EntityGraph(Task.SUMMARY_GRAPH)
+	@Query("SELECT t FROM Task t WHERE t.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND t.deleted = false")
+	List<Task> findAllScoped();
+	
+	@Override
+	@EntityGraph(Task.SUMMARY_GRAPH)
+	@Query("SELECT t FROM Task t WHERE t.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND t.deleted = false ORDER BY t.createdAt DESC, t.id DESC")
+	List<Task> findFirstPageScoped(Limit limit);
+	
+	@Override
+	@EntityGraph(Task.SUMMARY_GRAPH)
+	@Query("SELECT t FROM Task t WHERE t.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND t.deleted = false AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) ORDER BY t.createdAt DESC, t.id DESC")
+	List<Task> findPageAfterScoped(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Limit limit);
+	
+	/**
+	 * Read-only queries select {@link TaskView}s: just the columns of the response, with nothing added to the
+	 * persistence context.
+	 */
+	String TASK_VIEW = """
+    SELECT new app.bola.taskforge.repository.projection.TaskView(t.id, t.publicId, t.title, t.description, t.status,
+        t.priority, t.category, t.pinned, t.dueDate, t.startDate, t.completedAt, t.createdAt, t.lastModifiedAt,
+        p.publicId, o.publicId,
+        new app.bola.taskforge.repository.projection.MemberView(a.publicId, a.email, a.firstName, a.lastName,
+            a.imageUrl, a.active, a.deleted, a.createdBy, a.modifiedBy, a.createdAt, a.lastModifiedAt))
+    FROM Task t JOIN t.organization o LEFT JOIN t.project p LEFT JOIN t.assignee a
+    """;
+	
+	@Query(TASK_VIEW + """
+    WHERE t.publicId = :id AND o.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()}
+    AND t.deleted = false
+    """)
+	Optional<TaskView> findViewByIdScoped(@Param("id") String id);
+	
+	@Query(TASK_VIEW + """
+    WHERE o.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND t.deleted = false
+    ORDER BY t.createdAt DESC, t.id DESC
+    """)
+	List<TaskView> findFirstViewPageScoped(Limit limit);
+	
+	@Query(TASK_VIEW + """
+    WHERE o.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND t.deleted = false
+    AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+    ORDER BY t.createdAt DESC, t.id DESC
+    """)
+	List<TaskView> findViewPageAfterScoped(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Limit limit);
+	
+	default List<TaskView> findViewPageScoped(String cursor, Limit limit) {
+		if (cursor == null || cursor.isBlank()) {
+			return findFirstViewPageScoped(limit);
+		}
+		KeysetCursor position = KeysetCursor.decode(cursor);
+		return findViewPageAfterScoped(position.createdAt(), position.id(), limit);
+	}
+	
+	/**
+	 * Pages through a project's tasks, newest first, using the {@code (project, createdAt, id)} index.
+	 */
+	@Query(TASK_VIEW + """
+    WHERE p.id = :projectId AND t.deleted = false
+    ORDER BY t.createdAt DESC, t.id DESC
+    """)
+	List<TaskView> findProjectFirstViewPage(@Param("projectId") String projectId, Limit limit);
+	
+	/**
+	 * The page after the row at {@code (createdAt, id)}.
+	 */
+	@Query(TASK_VIEW + """
+    WHERE p.id = :projectId AND t.deleted = false
+    AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id))
+    ORDER BY t.createdAt DESC, t.id DESC
+    """)
+	List<TaskView> findProjectViewPageAfter(@Param("projectId") String projectId, @Param("createdAt") LocalDateTime createdAt,
+	                                        @Param("id") String id, Limit limit);
+	
+	default List<TaskView> findProjectViewPage(String projectId, String cursor, Limit limit) {
+		if (cursor == null || cursor.isBlank()) {
+			return findProjectFirstViewPage(projectId, limit);
+		}
+		KeysetCursor position = KeysetCursor.decode(cursor);
+		return findProjectViewPageAfter(projectId, position.createdAt(), position.id(), limit);
+	}
 }
@@ -1,17 +1,24 @@
 package app.bola.taskforge.repository;
 
-import app.bola.taskforge.domain.context.TenantContext;
+import app.bola.taskforge.common.entity.BaseEntity;
+import app.bola.taskforge.common.pagination.KeysetCursor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @NoRepositoryBean
-public interface TenantAwareRepository<T, ID> extends JpaRepository<T, ID> {
+public interface TenantAwareRepository<T extends BaseEntity, ID> extends JpaRepository<T, ID> {
 	
 	@Query("SELECT e FROM #{#entityName} e WHERE e.publicId = :id AND e.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND e.deleted = false")
 	Optional<T> findByIdScoped(@Param("id") ID id);
@@ -19,14 +26,54 @@ public interface TenantAwareRepository<T, ID> extends JpaRepository<T, ID> {
 	@Query("SELECT e FROM #{#entityName} e WHERE e.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND e.deleted = false")
 	List<T> findAllScoped();
 	
+	/**
+	 * The first page of the tenant's rows, newest first.
+	 */
+	@Query("SELECT e FROM #{#entityName} e WHERE e.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND e.deleted = false ORDER BY e.createdAt DESC, e.id DESC")
+	List<T> findFirstPageScoped(Limit limit);
+	
+	/**
+	 * The page after the row at {@code (createdAt, id)}.
+	 */
+	@Query("SELECT e FROM #{#entityName} e WHERE e.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND e.deleted = false AND (e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) ORDER BY e.createdAt DESC, e.id DESC")
+	List<T> findPageAfterScoped(@Param("createdAt") LocalDateTime createdAt, @Param("id") String id, Limit limit);
+	
+	/**
+	 * @param cursor the {@link app.bola.taskforge.common.pagination.CursorPage#nextCursor()} of the previous page,
+	 *               or {@code null} for the first page
+	 */
+	default List<T> findPageScoped(String cursor, Limit limit) {
+		if (cursor == null || cursor.isBlank()) {
+			return findFirstPageScoped(limit);
+		}
+		KeysetCursor position = KeysetCursor.decode(cursor);
+		return findPageAfterScoped(position.createdAt(), position.id(), limit);
+	}
+	
+	/**
+	 * Streams every row of the tenant for batch work, read through a server-side cursor {@code 500} rows at a time
+	 * and not tracked by the persistence context. Must be called inside a transaction and the stream closed.
+	 */
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+		@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	@Query("SELECT e FROM #{#entityName} e WHERE e.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND e.deleted = false")
+	Stream<T> streamAllScoped();
+	
 	@Query("SELECT e FROM #{#entityName} e WHERE e.publicId IN :ids AND e.organization.publicId = :#{T(app.bola.taskforge.domain.context.TenantContext).getCurrentTenant()} AND e.deleted = false")
 	List<T> findAllByIdScoped(@Param("ids") List<ID> ids);
 	
-	@Modifying
-	@Query("UPDATE #{#entityName} e SET e.deleted = true WHERE e.publicId = :id AND e.organization.publicId = :tenantId")
-	void deleteByIdScopedInternal(@Param("id") ID id, @Param("tenantId") String tenantId);
-	
-	default void deleteByIdScoped(@Param("id") ID id) {
-		deleteByIdScopedInternal(id, TenantContext.getCurrentTenant());
+	/**
+	 * Soft-deletes the tenant's entity. It is loaded and flagged rather than updated in bulk so that its entity
+	 * listeners run, among them {@link app.bola.taskforge.common.cache.SecondLevelCacheEvictionListener}, which has
+	 * the other instances drop their cached copy.
+	 */
+	@Transactional
+	default void deleteByIdScoped(ID id) {
+		findByIdScoped(id).ifPresent(entity -> {
+			entity.setDeleted(true);
+			save(entity);
+		});
 	}
 }
@@ -4,12 +4,20 @@ import app.bola.taskforge.common.entity.BaseEntity;
 import app.bola.taskforge.domain.context.TenantContext;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class TenantAwareRepositoryImpl<T extends BaseEntity, ID extends Serializable>
 												extends SimpleJpaRepository<T, ID>
@@ -67,26 +75,56 @@ public class TenantAwareRepositoryImpl<T extends BaseEntity, ID extends Serializ
 	}
 
 	@Override
-	public void deleteByIdScopedInternal(ID id, String tenantId) {
+	public List<T> findFirstPageScoped(Limit limit) {
+		return findPage(null, null, limit);
+	}
+
+	@Override
+	public List<T> findPageAfterScoped(LocalDateTime createdAt, String id, Limit limit) {
+		return findPage(createdAt, id, limit);
+	}
+
+	private List<T> findPage(LocalDateTime createdAt, String id, Limit limit) {
 		var criteriaBuilder = entityManager.getCriteriaBuilder();
 		var query = criteriaBuilder.createQuery(entityInformation.getJavaType());
 		var root = query.from(entityInformation.getJavaType());
 
+		List<Predicate> predicates = new ArrayList<>(scope(criteriaBuilder, root));
+		if (createdAt != null) {
+			predicates.add(criteriaBuilder.or(
+				criteriaBuilder.lessThan(root.get("createdAt"), createdAt),
+				criteriaBuilder.and(
+					criteriaBuilder.equal(root.get("createdAt"), createdAt),
+					criteriaBuilder.lessThan(root.get("id"), id))));
+		}
 		query.select(root)
-			 .where(criteriaBuilder.and(
-				 criteriaBuilder.equal(root.get("publicId"), id),
-				 criteriaBuilder.equal(root.get("organization").get("publicId"), tenantId)
-			 ));
-
-		entityManager.createQuery(query).getResultStream().findFirst().ifPresent(entity -> {
-			entity.setDeleted(true);
-			entityManager.merge(entity);
-		});
+			 .where(predicates.toArray(Predicate[]::new))
+			 .orderBy(criteriaBuilder.desc(root.get("createdAt")), criteriaBuilder.desc(root.get("id")));
+
+		return entityManager.createQuery(query).setMaxResults(limit.max()).getResultList();
 	}
 
 	@Override
-	public void deleteByIdScoped(ID id) {
-		deleteByIdScopedInternal(id, TenantContext.getCurrentTenant());
+	public Stream<T> streamAllScoped() {
+		var criteriaBuilder = entityManager.getCriteriaBuilder();
+		var query = criteriaBuilder.createQuery(entityInformation.getJavaType());
+		var root = query.from(entityInformation.getJavaType());
+
+		query.select(root).where(scope(criteriaBuilder, root).toArray(Predicate[]::new));
+
+		return entityManager.createQuery(query)
+			.setHint(HibernateHints.HINT_FETCH_SIZE, 500)
+			.setHint(HibernateHints.HINT_READ_ONLY, true)
+			.getResultStream();
+	}
+
+	private List<Predicate> scope(CriteriaBuilder criteriaBuilder, Root<T> root) {
+		List<Predicate> predicates = new ArrayList<>();
+		predicates.add(criteriaBuilder.isFalse(root.get("deleted")));
+		if (hasOrganizationField()) {
+			predicates.add(criteriaBuilder.equal(root.get("organization").get("publicId"), TenantContext.getCurrentTenant()));
+		}
+		return predicates;
 	}
 
 	@Override
@@ -1,16 +1,93 @@
 package app.bola.taskforge.repository;
 
+import app.bola.taskforge.common.pagination.KeysetCursor;
+import app.bola.taskforge.domain.context.TenantContext;
 import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.domain.enums.Role;
+import app.bola.taskforge.repository.projection.MemberRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
-public interface UserRepository extends TenantAwareRepository<Member, String> {
+public interface UserRepository extends TenantAwareRepository<Member, String>, NaturalIdLookup {
 	
+	/**
+	 * Resolved through the natural-id cache; the tenant and soft-delete checks are applied to the cached member.
+	 */
+	@Override
+	default Optional<Member> findByIdScoped(String id) {
+		String tenantId = TenantContext.getCurrentTenant();
+		return findByNaturalId(Member.class, id)
+			.filter(member -> !member.isDeleted())
+			.filter(member -> member.getOrganization() != null && tenantId != null
+				&& tenantId.equals(member.getOrganization().getPublicId()));
+	}
+	
+	/**
+	 * Runs on every authenticated request, so the result is kept in the {@code member-by-email} query cache region.
+	 */
+	@QueryHints({
+		@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+		@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "member-by-email")
+	})
 	@Query("SELECT m FROM Member m LEFT JOIN FETCH m.roles WHERE m.email = :email")
 	Optional<Member> findByEmail(String email);
 	
 	
-	List<Member> findAllByOrganization_PublicId(String organizationPublicId);
-}
\ No newline at end of file
+	/**
+	 * Pages through an organization's members, newest first, using the {@code (organization, createdAt, id)} index.
+	 */
+	@Query("""
+    SELECT m FROM Member m
+    WHERE m.organization.id = :organizationId AND m.deleted = false
+    ORDER BY m.createdAt DESC, m.id DESC
+    """)
+	List<Member> findOrganizationFirstPage(@Param("organizationId") String organizationId, Limit limit);
+	
+	/**
+	 * The page after the row at {@code (createdAt, id)}.
+	 */
+	@Query("""
+    SELECT m FROM Member m
+    WHERE m.organization.id = :organizationId AND m.deleted = false
+    AND (m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id))
+    ORDER BY m.createdAt DESC, m.id DESC
+    """)
+	List<Member> findOrganizationPageAfter(@Param("organizationId") String organizationId, @Param("createdAt") LocalDateTime createdAt,
+	                                       @Param("id") String id, Limit limit);
+	
+	default List<Member> findOrganizationPage(String organizationId, String cursor, Limit limit) {
+		if (cursor == null || cursor.isBlank()) {
+			return findOrganizationFirstPage(organizationId, limit);
+		}
+		KeysetCursor position = KeysetCursor.decode(cursor);
+		return findOrganizationPageAfter(organizationId, position.createdAt(), position.id(), limit);
+	}
+	
+	List<Member> findAllByPublicIdIn(Collection<String> publicIds);
+	
+	@Query("SELECT new app.bola.taskforge.repository.projection.MemberRole(m.publicId, r) FROM Member m JOIN m.roles r WHERE m.publicId IN :memberIds")
+	List<MemberRole> findRoles(@Param("memberIds") Collection<String> memberIds);
+	
+	/**
+	 * The roles of each member in {@code memberIds}, read in one query; members without roles are left out.
+	 */
+	default Map<String, Set<Role>> findRolesByMemberId(Collection<String> memberIds) {
+		if (memberIds.isEmpty()) {
+			return Map.of();
+		}
+		return findRoles(memberIds).stream().collect(Collectors.groupingBy(MemberRole::memberId,
+			Collectors.mapping(MemberRole::role, Collectors.toSet())));
+	}
+}
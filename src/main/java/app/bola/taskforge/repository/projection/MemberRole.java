@@ -0,0 +1,6 @@
+package app.bola.taskforge.repository.projection;
+
+import app.bola.taskforge.domain.enums.Role;
+
+public record MemberRole(String memberId, Role role) {
+}
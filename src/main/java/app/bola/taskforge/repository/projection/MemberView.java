@@ -0,0 +1,14 @@
+package app.bola.taskforge.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a member shown in responses. Roles are a collection and are read separately with
+ * {@link app.bola.taskforge.repository.UserRepository#findRolesByMemberId}.
+ * <p>
+ * The flags are boxed because the member may come from an outer join that matched nothing.
+ */
+public record MemberView(String publicId, String email, String firstName, String lastName, String imageUrl,
+                         Boolean active, Boolean deleted, String createdBy, String modifiedBy,
+                         LocalDateTime createdAt, LocalDateTime lastModifiedAt) {
+}
@@ -0,0 +1,4 @@
+package app.bola.taskforge.repository.projection;
+
+public record ProjectMemberView(String projectId, MemberView member) {
+}
@@ -0,0 +1,25 @@
+package app.bola.taskforge.repository.projection;
+
+import app.bola.taskforge.domain.enums.ProjectCategory;
+import app.bola.taskforge.domain.enums.ProjectPriority;
+import app.bola.taskforge.domain.enums.ProjectStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a project that a {@code ProjectResponse} shows, read with its team lead in one query. Members are
+ * read for a whole page at once with {@link app.bola.taskforge.repository.ProjectRepository#findMemberViews}.
+ * {@code id} is only kept for keyset paging and for that lookup.
+ */
+public record ProjectView(String id, String publicId, String name, String description, ProjectStatus status,
+                          ProjectPriority priority, ProjectCategory category, boolean archived, LocalDate startDate,
+                          LocalDate endDate, String createdBy, String modifiedBy, LocalDateTime createdAt,
+                          LocalDateTime lastModifiedAt, MemberView teamLead) {
+	
+	public ProjectView {
+		if (teamLead != null && teamLead.publicId() == null) {
+			teamLead = null;
+		}
+	}
+}
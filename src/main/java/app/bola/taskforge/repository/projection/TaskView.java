@@ -0,0 +1,24 @@
+package app.bola.taskforge.repository.projection;
+
+import app.bola.taskforge.domain.enums.TaskCategory;
+import app.bola.taskforge.domain.enums.TaskPriority;
+import app.bola.taskforge.domain.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a task that a {@code TaskResponse} shows, read with its project, organization and assignee in one
+ * query. {@code id} is only kept for keyset paging.
+ */
+public record TaskView(String id, String publicId, String title, String description, TaskStatus status,
+                       TaskPriority priority, TaskCategory category, boolean pinned, LocalDate dueDate,
+                       LocalDate startDate, LocalDateTime completedAt, LocalDateTime createdAt,
+                       LocalDateTime lastModifiedAt, String projectId, String organizationId, MemberView assignee) {
+	
+	public TaskView {
+		if (assignee != null && assignee.publicId() == null) {
+			assignee = null;
+		}
+	}
+}
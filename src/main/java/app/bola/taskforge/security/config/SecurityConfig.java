@@ -66,7 +66,9 @@ public class SecurityConfig {
 	                   .httpStrictTransportSecurity(hsts -> hsts.includeSubDomains(true).preload(true).maxAgeInSeconds(63072000))
 	               )
 			   	    .authorizeHttpRequests(auth -> auth
-						.requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/api-docs/**","/webjars/**", "/swagger-resources/**", "/api/health" ).permitAll()
+						.requestMatchers("/swagger-ui.html", "/swagger-ui/**", "/api-docs/**","/webjars/**", "/swagger-resources/**", "/api/health", "/actuator/health" ).permitAll()
+						.requestMatchers("/api/health/channels", "/actuator/prometheus").hasRole("SYSTEM_ADMIN")
+						.requestMatchers("/api/health/websocket-queues").hasAnyRole("ORGANIZATION_ADMIN", "ORGANIZATION_OWNER")
 						.requestMatchers("/api/auth/**", "/api/organization/**", "/api/admin/create-new", "/api/members/create-new", "/api/members/accept-invitation").permitAll()
 						.requestMatchers("/api/organization/create-new", "/api/organization/invite-member").hasAnyRole("ORGANIZATION_ADMIN", "ORGANIZATION_OWNER")
 						.requestMatchers("/api/project/**", "/api/tasks/assign/**").hasAnyRole("PROJECT_MANAGER", "ORGANIZATION_ADMIN")
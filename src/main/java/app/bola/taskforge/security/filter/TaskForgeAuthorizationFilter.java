@@ -32,6 +32,7 @@ public class TaskForgeAuthorizationFilter extends OncePerRequestFilter {
 	private final UserDetailsService userDetailsService;
 	public final List<String> UNPROTECTED_PATHS = List.of(
 			"/api/health",
+			"/actuator/health",
 			"/api-docs/**",
 			"/favicon.ico",
 			"/swagger-ui/**",
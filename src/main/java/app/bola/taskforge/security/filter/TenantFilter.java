@@ -20,6 +20,7 @@ public class TenantFilter extends OncePerRequestFilter {
 		"/api/auth/oauth", "/api/auth/login", "/api/log/create-new",
 		"/swagger-ui/index.html", "/swagger-ui.html", "/api-docs" ,
 		"/swagger-ui/index.css", "/favicon.ico", "/api/health",
+		"/actuator/health",
 		"/api/members/accept-invitation"
 	);
 	
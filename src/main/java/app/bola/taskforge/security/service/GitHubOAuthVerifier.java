@@ -22,7 +22,7 @@ public class GitHubOAuthVerifier implements OAuthVerifier {
 	private String clientId;
 	@Value("${spring.security.oauth2.client.registration.github.client-secret}")
 	private String clientSecret;
-	private final RestTemplate restTemplate = new RestTemplate();
+	private final RestTemplate restTemplate;
 	private final ObjectMapper objectMapper = new ObjectMapper();
 	private final OAuth2AuthorizedClientService clientService;
 
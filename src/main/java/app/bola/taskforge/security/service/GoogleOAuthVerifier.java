@@ -21,7 +21,7 @@ public class GoogleOAuthVerifier implements OAuthVerifier {
 	private String clientId;
 	@Value("${spring.security.oauth2.client.registration.google.client-secret}")
 	private String clientSecret;
-	private final RestTemplate restTemplate = new RestTemplate();
+	private final RestTemplate restTemplate;
 	private final ObjectMapper objectMapper = new ObjectMapper();
 	final OAuth2AuthorizedClientService clientService;
 
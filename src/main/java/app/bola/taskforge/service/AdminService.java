@@ -6,9 +6,9 @@ import app.bola.taskforge.domain.enums.Role;
 import app.bola.taskforge.repository.UserRepository;
 import app.bola.taskforge.service.dto.CreateAdminRequest;
 import app.bola.taskforge.service.dto.MemberResponse;
+import app.bola.taskforge.service.mapper.MemberMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -19,7 +19,7 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class AdminService {
 	
-	private final ModelMapper modelMapper;
+	private final MemberMapper memberMapper;
 	private final UserRepository userRepository;
 	private final BCryptPasswordEncoder passwordEncoder;
 	
@@ -31,7 +31,7 @@ public class AdminService {
 	 */
 	public MemberResponse createOrgAdmin(CreateAdminRequest request) {
 		log.info("Creating new organization admin: {}", request);
-		Member admin = modelMapper.map(request, Member.class);
+		Member admin = memberMapper.toEntity(request);
 		admin.setPassword(passwordEncoder.encode(request.getPassword()));
 		admin.setRoles(Set.of(Role.ORGANIZATION_ADMIN, Role.ORGANIZATION_OWNER, Role.ORGANIZATION_MEMBER));
 		admin.setActive(true);
@@ -43,6 +43,6 @@ public class AdminService {
 	}
 	
 	private MemberResponse toResponse(Member savedAdmin) {
-		return modelMapper.map(savedAdmin, MemberResponse.class);
+		return memberMapper.toResponse(savedAdmin);
 	}
 }
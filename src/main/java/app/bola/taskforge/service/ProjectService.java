@@ -1,5 +1,6 @@
 package app.bola.taskforge.service;
 
+import app.bola.taskforge.common.pagination.CursorPage;
 import app.bola.taskforge.common.service.BaseService;
 import app.bola.taskforge.domain.entity.Project;
 import app.bola.taskforge.domain.enums.ProjectStatus;
@@ -19,11 +20,11 @@ public interface ProjectService extends BaseService<ProjectRequest, Project, Pro
 	ProjectResponse removeMember(@NonNull String projectId, @NonNull String memberId);
 	
 	ProjectResponse changeStatus(@NonNull String projectId, @NonNull String status);
-	Set<ProjectResponse> getAllByOrganizationId(String organizationId);
+	CursorPage<ProjectResponse> getAllByOrganizationId(String organizationId, String cursor, int size);
 	Set<ProjectResponse> findAll();
 	ProjectResponse findById(String publicId);
 	void delete(String publicId);
-	Set<MemberResponse> getProjectMembers(String projectId);
-	Set<TaskResponse> getProjectTasks(String projectId);
+	CursorPage<MemberResponse> getProjectMembers(String projectId, String cursor, int size);
+	CursorPage<TaskResponse> getProjectTasks(String projectId, String cursor, int size);
 //	Object getActivityLog(String projectId);
 }
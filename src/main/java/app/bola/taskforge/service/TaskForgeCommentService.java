@@ -1,5 +1,7 @@
 package app.bola.taskforge.service;
 
+import app.bola.taskforge.common.pagination.CursorPage;
+import app.bola.taskforge.common.pagination.KeysetPaging;
 import app.bola.taskforge.domain.entity.Comment;
 import app.bola.taskforge.domain.entity.Member;
 import app.bola.taskforge.domain.entity.Project;
@@ -15,9 +17,9 @@ import app.bola.taskforge.service.dto.AttachmentResponse;
 import app.bola.taskforge.service.dto.CommentRequest;
 import app.bola.taskforge.service.dto.CommentResponse;
 import app.bola.taskforge.service.dto.MentionResponse;
+import app.bola.taskforge.service.mapper.CommentMapper;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import jakarta.validation.Validator;
@@ -32,12 +34,13 @@ import java.util.Set;
 @AllArgsConstructor
 public class TaskForgeCommentService implements CommentService{
 	
-	final ModelMapper modelMapper;
+	final CommentMapper commentMapper;
 	private final UserRepository userRepository;
 	private final TaskRepository taskRepository;
 	private final CommentRepository commentRepository;
 	private final ProjectRepository projectRepository;
 	private final Validator validator;
+	private final KeysetPaging keysetPaging;
 	
 	@Override
 	public CommentResponse createNew(@NonNull CommentRequest request) {
@@ -45,13 +48,13 @@ public class TaskForgeCommentService implements CommentService{
 		Member author = userRepository.findByIdScoped(request.getAuthorId())
 			.orElseThrow(() -> new EntityNotFoundException("Comment author not found"));
 		
-		Task task = taskRepository.findByIdScoped(request.getTaskId())
+		Task task = taskRepository.findWithProjectMembersByIdScoped(request.getTaskId())
 			.orElseThrow(() -> new EntityNotFoundException("Task not found"));
 		
 		verifyProjectMembership(author, task, request.getProjectId());
 		Optional<Comment> optionalParentComment = commentRepository.findByIdScoped(request.getParentCommentId());
 		
-		Comment comment = modelMapper.map(request, Comment.class);
+		Comment comment = commentMapper.toEntity(request);
 		comment.setAuthor(author);
 		comment.setTask(task);
 		comment.setOrganization(author.getOrganization() != null ? author.getOrganization() : task.getOrganization());
@@ -80,7 +83,7 @@ public class TaskForgeCommentService implements CommentService{
 	
 	@Override
 	public CommentResponse toResponse(Comment entity) {
-		return modelMapper.map(entity, CommentResponse.class);
+		return commentMapper.toResponse(entity);
 	}
 	
 	@Override
@@ -98,6 +101,11 @@ public class TaskForgeCommentService implements CommentService{
 		return List.of();
 	}
 	
+	@Override
+	public CursorPage<CommentResponse> findPage(String cursor, int size) {
+		return keysetPaging.page(size, limit -> commentRepository.findPageScoped(cursor, limit), this::toResponse);
+	}
+	
 	@Override
 	public CommentResponse edit(String commentId, String editorId, String content) {
 		return null;
@@ -1,5 +1,7 @@
 package app.bola.taskforge.service;
 
+import app.bola.taskforge.common.pagination.CursorPage;
+import app.bola.taskforge.common.pagination.KeysetPaging;
 import app.bola.taskforge.domain.entity.Invitation;
 import app.bola.taskforge.domain.entity.Member;
 import app.bola.taskforge.domain.entity.NotificationPreference;
@@ -15,9 +17,10 @@ import app.bola.taskforge.security.provider.JwtTokenProvider;
 import app.bola.taskforge.service.dto.InvitationResponse;
 import app.bola.taskforge.service.dto.MemberRequest;
 import app.bola.taskforge.service.dto.MemberResponse;
+import app.bola.taskforge.service.mapper.InvitationMapper;
+import app.bola.taskforge.service.mapper.MemberMapper;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.lang.NonNull;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -37,10 +40,12 @@ public class TaskForgeMemberService implements MemberService {
 	private final JwtTokenProvider jwtTokenProvider;
 	private final InvitationRepository invitationRepository;
 	private final UserRepository userRepository;
-	private final ModelMapper modelMapper;
+	private final MemberMapper memberMapper;
+	private final InvitationMapper invitationMapper;
 	private final Validator validator;
 	private final PasswordEncoder passwordEncoder;
 	private final OrganizationRepository organizationRepository;
+	private final KeysetPaging keysetPaging;
 
 	@Override
 	@Transactional
@@ -54,7 +59,7 @@ public class TaskForgeMemberService implements MemberService {
 		Organization organization = organizationRepository.findByIdScoped(memberRequest.getOrganizationId())
 				.orElseThrow(() -> new EntityNotFoundException("Organization not found with ID: " + memberRequest.getOrganizationId()));
 
-		Member member = modelMapper.map(memberRequest, Member.class);
+		Member member = memberMapper.toEntity(memberRequest);
 		member.setPassword(passwordEncoder.encode(memberRequest.getPassword()));
 		member.setActive(true);
 		member.setRoles(invitation.getRoles() == null ? null : new java.util.HashSet<>(invitation.getRoles()));
@@ -101,6 +106,11 @@ public class TaskForgeMemberService implements MemberService {
 		return Set.of();
 	}
 	
+	@Override
+	public CursorPage<MemberResponse> findPage(String cursor, int size) {
+		return keysetPaging.page(size, limit -> userRepository.findPageScoped(cursor, limit), this::toResponse);
+	}
+	
 	@Override
 	public void delete(String publicId) {
 	
@@ -108,7 +118,7 @@ public class TaskForgeMemberService implements MemberService {
 	
 	@Override
 	public MemberResponse toResponse(Member entity) {
-		return modelMapper.map(entity, MemberResponse.class);
+		return memberMapper.toResponse(entity);
 	}
 
 	@Override
@@ -161,7 +171,7 @@ public class TaskForgeMemberService implements MemberService {
 		}
 		invitation.setStatus(InvitationStatus.ACCEPTED);
 
-		InvitationResponse response = modelMapper.map(invitation, InvitationResponse.class);
+		InvitationResponse response = invitationMapper.toResponse(invitation);
 		response.setMessage("Invitation accepted successfully, please create your account");
 		response.setOrganizationId(invitation.getOrganization().getPublicId());
 		response.setEmail(invitation.getEmail());
@@ -1,6 +1,9 @@
 package app.bola.taskforge.service;
 
+import app.bola.taskforge.common.pagination.CursorPage;
+import app.bola.taskforge.common.pagination.KeysetPaging;
 import app.bola.taskforge.common.utilities.Constants;
+import app.bola.taskforge.domain.context.TenantContext;
 import app.bola.taskforge.domain.entity.Invitation;
 import app.bola.taskforge.domain.entity.Member;
 import app.bola.taskforge.domain.enums.InvitationStatus;
@@ -14,11 +17,13 @@ import app.bola.taskforge.notification.MailSender;
 import app.bola.taskforge.repository.OrganizationRepository;
 import app.bola.taskforge.security.provider.JwtTokenProvider;
 import app.bola.taskforge.service.dto.*;
+import app.bola.taskforge.service.mapper.InvitationMapper;
+import app.bola.taskforge.service.mapper.MemberMapper;
+import app.bola.taskforge.service.mapper.OrganizationMapper;
 import jakarta.transaction.Transactional;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -27,7 +32,6 @@ import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.Base64;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -38,11 +42,14 @@ public class TaskForgeOrganizationService implements OrganizationService {
 	private String FRONTEND_BASE_URL;
 	private final InvitationRepository invitationRepository;
 	final UserRepository userRepository;
-	final ModelMapper modelMapper;
+	final OrganizationMapper organizationMapper;
+	final InvitationMapper invitationMapper;
+	final MemberMapper memberMapper;
 	final OrganizationRepository organizationRepository;
 	final Validator validator;
 	final MailSender mailSender;
 	private final JwtTokenProvider jwtTokenProvider;
+	private final KeysetPaging keysetPaging;
 	
 	
 	@Override
@@ -53,7 +60,7 @@ public class TaskForgeOrganizationService implements OrganizationService {
 			log.error("Organization with name {} already exists", organizationRequest.getName());
 			throw new TaskForgeException("Organization with this name already exists");
 		}
-		Organization organization = modelMapper.map(organizationRequest, Organization.class);
+		Organization organization = organizationMapper.toEntity(organizationRequest);
 		Member admin = getCurrentAdmin();
 		organization.getMembers().add(admin);
 		Organization savedEntity = organizationRepository.save(organization);
@@ -63,7 +70,7 @@ public class TaskForgeOrganizationService implements OrganizationService {
 			admin.setOrganization(savedEntity);
 			userRepository.save(admin);
 		}
-		mailSender.sendWelcomeEmail(admin.getFirstName(), admin.getEmail(), organization.getName());
+		mailSender.queueWelcomeEmail(admin.getFirstName(), admin.getEmail(), organization.getName());
 		return toResponse(savedEntity);
 	}
 	
@@ -91,6 +98,18 @@ public class TaskForgeOrganizationService implements OrganizationService {
 		return List.of();
 	}
 	
+	/**
+	 * A member only has access to the organization they belong to, so this is always a single page.
+	 */
+	@Override
+	public CursorPage<OrganizationResponse> findPage(String cursor, int size) {
+		List<OrganizationResponse> organizations = organizationRepository.findByIdScoped(TenantContext.getCurrentTenant())
+			.filter(organization -> !organization.isDeleted())
+			.map(this::toResponse)
+			.stream().toList();
+		return new CursorPage<>(organizations, null);
+	}
+	
 	@Override
 	public void delete(String publicId) {
 	
@@ -98,21 +117,8 @@ public class TaskForgeOrganizationService implements OrganizationService {
 	
 	@Override
 	public OrganizationResponse toResponse(Organization organization) {
-			if (organization.getProjects() != null && !organization.getProjects().isEmpty()) {
-				Set<ProjectResponse> projectResponses = organization.getProjects().stream().map(project -> {
-					ProjectResponse projectResponse = modelMapper.map(project, ProjectResponse.class);
-					if (project.getDateRange() != null) {
-						projectResponse.setStartDate(project.getDateRange().getStartDate());
-						projectResponse.setEndDate(project.getDateRange().getEndDate());
-					}
-					return projectResponse;
-				}).collect(Collectors.toSet());
-				OrganizationResponse response = modelMapper.map(organization, OrganizationResponse.class);
-				response.setProjects(projectResponses);
-				return response;
-			}
-			return modelMapper.map(organization, OrganizationResponse.class);
-		}
+		return organizationMapper.toResponse(organization);
+	}
 	
 	@Override
 	@Transactional
@@ -163,7 +169,7 @@ public class TaskForgeOrganizationService implements OrganizationService {
 		
 		String base64Token = Base64.getEncoder().encodeToString(token.getBytes());
 		
-		Invitation invitation = modelMapper.map(request, Invitation.class);
+		Invitation invitation = invitationMapper.toEntity(request);
 		invitation.setRoles(Set.of(Role.valueOf(request.getRole().toUpperCase())));
 		invitation.setOrganization(organization);
 		invitation.setInvitedBy(invitedBy);
@@ -174,9 +180,9 @@ public class TaskForgeOrganizationService implements OrganizationService {
 			FRONTEND_BASE_URL, organization.getName().toLowerCase().replaceAll("\\s+", "-"), base64Token));
 		
 		invitationRepository.save(invitation);
-		mailSender.sendInvitationMail(invitation, organization.getName());
+		mailSender.queueInvitationMail(invitation, organization.getName());
 
-		InvitationResponse response = modelMapper.map(invitation, InvitationResponse.class);
+		InvitationResponse response = invitationMapper.toResponse(invitation);
 		response.setMessage("invited");
 		response.setOrganizationId(organization.getPublicId());
 		response.setOrganizationName(organization.getName());
@@ -185,18 +191,12 @@ public class TaskForgeOrganizationService implements OrganizationService {
 	}
 	
 	@Override
-	public Set<MemberResponse> getMembers(String publicId) {
-		Set<Member> members = organizationRepository.findByIdScoped(publicId)
-													.orElseThrow(() -> new EntityNotFoundException("Organization not found with public ID: " + publicId))
-													.getMembers();
-		
-		if (members == null || members.isEmpty()) {
-			members = new HashSet<>(userRepository.findAllByOrganization_PublicId(publicId));
-		}
-		
-		return members.stream()
-				.map(member -> modelMapper.map(member, MemberResponse.class))
-				.collect(Collectors.toSet());
+	public CursorPage<MemberResponse> getMembers(String publicId, String cursor, int size) {
+		Organization organization = organizationRepository.findByIdScoped(publicId)
+			.filter(found -> !found.isDeleted())
+			.orElseThrow(() -> new EntityNotFoundException("Organization not found with public ID: " + publicId));
+		return keysetPaging.page(size, limit -> userRepository.findOrganizationPage(organization.getId(), cursor, limit),
+			memberMapper::toResponse);
 	}
 	
 }
@@ -1,6 +1,8 @@
 package app.bola.taskforge.service;
 
-import app.bola.taskforge.common.entity.BaseEntity;
+import app.bola.taskforge.common.pagination.CursorPage;
+import app.bola.taskforge.common.pagination.KeysetCursor;
+import app.bola.taskforge.common.pagination.KeysetPaging;
 import app.bola.taskforge.domain.entity.*;
 import app.bola.taskforge.domain.enums.ProjectStatus;
 import app.bola.taskforge.event.publisher.EventPublisher;
@@ -11,17 +13,19 @@ import app.bola.taskforge.repository.OrganizationRepository;
 import app.bola.taskforge.repository.ProjectRepository;
 import app.bola.taskforge.repository.TaskRepository;
 import app.bola.taskforge.repository.UserRepository;
+import app.bola.taskforge.repository.projection.ProjectView;
 import app.bola.taskforge.service.dto.ProjectRequest;
 import app.bola.taskforge.service.dto.ProjectResponse;
 import app.bola.taskforge.service.dto.MemberResponse;
 import app.bola.taskforge.service.dto.TaskResponse;
+import app.bola.taskforge.service.mapper.ProjectMapper;
 import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -31,6 +35,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -38,16 +43,19 @@ import java.util.stream.Collectors;
 public class TaskForgeProjectService implements ProjectService{
 	
 	
-	private final ModelMapper modelMapper;
+	private final ProjectMapper projectMapper;
 	private final OrganizationRepository organizationRepository;
 	private final UserRepository userRepository;
 	private final ProjectRepository projectRepository;
 	private final Validator validator;
 	private final EventPublisher eventPublisher;
 	private final TaskRepository taskRepository;
+	private final KeysetPaging keysetPaging;
+	private final ViewResponseAssembler viewResponseAssembler;
 	
 	
 	@Override
+	@Transactional
 	public ProjectResponse createNew(@NonNull ProjectRequest projectRequest) {
 		performValidation(validator, projectRequest);
 		Organization organization = organizationRepository.findByIdScoped(projectRequest.getOrganizationId())
@@ -72,7 +80,7 @@ public class TaskForgeProjectService implements ProjectService{
 			}
 		}
 		
-		Project project = modelMapper.map(projectRequest, Project.class);
+		Project project = projectMapper.toEntity(projectRequest);
 		project.setOrganization(organization);
 		project.setStatus(ProjectStatus.ACTIVE);
 		project.setTeamLead(teamLead);
@@ -84,13 +92,11 @@ public class TaskForgeProjectService implements ProjectService{
 		return toResponse(savedProject);
 	}
 	
-	private static ProjectEvent createProjectEvent(Project project, Organization organization) {
+	private ProjectEvent createProjectEvent(Project project, Organization organization) {
 		ProjectEvent projectEvent = new ProjectEvent(project, project.getPublicId(), "create");
-		projectEvent.setInitiatorId("SYSTEM");
+		projectEvent.setInitiatorId(currentActor());
 		projectEvent.setMetadata(null);
 		projectEvent.setOrganizationId(organization.getPublicId());
-		projectEvent.setUserIdList(project.getMembers().stream().map(BaseEntity::getPublicId).toList());
-		projectEvent.setUserEmailList(project.getMembers().stream().map(Member::getEmail).toList());
 		projectEvent.setDateTimeStamp(LocalDateTime.now());
 		return projectEvent;
 	}
@@ -188,26 +194,36 @@ public class TaskForgeProjectService implements ProjectService{
 	}
 	
 	@Override
-	public Set<ProjectResponse> getAllByOrganizationId(String organizationId) {
+	public CursorPage<ProjectResponse> getAllByOrganizationId(String organizationId, String cursor, int size) {
 		Organization organization = organizationRepository.findByIdScoped(organizationId)
 				                            .orElseThrow(() -> new EntityNotFoundException(""));
-		List<Project> projects = projectRepository.findAllByOrganization(organization);
-		return toResponse(projects);
+		return keysetPaging.page(size, limit -> projectRepository.findOrganizationViewPage(organization.getId(), cursor, limit),
+			TaskForgeProjectService::position, viewResponseAssembler::toProjectResponses);
 	}
 	
+	/**
+	 * Reads the tenant's projects through a server-side cursor rather than loading them all into the persistence
+	 * context first. Request handlers should use {@link #findPage} instead.
+	 */
 	@Override
+	@Transactional(readOnly = true)
 	public Set<ProjectResponse> findAll() {
-		List<Project> allProjects = projectRepository.findAllScoped();
-		return toResponse(
-			allProjects.stream().filter(project -> !project.isDeleted()).collect(Collectors.toSet())
-		);
+		try (Stream<Project> projects = projectRepository.streamAllScoped()) {
+			return projects.map(this::toResponse).collect(Collectors.toSet());
+		}
+	}
+	
+	@Override
+	public CursorPage<ProjectResponse> findPage(String cursor, int size) {
+		return keysetPaging.page(size, limit -> projectRepository.findViewPageScoped(cursor, limit),
+			TaskForgeProjectService::position, viewResponseAssembler::toProjectResponses);
 	}
 	
 	@Override
 	public ProjectResponse findById(String publicId) {
-		Project project = projectRepository.findByIdScoped(publicId)
+		ProjectView project = projectRepository.findViewByIdScoped(publicId)
 				                  .orElseThrow(() -> new EntityNotFoundException("Project not found with id: " + publicId));
-		return project.isDeleted() ? null : toResponse(project);
+		return viewResponseAssembler.toProjectResponses(List.of(project)).getFirst();
 	}
 	
 	@Override
@@ -219,22 +235,23 @@ public class TaskForgeProjectService implements ProjectService{
 	}
 	
 	@Override
-	public Set<MemberResponse> getProjectMembers(String projectId) {
-		Project project = projectRepository.findByIdScoped(projectId)
+	public CursorPage<MemberResponse> getProjectMembers(String projectId, String cursor, int size) {
+		String internalId = projectRepository.findInternalIdScoped(projectId)
 				                  .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-		return project.getMembers().stream()
-				       .map(member -> modelMapper.map(member, MemberResponse.class))
-				       .collect(Collectors.toSet());
+		return keysetPaging.page(size, limit -> projectRepository.findMemberViewPage(internalId, cursor, limit),
+			member -> new KeysetCursor(member.createdAt(), member.publicId()), viewResponseAssembler::toMemberResponses);
 	}
 
 	@Override
-	public Set<TaskResponse> getProjectTasks(String projectId) {
-		Project project = projectRepository.findByIdScoped(projectId)
+	public CursorPage<TaskResponse> getProjectTasks(String projectId, String cursor, int size) {
+		String internalId = projectRepository.findInternalIdScoped(projectId)
 				                  .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-		List<Task> tasks = taskRepository.findByProject_Id(project.getId());
-		if (!tasks.isEmpty())
-			return tasks.stream().map(task -> modelMapper.map(task, TaskResponse.class)).collect(Collectors.toSet());
-		return project.getTasks().stream().map(task -> modelMapper.map(task, TaskResponse.class)).collect(Collectors.toSet());
+		return keysetPaging.page(size, limit -> taskRepository.findProjectViewPage(internalId, cursor, limit),
+			TaskForgeTaskService::position, viewResponseAssembler::toTaskResponses);
+	}
+	
+	static KeysetCursor position(ProjectView project) {
+		return new KeysetCursor(project.createdAt(), project.id());
 	}
 	
 	@Override
@@ -244,9 +261,6 @@ public class TaskForgeProjectService implements ProjectService{
 	
 	@Override
 	public ProjectResponse toResponse(Project entity) {
-		ProjectResponse response = modelMapper.map(entity, ProjectResponse.class);
-		response.setStartDate(entity.getDateRange().getStartDate());
-		response.setEndDate(entity.getDateRange().getEndDate());
-		return response;
+		return projectMapper.toResponse(entity);
 	}
 }
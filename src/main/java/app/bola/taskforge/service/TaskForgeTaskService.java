@@ -1,5 +1,8 @@
 package app.bola.taskforge.service;
 
+import app.bola.taskforge.common.pagination.CursorPage;
+import app.bola.taskforge.common.pagination.KeysetCursor;
+import app.bola.taskforge.common.pagination.KeysetPaging;
 import app.bola.taskforge.domain.context.TenantContext;
 import app.bola.taskforge.domain.entity.Member;
 import app.bola.taskforge.domain.entity.Organization;
@@ -7,26 +10,27 @@ import app.bola.taskforge.domain.entity.Project;
 import app.bola.taskforge.domain.entity.Task;
 import app.bola.taskforge.domain.enums.TaskStatus;
 import app.bola.taskforge.event.TaskEvent;
+import app.bola.taskforge.event.publisher.EventPublisher;
 import app.bola.taskforge.exception.EntityNotFoundException;
 import app.bola.taskforge.exception.InvalidRequestException;
 import app.bola.taskforge.repository.OrganizationRepository;
 import app.bola.taskforge.repository.ProjectRepository;
 import app.bola.taskforge.repository.TaskRepository;
 import app.bola.taskforge.repository.UserRepository;
+import app.bola.taskforge.repository.projection.TaskView;
 import app.bola.taskforge.service.dto.CommentResponse;
-import app.bola.taskforge.service.dto.MemberResponse;
 import app.bola.taskforge.service.dto.TaskRequest;
 import app.bola.taskforge.service.dto.TaskResponse;
 import app.bola.taskforge.service.dto.TaskUpdateRequest;
+import app.bola.taskforge.service.mapper.TaskMapper;
 import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.modelmapper.ModelMapper;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -34,6 +38,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -41,15 +46,18 @@ import java.util.stream.Collectors;
 public class TaskForgeTaskService implements TaskService{
 	
 	final Validator validator;
-	private final ModelMapper modelMapper;
+	private final TaskMapper taskMapper;
 	private final TaskRepository taskRepository;
 	private final OrganizationRepository organizationRepository;
 	private final ProjectRepository projectRepository;
 	private final UserRepository userRepository;
-	private final ApplicationEventPublisher eventPublisher;
+	private final EventPublisher eventPublisher;
+	private final KeysetPaging keysetPaging;
+	private final ViewResponseAssembler viewResponseAssembler;
 	
 	
 	@Override
+	@Transactional
 	public TaskResponse createNew(@NonNull TaskRequest taskRequest) {
 		
 		performValidation(validator, taskRequest);
@@ -61,7 +69,7 @@ public class TaskForgeTaskService implements TaskService{
 		Project project = projectRepository.findByIdScoped(taskRequest.getProjectId())
 			.orElseThrow(() -> new EntityNotFoundException("Project not found"));
 		
-		Task task = modelMapper.map(taskRequest, Task.class);
+		Task task = taskMapper.toEntity(taskRequest);
 		if (StringUtils.isNotBlank(taskRequest.getAssigneeId())) {
 			Optional<Member> member = userRepository.findByEmail(taskRequest.getAssigneeId());
 			if (member.isPresent()) {
@@ -84,10 +92,6 @@ public class TaskForgeTaskService implements TaskService{
 		
 		Task savedTask = taskRepository.save(task);
 		TaskResponse response = toResponse(savedTask);
-		response.setOrganizationId(organization.getPublicId());
-		response.setProjectId(project.getPublicId());
-		response.setAssigneeId(savedTask.getAssignee() != null ? savedTask.getAssignee().getPublicId() : null);
-		response.setAssignee(savedTask.getAssignee() != null ? modelMapper.map(savedTask.getAssignee(), MemberResponse.class) : null);
 
 		TaskEvent event = buildTaskEvent(savedTask, project, organization);
 		eventPublisher.publishEvent(event);
@@ -95,17 +99,16 @@ public class TaskForgeTaskService implements TaskService{
 		return response;
 	}
 
-	private static TaskEvent buildTaskEvent(Task savedTask, Project project, Organization organization) {
+	private TaskEvent buildTaskEvent(Task savedTask, Project project, Organization organization) {
 
 		TaskEvent event = new TaskEvent(savedTask);
 		
-		event.setTaskId(savedTask.getId());
-		event.setProjectId(project.getId());
-		event.setOrganizationId(organization.getId());
+		event.setTaskId(savedTask.getPublicId());
+		event.setProjectId(project.getPublicId());
+		event.setOrganizationId(organization.getPublicId());
 		event.setDateTimeStamp(LocalDateTime.now());
 		event.setEventType(TaskEvent.EventType.TASK_CREATED);
-		event.setUserIdList(project.getMembers().stream().map(Member::getPublicId).collect(Collectors.toList()));
-		event.setUserEmailList(project.getMembers().stream().map(Member::getEmail).filter(StringUtils::isNotBlank).toList());
+		event.setInitiatorId(currentActor());
 		
 		return event;
 	}
@@ -122,7 +125,7 @@ public class TaskForgeTaskService implements TaskService{
 	
 	@Override
 	public TaskResponse toResponse(Task entity) {
-		return modelMapper.map(entity, TaskResponse.class);
+		return taskMapper.toResponse(entity);
 	}
 	
 	@Override
@@ -208,27 +211,44 @@ public class TaskForgeTaskService implements TaskService{
 	
 	@Override
 	public TaskResponse update(String publicId, @NonNull TaskRequest taskRequest) {
-		return update(publicId, modelMapper.map(taskRequest, TaskUpdateRequest.class));
+		return update(publicId, taskMapper.toUpdateRequest(taskRequest));
 	}
 	
 	@Override
 	public TaskResponse findById(String publicId) {
-		Task task = taskRepository.findByIdScoped(publicId)
+		TaskView task = taskRepository.findViewByIdScoped(publicId)
 				            .orElseThrow(() -> new EntityNotFoundException("Task not found"));
-		return toResponse(task);
+		return viewResponseAssembler.toTaskResponses(List.of(task)).getFirst();
 	}
 	
+	/**
+	 * Reads the tenant's tasks through a server-side cursor rather than loading them all into the persistence
+	 * context first. Request handlers should use {@link #findPage} instead.
+	 */
 	@Override
+	@Transactional(readOnly = true)
 	public Set<TaskResponse> findAll() {
-		List<Task> tasks = taskRepository.findAllScoped();
-		return tasks.stream()
-				       .map(this::toResponse)
-				       .collect(Collectors.toSet());
+		try (Stream<Task> tasks = taskRepository.streamAllScoped()) {
+			return tasks.map(this::toResponse).collect(Collectors.toSet());
+		}
 	}
 	
 	@Override
-	public Set<TaskResponse> getProjectSpecificTasks(String projectId) {
-		return Set.of();
+	public CursorPage<TaskResponse> findPage(String cursor, int size) {
+		return keysetPaging.page(size, limit -> taskRepository.findViewPageScoped(cursor, limit), TaskForgeTaskService::position,
+			viewResponseAssembler::toTaskResponses);
+	}
+	
+	@Override
+	public CursorPage<TaskResponse> getProjectSpecificTasks(String projectId, String cursor, int size) {
+		String internalId = projectRepository.findInternalIdScoped(projectId)
+				                  .orElseThrow(() -> new EntityNotFoundException("Project not found"));
+		return keysetPaging.page(size, limit -> taskRepository.findProjectViewPage(internalId, cursor, limit),
+			TaskForgeTaskService::position, viewResponseAssembler::toTaskResponses);
+	}
+	
+	static KeysetCursor position(TaskView task) {
+		return new KeysetCursor(task.createdAt(), task.id());
 	}
 	
 	@Override
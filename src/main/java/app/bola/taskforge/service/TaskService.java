@@ -1,5 +1,6 @@
 package app.bola.taskforge.service;
 
+import app.bola.taskforge.common.pagination.CursorPage;
 import app.bola.taskforge.common.service.BaseService;
 import app.bola.taskforge.domain.entity.Task;
 import app.bola.taskforge.service.dto.CommentResponse;
@@ -16,5 +17,5 @@ public interface TaskService extends BaseService<TaskRequest, Task, TaskResponse
 	CommentResponse getCommentThread(String taskId);
 	Set<TaskResponse> findAll();
 	
-	Set<TaskResponse> getProjectSpecificTasks(String projectId);
+	CursorPage<TaskResponse> getProjectSpecificTasks(String projectId, String cursor, int size);
 }
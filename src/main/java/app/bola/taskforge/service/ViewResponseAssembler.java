@@ -0,0 +1,127 @@
+package app.bola.taskforge.service;
+
+import app.bola.taskforge.domain.enums.Role;
+import app.bola.taskforge.repository.ProjectRepository;
+import app.bola.taskforge.repository.UserRepository;
+import app.bola.taskforge.repository.projection.MemberView;
+import app.bola.taskforge.repository.projection.ProjectMemberView;
+import app.bola.taskforge.repository.projection.ProjectView;
+import app.bola.taskforge.repository.projection.TaskView;
+import app.bola.taskforge.service.dto.MemberResponse;
+import app.bola.taskforge.service.dto.ProjectResponse;
+import app.bola.taskforge.service.dto.TaskResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds responses from the projections the read-only endpoints select. What a projection cannot carry, member roles
+ * and project members, is read for a whole page in one query each.
+ */
+@Component
+@AllArgsConstructor
+public class ViewResponseAssembler {
+
+	private final UserRepository userRepository;
+	private final ProjectRepository projectRepository;
+
+	public List<TaskResponse> toTaskResponses(List<TaskView> views) {
+		Map<String, Set<Role>> roles = rolesOf(views.stream().map(TaskView::assignee));
+		return views.stream().map(view -> toResponse(view, roles)).toList();
+	}
+
+	public List<ProjectResponse> toProjectResponses(List<ProjectView> views) {
+		if (views.isEmpty()) {
+			return List.of();
+		}
+		Map<String, List<MemberView>> members = projectRepository.findMemberViews(views.stream().map(ProjectView::id).toList())
+			.stream()
+			.collect(Collectors.groupingBy(ProjectMemberView::projectId, Collectors.mapping(ProjectMemberView::member, Collectors.toList())));
+		Map<String, Set<Role>> roles = rolesOf(Stream.concat(
+			views.stream().map(ProjectView::teamLead),
+			members.values().stream().flatMap(List::stream)));
+
+		return views.stream().map(view -> {
+			Set<MemberResponse> projectMembers = members.getOrDefault(view.id(), List.of()).stream()
+				.map(member -> toResponse(member, roles))
+				.collect(Collectors.toSet());
+			return toResponse(view, projectMembers, roles);
+		}).toList();
+	}
+
+	public List<MemberResponse> toMemberResponses(List<MemberView> views) {
+		Map<String, Set<Role>> roles = rolesOf(views.stream());
+		return views.stream().map(view -> toResponse(view, roles)).toList();
+	}
+
+	private Map<String, Set<Role>> rolesOf(Stream<MemberView> members) {
+		return userRepository.findRolesByMemberId(members.filter(Objects::nonNull)
+			.map(MemberView::publicId)
+			.collect(Collectors.toSet()));
+	}
+
+	private MemberResponse toResponse(MemberView view, Map<String, Set<Role>> roles) {
+		if (view == null) {
+			return null;
+		}
+		return MemberResponse.builder()
+			       .publicId(view.publicId())
+			       .email(view.email())
+			       .firstName(view.firstName())
+			       .lastName(view.lastName())
+			       .image(view.imageUrl())
+			       .active(Boolean.TRUE.equals(view.active()))
+			       .deleted(Boolean.TRUE.equals(view.deleted()))
+			       .roles(roles.getOrDefault(view.publicId(), Set.of()))
+			       .createdBy(view.createdBy())
+			       .modifiedBy(view.modifiedBy())
+			       .createdAt(view.createdAt())
+			       .lastModifiedAt(view.lastModifiedAt())
+			       .build();
+	}
+
+	private TaskResponse toResponse(TaskView view, Map<String, Set<Role>> roles) {
+		return TaskResponse.builder()
+			       .publicId(view.publicId())
+			       .title(view.title())
+			       .description(view.description())
+			       .status(view.status())
+			       .priority(view.priority())
+			       .category(view.category())
+			       .pinned(view.pinned())
+			       .dueDate(view.dueDate())
+			       .startDate(view.startDate())
+			       .completedAt(view.completedAt())
+			       .createdAt(view.createdAt())
+			       .lastModifiedAt(view.lastModifiedAt())
+			       .projectId(view.projectId())
+			       .organizationId(view.organizationId())
+			       .assigneeId(view.assignee() == null ? null : view.assignee().publicId())
+			       .assignee(toResponse(view.assignee(), roles))
+			       .build();
+	}
+
+	private ProjectResponse toResponse(ProjectView view, Set<MemberResponse> members, Map<String, Set<Role>> roles) {
+		return ProjectResponse.builder()
+			       .publicId(view.publicId())
+			       .name(view.name())
+			       .description(view.description())
+			       .status(view.status())
+			       .priority(view.priority())
+			       .category(view.category() == null ? null : view.category().name())
+			       .archived(view.archived())
+			       .startDate(view.startDate())
+			       .endDate(view.endDate())
+			       .createdBy(view.createdBy())
+			       .modifiedBy(view.modifiedBy())
+			       .createdAt(view.createdAt())
+			       .lastModifiedAt(view.lastModifiedAt())
+			       .teamLead(toResponse(view.teamLead(), roles))
+			       .members(members)
+			       .memberIds(members.stream().map(MemberResponse::getPublicId).collect(Collectors.toSet()))
+			       .build();
+	}
+}
@@ -0,0 +1,26 @@
+package app.bola.taskforge.service.dto;
+
+import app.bola.taskforge.domain.enums.NotificationType;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class NotificationResponse implements Serializable {
+	
+	String publicId;
+	String title;
+	String body;
+	boolean read;
+	String referenceId;
+	NotificationType type;
+	LocalDateTime createdAt;
+}
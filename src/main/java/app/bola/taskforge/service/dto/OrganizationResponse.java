@@ -12,10 +12,10 @@ import lombok.experimental.SuperBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import java.time.LocalDateTime;
-import java.util.Set;
 
 /**
- * Response DTO for {@link Organization} entity.
+ * Response DTO for {@link Organization} entity. Members and projects are listed a page at a time by their own
+ * endpoints rather than embedded here.
  */
 
 @Getter
@@ -40,8 +40,6 @@ public class OrganizationResponse {
 	String websiteUrl;
 	LocalDateTime createdAt;
 	LocalDateTime lastModifiedAt;
-	Set<MemberResponse> members;
-	Set<ProjectResponse> projects;
 	
 	@Override
 	public String toString() {
@@ -59,8 +57,6 @@ public class OrganizationResponse {
 				       .append("websiteUrl", websiteUrl)
 				       .append("createdAt", createdAt)
 				       .append("lastModifiedAt", lastModifiedAt)
-				       .append("members", members)
-				       .append("projects", projects)
 				       .toString();
 	}
 }
@@ -0,0 +1,26 @@
+package app.bola.taskforge.service.dto;
+
+import app.bola.taskforge.domain.enums.DevicePlatform;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.experimental.FieldDefaults;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class PushDeviceRequest {
+	
+	@NotBlank
+	String token;
+	@NotNull
+	DevicePlatform platform;
+}
@@ -0,0 +1,25 @@
+package app.bola.taskforge.service.mapper;
+
+import app.bola.taskforge.domain.entity.Comment;
+import app.bola.taskforge.domain.entity.Mention;
+import app.bola.taskforge.service.dto.CommentRequest;
+import app.bola.taskforge.service.dto.CommentResponse;
+import app.bola.taskforge.service.dto.MentionResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface CommentMapper {
+
+	@Mapping(target = "mentions", ignore = true)
+	@Mapping(target = "attachments", ignore = true)
+	Comment toEntity(CommentRequest request);
+
+	@Mapping(target = "authorId", source = "author.publicId")
+	@Mapping(target = "taskId", source = "task.publicId")
+	@Mapping(target = "projectId", source = "project.publicId")
+	@Mapping(target = "organizationId", source = "organization.publicId")
+	CommentResponse toResponse(Comment comment);
+
+	MentionResponse toResponse(Mention mention);
+}
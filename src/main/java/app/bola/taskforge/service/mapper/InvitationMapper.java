@@ -0,0 +1,18 @@
+package app.bola.taskforge.service.mapper;
+
+import app.bola.taskforge.domain.entity.Invitation;
+import app.bola.taskforge.service.dto.InvitationRequest;
+import app.bola.taskforge.service.dto.InvitationResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface InvitationMapper {
+
+	@Mapping(target = "invitedBy", ignore = true)
+	Invitation toEntity(InvitationRequest request);
+
+	@Mapping(target = "organizationId", source = "organization.publicId")
+	@Mapping(target = "organizationName", source = "organization.name")
+	InvitationResponse toResponse(Invitation invitation);
+}
@@ -0,0 +1,25 @@
+package app.bola.taskforge.service.mapper;
+
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.NullValueCheckStrategy;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Settings shared by every generated mapper.
+ * <p>
+ * A {@code null} source property never overwrites the target, so fields keep their {@code @Builder.Default} or
+ * existing values, the way ModelMapper's {@code setSkipNullEnabled(true)} used to. References to other entities are
+ * left to the services, which resolve them by public id within the tenant.
+ */
+@MapperConfig(
+	componentModel = MappingConstants.ComponentModel.SPRING,
+	injectionStrategy = InjectionStrategy.CONSTRUCTOR,
+	unmappedTargetPolicy = ReportingPolicy.IGNORE,
+	nullValueCheckStrategy = NullValueCheckStrategy.ALWAYS,
+	nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE
+)
+public interface MappingConfig {
+}
@@ -0,0 +1,21 @@
+package app.bola.taskforge.service.mapper;
+
+import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.service.dto.CreateAdminRequest;
+import app.bola.taskforge.service.dto.MemberRequest;
+import app.bola.taskforge.service.dto.MemberResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class)
+public interface MemberMapper {
+
+	@Mapping(target = "password", ignore = true)
+	Member toEntity(MemberRequest request);
+
+	@Mapping(target = "password", ignore = true)
+	Member toEntity(CreateAdminRequest request);
+
+	@Mapping(target = "image", source = "imageUrl")
+	MemberResponse toResponse(Member member);
+}
@@ -0,0 +1,14 @@
+package app.bola.taskforge.service.mapper;
+
+import app.bola.taskforge.domain.entity.Organization;
+import app.bola.taskforge.service.dto.OrganizationRequest;
+import app.bola.taskforge.service.dto.OrganizationResponse;
+import org.mapstruct.Mapper;
+
+@Mapper(config = MappingConfig.class)
+public interface OrganizationMapper {
+
+	Organization toEntity(OrganizationRequest request);
+
+	OrganizationResponse toResponse(Organization organization);
+}
@@ -0,0 +1,28 @@
+package app.bola.taskforge.service.mapper;
+
+import app.bola.taskforge.common.entity.BaseEntity;
+import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.domain.entity.Project;
+import app.bola.taskforge.service.dto.ProjectRequest;
+import app.bola.taskforge.service.dto.ProjectResponse;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Mapper(config = MappingConfig.class, uses = MemberMapper.class)
+public interface ProjectMapper {
+
+	@Mapping(target = "status", ignore = true)
+	Project toEntity(ProjectRequest request);
+
+	@Mapping(target = "startDate", source = "dateRange.startDate")
+	@Mapping(target = "endDate", source = "dateRange.endDate")
+	@Mapping(target = "memberIds", source = "members")
+	ProjectResponse toResponse(Project project);
+
+	default Set<String> toPublicIds(Set<Member> members) {
+		return members.stream().map(BaseEntity::getPublicId).collect(Collectors.toSet());
+	}
+}
@@ -0,0 +1,21 @@
+package app.bola.taskforge.service.mapper;
+
+import app.bola.taskforge.domain.entity.Task;
+import app.bola.taskforge.service.dto.TaskRequest;
+import app.bola.taskforge.service.dto.TaskResponse;
+import app.bola.taskforge.service.dto.TaskUpdateRequest;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(config = MappingConfig.class, uses = MemberMapper.class)
+public interface TaskMapper {
+
+	Task toEntity(TaskRequest request);
+
+	TaskUpdateRequest toUpdateRequest(TaskRequest request);
+
+	@Mapping(target = "projectId", source = "project.publicId")
+	@Mapping(target = "organizationId", source = "organization.publicId")
+	@Mapping(target = "assigneeId", source = "assignee.publicId")
+	TaskResponse toResponse(Task task);
+}
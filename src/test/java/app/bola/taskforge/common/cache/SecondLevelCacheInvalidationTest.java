@@ -0,0 +1,100 @@
+package app.bola.taskforge.common.cache;
+
+import app.bola.taskforge.domain.entity.Member;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SecondLevelCacheInvalidationTest {
+
+	private static final String CHANNEL = "taskforge:cache-invalidation";
+
+	@Mock
+	private EntityManagerFactory entityManagerFactory;
+	@Mock
+	private SessionFactoryImplementor sessionFactory;
+	@Mock
+	private MappingMetamodelImplementor mappingMetamodel;
+	@Mock
+	private CacheImplementor cache;
+	@Mock
+	private StringRedisTemplate redisTemplate;
+	private SecondLevelCacheInvalidation invalidation;
+
+	@BeforeEach
+	void setUp() {
+		invalidation = new SecondLevelCacheInvalidation(entityManagerFactory, redisTemplate, CHANNEL);
+		lenient().when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+		lenient().when(sessionFactory.getCache()).thenReturn(cache);
+		lenient().when(sessionFactory.getMappingMetamodel()).thenReturn(mappingMetamodel);
+	}
+
+	@Test
+	@DisplayName("A change made on another instance evicts the entity and the cached query results")
+	void evictsChangesFromOtherInstances() {
+		invalidation.onMessage(message("other-node " + Member.class.getName() + " member-1 updated"), null);
+
+		verify(cache).evictEntityData(Member.class.getName(), "member-1");
+		verify(cache).evictQueryRegions();
+		verify(cache, never()).evictNaturalIdData(anyString());
+	}
+
+	@Test
+	@DisplayName("A removal also evicts the natural-id mappings of the entity")
+	void evictsNaturalIdsOnRemoval() {
+		invalidation.onMessage(message("other-node " + Member.class.getName() + " member-1 removed"), null);
+
+		verify(cache).evictNaturalIdData(Member.class.getName());
+	}
+
+	@Test
+	@DisplayName("An insert on another instance evicts only the cached query results")
+	void evictsQueryResultsOnInsert() {
+		invalidation.onMessage(message("other-node " + Member.class.getName() + " member-1 inserted"), null);
+
+		verify(cache).evictQueryRegions();
+		verify(cache, never()).evictEntityData(anyString(), any());
+		verify(cache, never()).evictNaturalIdData(anyString());
+	}
+
+	@Test
+	@DisplayName("An instance ignores its own invalidations")
+	void ignoresOwnMessages() {
+		invalidation.publish(Member.class, "member-1", false);
+		ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+		verify(redisTemplate).convertAndSend(eq(CHANNEL), published.capture());
+
+		invalidation.onMessage(message(published.getValue()), null);
+
+		verifyNoInteractions(cache);
+	}
+
+	@Test
+	@DisplayName("Publishing does not fail the caller when Redis is unavailable")
+	void toleratesRedisFailures() {
+		when(redisTemplate.convertAndSend(anyString(), any())).thenThrow(new IllegalStateException("Redis is down"));
+
+		invalidation.publish(Member.class, "member-1", true);
+	}
+
+	private DefaultMessage message(String body) {
+		return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+	}
+}
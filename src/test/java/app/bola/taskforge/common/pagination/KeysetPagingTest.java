@@ -0,0 +1,72 @@
+package app.bola.taskforge.common.pagination;
+
+import app.bola.taskforge.domain.entity.Task;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPagingTest {
+
+	private final KeysetPaging keysetPaging = new KeysetPaging(10);
+
+	@Test
+	@DisplayName("A full page carries the cursor of its last row and leaves out the extra row fetched")
+	void returnsCursorWhenMoreRowsExist() {
+		List<Task> rows = tasks(4);
+		List<Limit> limits = new ArrayList<>();
+
+		CursorPage<String> page = keysetPaging.page(3, limit -> {
+			limits.add(limit);
+			return rows;
+		}, Task::getId);
+
+		assertEquals(List.of(Limit.of(4)), limits);
+		assertEquals(List.of("task-0", "task-1", "task-2"), page.items());
+		KeysetCursor cursor = KeysetCursor.decode(page.nextCursor());
+		assertEquals("task-2", cursor.id());
+		assertEquals(rows.get(2).getCreatedAt(), cursor.createdAt());
+	}
+
+	@Test
+	@DisplayName("The last page has no cursor")
+	void returnsNoCursorOnLastPage() {
+		CursorPage<String> page = keysetPaging.page(3, limit -> tasks(2), Task::getId);
+
+		assertEquals(2, page.items().size());
+		assertNull(page.nextCursor());
+	}
+
+	@Test
+	@DisplayName("Page sizes are clamped to the configured maximum")
+	void clampsPageSize() {
+		List<Limit> limits = new ArrayList<>();
+
+		keysetPaging.page(1_000, limit -> {
+			limits.add(limit);
+			return List.of();
+		}, Task::getId);
+		keysetPaging.page(0, limit -> {
+			limits.add(limit);
+			return List.of();
+		}, Task::getId);
+
+		assertEquals(List.of(Limit.of(11), Limit.of(2)), limits);
+	}
+
+	private List<Task> tasks(int count) {
+		LocalDateTime now = LocalDateTime.now();
+		return IntStream.range(0, count).mapToObj(index -> {
+			Task task = new Task();
+			task.setId("task-" + index);
+			task.setCreatedAt(now.minusMinutes(index));
+			return task;
+		}).toList();
+	}
+}
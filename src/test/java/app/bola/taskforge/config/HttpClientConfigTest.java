@@ -0,0 +1,136 @@
+package app.bola.taskforge.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquirePendingLimitException;
+import reactor.netty.internal.shaded.reactor.pool.PoolAcquireTimeoutException;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the shared client against a stub server whose {@code /slow} route answers only once the test releases it,
+ * with the stub's host limited to a single connection.
+ */
+class HttpClientConfigTest {
+
+	private final HttpClientConfig config = new HttpClientConfig();
+	private final CompletableFuture<Void> release = new CompletableFuture<>();
+	private final CountDownLatch slowRequestReceived = new CountDownLatch(1);
+	private final AtomicInteger received = new AtomicInteger();
+	private DisposableServer server;
+	private ConnectionProvider connectionProvider;
+
+	@BeforeEach
+	void setUp() {
+		server = HttpServer.create()
+			.port(0)
+			.route(routes -> routes
+				.get("/slow", (request, response) -> {
+					received.incrementAndGet();
+					slowRequestReceived.countDown();
+					return response.sendString(Mono.fromFuture(release).thenReturn("slow"));
+				})
+				.get("/fast", (request, response) -> {
+					received.incrementAndGet();
+					return response.sendString(Mono.just("fast"));
+				}))
+			.bindNow();
+	}
+
+	@AfterEach
+	void tearDown() {
+		release.complete(null);
+		if (connectionProvider != null) {
+			connectionProvider.dispose();
+		}
+		server.disposeNow();
+	}
+
+	private RestTemplate restTemplate(int pendingAcquireMaxCount, Duration pendingAcquireTimeout, Duration readTimeout) {
+		MockEnvironment environment = new MockEnvironment()
+			.withProperty("app.http.client.destination.default.max-connections", "50")
+			.withProperty("app.http.client.destination.localhost.max-connections", "1")
+			.withProperty("app.http.client.destination.localhost.port", String.valueOf(server.port()));
+		connectionProvider = config.outboundConnectionProvider(environment, List.of("localhost"),
+			pendingAcquireMaxCount, pendingAcquireTimeout, Duration.ofSeconds(30));
+		return config.restTemplate(config.outboundHttpClient(connectionProvider, Duration.ofSeconds(1), readTimeout));
+	}
+
+	private String url(String path) {
+		return "http://localhost:" + server.port() + path;
+	}
+
+	/**
+	 * Sends a request to {@code /slow} and waits until the stub holds it, so it keeps the host's only connection.
+	 */
+	private CompletableFuture<String> occupyConnection(RestTemplate restTemplate) throws InterruptedException {
+		CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> restTemplate.getForObject(url("/slow"), String.class));
+		assertTrue(slowRequestReceived.await(5, TimeUnit.SECONDS));
+		return slow;
+	}
+
+	private static boolean causedBy(Throwable throwable, Class<? extends Throwable> type) {
+		for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+			if (type.isInstance(cause)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Test
+	@DisplayName("A remote that stops answering fails the request after the read timeout")
+	void failsAfterReadTimeout() {
+		RestTemplate restTemplate = restTemplate(10, Duration.ofSeconds(5), Duration.ofMillis(200));
+
+		long start = System.nanoTime();
+		assertThrows(Exception.class, () -> restTemplate.getForObject(url("/slow"), String.class));
+
+		assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(3)) < 0);
+	}
+
+	@Test
+	@DisplayName("Requests beyond the host's connections wait for one, up to the pending-acquire limit")
+	void rejectsBeyondPendingAcquireLimit() throws Exception {
+		RestTemplate restTemplate = restTemplate(1, Duration.ofSeconds(5), Duration.ofSeconds(10));
+		CompletableFuture<String> slow = occupyConnection(restTemplate);
+		CompletableFuture<String> waiting = CompletableFuture.supplyAsync(() -> restTemplate.getForObject(url("/fast"), String.class));
+		Thread.sleep(200);
+
+		Exception rejected = assertThrows(Exception.class, () -> restTemplate.getForObject(url("/fast"), String.class));
+
+		assertTrue(causedBy(rejected, PoolAcquirePendingLimitException.class), rejected::toString);
+		assertFalse(waiting.isDone());
+		assertEquals(1, received.get());
+		release.complete(null);
+		assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+		assertEquals("fast", waiting.get(5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	@DisplayName("A request waiting for a connection gives up after the pending-acquire timeout")
+	void failsAfterPendingAcquireTimeout() throws Exception {
+		RestTemplate restTemplate = restTemplate(10, Duration.ofMillis(200), Duration.ofSeconds(10));
+		occupyConnection(restTemplate);
+
+		Exception timedOut = assertThrows(Exception.class, () -> restTemplate.getForObject(url("/fast"), String.class));
+
+		assertTrue(causedBy(timedOut, PoolAcquireTimeoutException.class), timedOut::toString);
+		assertEquals(1, received.get());
+	}
+}
@@ -0,0 +1,47 @@
+package app.bola.taskforge.domain.entity;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NotificationPreferenceTest {
+
+	private NotificationPreference preference(LocalTime start, LocalTime end, String timeZone) {
+		return NotificationPreference.builder().quietHoursStart(start).quietHoursEnd(end).timeZone(timeZone).build();
+	}
+
+	@Nested
+	@DisplayName("Quiet Hours Tests")
+	public class QuietHoursTests {
+
+		@Test
+		@DisplayName("should handle a window that runs through midnight")
+		public void shouldHandleWindowCrossingMidnight() {
+			NotificationPreference preference = preference(LocalTime.of(22, 0), LocalTime.of(7, 0), null);
+
+			assertTrue(preference.isInQuietHours(LocalTime.of(23, 30)));
+			assertTrue(preference.isInQuietHours(LocalTime.of(2, 0)));
+			assertTrue(preference.isInQuietHours(LocalTime.of(22, 0)));
+			assertFalse(preference.isInQuietHours(LocalTime.of(7, 0)));
+			assertFalse(preference.isInQuietHours(LocalTime.of(12, 0)));
+		}
+
+		@Test
+		@DisplayName("should release at the end of the window in the member's time zone")
+		public void shouldComputeReleaseInMemberTimeZone() {
+			NotificationPreference preference = preference(LocalTime.of(22, 0), LocalTime.of(7, 0), "Africa/Lagos");
+
+			// 22:30 in Lagos (UTC+1) on the 14th, so the window ends at 07:00 Lagos time on the 15th.
+			Optional<Instant> releaseAt = preference.quietHoursEndAfter(Instant.parse("2025-03-14T21:30:00Z"));
+
+			assertEquals(Optional.of(Instant.parse("2025-03-15T06:00:00Z")), releaseAt);
+			assertTrue(preference.quietHoursEndAfter(Instant.parse("2025-03-15T11:00:00Z")).isEmpty());
+		}
+	}
+}
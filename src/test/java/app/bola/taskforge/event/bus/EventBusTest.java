@@ -0,0 +1,95 @@
+package app.bola.taskforge.event.bus;
+
+import app.bola.taskforge.event.ProjectEvent;
+import app.bola.taskforge.event.TaskEvent;
+import app.bola.taskforge.event.TaskForgeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventBusTest {
+
+	private final EventCodec eventCodec = new EventCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+	private final InMemoryEventBus eventBus = new InMemoryEventBus(4);
+
+	@AfterEach
+	public void tearDown() {
+		eventBus.shutdown();
+	}
+
+	private TaskEvent taskEvent(String organizationId, String taskId) {
+		TaskEvent event = new TaskEvent(new Object());
+		event.setTaskId(taskId);
+		event.setProjectId("project-1");
+		event.setOrganizationId(organizationId);
+		event.setEventType(TaskEvent.EventType.TASK_CREATED);
+		event.setInitiatorId("ada@taskforge.app");
+		event.setDateTimeStamp(LocalDateTime.of(2025, 3, 14, 9, 30));
+		return event;
+	}
+
+	@Nested
+	@DisplayName("Event Codec Tests")
+	public class CodecTests {
+
+		@Test
+		@DisplayName("should decode an encoded task event without its source")
+		public void shouldRoundTripTaskEvent() {
+			TaskForgeEvent decoded = eventCodec.decode(eventCodec.encode(taskEvent("org-1", "task-1")));
+
+			TaskEvent event = assertInstanceOf(TaskEvent.class, decoded);
+			assertEquals("task-1", event.getTaskId());
+			assertEquals("org-1", event.getOrganizationId());
+			assertEquals(TaskEvent.EventType.TASK_CREATED, event.getEventType());
+			assertEquals("ada@taskforge.app", event.getInitiatorId());
+			assertEquals(LocalDateTime.of(2025, 3, 14, 9, 30), event.getDateTimeStamp());
+			assertEquals("event-bus", event.getSource());
+		}
+
+		@Test
+		@DisplayName("should decode an encoded project event")
+		public void shouldRoundTripProjectEvent() {
+			ProjectEvent event = new ProjectEvent(new Object(), "project-1", "create");
+			event.setOrganizationId("org-1");
+
+			ProjectEvent decoded = assertInstanceOf(ProjectEvent.class, eventCodec.decode(eventCodec.encode(event)));
+
+			assertEquals("project-1", decoded.getProjectId());
+			assertEquals(ProjectEvent.EventType.PROJECT_CREATED, decoded.getEventType());
+		}
+	}
+
+	@Nested
+	@DisplayName("In-Memory Transport Tests")
+	public class InMemoryTransportTests {
+
+		@Test
+		@DisplayName("should deliver an organization's events off the publishing thread and in order")
+		public void shouldDeliverInOrderPerOrganization() {
+			List<String> received = new CopyOnWriteArrayList<>();
+			List<Thread> threads = new CopyOnWriteArrayList<>();
+			eventBus.subscribe("test", event -> {
+				threads.add(Thread.currentThread());
+				received.add(((TaskEvent) event).getTaskId());
+			});
+
+			IntStream.range(0, 50).forEach(index -> eventBus.publish(taskEvent("org-1", "task-" + index)));
+
+			await().atMost(Duration.ofSeconds(5)).until(() -> received.size() == 50);
+			assertEquals(IntStream.range(0, 50).mapToObj(index -> "task-" + index).toList(), received);
+			assertFalse(threads.contains(Thread.currentThread()));
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package app.bola.taskforge.event.outbox;
+
+import app.bola.taskforge.event.TaskEvent;
+import app.bola.taskforge.event.TaskForgeEvent;
+import app.bola.taskforge.event.bus.EventBus;
+import app.bola.taskforge.event.bus.EventCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class EventOutboxRelayTest {
+
+	@Mock
+	private EventOutboxRepository outboxRepository;
+	@Mock
+	private EventBus eventBus;
+	@Mock
+	private ScheduledExecutorService scheduledExecutorService;
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private final EventCodec eventCodec = new EventCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+	private EventOutboxRelay outboxRelay;
+
+	@BeforeEach
+	public void setUp() {
+		outboxRelay = new EventOutboxRelay(outboxRepository, eventBus, eventCodec, scheduledExecutorService, transactionManager);
+		ReflectionTestUtils.setField(outboxRelay, "batchSize", 2);
+		ReflectionTestUtils.setField(outboxRelay, "publishTimeout", Duration.ofSeconds(1));
+		when(outboxRepository.tryLockRelay(anyLong())).thenReturn(true);
+	}
+
+	private List<EventOutbox> entries(long... ids) {
+		return LongStream.of(ids).mapToObj(id -> {
+			TaskEvent event = new TaskEvent(new Object());
+			event.setTaskId("task-" + id);
+			event.setOrganizationId("org-1");
+			return EventOutbox.builder()
+				.id(id)
+				.payload(new String(eventCodec.encode(event), StandardCharsets.UTF_8))
+				.build();
+		}).toList();
+	}
+
+	@Test
+	@DisplayName("should publish every batch in order and delete what the bus accepted")
+	@SuppressWarnings("unchecked")
+	public void shouldPublishBatchesInOrder() {
+		List<EventOutbox> first = entries(1, 2);
+		List<EventOutbox> second = entries(3);
+		when(outboxRepository.findOldest(2)).thenReturn(first, second);
+		when(eventBus.publish(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+		outboxRelay.relay();
+
+		ArgumentCaptor<TaskForgeEvent> published = ArgumentCaptor.forClass(TaskForgeEvent.class);
+		verify(eventBus, times(3)).publish(published.capture());
+		assertEquals(List.of("task-1", "task-2", "task-3"),
+			published.getAllValues().stream().map(event -> ((TaskEvent) event).getTaskId()).toList());
+		verify(outboxRepository).deleteAllInBatch(first);
+		verify(outboxRepository).deleteAllInBatch(second);
+	}
+
+	@Test
+	@DisplayName("should keep the batch in the outbox when the bus rejects an event")
+	public void shouldKeepBatchOnFailure() {
+		when(outboxRepository.findOldest(2)).thenReturn(entries(1, 2));
+		when(eventBus.publish(any())).thenReturn(CompletableFuture.completedFuture(null),
+			CompletableFuture.failedFuture(new IllegalStateException("broker unavailable")));
+
+		outboxRelay.relay();
+
+		verify(outboxRepository, never()).deleteAllInBatch(anyIterable());
+		verify(transactionManager).rollback(any());
+	}
+
+	@Test
+	@DisplayName("should dead-letter an entry it cannot decode and relay the rest of the batch")
+	public void shouldDeadLetterUndecodableEntry() {
+		List<EventOutbox> batch = entries(1, 2);
+		EventOutbox poison = EventOutbox.builder().id(3L).eventType("RenamedEvent")
+			.payload("{\"type\":\"RenamedEvent\",\"event\":{}}").build();
+		when(outboxRepository.findOldest(2)).thenReturn(List.of(batch.get(0), poison, batch.get(1)), List.of());
+		when(eventBus.publish(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+		outboxRelay.relay();
+
+		verify(eventBus, times(2)).publish(any());
+		verify(outboxRepository).deleteAllInBatch(batch);
+		verify(outboxRepository).save(poison);
+		assertNotNull(poison.getDeadLetteredAt());
+		assertEquals("Unknown event type: RenamedEvent", poison.getLastError());
+		verify(transactionManager, never()).rollback(any());
+	}
+
+	@Test
+	@DisplayName("should leave the outbox to the node holding the relay lock")
+	public void shouldSkipWithoutLock() {
+		when(outboxRepository.tryLockRelay(anyLong())).thenReturn(false);
+
+		assertEquals(0, outboxRelay.relayBatch());
+		verify(outboxRepository, never()).findOldest(anyInt());
+	}
+}
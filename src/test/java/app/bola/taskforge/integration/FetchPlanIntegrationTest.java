@@ -0,0 +1,251 @@
+package app.bola.taskforge.integration;
+
+import app.bola.taskforge.common.cache.SecondLevelCacheInvalidation;
+import app.bola.taskforge.common.pagination.CursorPage;
+import app.bola.taskforge.common.pagination.KeysetCursor;
+import app.bola.taskforge.common.pagination.KeysetPaging;
+import app.bola.taskforge.config.SecondLevelCacheConfig;
+import app.bola.taskforge.domain.context.TenantContext;
+import app.bola.taskforge.domain.entity.*;
+import app.bola.taskforge.domain.enums.Role;
+import app.bola.taskforge.domain.enums.TaskStatus;
+import app.bola.taskforge.repository.ProjectRepository;
+import app.bola.taskforge.repository.TaskRepository;
+import app.bola.taskforge.service.ViewResponseAssembler;
+import app.bola.taskforge.service.dto.MemberResponse;
+import app.bola.taskforge.service.dto.ProjectResponse;
+import app.bola.taskforge.service.dto.TaskResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that reading a page of tasks, projects or project members, and everything their responses are mapped from,
+ * takes the same number of statements however many rows the page holds.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import({SecondLevelCacheConfig.class, SecondLevelCacheInvalidation.class, ViewResponseAssembler.class})
+class FetchPlanIntegrationTest {
+
+	@MockitoBean
+	private StringRedisTemplate redisTemplate;
+	@MockitoBean
+	private RedisConnectionFactory redisConnectionFactory;
+	@MockitoBean
+	private RedisMessageListenerContainer listenerContainer;
+	@Autowired
+	private TestEntityManager entityManager;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private TaskRepository taskRepository;
+	@Autowired
+	private ProjectRepository projectRepository;
+	@Autowired
+	private ViewResponseAssembler viewResponseAssembler;
+	private Organization organization;
+
+	@BeforeEach
+	void setUp() {
+		organization = entityManager.persist(Organization.builder()
+			.name("Fetch Plans").slug("fetch-plans-" + UUID.randomUUID()).publicId(UUID.randomUUID().toString()).build());
+		TenantContext.setCurrentTenant(organization.getPublicId());
+	}
+
+	@AfterEach
+	void tearDown() {
+		TenantContext.clear();
+	}
+
+	@Test
+	@DisplayName("A page of tasks costs the same number of statements for 2 tasks as for 20")
+	void taskPagesTakeConstantStatements() {
+		assertEquals(statementsToReadTasks(2), statementsToReadTasks(20));
+	}
+
+	@Test
+	@DisplayName("A page of projects costs the same number of statements for 2 projects as for 20")
+	void projectPagesTakeConstantStatements() {
+		assertEquals(statementsToReadProjects(2), statementsToReadProjects(20));
+	}
+
+	@Test
+	@DisplayName("Task responses read from projections take two statements for a page of any size")
+	void taskViewPagesTakeConstantStatements() {
+		persistTasks(20);
+		Statistics statistics = freshStatistics();
+
+		List<TaskResponse> responses = viewResponseAssembler.toTaskResponses(taskRepository.findFirstViewPageScoped(Limit.of(100)));
+
+		assertEquals(20, responses.size());
+		responses.forEach(response -> {
+			assertNotNull(response.getProjectId());
+			assertEquals(Set.of(Role.TEAM_MEMBER), response.getAssignee().getRoles());
+		});
+		// The page and the assignees' roles
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	@DisplayName("Project responses read from projections take three statements for a page of any size")
+	void projectViewPagesTakeConstantStatements() {
+		persistProjects(20);
+		Statistics statistics = freshStatistics();
+
+		List<ProjectResponse> responses = viewResponseAssembler.toProjectResponses(projectRepository.findFirstViewPageScoped(Limit.of(100)));
+
+		assertEquals(20, responses.size());
+		responses.forEach(response -> {
+			assertEquals(2, response.getMemberIds().size());
+			assertEquals(Set.of(Role.TEAM_MEMBER), response.getTeamLead().getRoles());
+		});
+		// The page, the members of every project on it and the roles of every member
+		assertEquals(3, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	@DisplayName("Streaming a tenant's tasks returns live rows of that tenant only, read-only")
+	void streamingReadsTenantRowsReadOnly() {
+		persistTasks(3);
+		Task deleted = taskRepository.findAllScoped().getFirst();
+		deleted.setDeleted(true);
+		Organization tenant = organization;
+		organization = entityManager.persist(Organization.builder()
+			.name("Other Tenant " + UUID.randomUUID()).slug("other-" + UUID.randomUUID()).publicId(UUID.randomUUID().toString()).build());
+		persistTasks(1);
+		freshStatistics();
+
+		List<Task> streamed;
+		try (Stream<Task> tasks = taskRepository.streamAllScoped()) {
+			streamed = tasks.toList();
+		}
+
+		assertEquals(2, streamed.size());
+		Session session = entityManager.getEntityManager().unwrap(Session.class);
+		streamed.forEach(task -> {
+			assertEquals(tenant.getPublicId(), task.getOrganization().getPublicId());
+			assertTrue(session.isReadOnly(task));
+		});
+	}
+
+	@Test
+	@DisplayName("A project's members are read a page at a time, two statements a page, without repeats or gaps")
+	void projectMemberPagesCoverEveryMember() {
+		Project project = persistProject();
+		Set<String> memberIds = new HashSet<>();
+		for (int index = 0; index < 5; index++) {
+			Member member = persistMember();
+			project.getMembers().add(member);
+			memberIds.add(member.getPublicId());
+		}
+		Statistics statistics = freshStatistics();
+
+		List<String> pagedIds = new ArrayList<>();
+		String cursor = null;
+		do {
+			String after = cursor;
+			CursorPage<MemberResponse> page = new KeysetPaging(2).page(2,
+				limit -> projectRepository.findMemberViewPage(project.getId(), after, limit),
+				member -> new KeysetCursor(member.createdAt(), member.publicId()), viewResponseAssembler::toMemberResponses);
+			page.items().forEach(member -> assertEquals(Set.of(Role.TEAM_MEMBER), member.getRoles()));
+			page.items().forEach(member -> pagedIds.add(member.getPublicId()));
+			cursor = page.nextCursor();
+		} while (cursor != null);
+
+		assertEquals(5, pagedIds.size());
+		assertEquals(memberIds, new HashSet<>(pagedIds));
+		// The page and its members' roles, for each of the three pages
+		assertEquals(6, statistics.getPrepareStatementCount());
+	}
+
+	private long statementsToReadTasks(int count) {
+		persistTasks(count);
+		Statistics statistics = freshStatistics();
+
+		List<Task> tasks = taskRepository.findFirstPageScoped(Limit.of(100));
+		tasks.forEach(task -> {
+			task.getProject().getName();
+			task.getOrganization().getName();
+			task.getAssignee().getRoles().size();
+		});
+
+		return statistics.getPrepareStatementCount();
+	}
+
+	private long statementsToReadProjects(int count) {
+		persistProjects(count);
+		Statistics statistics = freshStatistics();
+
+		List<Project> projects = projectRepository.findFirstPageScoped(Limit.of(100));
+		projects.forEach(project -> {
+			project.getOrganization().getName();
+			project.getTeamLead().getRoles().size();
+			project.getMembers().forEach(member -> member.getRoles().size());
+		});
+
+		return statistics.getPrepareStatementCount();
+	}
+
+	private void persistTasks(int count) {
+		for (int index = 0; index < count; index++) {
+			Project project = persistProject();
+			entityManager.persist(Task.builder().title("Task " + index).status(TaskStatus.TODO)
+				.project(project).organization(organization).assignee(persistMember())
+				.publicId(UUID.randomUUID().toString()).build());
+		}
+	}
+
+	private void persistProjects(int count) {
+		for (int index = 0; index < count; index++) {
+			Project project = persistProject();
+			project.getMembers().add(persistMember());
+			project.getMembers().add(persistMember());
+		}
+	}
+
+	private Project persistProject() {
+		return entityManager.persist(Project.builder().name("Project " + UUID.randomUUID()).organization(organization)
+			.teamLead(persistMember()).publicId(UUID.randomUUID().toString()).build());
+	}
+
+	private Member persistMember() {
+		String id = UUID.randomUUID().toString();
+		return entityManager.persist(Member.builder().email(id + "@taskforge.com").password("password")
+			.organization(organization).roles(Set.of(Role.TEAM_MEMBER)).publicId(id).build());
+	}
+
+	private Statistics freshStatistics() {
+		entityManager.flush();
+		entityManager.clear();
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		return statistics;
+	}
+}
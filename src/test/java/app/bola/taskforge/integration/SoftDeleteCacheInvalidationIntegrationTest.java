@@ -0,0 +1,126 @@
+package app.bola.taskforge.integration;
+
+import app.bola.taskforge.common.cache.SecondLevelCacheInvalidation;
+import app.bola.taskforge.config.SecondLevelCacheConfig;
+import app.bola.taskforge.domain.context.TenantContext;
+import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.domain.entity.Organization;
+import app.bola.taskforge.repository.OrganizationRepository;
+import app.bola.taskforge.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks that inserting or soft-deleting a cached entity tells the other instances to drop what they cached for it.
+ * Each repository call commits on its own, since invalidations are only published after a commit.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({SecondLevelCacheConfig.class, SecondLevelCacheInvalidation.class})
+class SoftDeleteCacheInvalidationIntegrationTest {
+
+	@MockitoBean
+	private StringRedisTemplate redisTemplate;
+	@MockitoBean
+	private RedisConnectionFactory redisConnectionFactory;
+	@MockitoBean
+	private RedisMessageListenerContainer listenerContainer;
+	@Autowired
+	private SecondLevelCacheInvalidation invalidation;
+	@Autowired
+	private OrganizationRepository organizationRepository;
+	@Autowired
+	private UserRepository userRepository;
+	private Organization organization;
+
+	@BeforeEach
+	void setUp() {
+		String id = UUID.randomUUID().toString();
+		organization = organizationRepository.save(Organization.builder()
+			.name("Soft Deletes " + id).slug("soft-deletes-" + id).publicId(id).build());
+		TenantContext.setCurrentTenant(organization.getPublicId());
+	}
+
+	@AfterEach
+	void tearDown() {
+		TenantContext.clear();
+	}
+
+	@Test
+	@DisplayName("Soft-deleting a member publishes an invalidation for it")
+	void publishesMemberDeletion() {
+		String id = UUID.randomUUID().toString();
+		Member member = userRepository.save(Member.builder().email(id + "@taskforge.com").password("password")
+			.organization(organization).publicId(id).build());
+
+		userRepository.deleteByIdScoped(id);
+
+		assertTrue(userRepository.findById(member.getId()).orElseThrow().isDeleted());
+		verify(redisTemplate).convertAndSend(eq(invalidation.getChannel()), argThat(updated(Member.class, member.getId())));
+	}
+
+	@Test
+	@DisplayName("Soft-deleting an organization publishes an invalidation for it")
+	void publishesOrganizationDeletion() {
+		organizationRepository.deleteByIdScoped(organization.getPublicId());
+
+		assertTrue(organizationRepository.findById(organization.getId()).orElseThrow().isDeleted());
+		verify(redisTemplate).convertAndSend(eq(invalidation.getChannel()), argThat(updated(Organization.class, organization.getId())));
+	}
+
+	@Test
+	@DisplayName("Registering a member publishes an insert so cached lookups for it are dropped")
+	void publishesMemberInsert() {
+		String id = UUID.randomUUID().toString();
+		Member member = userRepository.save(Member.builder().email(id + "@taskforge.com").password("password")
+			.organization(organization).publicId(id).build());
+
+		verify(redisTemplate).convertAndSend(eq(invalidation.getChannel()), argThat(change(Member.class, member.getId(), "inserted")));
+	}
+
+	@Test
+	@DisplayName("A member of another tenant is left alone")
+	void ignoresOtherTenants() {
+		String id = UUID.randomUUID().toString();
+		Member member = userRepository.save(Member.builder().email(id + "@taskforge.com").password("password")
+			.organization(organization).publicId(id).build());
+		TenantContext.setCurrentTenant(UUID.randomUUID().toString());
+
+		userRepository.deleteByIdScoped(id);
+
+		assertFalse(userRepository.findById(member.getId()).orElseThrow().isDeleted());
+	}
+
+	/**
+	 * Matches the invalidation this instance publishes for the entity, whatever node id it starts with.
+	 */
+	private static ArgumentMatcher<String> updated(Class<?> entityType, String id) {
+		return change(entityType, id, "updated");
+	}
+
+	private static ArgumentMatcher<String> change(Class<?> entityType, String id, String change) {
+		return message -> message.endsWith(" " + entityType.getName() + " " + id + " " + change);
+	}
+}
@@ -13,6 +13,7 @@ import app.bola.taskforge.service.OrganizationService;
 import app.bola.taskforge.service.ProjectService;
 import app.bola.taskforge.service.TaskService;
 import app.bola.taskforge.service.dto.*;
+import app.bola.taskforge.service.mapper.MemberMapper;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -20,7 +21,6 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.commons.util.StringUtils;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
@@ -52,7 +52,7 @@ public class TaskIntegrationTest {
 	@Autowired
 	private OrganizationRepository organizationRepository;
 	@Autowired
-	private ModelMapper modelMapper;
+	private MemberMapper memberMapper;
 	@Autowired
 	private UserRepository userRepository;
 	
@@ -267,7 +267,7 @@ public class TaskIntegrationTest {
 	                .firstName("Jane").lastName("Doe").email("jane.doe@test.com").password("").roles(Set.of(Role.ORGANIZATION_MEMBER))
 	                .organization(organizationRepository.findByIdScoped(orgResponse.getPublicId()).get()).build();
 			
-			memberResponse = modelMapper.map(userRepository.save(member), MemberResponse.class);
+			memberResponse = memberMapper.toResponse(userRepository.save(member));
 		}
 		
 		@Test
@@ -0,0 +1,82 @@
+package app.bola.taskforge.notification.channel;
+
+import app.bola.taskforge.notification.model.ChannelType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChannelExecutorTest {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private ChannelExecutor executor;
+
+	@AfterEach
+	public void tearDown() {
+		release.countDown();
+		executor.shutdown();
+	}
+
+	private void block() {
+		try {
+			release.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Nested
+	@DisplayName("Bulkhead Saturation Tests")
+	public class SaturationTests {
+
+		@Test
+		@DisplayName("should reject deliveries once threads and queue are full")
+		public void shouldRejectWhenSaturated() {
+			executor = new ChannelExecutor(ChannelType.EMAIL, 1, 1, false, ChannelExecutor.RejectionPolicy.ABORT);
+
+			executor.execute(ChannelExecutorTest.this::block);
+			executor.execute(ChannelExecutorTest.this::block);
+
+			assertThrows(RejectedExecutionException.class, () -> executor.execute(ChannelExecutorTest.this::block));
+			ChannelExecutor.ChannelExecutorStats stats = executor.stats();
+			assertEquals(1, stats.queueDepth());
+			assertEquals(3, stats.submitted());
+			assertEquals(1, stats.rejected());
+		}
+
+		@Test
+		@DisplayName("should run overflow on the caller when configured to")
+		public void shouldRunOnCallerWhenSaturated() {
+			executor = new ChannelExecutor(ChannelType.WEBSOCKET, 1, 1, true, ChannelExecutor.RejectionPolicy.CALLER_RUNS);
+			executor.execute(ChannelExecutorTest.this::block);
+			executor.execute(ChannelExecutorTest.this::block);
+
+			Thread caller = Thread.currentThread();
+			Thread[] runner = new Thread[1];
+			executor.execute(() -> runner[0] = Thread.currentThread());
+
+			assertSame(caller, runner[0]);
+			assertEquals(1, executor.stats().rejected());
+		}
+
+		@Test
+		@DisplayName("should reject rather than run on a timer thread whatever the policy")
+		public void shouldNotRunOnTimerWhenSaturated() {
+			executor = new ChannelExecutor(ChannelType.WEBSOCKET, 1, 1, true, ChannelExecutor.RejectionPolicy.CALLER_RUNS);
+			executor.execute(ChannelExecutorTest.this::block);
+			executor.execute(ChannelExecutorTest.this::block);
+
+			boolean[] ran = {false};
+			assertThrows(RejectedExecutionException.class, () -> executor.rejectingWhenFull().execute(() -> ran[0] = true));
+
+			assertFalse(ran[0]);
+			assertEquals(1, executor.stats().rejected());
+		}
+	}
+}
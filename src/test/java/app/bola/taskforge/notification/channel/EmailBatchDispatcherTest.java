@@ -0,0 +1,154 @@
+package app.bola.taskforge.notification.channel;
+
+import app.bola.taskforge.notification.model.DeliveryResult;
+import app.bola.taskforge.notification.model.DeliveryStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmailBatchDispatcherTest {
+
+	private static final String REJECTED_EMAIL = "not-an-email";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final List<Integer> requestSizes = new CopyOnWriteArrayList<>();
+	private final List<String> apiKeys = new CopyOnWriteArrayList<>();
+	private HttpServer server;
+	private ScheduledExecutorService scheduler;
+	private ChannelExecutorRegistry executorRegistry;
+	private EmailBatchDispatcher dispatcher;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/v3/smtp/email", this::respond);
+		server.start();
+
+		scheduler = Executors.newSingleThreadScheduledExecutor();
+		executorRegistry = new ChannelExecutorRegistry(new MockEnvironment());
+		String url = "http://localhost:" + server.getAddress().getPort() + "/v3/smtp/email";
+		dispatcher = new EmailBatchDispatcher(new RestTemplate(), scheduler, executorRegistry, url, "test-key",
+			10, Duration.ofMillis(100));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		server.stop(0);
+		scheduler.shutdownNow();
+		executorRegistry.shutdown();
+	}
+
+	/**
+	 * Answers like Brevo does for a multi-version request: one message id per version, in order, or a 400 for the
+	 * whole request when one of its recipients is {@link #REJECTED_EMAIL}.
+	 */
+	private void respond(HttpExchange exchange) throws IOException {
+		JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+		apiKeys.add(exchange.getRequestHeaders().getFirst("api-key"));
+		List<String> recipients = new ArrayList<>();
+		request.get("messageVersions").forEach(version -> recipients.add(version.get("to").get(0).get("email").asText()));
+		requestSizes.add(recipients.size());
+
+		boolean rejected = recipients.contains(REJECTED_EMAIL);
+		byte[] body = rejected
+			? objectMapper.writeValueAsBytes(Map.of("code", "invalid_parameter", "message", "email is not valid"))
+			: objectMapper.writeValueAsBytes(Map.of("messageIds", recipients.stream().map(email -> "<" + email + ">").toList()));
+		exchange.getResponseHeaders().set("Content-Type", "application/json");
+		exchange.sendResponseHeaders(rejected ? 400 : 201, body.length);
+		try (OutputStream outputStream = exchange.getResponseBody()) {
+			outputStream.write(body);
+		}
+	}
+
+	private EmailBatchDispatcher.EmailMessage message(int index) {
+		return new EmailBatchDispatcher.EmailMessage("bundle-" + index, "user" + index + "@taskforge.com",
+			"user-" + index, "Task updated", "<p>Task updated</p>");
+	}
+
+	@Nested
+	@DisplayName("Batched Email Dispatch Tests")
+	public class BatchedDispatchTests {
+
+		@Test
+		@DisplayName("should send a burst as one request per full batch plus one for the remainder")
+		public void shouldGroupBurstIntoBatches() {
+			List<CompletableFuture<DeliveryResult>> futures = IntStream.range(0, 25)
+				.mapToObj(index -> dispatcher.dispatch(message(index)))
+				.toList();
+			List<DeliveryResult> results = futures.stream().map(future -> future.orTimeout(5, TimeUnit.SECONDS).join()).toList();
+
+			assertEquals(3, requestSizes.size());
+			assertEquals(25, requestSizes.stream().mapToInt(Integer::intValue).sum());
+			assertTrue(apiKeys.stream().allMatch("test-key"::equals));
+			for (int index = 0; index < results.size(); index++) {
+				DeliveryResult result = results.get(index);
+				assertEquals(DeliveryStatus.SUCCESS, result.getStatus());
+				assertEquals("bundle-" + index, result.getBundleId());
+				assertEquals("<user" + index + "@taskforge.com>", result.getExternalId());
+			}
+		}
+
+		@Test
+		@DisplayName("should flush a partial batch once the window elapses")
+		public void shouldFlushPartialBatchAfterWindow() {
+			DeliveryResult result = dispatcher.dispatch(message(1)).orTimeout(5, TimeUnit.SECONDS).join();
+
+			assertEquals(List.of(1), requestSizes);
+			assertEquals(DeliveryStatus.SUCCESS, result.getStatus());
+		}
+
+		@Test
+		@DisplayName("should fail every email in the batch when the provider is unreachable")
+		public void shouldFailWholeBatchOnProviderError() {
+			server.stop(0);
+
+			List<DeliveryResult> results = dispatcher.send(List.of(message(1), message(2)));
+
+			assertEquals(2, results.size());
+			assertTrue(results.stream().allMatch(result -> result.getStatus() == DeliveryStatus.FAILED));
+			assertEquals(List.of("bundle-1", "bundle-2"), results.stream().map(DeliveryResult::getBundleId).toList());
+		}
+
+		@Test
+		@DisplayName("should fail only the email whose recipient the provider rejects")
+		public void shouldFailOnlyRejectedRecipient() {
+			List<EmailBatchDispatcher.EmailMessage> messages = new ArrayList<>(IntStream.range(0, 8)
+				.mapToObj(EmailBatchDispatcherTest.this::message).toList());
+			messages.set(5, new EmailBatchDispatcher.EmailMessage("bundle-5", REJECTED_EMAIL, "user-5", "Task updated", "<p>Task updated</p>"));
+
+			List<DeliveryResult> results = dispatcher.send(messages);
+
+			assertEquals(List.of("bundle-0", "bundle-1", "bundle-2", "bundle-3", "bundle-4", "bundle-5", "bundle-6", "bundle-7"),
+				results.stream().map(DeliveryResult::getBundleId).toList());
+			for (int index = 0; index < results.size(); index++) {
+				assertEquals(index == 5 ? DeliveryStatus.FAILED : DeliveryStatus.SUCCESS, results.get(index).getStatus(), "bundle-" + index);
+			}
+			assertEquals("<user7@taskforge.com>", results.get(7).getExternalId());
+		}
+	}
+}
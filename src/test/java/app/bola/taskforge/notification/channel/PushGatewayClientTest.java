@@ -0,0 +1,117 @@
+package app.bola.taskforge.notification.channel;
+
+import app.bola.taskforge.notification.model.DeliveryResult;
+import app.bola.taskforge.notification.model.DeliveryStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the client against a stub gateway speaking plain-text HTTP/2. The stub reports tokens starting with
+ * {@code gone-} as unregistered and accepts every other token.
+ */
+class PushGatewayClientTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final List<List<String>> requests = new CopyOnWriteArrayList<>();
+	private final Set<String> protocols = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean failing = new AtomicBoolean();
+	private DisposableServer gateway;
+	private PushGatewayClient client;
+
+	@BeforeEach
+	void setUp() {
+		gateway = HttpServer.create()
+			.port(0)
+			.protocol(HttpProtocol.H2C)
+			.route(routes -> routes.post("/push", (request, response) -> request.receive().aggregate().asString()
+				.flatMap(body -> {
+					protocols.add(request.protocol());
+					if (failing.get()) {
+						return response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send().then();
+					}
+					return response.header("content-type", "application/json").sendString(Mono.just(answer(body))).then();
+				})))
+			.bindNow();
+		client = new PushGatewayClient(objectMapper, "http://localhost:" + gateway.port() + "/push", "",
+			HttpProtocol.H2C, 1, 100, Duration.ofSeconds(5), 2);
+	}
+
+	@AfterEach
+	void tearDown() {
+		client.shutdown();
+		gateway.disposeNow();
+	}
+
+	private String answer(String body) {
+		try {
+			JsonNode request = objectMapper.readTree(body);
+			List<String> tokens = objectMapper.convertValue(request.get("tokens"),
+				objectMapper.getTypeFactory().constructCollectionType(List.class, String.class));
+			requests.add(tokens);
+			ArrayNode results = objectMapper.createArrayNode();
+			for (String token : tokens) {
+				ObjectNode result = results.addObject().put("token", token);
+				if (token.startsWith("gone-")) {
+					result.put("status", "UNREGISTERED");
+				} else {
+					result.put("status", "OK").put("messageId", "message-" + token);
+				}
+			}
+			return objectMapper.createObjectNode().set("results", results).toString();
+		} catch (Exception exception) {
+			throw new IllegalStateException(exception);
+		}
+	}
+
+	private static PushGatewayClient.PushMessage message() {
+		return new PushGatewayClient.PushMessage("bundle-1", "Task assigned", "You were assigned a task", Map.of("taskId", "task-1"));
+	}
+
+	@Test
+	@DisplayName("Tokens are sent in batches over HTTP/2 and every token gets its own result")
+	void sendsBatchesAndReportsPerToken() {
+		Map<String, DeliveryResult> results = client.send(message(), List.of("a", "b", "gone-c", "d", "e")).join();
+
+		assertEquals(3, requests.size());
+		assertTrue(requests.stream().allMatch(batch -> batch.size() <= 2));
+		assertEquals(Set.of("HTTP/2.0"), protocols);
+		assertEquals(5, results.size());
+		assertEquals(DeliveryStatus.SUCCESS, results.get("a").getStatus());
+		assertEquals("message-a", results.get("a").getExternalId());
+		assertEquals(DeliveryStatus.DROPPED, results.get("gone-c").getStatus());
+		assertEquals("bundle-1", results.get("e").getBundleId());
+	}
+
+	@Test
+	@DisplayName("A gateway error fails every token of the request")
+	void gatewayErrorFailsEveryToken() {
+		failing.set(true);
+
+		Map<String, DeliveryResult> results = client.send(message(), List.of("a", "b")).join();
+
+		assertEquals(2, results.size());
+		assertTrue(results.values().stream().allMatch(result -> result.getStatus() == DeliveryStatus.FAILED));
+		assertTrue(results.get("a").getErrorMessage().contains("503"));
+	}
+}
@@ -0,0 +1,188 @@
+package app.bola.taskforge.notification.channel;
+
+import app.bola.taskforge.notification.channel.WebSocketOutboundQueue.OverflowPolicy;
+import app.bola.taskforge.notification.channel.WebSocketOutboundQueue.WebSocketFrame;
+import app.bola.taskforge.notification.metrics.NotificationMetrics;
+import app.bola.taskforge.notification.model.DeliveryResult;
+import app.bola.taskforge.notification.model.DeliveryStatus;
+import app.bola.taskforge.notification.model.NotificationBundle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class WebSocketOutboundQueueTest {
+
+	private static final String DESTINATION = "/topic/org-1/user/user-1";
+
+	@Mock
+	private SimpMessagingTemplate messagingTemplate;
+	@Mock
+	private ScheduledExecutorService scheduledExecutorService;
+
+	private WebSocketOutboundQueue queue(int maxDepth, int maxFrameSize, OverflowPolicy policy) {
+		return new WebSocketOutboundQueue(messagingTemplate, scheduledExecutorService, Runnable::run,
+			new NotificationMetrics(new SimpleMeterRegistry(), 100), maxDepth, maxFrameSize, Duration.ofMillis(25), policy);
+	}
+
+	private static NotificationBundle bundle(String id, String entityId) {
+		return NotificationBundle.builder().id(id).userId("user-1").sourceEntityIds(List.of(entityId)).build();
+	}
+
+	private List<CompletableFuture<DeliveryResult>> enqueue(WebSocketOutboundQueue queue, NotificationBundle... bundles) {
+		List<CompletableFuture<DeliveryResult>> results = new ArrayList<>();
+		for (NotificationBundle bundle : bundles) {
+			results.add(queue.enqueue("org-1", "user-1", DESTINATION, bundle));
+		}
+		return results;
+	}
+
+	private List<List<String>> sentFrames() {
+		ArgumentCaptor<WebSocketFrame> frames = ArgumentCaptor.forClass(WebSocketFrame.class);
+		verify(messagingTemplate, atLeastOnce()).convertAndSendToUser(eq("user-1"), eq(DESTINATION), frames.capture());
+		return frames.getAllValues().stream()
+			.map(frame -> frame.bundles().stream().map(NotificationBundle::getId).toList())
+			.toList();
+	}
+
+	@Nested
+	@DisplayName("Coalescing Tests")
+	public class CoalescingTests {
+
+		@Test
+		@DisplayName("should send the bundles queued within the window as one frame")
+		public void shouldCoalesceIntoOneFrame() {
+			WebSocketOutboundQueue queue = queue(100, 50, OverflowPolicy.DROP_OLDEST);
+
+			List<CompletableFuture<DeliveryResult>> results = enqueue(queue, bundle("b1", "t1"), bundle("b2", "t2"), bundle("b3", "t3"));
+			verify(scheduledExecutorService, times(1)).schedule(any(Runnable.class), eq(25L), eq(TimeUnit.MILLISECONDS));
+			queue.flush("org-1:user-1");
+
+			assertEquals(List.of(List.of("b1", "b2", "b3")), sentFrames());
+			assertTrue(results.stream().allMatch(result -> result.join().getStatus() == DeliveryStatus.SUCCESS));
+			assertEquals(1, queue.stats().getFirst().framesSent());
+			assertEquals(0, queue.stats().getFirst().queueDepth());
+		}
+
+		@Test
+		@DisplayName("should split a backlog into frames of the maximum size")
+		public void shouldSplitLargeBacklog() {
+			WebSocketOutboundQueue queue = queue(100, 2, OverflowPolicy.DROP_OLDEST);
+
+			enqueue(queue, bundle("b1", "t1"), bundle("b2", "t2"), bundle("b3", "t3"));
+			queue.flush("org-1:user-1");
+
+			assertEquals(List.of(List.of("b1", "b2"), List.of("b3")), sentFrames());
+		}
+
+		@Test
+		@DisplayName("should not start a second flush for bundles that arrive while a frame is being sent")
+		public void shouldKeepOneFlushInFlight() {
+			WebSocketOutboundQueue queue = queue(100, 50, OverflowPolicy.DROP_OLDEST);
+			doAnswer(invocation -> {
+				WebSocketFrame frame = invocation.getArgument(2);
+				if (frame.bundles().getFirst().getId().equals("b1")) {
+					enqueue(queue, bundle("b2", "t2"));
+				}
+				return null;
+			}).when(messagingTemplate).convertAndSendToUser(eq("user-1"), eq(DESTINATION), any(WebSocketFrame.class));
+
+			enqueue(queue, bundle("b1", "t1"));
+			queue.flush("org-1:user-1");
+
+			verify(scheduledExecutorService, times(1)).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+			assertEquals(List.of(List.of("b1"), List.of("b2")), sentFrames());
+			assertEquals(0, queue.stats("org-1").queueDepth());
+		}
+
+		@Test
+		@DisplayName("should retry a flush later instead of sending on the timer when the executor is full")
+		public void shouldRescheduleRejectedFlush() {
+			WebSocketOutboundQueue queue = new WebSocketOutboundQueue(messagingTemplate, scheduledExecutorService,
+				command -> { throw new RejectedExecutionException("full"); },
+				new NotificationMetrics(new SimpleMeterRegistry(), 100), 100, 50, Duration.ofMillis(25), OverflowPolicy.DROP_OLDEST);
+			ArgumentCaptor<Runnable> timer = ArgumentCaptor.forClass(Runnable.class);
+
+			List<CompletableFuture<DeliveryResult>> results = enqueue(queue, bundle("b1", "t1"));
+			verify(scheduledExecutorService).schedule(timer.capture(), eq(25L), eq(TimeUnit.MILLISECONDS));
+			timer.getValue().run();
+
+			verify(scheduledExecutorService, times(2)).schedule(any(Runnable.class), eq(25L), eq(TimeUnit.MILLISECONDS));
+			verifyNoInteractions(messagingTemplate);
+			assertFalse(results.getFirst().isDone());
+			assertEquals(1, queue.stats("org-1").queueDepth());
+		}
+
+		@Test
+		@DisplayName("should report the statistics of the requested tenant only")
+		public void shouldScopeStatsToTenant() {
+			WebSocketOutboundQueue queue = queue(100, 50, OverflowPolicy.DROP_OLDEST);
+
+			enqueue(queue, bundle("b1", "t1"), bundle("b2", "t2"));
+			queue.enqueue("org-2", "user-2", "/topic/org-2/user/user-2", bundle("b3", "t3"));
+
+			assertEquals(new WebSocketOutboundQueue.TenantQueueStats("org-1", 2, 0, 0, 0), queue.stats("org-1"));
+			assertEquals(new WebSocketOutboundQueue.TenantQueueStats("org-3", 0, 0, 0, 0), queue.stats("org-3"));
+		}
+	}
+
+	@Nested
+	@DisplayName("Slow Consumer Policy Tests")
+	public class OverflowTests {
+
+		@Test
+		@DisplayName("should drop the oldest bundle when the queue is full")
+		public void shouldDropOldest() {
+			WebSocketOutboundQueue queue = queue(2, 50, OverflowPolicy.DROP_OLDEST);
+
+			List<CompletableFuture<DeliveryResult>> results = enqueue(queue, bundle("b1", "t1"), bundle("b2", "t2"), bundle("b3", "t3"));
+			queue.flush("org-1:user-1");
+
+			assertEquals(DeliveryStatus.DROPPED, results.getFirst().join().getStatus());
+			assertEquals(List.of(List.of("b2", "b3")), sentFrames());
+			assertEquals(1, queue.stats().getFirst().dropped());
+		}
+
+		@Test
+		@DisplayName("should drop the new bundle when the queue is full")
+		public void shouldDropNewest() {
+			WebSocketOutboundQueue queue = queue(2, 50, OverflowPolicy.DROP_NEWEST);
+
+			List<CompletableFuture<DeliveryResult>> results = enqueue(queue, bundle("b1", "t1"), bundle("b2", "t2"), bundle("b3", "t3"));
+			queue.flush("org-1:user-1");
+
+			assertEquals(DeliveryStatus.DROPPED, results.getLast().join().getStatus());
+			assertEquals(List.of(List.of("b1", "b2")), sentFrames());
+		}
+
+		@Test
+		@DisplayName("should replace a queued bundle about the same entity")
+		public void shouldCollapseSameEntity() {
+			WebSocketOutboundQueue queue = queue(2, 50, OverflowPolicy.COLLAPSE);
+
+			List<CompletableFuture<DeliveryResult>> results = enqueue(queue, bundle("b1", "t1"), bundle("b2", "t2"), bundle("b3", "t2"));
+			queue.flush("org-1:user-1");
+
+			assertEquals(DeliveryStatus.DROPPED, results.get(1).join().getStatus());
+			assertEquals(List.of(List.of("b1", "b3")), sentFrames());
+		}
+	}
+}
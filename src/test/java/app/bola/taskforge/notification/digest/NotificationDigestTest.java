@@ -0,0 +1,119 @@
+package app.bola.taskforge.notification.digest;
+
+import app.bola.taskforge.domain.entity.Organization;
+import app.bola.taskforge.notification.channel.EmailBatchDispatcher;
+import app.bola.taskforge.notification.model.ChannelType;
+import app.bola.taskforge.notification.model.DeliveryResult;
+import app.bola.taskforge.repository.NotificationRepository;
+import app.bola.taskforge.repository.OrganizationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationDigestTest {
+
+	@Mock
+	private OrganizationRepository organizationRepository;
+	@Mock
+	private EmailBatchDispatcher emailBatchDispatcher;
+	@Mock
+	private NotificationRepository notificationRepository;
+
+	private static Organization organization(String publicId, String timeZone) {
+		return Organization.builder().publicId(publicId).timeZone(timeZone).build();
+	}
+
+	private static NotificationDigest digest(String memberId, String... notificationIds) {
+		return new NotificationDigest(memberId, memberId + "@taskforge.com", memberId, "Digest", "<p>digest</p>",
+			List.of(notificationIds));
+	}
+
+	@Nested
+	@DisplayName("Partitioning")
+	class Partitioning {
+
+		@Test
+		@DisplayName("Each tenant gets a partition with the hour it is in the tenant's time zone")
+		void partitionsCarryTheLocalHour() {
+			when(organizationRepository.findAllScoped()).thenReturn(List.of(
+				organization("lagos", "Africa/Lagos"),
+				organization("new-york", "America/New_York"),
+				organization("no-zone", null),
+				organization("bad-zone", "Mars/Olympus")));
+
+			Map<String, ExecutionContext> partitions = new TenantDigestPartitioner(organizationRepository,
+				Instant.parse("2026-01-15T07:00:00Z")).partition(4);
+
+			assertEquals(4, partitions.size());
+			assertEquals(8, partitions.get("tenant:lagos").getInt(TenantDigestPartitioner.LOCAL_HOUR));
+			assertEquals(2, partitions.get("tenant:new-york").getInt(TenantDigestPartitioner.LOCAL_HOUR));
+			assertEquals(7, partitions.get("tenant:no-zone").getInt(TenantDigestPartitioner.LOCAL_HOUR));
+			assertEquals(7, partitions.get("tenant:bad-zone").getInt(TenantDigestPartitioner.LOCAL_HOUR));
+			assertEquals("lagos", partitions.get("tenant:lagos").getString(TenantDigestPartitioner.TENANT_ID));
+		}
+	}
+
+	@Nested
+	@DisplayName("Writing")
+	class Writing {
+
+		@Mock
+		private PlatformTransactionManager transactionManager;
+
+		private DigestItemWriter writer() {
+			return new DigestItemWriter(emailBatchDispatcher, notificationRepository, transactionManager, "2026-01-15T07:00:00Z");
+		}
+
+		@Test
+		@DisplayName("Notifications are claimed before their digest is sent and released when it was not sent")
+		void claimsBeforeSendingAndReleasesFailures() {
+			when(notificationRepository.markDigested(eq(List.of("n1", "n2")), any())).thenReturn(2);
+			when(notificationRepository.markDigested(eq(List.of("n3")), any())).thenReturn(1);
+			when(emailBatchDispatcher.send(anyList())).thenReturn(List.of(
+				DeliveryResult.success("digest:a", ChannelType.EMAIL, "message-a"),
+				DeliveryResult.failure("digest:b", ChannelType.EMAIL, "Rejected")));
+
+			writer().write(Chunk.of(digest("a", "n1", "n2"), digest("b", "n3")));
+
+			InOrder order = inOrder(notificationRepository, emailBatchDispatcher);
+			ArgumentCaptor<LocalDateTime> claimedAt = ArgumentCaptor.forClass(LocalDateTime.class);
+			order.verify(notificationRepository).markDigested(eq(List.of("n1", "n2")), claimedAt.capture());
+			order.verify(emailBatchDispatcher).send(argThat(messages -> messages.size() == 2
+				&& messages.getFirst().bundleId().equals("digest:2026-01-15T07:00:00Z:a")));
+			order.verify(notificationRepository).releaseDigested(List.of("n3"), claimedAt.getValue());
+			verify(notificationRepository, never()).releaseDigested(eq(List.of("n1", "n2")), any());
+		}
+
+		@Test
+		@DisplayName("A digest another run claimed first is not sent again")
+		void skipsDigestsClaimedElsewhere() {
+			when(notificationRepository.markDigested(eq(List.of("n1", "n2")), any())).thenReturn(1);
+			when(notificationRepository.markDigested(eq(List.of("n3")), any())).thenReturn(0);
+
+			writer().write(Chunk.of(digest("a", "n1", "n2"), digest("b", "n3")));
+
+			verify(notificationRepository).releaseDigested(eq(List.of("n1", "n2")), any());
+			verify(notificationRepository, never()).releaseDigested(eq(List.of("n3")), any());
+			verifyNoInteractions(emailBatchDispatcher);
+		}
+	}
+}
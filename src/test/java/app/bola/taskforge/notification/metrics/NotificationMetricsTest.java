@@ -0,0 +1,56 @@
+package app.bola.taskforge.notification.metrics;
+
+import app.bola.taskforge.notification.model.ChannelType;
+import app.bola.taskforge.notification.model.DeliveryStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationMetricsTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private NotificationMetrics metrics;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		metrics = new NotificationMetrics(meterRegistry, 2);
+	}
+
+	@Test
+	@DisplayName("Tenants past the limit share the 'other' tag")
+	void tenantsPastTheLimitShareOneTag() {
+		assertEquals("org-1", metrics.tenantTag("org-1"));
+		assertEquals("org-2", metrics.tenantTag("org-2"));
+		assertEquals("other", metrics.tenantTag("org-3"));
+		assertEquals("org-1", metrics.tenantTag("org-1"));
+		assertEquals("none", metrics.tenantTag(null));
+	}
+
+	@Test
+	@DisplayName("Deliveries are timed per channel, tenant and outcome")
+	void deliveriesAreTaggedByOutcome() {
+		metrics.delivered(ChannelType.EMAIL, "org-1", DeliveryStatus.SUCCESS, Duration.ofMillis(20));
+		metrics.delivered(ChannelType.EMAIL, "org-1", DeliveryStatus.SUCCESS, Duration.ofMillis(40));
+		metrics.delivered(ChannelType.EMAIL, "org-1", DeliveryStatus.FAILED, Duration.ofMillis(5));
+
+		assertEquals(2, meterRegistry.get("notification.delivery")
+			.tags("channel", "email", "tenant", "org-1", "outcome", "success").timer().count());
+		assertEquals(1, meterRegistry.get("notification.delivery").tag("outcome", "failed").timer().count());
+	}
+
+	@Test
+	@DisplayName("A gauge whose source fails reports NaN")
+	void failingGaugeReportsNaN() {
+		metrics.gauge("notification.debounce.pending", () -> {
+			throw new IllegalStateException("Redis is down");
+		});
+
+		assertTrue(Double.isNaN(meterRegistry.get("notification.debounce.pending").gauge().value()));
+	}
+}
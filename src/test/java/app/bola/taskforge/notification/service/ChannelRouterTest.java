@@ -0,0 +1,119 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.notification.channel.ChannelExecutor;
+import app.bola.taskforge.notification.channel.ChannelExecutorRegistry;
+import app.bola.taskforge.notification.channel.ChannelHandler;
+import app.bola.taskforge.notification.metrics.NotificationMetrics;
+import app.bola.taskforge.notification.model.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChannelRouterTest {
+
+	@Mock
+	private ChannelHandler emailHandler;
+	@Mock
+	private ChannelExecutorRegistry executorRegistry;
+	@Mock
+	private ChannelExecutor executor;
+	@Mock
+	private DeliveryOutboxService outboxService;
+	@Mock
+	private DeferredDeliveryStore deferredDeliveryStore;
+	private ChannelRouter channelRouter;
+	private NotificationBundle bundle;
+	private DeliveryOutbox entry;
+
+	@BeforeEach
+	void setUp() {
+		channelRouter = new ChannelRouter(List.of(emailHandler), executorRegistry, outboxService, deferredDeliveryStore,
+			new NotificationMetrics(new SimpleMeterRegistry(), 100));
+		bundle = NotificationBundle.builder().id("bundle-1").emailTo("ada@taskforge.com").channels(Set.of(ChannelType.EMAIL)).build();
+		entry = DeliveryOutbox.builder().bundleId("bundle-1").channel(ChannelType.EMAIL).bundle(bundle).build();
+		entry.setId("outbox-1");
+
+		when(emailHandler.canHandle(bundle)).thenReturn(true);
+		when(emailHandler.getChannelType()).thenReturn(ChannelType.EMAIL);
+		when(outboxService.enqueue(bundle, ChannelType.EMAIL)).thenReturn(Optional.of(entry));
+		lenient().when(executorRegistry.executorFor(ChannelType.EMAIL)).thenReturn(executor);
+		lenient().doAnswer(invocation -> {
+			invocation.<Runnable>getArgument(0).run();
+			return null;
+		}).when(executor).execute(any());
+		lenient().when(emailHandler.deliverAsync(eq(bundle), any())).thenReturn(
+			CompletableFuture.completedFuture(DeliveryResult.success("bundle-1", ChannelType.EMAIL, "message-1")));
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	@DisplayName("Inside a transaction the bundle is queued right away but only sent once the transaction commits")
+	void sendsAfterCommit() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		channelRouter.routeAfterCommit(bundle);
+
+		verify(outboxService).enqueue(bundle, ChannelType.EMAIL);
+		verify(emailHandler, never()).deliverAsync(any(), any());
+
+		TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+		verify(emailHandler).deliverAsync(eq(bundle), any());
+		verify(outboxService).record(eq("outbox-1"), any());
+	}
+
+	@Test
+	@DisplayName("A transaction that rolls back sends nothing")
+	void sendsNothingOnRollback() {
+		TransactionSynchronizationManager.initSynchronization();
+
+		channelRouter.routeAfterCommit(bundle);
+		TransactionSynchronizationManager.getSynchronizations()
+			.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		verify(emailHandler, never()).deliverAsync(any(), any());
+	}
+
+	@Test
+	@DisplayName("Without a transaction the bundle is sent right away")
+	void sendsImmediatelyWithoutTransaction() {
+		channelRouter.routeAfterCommit(bundle);
+
+		verify(emailHandler).deliverAsync(eq(bundle), any());
+	}
+
+	@Test
+	@DisplayName("A delivery the full executor rejects is released without counting as an attempt")
+	void releasesRejectedDelivery() {
+		when(emailHandler.deliverAsync(eq(bundle), any())).thenThrow(new RejectedExecutionException("queue is full"));
+
+		channelRouter.route(bundle);
+
+		verify(outboxService).release("outbox-1");
+		verify(outboxService, never()).record(any(), any());
+	}
+}
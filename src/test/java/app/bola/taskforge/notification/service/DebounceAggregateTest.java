@@ -0,0 +1,54 @@
+package app.bola.taskforge.notification.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DebounceAggregateTest {
+
+	@Test
+	@DisplayName("The hash is read back with its counts and with entity ids in the order they were first seen")
+	void readsTheHash() {
+		DebounceAggregate aggregate = DebounceAggregate.of(List.of(
+			"id", "candidate-1",
+			"tenant", "org-1",
+			"user", "user-1",
+			"total", "7",
+			"first", "1700000000000",
+			"last", "1700000060000",
+			"type:TASK_UPDATED", "5",
+			"type:COMMENT_ADDED", "2",
+			"entity:task-2", "2:Task",
+			"entity:task-1", "1:Task",
+			"entity:comment-9", "3:Comment",
+			"entities", "3",
+			"omitted", "4"));
+
+		assertEquals("candidate-1", aggregate.id());
+		assertEquals("org-1", aggregate.tenantId());
+		assertEquals("user-1", aggregate.userId());
+		assertEquals(7, aggregate.total());
+		assertEquals(60_000, aggregate.lastAt() - aggregate.firstAt());
+		assertEquals(Map.of("TASK_UPDATED", 5L, "COMMENT_ADDED", 2L), aggregate.eventCounts());
+		assertEquals(List.of("task-1", "task-2", "comment-9"), aggregate.entityIds());
+		assertEquals(List.of("Task", "Task", "Comment"), aggregate.entityTypes());
+		assertEquals(4, aggregate.omittedEntities());
+	}
+
+	@Test
+	@DisplayName("Missing and blank fields read as absent rather than failing the flush")
+	void toleratesMissingFields() {
+		DebounceAggregate aggregate = DebounceAggregate.of(List.of("tenant", "", "total", "1", "type:", "1"));
+
+		assertNull(aggregate.tenantId());
+		assertNull(aggregate.id());
+		assertEquals(0, aggregate.firstAt());
+		assertEquals(1, aggregate.total());
+		assertTrue(aggregate.eventCounts().isEmpty());
+		assertTrue(aggregate.entityIds().isEmpty());
+	}
+}
@@ -0,0 +1,285 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.domain.entity.NotificationPreference;
+import app.bola.taskforge.event.EventType;
+import app.bola.taskforge.notification.metrics.NotificationMetrics;
+import app.bola.taskforge.notification.model.NotificationBundle;
+import app.bola.taskforge.notification.model.NotificationCandidate;
+import app.bola.taskforge.notification.model.NotificationPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the debounce scripts against a real Redis.
+ */
+@ExtendWith(MockitoExtension.class)
+class DebounceEngineRedisTest {
+
+	@RegisterExtension
+	static final EmbeddedRedis redis = new EmbeddedRedis();
+
+	private static final String DUE_INDEX_KEY = "notification:debounce:due";
+	private static final String DEBOUNCE_KEY = "notification:debounce:medium:user-1:project-1";
+
+	private static RoundTripCounter roundTripCounter;
+	private static LettuceConnectionFactory connectionFactory;
+
+	@Mock
+	private ChannelRouter channelRouter;
+	@Mock
+	private PreferenceManager preferenceManager;
+	private StringRedisTemplate redisTemplate;
+	private DebounceEngine debounceEngine;
+
+	@BeforeAll
+	static void connect() {
+		roundTripCounter = new RoundTripCounter();
+		connectionFactory = roundTripCounter.connectionFactory(redis.configuration());
+	}
+
+	@AfterAll
+	static void disconnect() {
+		connectionFactory.destroy();
+		roundTripCounter.shutdown();
+	}
+
+	@BeforeEach
+	void setUp() {
+		redisTemplate = new StringRedisTemplate(connectionFactory);
+		debounceEngine = new DebounceEngine(channelRouter, preferenceManager, redisTemplate, null,
+			new NotificationMetrics(new SimpleMeterRegistry(), 100),
+			new MockEnvironment().withProperty("app.notification.debounce.lane.default.window", "PT0S"));
+		ReflectionTestUtils.setField(debounceEngine, "claimLease", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(debounceEngine, "claimBatchSize", 100);
+		ReflectionTestUtils.setField(debounceEngine, "pipelineBatchSize", 500);
+		ReflectionTestUtils.setField(debounceEngine, "maxEntityIds", 50);
+	}
+
+	private static NotificationCandidate.NotificationCandidateBuilder candidate(String entityId, EventType eventType) {
+		return NotificationCandidate.builder()
+			.tenantId("org-1")
+			.userId("user-1")
+			.debounceKey("user-1:project-1")
+			.notificationType(eventType)
+			.sourceEntityId(entityId)
+			.sourceEntityType("Task")
+			.createdAt(System.currentTimeMillis())
+			.priority(NotificationPriority.MEDIUM);
+	}
+
+	private static Map<NotificationCandidate, NotificationPreference> submission(NotificationCandidate... candidates) {
+		Map<NotificationCandidate, NotificationPreference> submission = new LinkedHashMap<>();
+		for (NotificationCandidate candidate : candidates) {
+			submission.put(candidate, new NotificationPreference());
+		}
+		return submission;
+	}
+
+	private static Map<NotificationCandidate, NotificationPreference> candidates(String projectId, int count) {
+		Map<NotificationCandidate, NotificationPreference> candidates = new LinkedHashMap<>();
+		for (int index = 0; index < count; index++) {
+			candidates.put(NotificationCandidate.builder()
+				.tenantId("org-1")
+				.userId("user-" + index)
+				.debounceKey("user-" + index + ":" + projectId)
+				.notificationType(EventType.TASK_UPDATED)
+				.sourceEntityId("task-1")
+				.sourceEntityType("Task")
+				.priority(NotificationPriority.MEDIUM)
+				.build(), new NotificationPreference());
+		}
+		return candidates;
+	}
+
+	private Map<Object, Object> aggregate(String key) {
+		return redisTemplate.opsForHash().entries(key);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void poll() {
+		Map<NotificationPriority, DebounceLane> lanes = (Map<NotificationPriority, DebounceLane>) ReflectionTestUtils.getField(debounceEngine, "lanes");
+		debounceEngine.pollDueKeys(lanes.get(NotificationPriority.MEDIUM));
+	}
+
+	private NotificationPreference allowAll() {
+		NotificationPreference preference = NotificationPreference.builder()
+			.member(Member.builder().publicId("user-1").email("ada@taskforge.com").build())
+			.build();
+		when(preferenceManager.getPreferences("org-1", List.of("user-1"))).thenReturn(Map.of("user-1", preference));
+		return preference;
+	}
+
+	@Test
+	@DisplayName("A submit batch is sent as one pipelined round trip")
+	void submitsBatchInOneRoundTrip() {
+		debounceEngine.submit(candidates("project-0", 1));
+
+		long before = roundTripCounter.roundTrips();
+		assertEquals(10, debounceEngine.submit(candidates("project-1", 10)).size());
+		assertEquals(1, roundTripCounter.roundTrips() - before);
+
+		before = roundTripCounter.roundTrips();
+		debounceEngine.submit(candidates("project-2", 1200));
+		assertEquals(3, roundTripCounter.roundTrips() - before);
+	}
+
+	@Test
+	@DisplayName("Candidates of a key are counted into one hash and the key is scheduled once")
+	void aggregatesCandidatesInPlace() {
+		assertEquals(Set.of(DEBOUNCE_KEY), debounceEngine.submit(submission(
+			candidate("task-1", EventType.TASK_UPDATED).build(),
+			candidate("task-2", EventType.TASK_UPDATED).build())));
+		assertTrue(debounceEngine.submit(submission(candidate("task-1", EventType.TASK_ASSIGNED).build())).isEmpty());
+
+		Map<Object, Object> hash = aggregate(DEBOUNCE_KEY);
+		assertEquals("3", hash.get("total"));
+		assertEquals("2", hash.get("type:TASK_UPDATED"));
+		assertEquals("1", hash.get("type:TASK_ASSIGNED"));
+		assertEquals("2", hash.get("entities"));
+		assertEquals("1:Task", hash.get("entity:task-1"));
+		assertEquals("user-1", hash.get("user"));
+		assertEquals(1, redisTemplate.opsForZSet().zCard(DUE_INDEX_KEY));
+		assertTrue(redisTemplate.getExpire(DEBOUNCE_KEY) > 0);
+	}
+
+	@Test
+	@DisplayName("A candidate without a notification type adds no event type field")
+	void skipsMissingEventType() {
+		debounceEngine.submit(submission(candidate("task-1", null).build()));
+
+		Map<Object, Object> hash = aggregate(DEBOUNCE_KEY);
+		assertEquals("1", hash.get("total"));
+		assertTrue(hash.keySet().stream().noneMatch(field -> field.toString().startsWith("type:")));
+	}
+
+	@Test
+	@DisplayName("Submitting loads the script again when Redis has lost its script cache")
+	void reloadsFlushedScript() {
+		debounceEngine.submit(submission(candidate("task-1", EventType.TASK_UPDATED).build()));
+		redisTemplate.execute((RedisCallback<Object>) connection -> {
+			connection.scriptingCommands().scriptFlush();
+			return null;
+		});
+
+		debounceEngine.submit(submission(candidate("task-2", EventType.TASK_UPDATED).build()));
+
+		assertEquals("2", aggregate(DEBOUNCE_KEY).get("total"));
+	}
+
+	@Test
+	@DisplayName("A due key is flushed as one bundle and released")
+	void flushesAndReleasesDueKey() {
+		NotificationPreference preference = allowAll();
+		debounceEngine.submit(submission(
+			candidate("task-1", EventType.TASK_UPDATED).build(),
+			candidate("task-2", EventType.TASK_UPDATED).build()));
+
+		poll();
+
+		ArgumentCaptor<NotificationBundle> bundle = ArgumentCaptor.forClass(NotificationBundle.class);
+		verify(channelRouter).route(bundle.capture(), eq(preference));
+		assertEquals(2L, bundle.getValue().getPayload().get("eventCount"));
+		assertEquals(List.of("task-1", "task-2"), bundle.getValue().getSourceEntityIds());
+		assertFalse(redisTemplate.hasKey(DEBOUNCE_KEY));
+		assertFalse(redisTemplate.hasKey(DEBOUNCE_KEY + ":flushing"));
+		assertEquals(0, redisTemplate.opsForZSet().zCard(DUE_INDEX_KEY));
+	}
+
+	@Test
+	@DisplayName("Candidates that arrive during a flush start a new aggregate and the key is scheduled again")
+	void reschedulesKeyWithCandidatesFromDuringTheFlush() {
+		allowAll();
+		debounceEngine.submit(submission(candidate("task-1", EventType.TASK_UPDATED).build()));
+		doAnswer(invocation -> {
+			assertTrue(redisTemplate.hasKey(DEBOUNCE_KEY + ":flushing"));
+			debounceEngine.submit(submission(candidate("task-2", EventType.TASK_UPDATED).build()));
+			return null;
+		}).when(channelRouter).route(any(NotificationBundle.class), any(NotificationPreference.class));
+
+		poll();
+
+		assertEquals("1", aggregate(DEBOUNCE_KEY).get("total"));
+		assertEquals("1:Task", aggregate(DEBOUNCE_KEY).get("entity:task-2"));
+		assertFalse(redisTemplate.hasKey(DEBOUNCE_KEY + ":flushing"));
+		assertNotNull(redisTemplate.opsForZSet().score(DUE_INDEX_KEY, DEBOUNCE_KEY));
+	}
+
+	@Test
+	@DisplayName("An aggregate left in flight by a crashed flush is flushed again as it is")
+	void reflushesInFlightAggregate() {
+		allowAll();
+		redisTemplate.opsForHash().putAll(DEBOUNCE_KEY + ":flushing", Map.of("id", "bundle-1", "tenant", "org-1",
+			"user", "user-1", "total", "4", "type:TASK_UPDATED", "4"));
+		redisTemplate.opsForZSet().add(DUE_INDEX_KEY, DEBOUNCE_KEY, Instant.now().minusSeconds(1).toEpochMilli());
+
+		poll();
+
+		ArgumentCaptor<NotificationBundle> bundle = ArgumentCaptor.forClass(NotificationBundle.class);
+		verify(channelRouter).route(bundle.capture(), any(NotificationPreference.class));
+		assertEquals("bundle-1", bundle.getValue().getId());
+		assertEquals(4L, bundle.getValue().getPayload().get("eventCount"));
+		assertEquals(0, redisTemplate.opsForZSet().zCard(DUE_INDEX_KEY));
+	}
+
+	@Test
+	@DisplayName("A key still holding a list of serialized candidates is folded into an aggregate")
+	void foldsLegacyCandidateList() {
+		allowAll();
+		redisTemplate.opsForList().rightPushAll(DEBOUNCE_KEY,
+			"{\"tenantId\":\"org-1\",\"userId\":\"user-1\",\"notificationType\":\"TASK_UPDATED\",\"sourceEntityId\":\"task-1\",\"sourceEntityType\":\"Task\",\"createdAt\":1700000000000}",
+			"{\"tenantId\":\"org-1\",\"userId\":\"user-1\",\"notificationType\":\"TASK_ASSIGNED\",\"sourceEntityId\":\"task-2\",\"sourceEntityType\":\"Task\",\"createdAt\":1700000001000}",
+			"not json");
+		redisTemplate.opsForZSet().add(DUE_INDEX_KEY, DEBOUNCE_KEY, Instant.now().minusSeconds(1).toEpochMilli());
+
+		poll();
+
+		ArgumentCaptor<NotificationBundle> bundle = ArgumentCaptor.forClass(NotificationBundle.class);
+		verify(channelRouter).route(bundle.capture(), any(NotificationPreference.class));
+		assertEquals(2L, bundle.getValue().getPayload().get("eventCount"));
+		assertEquals(Map.of("TASK_UPDATED", 1L, "TASK_ASSIGNED", 1L), bundle.getValue().getPayload().get("eventCounts"));
+		assertEquals(1700000000000L, bundle.getValue().getPayload().get("firstEventAt"));
+		assertFalse(redisTemplate.hasKey(DEBOUNCE_KEY));
+	}
+
+	@Test
+	@DisplayName("A flush whose claim expired leaves the key to the node that claimed it since")
+	void staleClaimDoesNotAcknowledge() {
+		allowAll();
+		debounceEngine.submit(submission(candidate("task-1", EventType.TASK_UPDATED).build()));
+		doAnswer(invocation -> {
+			redisTemplate.opsForZSet().add(DUE_INDEX_KEY, DEBOUNCE_KEY, Instant.now().plusSeconds(600).toEpochMilli());
+			return null;
+		}).when(channelRouter).route(any(NotificationBundle.class), any(NotificationPreference.class));
+
+		poll();
+
+		assertTrue(redisTemplate.hasKey(DEBOUNCE_KEY + ":flushing"));
+		assertNotNull(redisTemplate.opsForZSet().score(DUE_INDEX_KEY, DEBOUNCE_KEY));
+	}
+}
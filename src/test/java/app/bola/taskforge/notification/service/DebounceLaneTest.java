@@ -0,0 +1,63 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.event.EventType;
+import app.bola.taskforge.notification.model.NotificationCandidate;
+import app.bola.taskforge.notification.model.NotificationPriority;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DebounceLaneTest {
+
+	private final MockEnvironment environment = new MockEnvironment()
+		.withProperty("app.notification.debounce.lane.default.window", "PT2M")
+		.withProperty("app.notification.debounce.lane.high.window", "PT0.3S")
+		.withProperty("app.notification.debounce.lane.low.merge-scope", "RECIPIENT");
+
+	private static NotificationCandidate candidate(String entityId, EventType eventType) {
+		return NotificationCandidate.builder()
+			.tenantId("org-1")
+			.userId("user-1")
+			.sourceEntityId(entityId)
+			.debounceKey("user-1:" + entityId + ":" + eventType)
+			.notificationType(eventType)
+			.priority(NotificationPriority.of(eventType))
+			.build();
+	}
+
+	@Test
+	@DisplayName("A lane uses its own settings and falls back to the default ones")
+	void laneSettingsFallBackToDefault() {
+		DebounceLane high = DebounceLane.of(NotificationPriority.HIGH, environment, null);
+		DebounceLane medium = DebounceLane.of(NotificationPriority.MEDIUM, environment, null);
+
+		assertEquals(Duration.ofMillis(300), high.window());
+		assertEquals(Duration.ofMinutes(2), medium.window());
+		assertEquals("notification:debounce:due:high", high.dueIndex().getKey());
+		assertEquals("notification:debounce:due", medium.dueIndex().getKey());
+	}
+
+	@Test
+	@DisplayName("Event lanes merge per entity, recipient lanes merge everything of a recipient")
+	void mergeScopeDecidesTheDebounceKey() {
+		DebounceLane high = DebounceLane.of(NotificationPriority.HIGH, environment, null);
+		DebounceLane low = DebounceLane.of(NotificationPriority.LOW, environment, null);
+
+		assertNotEquals(high.debounceKey(candidate("task-1", EventType.TASK_ASSIGNED)),
+			high.debounceKey(candidate("task-2", EventType.TASK_ASSIGNED)));
+		assertEquals(low.debounceKey(candidate("task-1", EventType.TASK_UPDATED)),
+			low.debounceKey(candidate("project-1", EventType.PROJECT_UPDATED)));
+	}
+
+	@Test
+	@DisplayName("Assignments are high priority, updates are low priority")
+	void priorityFollowsEventType() {
+		assertEquals(NotificationPriority.HIGH, NotificationPriority.of(EventType.TASK_ASSIGNED));
+		assertEquals(NotificationPriority.MEDIUM, NotificationPriority.of(EventType.TASK_CREATED));
+		assertEquals(NotificationPriority.LOW, NotificationPriority.of(EventType.TASK_UPDATED));
+	}
+}
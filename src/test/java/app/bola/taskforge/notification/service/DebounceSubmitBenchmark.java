@@ -0,0 +1,155 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.domain.entity.NotificationPreference;
+import app.bola.taskforge.event.EventType;
+import app.bola.taskforge.notification.metrics.NotificationMetrics;
+import app.bola.taskforge.notification.model.NotificationCandidate;
+import app.bola.taskforge.notification.model.NotificationPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DebounceEngine#submit} against the previous command-per-candidate submission for growing fan-outs.
+ * <p>
+ * Needs a reachable Redis, {@code localhost:6379} unless {@code -Dredis.host} / {@code -Dredis.port} say otherwise.
+ * The benchmark works in database {@code -Dredis.database} (15 by default) and flushes it between iterations.
+ * Round trips and connections are counted on the client's socket by {@link RoundTripCounter}, so run it with a
+ * single benchmark thread.
+ * Run it from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=app.bola.taskforge.notification.service.DebounceSubmitBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DebounceSubmitBenchmark {
+
+	private static final Duration DEBOUNCE_WINDOW = Duration.ofMinutes(10);
+
+	@Param({"1", "10", "100", "1000"})
+	private int fanOut;
+
+	private RoundTripCounter roundTripCounter;
+	private LettuceConnectionFactory connectionFactory;
+	private RedisTemplate<String, Object> redisTemplate;
+	private StringRedisTemplate stringRedisTemplate;
+	private DebounceEngine debounceEngine;
+	private Map<NotificationCandidate, NotificationPreference> candidates;
+
+	/**
+	 * Network round trips made, and connections opened, per submission, reported next to the latency.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class RoundTrips {
+		public long roundTrips;
+		public long connections;
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+			System.getProperty("redis.host", "localhost"), Integer.getInteger("redis.port", 6379));
+		configuration.setDatabase(Integer.getInteger("redis.database", 15));
+		roundTripCounter = new RoundTripCounter();
+		connectionFactory = roundTripCounter.connectionFactory(configuration);
+
+		redisTemplate = new RedisTemplate<>();
+		redisTemplate.setConnectionFactory(connectionFactory);
+		redisTemplate.setKeySerializer(new StringRedisSerializer());
+		redisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+		redisTemplate.afterPropertiesSet();
+		stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+
+		debounceEngine = new DebounceEngine(null, null, stringRedisTemplate, null,
+			new NotificationMetrics(new SimpleMeterRegistry(), 100),
+			new MockEnvironment().withProperty("app.notification.debounce.lane.default.window", DEBOUNCE_WINDOW.toString()));
+		ReflectionTestUtils.setField(debounceEngine, "claimLease", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(debounceEngine, "pipelineBatchSize", 500);
+		ReflectionTestUtils.setField(debounceEngine, "maxEntityIds", 50);
+
+		candidates = new LinkedHashMap<>();
+		for (int index = 0; index < fanOut; index++) {
+			NotificationCandidate candidate = NotificationCandidate.builder()
+				.userId("user-" + index)
+				.tenantId("benchmark-tenant")
+				.debounceKey("notification:debounce:user-" + index + ":project-1")
+				.notificationType(EventType.TASK_UPDATED)
+				.sourceEntityId("task-1")
+				.sourceEntityType("Task")
+				.priority(NotificationPriority.HIGH)
+				.build();
+			candidates.put(candidate, new NotificationPreference());
+		}
+	}
+
+	@TearDown(Level.Iteration)
+	public void flush() {
+		stringRedisTemplate.execute(connection -> {
+			connection.serverCommands().flushDb();
+			return null;
+		}, true);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		connectionFactory.destroy();
+		roundTripCounter.shutdown();
+	}
+
+	@Benchmark
+	public Object pipelined(RoundTrips counters) {
+		long roundTrips = roundTripCounter.roundTrips();
+		long connections = roundTripCounter.connections();
+		Object scheduled = debounceEngine.submit(candidates);
+		counters.roundTrips += roundTripCounter.roundTrips() - roundTrips;
+		counters.connections += roundTripCounter.connections() - connections;
+		return scheduled;
+	}
+
+	/**
+	 * The submission as it was before it was pipelined and aggregated: a push of the whole candidate, an expire and
+	 * a schedule call per candidate.
+	 */
+	@Benchmark
+	public Object sequential(RoundTrips counters) {
+		long roundTrips = roundTripCounter.roundTrips();
+		long connections = roundTripCounter.connections();
+		long scheduled = 0;
+		Instant dueAt = Instant.now().plus(DEBOUNCE_WINDOW);
+		for (NotificationCandidate candidate : candidates.keySet()) {
+			redisTemplate.opsForList().rightPush(candidate.getDebounceKey(), candidate);
+			redisTemplate.expire(candidate.getDebounceKey(), DEBOUNCE_WINDOW.multipliedBy(2));
+			if (Boolean.TRUE.equals(stringRedisTemplate.opsForZSet()
+				.addIfAbsent("notification:debounce:due", candidate.getDebounceKey(), dueAt.toEpochMilli()))) {
+				scheduled++;
+			}
+		}
+		counters.roundTrips += roundTripCounter.roundTrips() - roundTrips;
+		counters.connections += roundTripCounter.connections() - connections;
+		return scheduled;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(DebounceSubmitBenchmark.class.getSimpleName()).build()).run();
+	}
+}
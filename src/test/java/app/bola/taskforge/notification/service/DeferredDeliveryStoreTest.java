@@ -0,0 +1,84 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.notification.model.NotificationBundle;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeferredDeliveryStoreTest {
+
+	@RegisterExtension
+	static final EmbeddedRedis redis = new EmbeddedRedis();
+
+	private static final Duration LEASE = Duration.ofMinutes(5);
+
+	private final DeferredDeliveryStore store = new DeferredDeliveryStore(redis.template(), new ObjectMapper().findAndRegisterModules());
+	private final Instant releaseAt = Instant.now().truncatedTo(ChronoUnit.MINUTES).minus(2, ChronoUnit.MINUTES);
+
+	private static NotificationBundle bundle(String id) {
+		return NotificationBundle.builder().id(id).userId("user-1").build();
+	}
+
+	private static List<String> ids(List<NotificationBundle> bundles) {
+		return bundles.stream().map(NotificationBundle::getId).toList();
+	}
+
+	private String claimBucket() {
+		List<RedisDelayQueue.Claim> claims = store.claimDueBuckets(Instant.now(), 10, LEASE);
+		assertEquals(1, claims.size());
+		return claims.getFirst().member();
+	}
+
+	@Test
+	@DisplayName("Bundles deferred to a later bucket are not released with an earlier one")
+	void keepsBucketsApart() {
+		store.defer(bundle("now"), "org-1", releaseAt);
+		store.defer(bundle("later"), "org-1", Instant.now().plus(1, ChronoUnit.HOURS));
+		String bucket = claimBucket();
+
+		assertEquals(List.of("org-1:user-1"), store.pendingUsers(bucket, 10));
+		assertEquals(List.of("now"), ids(store.drain(bucket, List.of("org-1:user-1")).get("org-1:user-1")));
+	}
+
+	@Test
+	@DisplayName("Drained bundles are handed out again until they are acknowledged")
+	void redrainsUntilAcknowledged() {
+		store.defer(bundle("b1"), "org-1", releaseAt);
+		store.defer(bundle("b2"), "org-1", releaseAt);
+		String bucket = claimBucket();
+
+		Map<String, List<NotificationBundle>> first = store.drain(bucket, List.of("org-1:user-1"));
+		store.defer(bundle("b3"), "org-1", releaseAt);
+		Map<String, List<NotificationBundle>> retried = store.drain(bucket, List.of("org-1:user-1"));
+
+		assertEquals(List.of("b1", "b2"), ids(first.get("org-1:user-1")));
+		assertEquals(List.of("b1", "b2"), ids(retried.get("org-1:user-1")));
+
+		store.acknowledge(bucket, Set.of("org-1:user-1"));
+		assertEquals(List.of("b3"), ids(store.drain(bucket, List.of("org-1:user-1")).get("org-1:user-1")));
+		store.acknowledge(bucket, Set.of("org-1:user-1"));
+		assertTrue(store.drain(bucket, List.of("org-1:user-1")).isEmpty());
+	}
+
+	@Test
+	@DisplayName("A bucket is only completed once all of its users are released")
+	void completesEmptyBucket() {
+		store.defer(bundle("b1"), "org-1", releaseAt);
+		RedisDelayQueue.Claim claim = store.claimDueBuckets(Instant.now(), 10, LEASE).getFirst();
+
+		assertFalse(store.completeIfEmpty(claim));
+		store.release(claim.member(), List.of("org-1:user-1"));
+		assertTrue(store.completeIfEmpty(claim));
+		assertTrue(store.claimDueBuckets(Instant.now().plus(LEASE), 10, LEASE).isEmpty());
+	}
+}
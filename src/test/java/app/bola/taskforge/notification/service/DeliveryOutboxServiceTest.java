@@ -0,0 +1,128 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.notification.model.*;
+import app.bola.taskforge.notification.repository.DeliveryOutboxRepository;
+import app.bola.taskforge.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class DeliveryOutboxServiceTest {
+
+	@Mock
+	private DeliveryOutboxRepository outboxRepository;
+	@Mock
+	private NotificationRepository notificationRepository;
+
+	private DeliveryOutboxService outboxService;
+	private DeliveryOutbox entry;
+
+	@BeforeEach
+	public void setUp() {
+		outboxService = new DeliveryOutboxService(outboxRepository, notificationRepository, 3, Duration.ofSeconds(10),
+			Duration.ofSeconds(30), Duration.ofMinutes(2));
+		entry = DeliveryOutbox.builder()
+			.id("outbox-1")
+			.idempotencyKey("bundle-1:EMAIL")
+			.bundleId("bundle-1")
+			.channel(ChannelType.EMAIL)
+			.status(DeliveryStatus.PENDING)
+			.build();
+	}
+
+	@Nested
+	@DisplayName("Delivery Result Recording Tests")
+	public class RecordTests {
+
+		@BeforeEach
+		public void setUp() {
+			when(outboxRepository.findById("outbox-1")).thenReturn(Optional.of(entry));
+		}
+
+		@Test
+		@DisplayName("should mark the delivery as sent on success")
+		public void shouldMarkSuccess() {
+			outboxService.record("outbox-1", DeliveryResult.success("bundle-1", ChannelType.EMAIL, "<message-1>"));
+
+			assertEquals(DeliveryStatus.SUCCESS, entry.getStatus());
+			assertEquals("<message-1>", entry.getExternalId());
+			assertEquals(1, entry.getAttempts());
+		}
+
+		@Test
+		@DisplayName("should schedule a jittered retry after a failure")
+		public void shouldScheduleRetry() {
+			Instant before = Instant.now();
+			outboxService.record("outbox-1", DeliveryResult.failure("bundle-1", ChannelType.EMAIL, "Brevo unavailable"));
+
+			assertEquals(DeliveryStatus.RETRYING, entry.getStatus());
+			assertEquals("Brevo unavailable", entry.getLastError());
+			assertFalse(entry.getNextAttemptAt().isBefore(before.plusSeconds(5)));
+			assertFalse(entry.getNextAttemptAt().isAfter(Instant.now().plusSeconds(10)));
+		}
+
+		@Test
+		@DisplayName("should dead-letter the delivery after the last attempt")
+		public void shouldDeadLetterAfterMaxAttempts() {
+			entry.setAttempts(2);
+
+			outboxService.record("outbox-1", DeliveryResult.failure("bundle-1", ChannelType.EMAIL, "Brevo unavailable"));
+
+			assertEquals(DeliveryStatus.DEAD_LETTERED, entry.getStatus());
+			assertEquals(3, entry.getAttempts());
+			verify(notificationRepository).clearEmailed("bundle-1");
+		}
+
+		@Test
+		@DisplayName("should hand a released delivery back without counting an attempt")
+		public void shouldReleaseWithoutAttempt() {
+			entry.setAttempts(2);
+			entry.setNextAttemptAt(Instant.now().plus(Duration.ofMinutes(2)));
+
+			outboxService.release("outbox-1");
+
+			assertEquals(DeliveryStatus.PENDING, entry.getStatus());
+			assertEquals(2, entry.getAttempts());
+			assertFalse(entry.getNextAttemptAt().isAfter(Instant.now()));
+		}
+	}
+
+	@Nested
+	@DisplayName("Backoff And Idempotency Tests")
+	public class BackoffTests {
+
+		@Test
+		@DisplayName("should grow the backoff exponentially up to the cap")
+		public void shouldCapExponentialBackoff() {
+			for (int attempt = 1; attempt <= 10; attempt++) {
+				long ceiling = Math.min(10_000L << (attempt - 1), 30_000L);
+				Duration delay = outboxService.backoff(attempt);
+				assertTrue(delay.toMillis() >= ceiling / 2 && delay.toMillis() <= ceiling, "attempt " + attempt + ": " + delay);
+			}
+		}
+
+		@Test
+		@DisplayName("should not queue a bundle twice on the same channel")
+		public void shouldSkipDuplicateBundle() {
+			when(outboxRepository.existsByIdempotencyKey("bundle-1:EMAIL")).thenReturn(true);
+
+			Optional<DeliveryOutbox> queued = outboxService.enqueue(NotificationBundle.builder().id("bundle-1").build(), ChannelType.EMAIL);
+
+			assertTrue(queued.isEmpty());
+			verify(outboxRepository, never()).saveAndFlush(any());
+		}
+	}
+}
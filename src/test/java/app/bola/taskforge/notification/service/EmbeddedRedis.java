@@ -0,0 +1,79 @@
+package app.bola.taskforge.notification.service;
+
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+
+/**
+ * A real Redis server for tests that run the Lua scripts, started once per JVM and emptied before every test.
+ * Register it with {@code @RegisterExtension static final EmbeddedRedis redis = new EmbeddedRedis();}.
+ */
+class EmbeddedRedis implements BeforeEachCallback {
+
+	private static RedisServer server;
+	private static RedisStandaloneConfiguration configuration;
+	private static LettuceConnectionFactory connectionFactory;
+	private static StringRedisTemplate redisTemplate;
+
+	@Override
+	public void beforeEach(ExtensionContext context) {
+		template().execute((RedisCallback<Object>) connection -> {
+			connection.serverCommands().flushAll();
+			return null;
+		});
+	}
+
+	StringRedisTemplate template() {
+		start();
+		return redisTemplate;
+	}
+
+	LettuceConnectionFactory connectionFactory() {
+		start();
+		return connectionFactory;
+	}
+
+	RedisStandaloneConfiguration configuration() {
+		start();
+		return configuration;
+	}
+
+	private static synchronized void start() {
+		if (server != null) {
+			return;
+		}
+		try {
+			int port = freePort();
+			server = RedisServer.newRedisServer().port(port).setting("bind 127.0.0.1").setting("save \"\"").build();
+			server.start();
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					server.stop();
+				} catch (IOException ignored) {
+					// The JVM is exiting, the process goes with it.
+				}
+			}));
+			configuration = new RedisStandaloneConfiguration("127.0.0.1", port);
+			connectionFactory = new LettuceConnectionFactory(configuration);
+			connectionFactory.afterPropertiesSet();
+			connectionFactory.start();
+			redisTemplate = new StringRedisTemplate(connectionFactory);
+		} catch (IOException exception) {
+			throw new UncheckedIOException("Could not start an embedded Redis server", exception);
+		}
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
@@ -0,0 +1,189 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.common.pagination.CursorPage;
+import app.bola.taskforge.common.pagination.KeysetCursor;
+import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.domain.entity.Notification;
+import app.bola.taskforge.domain.entity.Organization;
+import app.bola.taskforge.exception.InvalidRequestException;
+import app.bola.taskforge.notification.model.ChannelType;
+import app.bola.taskforge.notification.model.NotificationBundle;
+import app.bola.taskforge.repository.NotificationRepository;
+import app.bola.taskforge.repository.UserRepository;
+import app.bola.taskforge.service.dto.NotificationResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class InboxServiceTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 14, 9, 30);
+
+	@Mock
+	private NotificationRepository notificationRepository;
+	@Mock
+	private UserRepository userRepository;
+	@Mock
+	private StringRedisTemplate stringRedisTemplate;
+	@Mock
+	private ValueOperations<String, String> valueOperations;
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	private InboxService inboxService;
+	private Member member;
+
+	@BeforeEach
+	public void setUp() {
+		inboxService = new InboxService(notificationRepository, userRepository, stringRedisTemplate, transactionManager, 50);
+		member = Member.builder().id("member-1").publicId("member-public-1").email("ada@taskforge.app")
+			.organization(Organization.builder().publicId("org-1").build())
+			.build();
+		lenient().when(userRepository.findByEmail("ada@taskforge.app")).thenReturn(Optional.of(member));
+	}
+
+	private static List<Notification> notifications(int count) {
+		return IntStream.range(0, count)
+			.<Notification>mapToObj(index -> Notification.builder().id("n-" + index).publicId("public-" + index)
+				.title("Task created").createdAt(NOW.minusMinutes(index)).build())
+			.toList();
+	}
+
+	@Nested
+	@DisplayName("Inbox Listing Tests")
+	public class ListTests {
+
+		@Test
+		@DisplayName("should return a cursor pointing past the last row of a full page")
+		public void shouldReturnCursorForFullPage() {
+			when(notificationRepository.findInboxFirstPage("member-1", Limit.of(3))).thenReturn(notifications(3));
+
+			CursorPage<NotificationResponse> page = inboxService.list("ada@taskforge.app", null, 2);
+
+			assertEquals(List.of("public-0", "public-1"), page.items().stream().map(NotificationResponse::getPublicId).toList());
+			assertEquals(new KeysetCursor(NOW.minusMinutes(1), "n-1"), KeysetCursor.decode(page.nextCursor()));
+		}
+
+		@Test
+		@DisplayName("should continue after the cursor and stop on the last page")
+		public void shouldContinueAfterCursor() {
+			String cursor = new KeysetCursor(NOW.minusMinutes(1), "n-1").encode();
+			when(notificationRepository.findInboxPageAfter("member-1", NOW.minusMinutes(1), "n-1", Limit.of(3)))
+				.thenReturn(notifications(1));
+
+			CursorPage<NotificationResponse> page = inboxService.list("ada@taskforge.app", cursor, 2);
+
+			assertEquals(1, page.items().size());
+			assertFalse(page.hasNext());
+		}
+
+		@Test
+		@DisplayName("should reject a cursor it did not issue")
+		public void shouldRejectForeignCursor() {
+			assertThrows(InvalidRequestException.class, () -> inboxService.list("ada@taskforge.app", "not-a-cursor", 2));
+		}
+	}
+
+	@Nested
+	@DisplayName("Storing Tests")
+	public class StoringTests {
+
+		@Test
+		@DisplayName("should flag bundles that are also emailed so the digest leaves them out")
+		@SuppressWarnings("unchecked")
+		public void shouldFlagEmailedBundles() {
+			when(userRepository.findAllByPublicIdIn(Set.of("member-public-1"))).thenReturn(List.of(member));
+			when(notificationRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+			NotificationBundle emailed = NotificationBundle.builder().id("bundle-1").userId("member-public-1")
+				.emailTo("ada@taskforge.app").channels(Set.of(ChannelType.EMAIL, ChannelType.INBOX)).build();
+			NotificationBundle digestOnly = NotificationBundle.builder().id("bundle-2").userId("member-public-1")
+				.emailTo("ada@taskforge.app").channels(Set.of(ChannelType.INBOX)).build();
+
+			inboxService.store(List.of(emailed, digestOnly));
+
+			ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+			verify(notificationRepository).saveAll(saved.capture());
+			assertTrue(saved.getValue().get(0).isEmailed());
+			assertFalse(saved.getValue().get(1).isEmailed());
+		}
+	}
+
+	@Nested
+	@DisplayName("Unread Counter Tests")
+	public class UnreadCounterTests {
+
+		@BeforeEach
+		public void setUp() {
+			lenient().when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+		}
+
+		@Test
+		@DisplayName("should read the badge from Redis only")
+		public void shouldReadBadgeFromRedis() {
+			when(valueOperations.get("notification:unread:org-1:member-public-1")).thenReturn("7");
+
+			assertEquals(7, inboxService.unreadCount("ada@taskforge.app"));
+			verifyNoInteractions(notificationRepository);
+		}
+
+		@Test
+		@DisplayName("should read a missing counter as zero without touching the table")
+		public void shouldReadMissingCounterAsZero() {
+			when(valueOperations.get("notification:unread:org-1:member-public-1")).thenReturn(null);
+
+			assertEquals(0, inboxService.unreadCount("ada@taskforge.app"));
+			verifyNoInteractions(notificationRepository);
+		}
+
+		@Test
+		@DisplayName("should decrement the counter by the number of rows actually marked as read")
+		public void shouldDecrementByMarkedRows() {
+			when(notificationRepository.markRead("member-1", List.of("public-0", "public-1"))).thenReturn(1);
+			when(valueOperations.decrement("notification:unread:org-1:member-public-1", 1)).thenReturn(4L);
+
+			assertEquals(4, inboxService.markRead("ada@taskforge.app", List.of("public-0", "public-1")));
+			verify(notificationRepository, never()).countUnread(anyString());
+		}
+
+		@Test
+		@DisplayName("should report zero while a decrement is ahead of its increment")
+		public void shouldClampTransientNegativeCount() {
+			when(notificationRepository.markRead("member-1", List.of("public-0"))).thenReturn(1);
+			when(valueOperations.decrement("notification:unread:org-1:member-public-1", 1)).thenReturn(-1L);
+
+			assertEquals(0, inboxService.markRead("ada@taskforge.app", List.of("public-0")));
+		}
+
+		@Test
+		@DisplayName("should take the rows marked as read off the counter rather than drop or zero it")
+		public void shouldDecrementOnMarkAllRead() {
+			when(notificationRepository.markAllRead("member-1")).thenReturn(3);
+
+			inboxService.markAllRead("ada@taskforge.app");
+
+			verify(valueOperations).decrement("notification:unread:org-1:member-public-1", 3);
+			verify(stringRedisTemplate, never()).delete(anyString());
+			verify(valueOperations, never()).set(anyString(), anyString());
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.domain.context.TenantContext;
+import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.domain.entity.NotificationPreference;
+import app.bola.taskforge.event.TaskEvent;
+import app.bola.taskforge.notification.metrics.NotificationMetrics;
+import app.bola.taskforge.notification.model.NotificationCandidate;
+import app.bola.taskforge.repository.ProjectRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class NotificationServiceTest {
+
+	private static final String TENANT_ID = "tenant-1";
+
+	@Mock
+	private DebounceEngine debounceEngine;
+	@Mock
+	private PreferenceManager preferenceManager;
+	@Mock
+	private ProjectRepository projectRepository;
+
+	private NotificationService notificationService;
+
+	@BeforeEach
+	public void setUp() {
+		notificationService = new NotificationService(debounceEngine, preferenceManager, projectRepository,
+			new NotificationMetrics(new SimpleMeterRegistry(), 100), 2);
+		TenantContext.setCurrentTenant(TENANT_ID);
+		lenient().when(preferenceManager.getPreferences(eq(TENANT_ID), anyCollection())).thenAnswer(invocation -> {
+			Collection<String> userIds = invocation.getArgument(1);
+			Map<String, NotificationPreference> preferences = new LinkedHashMap<>();
+			userIds.forEach(userId -> preferences.put(userId,
+				NotificationPreference.builder().member(Member.builder().publicId(userId).build()).build()));
+			return preferences;
+		});
+	}
+
+	@AfterEach
+	public void tearDown() {
+		TenantContext.clear();
+	}
+
+	@Test
+	@DisplayName("should stream project members in chunks and debounce each chunk")
+	@SuppressWarnings("unchecked")
+	public void shouldFanOutInChunks() {
+		when(projectRepository.findMemberIdsAfter("project-1", TENANT_ID, "", Limit.of(2))).thenReturn(List.of("a", "b"));
+		when(projectRepository.findMemberIdsAfter("project-1", TENANT_ID, "b", Limit.of(2))).thenReturn(List.of("c"));
+		TaskEvent event = new TaskEvent(new Object());
+		event.setTaskId("task-1");
+		event.setProjectId("project-1");
+		event.setOrganizationId(TENANT_ID);
+		event.setEventType(TaskEvent.EventType.TASK_CREATED);
+
+		notificationService.processEvent(event);
+
+		ArgumentCaptor<Map<NotificationCandidate, NotificationPreference>> chunks = ArgumentCaptor.forClass(Map.class);
+		verify(debounceEngine, times(2)).submit(chunks.capture());
+		List<Set<String>> recipients = chunks.getAllValues().stream()
+			.map(chunk -> chunk.keySet().stream().map(NotificationCandidate::getUserId).collect(Collectors.toSet()))
+			.toList();
+		assertEquals(List.of(Set.of("a", "b"), Set.of("c")), recipients);
+	}
+
+	@Test
+	@DisplayName("should throw when Redis fails so the bus redelivers the event")
+	public void shouldPropagateInfrastructureFailures() {
+		when(projectRepository.findMemberIdsAfter("project-1", TENANT_ID, "", Limit.of(2))).thenReturn(List.of("a"));
+		doThrow(new RedisConnectionFailureException("Redis is down")).when(debounceEngine).submit(anyMap());
+		TaskEvent event = new TaskEvent(new Object());
+		event.setTaskId("task-1");
+		event.setProjectId("project-1");
+		event.setEventType(TaskEvent.EventType.TASK_CREATED);
+
+		assertThrows(RedisConnectionFailureException.class, () -> notificationService.processEvent(event));
+	}
+
+	@Test
+	@DisplayName("should drop a malformed event instead of having it redelivered")
+	public void shouldDropMalformedEvents() {
+		when(projectRepository.findMemberIdsAfter("project-1", TENANT_ID, "", Limit.of(2))).thenReturn(List.of("a"));
+		TaskEvent event = new TaskEvent(new Object());
+		event.setProjectId("project-1");
+
+		assertDoesNotThrow(() -> notificationService.processEvent(event));
+		verify(debounceEngine, never()).submit(anyMap());
+	}
+}
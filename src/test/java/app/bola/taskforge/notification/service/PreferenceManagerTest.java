@@ -0,0 +1,161 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.domain.entity.NotificationPreference;
+import app.bola.taskforge.domain.entity.Organization;
+import app.bola.taskforge.notification.metrics.NotificationMetrics;
+import app.bola.taskforge.repository.NotificationPreferenceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PreferenceManagerTest {
+
+	private static final String TENANT_ID = "tenant-1";
+
+	@Mock
+	private NotificationPreferenceRepository preferenceRepository;
+
+	private PreferenceManager preferenceManager;
+	private Organization organization;
+
+	@BeforeEach
+	public void setUp() {
+		preferenceManager = new PreferenceManager(preferenceRepository, new NotificationMetrics(new SimpleMeterRegistry(), 100), 100, 1_000, Duration.ofMinutes(5));
+		organization = Organization.builder().publicId(TENANT_ID).name("Mock Organization").build();
+		lenient().when(preferenceRepository.findAllByUserIds(anyCollection(), eq(TENANT_ID))).thenAnswer(invocation -> {
+			Collection<String> userIds = invocation.getArgument(0);
+			return userIds.stream().map(this::preferenceFor).toList();
+		});
+	}
+
+	private NotificationPreference preferenceFor(String userId) {
+		Member member = Member.builder().publicId(userId).email(userId + "@taskforge.com").organization(organization).build();
+		return NotificationPreference.builder().member(member).build();
+	}
+
+	private List<String> userIds(int count) {
+		return IntStream.range(0, count).mapToObj(index -> "user-" + index).toList();
+	}
+
+	@Nested
+	@DisplayName("Bulk Preference Resolution Tests")
+	public class BulkResolutionTests {
+
+		@Test
+		@DisplayName("should issue one query per chunk of recipients")
+		public void shouldQueryOncePerChunk() {
+			Map<String, NotificationPreference> preferences = preferenceManager.getPreferences(TENANT_ID, userIds(250));
+
+			assertEquals(250, preferences.size());
+			verify(preferenceRepository, times(3)).findAllByUserIds(anyCollection(), eq(TENANT_ID));
+		}
+
+		@Test
+		@DisplayName("should serve repeated lookups from the cache")
+		public void shouldServeRepeatedLookupsFromCache() {
+			preferenceManager.getPreferences(TENANT_ID, userIds(50));
+			Map<String, NotificationPreference> preferences = preferenceManager.getPreferences(TENANT_ID, userIds(50));
+
+			assertEquals(50, preferences.size());
+			verify(preferenceRepository, times(1)).findAllByUserIds(anyCollection(), eq(TENANT_ID));
+		}
+
+		@Test
+		@DisplayName("should reload a preference after it has been evicted")
+		public void shouldReloadAfterEviction() {
+			preferenceManager.getPreferences(TENANT_ID, userIds(10));
+			preferenceManager.evict(TENANT_ID, "user-3");
+			preferenceManager.getPreferences(TENANT_ID, userIds(10));
+
+			verify(preferenceRepository, times(2)).findAllByUserIds(anyCollection(), eq(TENANT_ID));
+			verify(preferenceRepository).findAllByUserIds(List.of("user-3"), TENANT_ID);
+		}
+
+		@Test
+		@DisplayName("should not query the database when no tenant is known")
+		public void shouldSkipLookupWithoutTenant() {
+			Map<String, NotificationPreference> preferences = preferenceManager.getPreferences(null, userIds(10));
+
+			assertTrue(preferences.isEmpty());
+			verify(preferenceRepository, never()).findAllByUserIds(anyCollection(), any());
+		}
+	}
+
+	@Nested
+	@DisplayName("Cluster Invalidation Tests")
+	public class ClusterInvalidationTests {
+
+		private static final String CHANNEL = "taskforge:preference-invalidation";
+
+		@Mock
+		private StringRedisTemplate redisTemplate;
+		@Mock
+		private RedisMessageListenerContainer listenerContainer;
+		private PreferenceCacheInvalidation invalidation;
+
+		@BeforeEach
+		public void setUp() {
+			invalidation = new PreferenceCacheInvalidation(preferenceManager, redisTemplate, listenerContainer, CHANNEL);
+		}
+
+		private DefaultMessage message(String body) {
+			return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Test
+		@DisplayName("should reload a preference changed on another instance")
+		public void shouldEvictChangesFromOtherInstances() {
+			preferenceManager.getPreferences(TENANT_ID, userIds(10));
+			invalidation.onMessage(message("other-node " + TENANT_ID + " user-3"), null);
+			preferenceManager.getPreferences(TENANT_ID, userIds(10));
+
+			verify(preferenceRepository).findAllByUserIds(List.of("user-3"), TENANT_ID);
+		}
+
+		@Test
+		@DisplayName("should drop every preference when another instance asks to")
+		public void shouldEvictAllFromOtherInstances() {
+			preferenceManager.getPreferences(TENANT_ID, userIds(10));
+			invalidation.onMessage(message("other-node *"), null);
+			preferenceManager.getPreferences(TENANT_ID, userIds(10));
+
+			verify(preferenceRepository, times(2)).findAllByUserIds(userIds(10), TENANT_ID);
+		}
+
+		@Test
+		@DisplayName("should ignore the invalidations it published itself")
+		public void shouldIgnoreOwnMessages() {
+			preferenceManager.getPreferences(TENANT_ID, userIds(10));
+			invalidation.publish(TENANT_ID, "user-3");
+			ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+			verify(redisTemplate).convertAndSend(eq(CHANNEL), published.capture());
+			invalidation.onMessage(message(published.getValue()), null);
+			preferenceManager.getPreferences(TENANT_ID, userIds(10));
+
+			verify(preferenceRepository, times(1)).findAllByUserIds(anyCollection(), eq(TENANT_ID));
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.notification.model.NotificationBundle;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuietHoursReleasePollerTest {
+
+	@RegisterExtension
+	static final EmbeddedRedis redis = new EmbeddedRedis();
+
+	@Mock
+	private ChannelRouter channelRouter;
+	private DeferredDeliveryStore store;
+	private QuietHoursReleasePoller poller;
+	private final Instant releaseAt = Instant.now().truncatedTo(ChronoUnit.MINUTES).minus(2, ChronoUnit.MINUTES);
+
+	@BeforeEach
+	void setUp() {
+		store = new DeferredDeliveryStore(redis.template(), new ObjectMapper().findAndRegisterModules());
+		poller = new QuietHoursReleasePoller(channelRouter, store, null);
+		ReflectionTestUtils.setField(poller, "claimLease", Duration.ofMinutes(5));
+		ReflectionTestUtils.setField(poller, "releaseBatchSize", 500);
+	}
+
+	private static NotificationBundle bundle(String id, String userId) {
+		return NotificationBundle.builder().id(id).userId(userId).sourceEntityIds(List.of(id)).build();
+	}
+
+	@Test
+	@DisplayName("Each user's bundles are routed as one merged bundle and the bucket is completed")
+	void releasesMergedBundlePerUser() {
+		store.defer(bundle("b1", "user-1"), "org-1", releaseAt);
+		store.defer(bundle("b2", "user-1"), "org-1", releaseAt);
+		store.defer(bundle("b3", "user-2"), "org-1", releaseAt);
+
+		poller.sweep();
+
+		ArgumentCaptor<NotificationBundle> routed = ArgumentCaptor.forClass(NotificationBundle.class);
+		verify(channelRouter, times(2)).route(routed.capture());
+		assertEquals(List.of(List.of("b1", "b2"), List.of("b3")), routed.getAllValues().stream()
+			.sorted((left, right) -> left.getUserId().compareTo(right.getUserId()))
+			.map(NotificationBundle::getSourceEntityIds).toList());
+		assertEquals(0, redis.template().opsForZSet().zCard(DeferredDeliveryStore.DUE_INDEX_KEY));
+	}
+
+	@Test
+	@DisplayName("A user with more bundles than one drain takes is released only once all of them are routed")
+	void drainsLargeBacklogBeforeRelease() {
+		int count = DeferredDeliveryStore.MAX_BUNDLES_PER_DRAIN + 1;
+		for (int index = 0; index < count; index++) {
+			store.defer(bundle("b" + index, "user-1"), "org-1", releaseAt);
+		}
+
+		poller.sweep();
+
+		ArgumentCaptor<NotificationBundle> routed = ArgumentCaptor.forClass(NotificationBundle.class);
+		verify(channelRouter, times(2)).route(routed.capture());
+		assertEquals(count, routed.getAllValues().stream().mapToInt(bundle -> bundle.getSourceEntityIds().size()).sum());
+		assertEquals(0, redis.template().opsForZSet().zCard(DeferredDeliveryStore.DUE_INDEX_KEY));
+	}
+
+	@Test
+	@DisplayName("Bundles that fail to route are deferred to a later bucket")
+	void defersFailedRoute() {
+		store.defer(bundle("b1", "user-1"), "org-1", releaseAt);
+		doThrow(new IllegalStateException("router down")).when(channelRouter).route(any(NotificationBundle.class));
+
+		poller.sweep();
+
+		assertEquals(1, redis.template().opsForZSet().zCard(DeferredDeliveryStore.DUE_INDEX_KEY));
+		assertTrue(store.claimDueBuckets(Instant.now(), 10, Duration.ofMinutes(5)).isEmpty());
+		assertEquals(1, store.claimDueBuckets(Instant.now().plus(2, ChronoUnit.MINUTES), 10, Duration.ofMinutes(5)).size());
+	}
+}
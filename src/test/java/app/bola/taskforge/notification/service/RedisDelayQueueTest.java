@@ -0,0 +1,82 @@
+package app.bola.taskforge.notification.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisDelayQueueTest {
+
+	@RegisterExtension
+	static final EmbeddedRedis redis = new EmbeddedRedis();
+
+	private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+	private static final Duration LEASE = Duration.ofSeconds(30);
+
+	private final RedisDelayQueue queue = new RedisDelayQueue("test:due", redis.template());
+
+	@Test
+	@DisplayName("Only due members are claimed, and they stay hidden until the lease runs out")
+	void claimsDueMembersUnderALease() {
+		queue.scheduleIfAbsent("due", NOW.minusSeconds(1));
+		queue.scheduleIfAbsent("later", NOW.plusSeconds(60));
+
+		List<RedisDelayQueue.Claim> claimed = queue.claimDue(NOW, 10, LEASE);
+
+		assertEquals(List.of(new RedisDelayQueue.Claim("due", NOW.plus(LEASE).toEpochMilli())), claimed);
+		assertTrue(queue.claimDue(NOW.plusSeconds(29), 10, LEASE).isEmpty());
+		assertEquals(2, queue.size());
+	}
+
+	@Test
+	@DisplayName("A member whose lease ran out can be claimed again")
+	void reclaimsAfterLeaseExpiry() {
+		queue.scheduleIfAbsent("key", NOW);
+		RedisDelayQueue.Claim first = queue.claimDue(NOW, 10, LEASE).getFirst();
+
+		List<RedisDelayQueue.Claim> second = queue.claimDue(NOW.plus(LEASE), 10, LEASE);
+
+		assertEquals(1, second.size());
+		assertTrue(second.getFirst().leaseExpiresAt() > first.leaseExpiresAt());
+	}
+
+	@Test
+	@DisplayName("Completing removes the member while the claim still holds it")
+	void completesHeldClaim() {
+		queue.scheduleIfAbsent("key", NOW);
+		RedisDelayQueue.Claim claim = queue.claimDue(NOW, 10, LEASE).getFirst();
+
+		assertTrue(queue.complete(claim));
+		assertEquals(0, queue.size());
+		assertFalse(queue.complete(claim));
+	}
+
+	@Test
+	@DisplayName("A claim whose lease ran out cannot remove a member another node claimed since")
+	void staleClaimDoesNotComplete() {
+		queue.scheduleIfAbsent("key", NOW);
+		RedisDelayQueue.Claim stale = queue.claimDue(NOW, 10, LEASE).getFirst();
+		RedisDelayQueue.Claim current = queue.claimDue(NOW.plus(LEASE).plusMillis(5), 10, LEASE).getFirst();
+
+		assertFalse(queue.complete(stale));
+		assertEquals(1, queue.size());
+		assertTrue(queue.complete(current));
+	}
+
+	@Test
+	@DisplayName("Rescheduling a claimed member makes completing the old claim a no-op")
+	void rescheduleFencesOldClaim() {
+		queue.scheduleIfAbsent("key", NOW);
+		RedisDelayQueue.Claim claim = queue.claimDue(NOW, 10, LEASE).getFirst();
+
+		queue.reschedule("key", NOW.plusSeconds(5));
+
+		assertFalse(queue.complete(claim));
+		assertEquals(NOW.plusSeconds(5), queue.earliestDueAt().orElseThrow());
+	}
+}
@@ -0,0 +1,95 @@
+package app.bola.taskforge.notification.service;
+
+import app.bola.taskforge.notification.config.NotificationConfig;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.lettuce.core.protocol.RedisCommand;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.NettyCustomizer;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts what a Lettuce client actually sends: every flush of the socket that carries at least one command.
+ * A pipeline that is flushed once is one round trip, one flushed command by command costs a write per command.
+ * The commands Lettuce sends while it sets up a connection are left out, new connections are counted on their own.
+ */
+class RoundTripCounter implements NettyCustomizer {
+
+	private static final Set<CommandType> HANDSHAKE = EnumSet.of(CommandType.HELLO, CommandType.AUTH, CommandType.SELECT,
+		CommandType.CLIENT, CommandType.PING);
+
+	private final AtomicLong roundTrips = new AtomicLong();
+	private final AtomicLong connections = new AtomicLong();
+	private final ClientResources clientResources = ClientResources.builder().nettyCustomizer(this).build();
+
+	/**
+	 * A connection factory set up like the application's, whose connections report to this counter. It is started
+	 * already, destroying it is up to the caller, and so is {@link #shutdown()}.
+	 */
+	LettuceConnectionFactory connectionFactory(RedisStandaloneConfiguration configuration) {
+		LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(configuration,
+			LettuceClientConfiguration.builder().clientResources(clientResources).build());
+		NotificationConfig.flushPipelinesOnClose(connectionFactory);
+		connectionFactory.afterPropertiesSet();
+		connectionFactory.start();
+		return connectionFactory;
+	}
+
+	long roundTrips() {
+		return roundTrips.get();
+	}
+
+	long connections() {
+		return connections.get();
+	}
+
+	void shutdown() {
+		clientResources.shutdown();
+	}
+
+	@Override
+	public void afterChannelInitialized(Channel channel) {
+		connections.incrementAndGet();
+		channel.pipeline().addLast(new ChannelDuplexHandler() {
+
+			private boolean pending;
+
+			@Override
+			public void write(ChannelHandlerContext context, Object message, ChannelPromise promise) throws Exception {
+				pending |= carriesCommand(message);
+				super.write(context, message, promise);
+			}
+
+			@Override
+			public void flush(ChannelHandlerContext context) throws Exception {
+				if (pending) {
+					pending = false;
+					roundTrips.incrementAndGet();
+				}
+				super.flush(context);
+			}
+		});
+	}
+
+	private static boolean carriesCommand(Object message) {
+		if (message instanceof Collection<?> commands) {
+			return commands.stream().anyMatch(RoundTripCounter::carriesCommand);
+		}
+		if (message instanceof RedisCommand<?, ?, ?> command) {
+			ProtocolKeyword type = command.getType();
+			return !(type instanceof CommandType commandType && HANDSHAKE.contains(commandType));
+		}
+		return false;
+	}
+}
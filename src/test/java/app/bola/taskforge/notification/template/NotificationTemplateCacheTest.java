@@ -0,0 +1,109 @@
+package app.bola.taskforge.notification.template;
+
+import app.bola.taskforge.notification.model.NotificationTemplate;
+import app.bola.taskforge.notification.repository.NotificationTemplateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationTemplateCacheTest {
+
+	private static final String CHANNEL = "taskforge:template-invalidation";
+
+	@Mock
+	private NotificationTemplateRepository templateRepository;
+	@Mock
+	private StringRedisTemplate redisTemplate;
+	@Mock
+	private RedisMessageListenerContainer listenerContainer;
+	private NotificationTemplateCache templateCache;
+	private NotificationTemplateCacheInvalidation invalidation;
+	private TemplateEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		templateCache = new NotificationTemplateCache(templateRepository, 100, Duration.ofHours(1));
+		invalidation = new NotificationTemplateCacheInvalidation(templateCache, redisTemplate, listenerContainer, CHANNEL);
+		engine = templateCache.newTemplateEngine(TemplateMode.TEXT, new StaticMessageSource());
+	}
+
+	private static NotificationTemplate template(String body, long version) {
+		NotificationTemplate template = NotificationTemplate.builder().name("welcome").channel("push").body(body).build();
+		template.setVersion(version);
+		return template;
+	}
+
+	private String render() {
+		NotificationTemplateCache.CachedTemplate cached = templateCache.get("welcome", "push", null).orElseThrow();
+		return engine.process(cached.spec(), new Context(Locale.ENGLISH, Map.of("name", "Ada")));
+	}
+
+	private static DefaultMessage message(String body) {
+		return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	@DisplayName("A change published by another instance evicts the template and its parsed form")
+	void evictsChangesFromOtherInstances() {
+		when(templateRepository.findByNameAndChannel("welcome", "push"))
+			.thenReturn(Optional.of(template("Hi [(${name})]", 1)), Optional.of(template("Hello [(${name})]", 2)));
+
+		assertEquals("Hi Ada", render());
+		assertEquals("Hi Ada", render());
+		invalidation.onMessage(message("other-node push welcome"), null);
+
+		assertEquals("Hello Ada", render());
+		verify(templateRepository, times(2)).findByNameAndChannel("welcome", "push");
+	}
+
+	@Test
+	@DisplayName("An instance ignores the invalidations it published itself")
+	void ignoresOwnMessages() {
+		when(templateRepository.findByNameAndChannel("welcome", "push")).thenReturn(Optional.of(template("Hi", 1)));
+		render();
+
+		invalidation.publish("welcome", "push");
+		ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+		verify(redisTemplate).convertAndSend(eq(CHANNEL), published.capture());
+		invalidation.onMessage(message(published.getValue()), null);
+		render();
+
+		verify(templateRepository, times(1)).findByNameAndChannel("welcome", "push");
+	}
+
+	@Test
+	@DisplayName("A template looked up without a channel is found on any channel and evicted with it")
+	void looksUpAnyChannel() {
+		when(templateRepository.findByName("welcome")).thenReturn(Optional.of(template("Hi", 1)));
+
+		assertTrue(templateCache.get("welcome", null, null).isPresent());
+		templateCache.evict("welcome", "push");
+		templateCache.get("welcome", null, null);
+
+		verify(templateRepository, times(2)).findByName("welcome");
+		verify(templateRepository, never()).findByNameAndChannel(anyString(), anyString());
+	}
+}
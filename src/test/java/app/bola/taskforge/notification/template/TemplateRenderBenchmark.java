@@ -0,0 +1,106 @@
+package app.bola.taskforge.notification.template;
+
+import app.bola.taskforge.notification.metrics.NotificationMetrics;
+import app.bola.taskforge.notification.model.NotificationTemplate;
+import app.bola.taskforge.notification.repository.NotificationTemplateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.support.StaticMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Compares push renders per second before and after templates were cached.
+ * <p>
+ * {@code legacy} renders the way the push renderer used to: a repository lookup per render and one shared
+ * {@link Context}, which has to be locked for the output to be correct under concurrency. {@code cached} goes through
+ * {@link PushNotificationTemplateRenderer}. The repository is an in-memory stub that waits {@code lookupMicros}
+ * per query to stand in for the database round trip.
+ * Run it from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=app.bola.taskforge.notification.template.TemplateRenderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class TemplateRenderBenchmark {
+
+	private static final String BODY = "[(${actorName})] moved [(${taskTitle})] to [(${status})] in [(${projectName})]";
+	private static final Map<String, Object> VARIABLES = Map.of(
+		"actorName", "Ada", "taskTitle", "Fix login", "status", "IN_REVIEW", "projectName", "TaskForge");
+
+	@Param({"0", "200"})
+	private long lookupMicros;
+
+	private NotificationTemplateRepository templateRepository;
+	private SpringTemplateEngine legacyEngine;
+	private Context sharedContext;
+	private PushNotificationTemplateRenderer renderer;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		NotificationTemplate template = NotificationTemplate.builder()
+			.name("task-updated").channel("push").language("en").body(BODY).build();
+		template.setVersion(1L);
+		templateRepository = stubRepository(template, lookupMicros);
+
+		StringTemplateResolver resolver = new StringTemplateResolver();
+		resolver.setTemplateMode(TemplateMode.TEXT);
+		resolver.setCacheable(true);
+		legacyEngine = new SpringTemplateEngine();
+		legacyEngine.setTemplateResolver(resolver);
+		sharedContext = new Context();
+
+		StaticMessageSource messageSource = new StaticMessageSource();
+		NotificationTemplateCache templateCache = new NotificationTemplateCache(templateRepository, 100, Duration.ofHours(1));
+		renderer = new PushNotificationTemplateRenderer(messageSource, templateCache,
+			new NotificationMetrics(new SimpleMeterRegistry(), 100));
+	}
+
+	@Benchmark
+	public String legacy() {
+		NotificationTemplate template = templateRepository.findByNameAndChannel("task-updated", "push").orElseThrow();
+		synchronized (sharedContext) {
+			sharedContext.setVariables(VARIABLES);
+			return legacyEngine.process(template.getBody(), sharedContext);
+		}
+	}
+
+	@Benchmark
+	public String cached() {
+		return renderer.render("task-updated", "push", VARIABLES, Locale.ENGLISH);
+	}
+
+	private static NotificationTemplateRepository stubRepository(NotificationTemplate template, long lookupMicros) {
+		return (NotificationTemplateRepository) Proxy.newProxyInstance(TemplateRenderBenchmark.class.getClassLoader(),
+			new Class<?>[]{NotificationTemplateRepository.class}, (proxy, method, args) -> {
+				if (!method.getName().startsWith("findByNameAndChannel")) {
+					throw new UnsupportedOperationException(method.getName());
+				}
+				if (lookupMicros > 0) {
+					LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(lookupMicros));
+				}
+				return Optional.of(template);
+			});
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(TemplateRenderBenchmark.class.getSimpleName()).build()).run();
+	}
+}
@@ -15,6 +15,7 @@ import app.bola.taskforge.repository.*;
 import app.bola.taskforge.service.dto.CommentRequest;
 import app.bola.taskforge.service.dto.CommentResponse;
 import app.bola.taskforge.service.dto.MentionResponse;
+import app.bola.taskforge.service.mapper.CommentMapper;
 import jakarta.validation.Validator;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
@@ -25,7 +26,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -45,7 +45,7 @@ import static org.mockito.Mockito.when;
 class CommentServiceTest {
 	
 	@Mock
-	private ModelMapper modelMapper;
+	private CommentMapper commentMapper;
 	
 	@Mock
 	private Validator validator;
@@ -108,7 +108,7 @@ class CommentServiceTest {
 			
 			when(validator.validate(commentRequest)).thenReturn(Set.of());
 			when(userRepository.findByIdScoped(author.getPublicId())).thenReturn(Optional.of(author));
-			when(taskRepository.findByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
+			when(taskRepository.findWithProjectMembersByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
 			
 			commentResponse = CommentResponse.builder().content(comment.getContent()).authorId(comment.getAuthor().getPublicId())
 					                        .taskId(comment.getTask().getPublicId()).organizationId(organization.getPublicId()).publicId(comment.getPublicId())
@@ -120,9 +120,9 @@ class CommentServiceTest {
 		public void shouldCreateACommentSuccessfully() {
 			
 			when(projectRepository.findByIdScoped(project.getPublicId())).thenReturn(Optional.of(project));
-			when(modelMapper.map(any(CommentRequest.class), eq(Comment.class))).thenReturn(comment);
+			when(commentMapper.toEntity(any(CommentRequest.class))).thenReturn(comment);
 			when(commentRepository.save(comment)).thenReturn(comment);
-			when(modelMapper.map(comment, CommentResponse.class)).thenReturn(commentResponse);
+			when(commentMapper.toResponse(comment)).thenReturn(commentResponse);
 			
 			CommentResponse commentResponse = commentService.createNew(commentRequest);
 			assertNotNull(commentResponse);
@@ -137,7 +137,7 @@ class CommentServiceTest {
 			task.setProject(project);
 			
 			when(userRepository.findByIdScoped(author.getPublicId())).thenReturn(Optional.of(author));
-			when(taskRepository.findByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
+			when(taskRepository.findWithProjectMembersByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
 			
 			InvalidRequestException exception = assertThrows(InvalidRequestException.class, () -> commentService.createNew(commentRequest));
 			assertNotNull(exception);
@@ -151,7 +151,7 @@ class CommentServiceTest {
 		public void shouldThrowEntityNotFoundExceptionForNonExistentTask() {
 			// Given a non-existent task
 			when(userRepository.findByIdScoped(author.getPublicId())).thenReturn(Optional.of(author));
-			when(taskRepository.findByIdScoped(task.getPublicId())).thenReturn(Optional.empty());
+			when(taskRepository.findWithProjectMembersByIdScoped(task.getPublicId())).thenReturn(Optional.empty());
 			
 			// When trying to create a comment Then an EntityNotFoundException should be thrown
 			EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> commentService.createNew(commentRequest));
@@ -168,7 +168,7 @@ class CommentServiceTest {
 			task.setProject(project);
 			
 			when(userRepository.findByIdScoped(author.getPublicId())).thenReturn(Optional.of(author));
-			when(taskRepository.findByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
+			when(taskRepository.findWithProjectMembersByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
 			
 			InvalidRequestException exception = assertThrows(InvalidRequestException.class, () -> commentService.createNew(commentRequest));
 			assertEquals("Author is not a member of the project associated with this task", exception.getMessage());
@@ -228,10 +228,10 @@ class CommentServiceTest {
 					                                 .build();
 			
 			when(userRepository.findByIdScoped(author.getPublicId())).thenReturn(Optional.of(author));
-			when(taskRepository.findByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
-			when(modelMapper.map(any(CommentRequest.class), eq(Comment.class))).thenReturn(commentWithAttachments);
+			when(taskRepository.findWithProjectMembersByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
+			when(commentMapper.toEntity(any(CommentRequest.class))).thenReturn(commentWithAttachments);
 			when(commentRepository.save(any(Comment.class))).thenReturn(commentWithAttachments);
-			when(modelMapper.map(any(Comment.class), eq(CommentResponse.class))).thenReturn(commentResponse);
+			when(commentMapper.toResponse(any(Comment.class))).thenReturn(commentResponse);
 			
 			CommentResponse result = commentService.createNew(requestWithAttachments);
 			
@@ -261,10 +261,10 @@ class CommentServiceTest {
 					                              .build();
 			
 			when(userRepository.findByIdScoped(author.getPublicId())).thenReturn(Optional.of(author));
-			when(taskRepository.findByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
-			when(modelMapper.map(any(CommentRequest.class), eq(Comment.class))).thenReturn(commentWithMentions);
+			when(taskRepository.findWithProjectMembersByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
+			when(commentMapper.toEntity(any(CommentRequest.class))).thenReturn(commentWithMentions);
 			when(commentRepository.save(any(Comment.class))).thenReturn(commentWithMentions);
-			when(modelMapper.map(any(Comment.class), eq(CommentResponse.class))).thenReturn(commentResponse);
+			when(commentMapper.toResponse(any(Comment.class))).thenReturn(commentResponse);
 			
 			CommentResponse result = commentService.createNew(requestWithMentions);
 			
@@ -280,10 +280,10 @@ class CommentServiceTest {
 			task.setAssignee(assignee);
 			
 			when(userRepository.findByIdScoped(author.getPublicId())).thenReturn(Optional.of(author));
-			when(taskRepository.findByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
-			when(modelMapper.map(any(CommentRequest.class), eq(Comment.class))).thenReturn(comment);
+			when(taskRepository.findWithProjectMembersByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
+			when(commentMapper.toEntity(any(CommentRequest.class))).thenReturn(comment);
 			when(commentRepository.save(any(Comment.class))).thenReturn(comment);
-			when(modelMapper.map(any(Comment.class), eq(CommentResponse.class))).thenReturn(commentResponse);
+			when(commentMapper.toResponse(any(Comment.class))).thenReturn(commentResponse);
 			
 			CommentResponse result = commentService.createNew(commentRequest);
 			
@@ -306,10 +306,10 @@ class CommentServiceTest {
 					                                     .build();
 			
 			when(userRepository.findByIdScoped(author.getPublicId())).thenReturn(Optional.of(author));
-			when(taskRepository.findByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
-			when(modelMapper.map(any(CommentRequest.class), eq(Comment.class))).thenReturn(comment);
+			when(taskRepository.findWithProjectMembersByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
+			when(commentMapper.toEntity(any(CommentRequest.class))).thenReturn(comment);
 			when(commentRepository.save(any(Comment.class))).thenReturn(comment);
-			when(modelMapper.map(any(Comment.class), eq(CommentResponse.class))).thenReturn(commentResponse);
+			when(commentMapper.toResponse(any(Comment.class))).thenReturn(commentResponse);
 			
 			CommentResponse result = commentService.createNew(requestWithMentions);
 			
@@ -338,11 +338,11 @@ class CommentServiceTest {
 					                              .build();
 			
 			when(userRepository.findByIdScoped(author.getPublicId())).thenReturn(Optional.of(author));
-			when(taskRepository.findByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
+			when(taskRepository.findWithProjectMembersByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
 			when(commentRepository.findByIdScoped(parentCommentId)).thenReturn(Optional.of(parentComment));
-			when(modelMapper.map(any(CommentRequest.class), eq(Comment.class))).thenReturn(comment);
+			when(commentMapper.toEntity(any(CommentRequest.class))).thenReturn(comment);
 			when(commentRepository.save(any(Comment.class))).thenReturn(comment);
-			when(modelMapper.map(any(Comment.class), eq(CommentResponse.class))).thenReturn(commentResponse);
+			when(commentMapper.toResponse(any(Comment.class))).thenReturn(commentResponse);
 			
 			CommentResponse result = commentService.createNew(replyRequest);
 			
@@ -366,10 +366,10 @@ class CommentServiceTest {
 					                                     .build();
 			
 			when(userRepository.findByIdScoped(author.getPublicId())).thenReturn(Optional.of(author));
-			when(taskRepository.findByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
-			when(modelMapper.map(any(CommentRequest.class), eq(Comment.class))).thenReturn(comment);
+			when(taskRepository.findWithProjectMembersByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
+			when(commentMapper.toEntity(any(CommentRequest.class))).thenReturn(comment);
 			when(commentRepository.save(any(Comment.class))).thenReturn(comment);
-			when(modelMapper.map(any(Comment.class), eq(CommentResponse.class))).thenReturn(commentResponse);
+			when(commentMapper.toResponse(any(Comment.class))).thenReturn(commentResponse);
 			
 			CommentResponse result = commentService.createNew(requestWithMentions);
 			
@@ -398,10 +398,10 @@ class CommentServiceTest {
 					                           .build();
 			
 			when(userRepository.findByIdScoped(author.getPublicId())).thenReturn(Optional.of(author));
-			when(taskRepository.findByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
-			when(modelMapper.map(any(CommentRequest.class), eq(Comment.class))).thenReturn(sanitizedComment);
+			when(taskRepository.findWithProjectMembersByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
+			when(commentMapper.toEntity(any(CommentRequest.class))).thenReturn(sanitizedComment);
 			when(commentRepository.save(any(Comment.class))).thenReturn(sanitizedComment);
-			when(modelMapper.map(any(Comment.class), eq(CommentResponse.class))).thenReturn(commentResponse);
+			when(commentMapper.toResponse(any(Comment.class))).thenReturn(commentResponse);
 			
 			CommentResponse result = commentService.createNew(maliciousRequest);
 			
@@ -475,7 +475,7 @@ class CommentServiceTest {
 			when(commentRepository.findByIdScoped(commentId)).thenReturn(Optional.of(existingComment));
 			when(userRepository.findByIdScoped(commentAuthor.getPublicId())).thenReturn(Optional.of(commentAuthor));
 			when(commentRepository.save(any(Comment.class))).thenReturn(updatedComment);
-			when(modelMapper.map(any(Comment.class), eq(CommentResponse.class))).thenReturn(expectedResponse);
+			when(commentMapper.toResponse(any(Comment.class))).thenReturn(expectedResponse);
 			
 			CommentResponse result = commentService.edit(commentId, commentAuthor.getPublicId(), newContent);
 			
@@ -553,7 +553,7 @@ class CommentServiceTest {
 				assertTrue(savedComment.isEdited());
 				return savedComment;
 			});
-			when(modelMapper.map(any(Comment.class), eq(CommentResponse.class))).thenReturn(new CommentResponse());
+			when(commentMapper.toResponse(any(Comment.class))).thenReturn(new CommentResponse());
 			
 			commentService.edit(commentId, commentAuthor.getPublicId(), newContent);
 			
@@ -574,7 +574,7 @@ class CommentServiceTest {
 				assertEquals(sanitizedContent, savedComment.getContent());
 				return savedComment;
 			});
-			when(modelMapper.map(any(Comment.class), eq(CommentResponse.class))).thenReturn(new CommentResponse());
+			when(commentMapper.toResponse(any(Comment.class))).thenReturn(new CommentResponse());
 			
 			commentService.edit(commentId, commentAuthor.getPublicId(), sanitizedContent);
 			
@@ -657,10 +657,10 @@ class CommentServiceTest {
 			
 			when(commentRepository.findByIdScoped(parentCommentId)).thenReturn(Optional.of(parentComment));
 			when(userRepository.findByIdScoped(replyAuthor.getPublicId())).thenReturn(Optional.of(replyAuthor));
-			when(taskRepository.findByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
-			when(modelMapper.map(any(CommentRequest.class), eq(Comment.class))).thenReturn(replyComment);
+			when(taskRepository.findWithProjectMembersByIdScoped(task.getPublicId())).thenReturn(Optional.of(task));
+			when(commentMapper.toEntity(any(CommentRequest.class))).thenReturn(replyComment);
 			when(commentRepository.save(any(Comment.class))).thenReturn(replyComment);
-			when(modelMapper.map(any(Comment.class), eq(CommentResponse.class))).thenReturn(expectedResponse);
+			when(commentMapper.toResponse(any(Comment.class))).thenReturn(expectedResponse);
 			
 			CommentResponse result = commentService.replyToComment(parentCommentId, replyRequest);
 			
@@ -13,6 +13,8 @@ import app.bola.taskforge.security.provider.JwtTokenProvider;
 import app.bola.taskforge.service.dto.InvitationResponse;
 import app.bola.taskforge.service.dto.MemberRequest;
 import app.bola.taskforge.service.dto.MemberResponse;
+import app.bola.taskforge.service.mapper.InvitationMapper;
+import app.bola.taskforge.service.mapper.MemberMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -20,7 +22,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.util.Optional;
 import java.util.Set;
@@ -33,7 +34,9 @@ import static org.mockito.Mockito.*;
 public class MemberServiceTest {
 
 	@Mock
-	private ModelMapper modelMapper;
+	private InvitationMapper invitationMapper;
+	@Mock
+	private MemberMapper memberMapper;
 	@Mock
 	private JwtTokenProvider jwtTokenProvider;
 	@Mock
@@ -68,7 +71,7 @@ public class MemberServiceTest {
 			when(jwtTokenProvider.isExpiredToken("some-token")).thenReturn(Boolean.FALSE);
 			when(jwtTokenProvider.extractClaimFromToken("some-token")).thenReturn("email@gmail.com");
 			when(invitationRepository.findByEmail("email@gmail.com")).thenReturn(Optional.of(invitation));
-			when(modelMapper.map(any(Invitation.class), eq(InvitationResponse.class))).thenReturn(response);
+			when(invitationMapper.toResponse(any(Invitation.class))).thenReturn(response);
 			when(invitation.getOrganization().getPublicId()).thenReturn("org-id-123");
 			when(invitation.getEmail()).thenReturn("email@gmail.com");
 
@@ -188,7 +191,7 @@ public class MemberServiceTest {
 		            .build();
 		
 		    when(userRepository.save(any(Member.class))).thenReturn(savedMember);
-		    when(modelMapper.map(savedMember, MemberResponse.class)).thenReturn(expectedResponse);
+		    when(memberMapper.toResponse(savedMember)).thenReturn(expectedResponse);
 		
 		    // When
 		    MemberResponse response = memberService.createNew(request);
@@ -202,7 +205,7 @@ public class MemberServiceTest {
 		    assertEquals(Role.ORGANIZATION_MEMBER, response.getRoles());
 		
 		    verify(userRepository).save(any(Member.class));
-		    verify(modelMapper).map(savedMember, MemberResponse.class);
+		    verify(memberMapper).toResponse(savedMember);
 		}
 		
 		@Test
@@ -14,6 +14,7 @@ import app.bola.taskforge.service.dto.InvitationRequest;
 import app.bola.taskforge.service.dto.InvitationResponse;
 import app.bola.taskforge.service.dto.OrganizationRequest;
 import app.bola.taskforge.service.dto.OrganizationResponse;
+import app.bola.taskforge.service.mapper.OrganizationMapper;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,8 +25,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-import org.springframework.http.ResponseEntity;
 
 import java.util.Optional;
 import java.util.Set;
@@ -42,7 +41,7 @@ class OrganizationServiceTest {
 	@Mock
 	private Validator validator;
 	@Mock
-	private ModelMapper modelMapper;
+	private OrganizationMapper organizationMapper;
 	@Mock
 	private MailSender mailSender;
 	@Mock
@@ -72,9 +71,9 @@ class OrganizationServiceTest {
 			String uniqueName = "Ajileye and Sons";
 			Organization organization = Organization.builder().name(uniqueName).build();
 			when(organizationRepository.existsByName(uniqueName)).thenReturn(false);
-			when(modelMapper.map(any(OrganizationRequest.class), eq(Organization.class))).thenReturn(organization);
+			when(organizationMapper.toEntity(any(OrganizationRequest.class))).thenReturn(organization);
 			when(organizationRepository.save(any())).thenReturn(organization);
-			when(modelMapper.map(any(Organization.class), eq(OrganizationResponse.class))).thenReturn(
+			when(organizationMapper.toResponse(any(Organization.class))).thenReturn(
 					OrganizationResponse.builder().name(uniqueName).build()
 			);
 			
@@ -127,7 +126,7 @@ class OrganizationServiceTest {
 					                            .build();
 			
 			// When
-			when(modelMapper.map(organization, OrganizationResponse.class))
+			when(organizationMapper.toResponse(organization))
 					.thenReturn(OrganizationResponse.builder()
 							            .name("eReach Org")
 							            .slug("e-reach-org")
@@ -151,7 +150,7 @@ class OrganizationServiceTest {
 					"createdAt", "projects",
 					"lastModifiedAt", "members"
 			);
-			verify(modelMapper).map(organization, OrganizationResponse.class);
+			verify(organizationMapper).toResponse(organization);
 		}
 		
 		@Test
@@ -177,7 +176,7 @@ class OrganizationServiceTest {
 			);
 			assertEquals("Organization name is required", exception.getMessage());
 			
-			verifyNoInteractions(organizationRepository, modelMapper);
+			verifyNoInteractions(organizationRepository, organizationMapper);
 		}
 		
 		@Test
@@ -236,7 +235,7 @@ class OrganizationServiceTest {
 			assertTrue(message.contains("Time zone format is invalid (e.g., Africa/Lagos)"));
 			assertTrue(message.contains("Website URL must be valid"));
 			
-			verifyNoInteractions(organizationRepository, modelMapper);
+			verifyNoInteractions(organizationRepository, organizationMapper);
 		}
 		
 		@Test
@@ -255,7 +254,7 @@ class OrganizationServiceTest {
 			
 			when(validator.validate(request, OrganizationRequest.class)).thenReturn(Set.of());
 			when(organizationRepository.existsByName("Unique Org")).thenReturn(false);
-			when(modelMapper.map(request, Organization.class)).thenReturn(Organization.builder().name("Unique Org").build());
+			when(organizationMapper.toEntity(request)).thenReturn(Organization.builder().name("Unique Org").build());
 			when(organizationRepository.save(any())).thenThrow(new RuntimeException("DB error"));
 			
 			// When & Then
@@ -280,7 +279,7 @@ class OrganizationServiceTest {
 			
 			when(validator.validate(request, OrganizationRequest.class)).thenReturn(Set.of());
 			when(organizationRepository.existsByName("Another Org")).thenReturn(false);
-			when(modelMapper.map(request, Organization.class)).thenReturn(Organization.builder().name("Another Org").slug("duplicate-slug").build());
+			when(organizationMapper.toEntity(request)).thenReturn(Organization.builder().name("Another Org").slug("duplicate-slug").build());
 			when(organizationRepository.save(any())).thenThrow(new org.springframework.dao.DataIntegrityViolationException("Unique index or primary key violation"));
 			
 			// When & Then
@@ -295,7 +294,7 @@ class OrganizationServiceTest {
 			// When & Then
 			NullPointerException ex = assertThrows(NullPointerException.class, () -> organizationService.createNew(null));
 			assertNotNull(ex);
-			verifyNoInteractions(organizationRepository, modelMapper);
+			verifyNoInteractions(organizationRepository, organizationMapper);
 		}
 		
 		@Test
@@ -319,9 +318,9 @@ class OrganizationServiceTest {
 			
 			when(validator.validate(request, OrganizationRequest.class)).thenReturn(Set.of());
 			when(organizationRepository.existsByName("  Org Name  ")).thenReturn(false);
-			when(modelMapper.map(request, Organization.class)).thenReturn(trimmedOrg);
+			when(organizationMapper.toEntity(request)).thenReturn(trimmedOrg);
 			when(organizationRepository.save(trimmedOrg)).thenReturn(trimmedOrg);
-			when(modelMapper.map(trimmedOrg, OrganizationResponse.class)).thenReturn(
+			when(organizationMapper.toResponse(trimmedOrg)).thenReturn(
 					OrganizationResponse.builder().name("Org Name").slug("org-slug").build()
 			);
 			
@@ -353,7 +352,7 @@ class OrganizationServiceTest {
 					                                .lastModifiedAt(org.getLastModifiedAt())
 					                                .build();
 			
-			when(modelMapper.map(org, OrganizationResponse.class)).thenReturn(response);
+			when(organizationMapper.toResponse(org)).thenReturn(response);
 			
 			// When
 			OrganizationResponse result = organizationService.toResponse(org);
@@ -363,7 +362,7 @@ class OrganizationServiceTest {
 			assertNotNull(result.getLastModifiedAt());
 			assertEquals(org.getCreatedAt(), result.getCreatedAt());
 			assertEquals(org.getLastModifiedAt(), result.getLastModifiedAt());
-			verify(modelMapper).map(org, OrganizationResponse.class);
+			verify(organizationMapper).toResponse(org);
 		}
 	}
 	
@@ -411,7 +410,6 @@ class OrganizationServiceTest {
 			when(userRepository.findByIdScoped("member-id-123")).thenReturn(Optional.of(member));
 			when(jwtTokenProvider.generateToken("Alayande Abdulmalik", "org-12345")).thenReturn("some-jwt-token");
 			when(invitationRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
-			when(mailSender.sendEmail(anyList(), anyString(), anyString())).thenReturn(ResponseEntity.ok().build());
 		
 			//Action: Create organization and invite member
 			organizationResponse = organizationService.createNew(orgRequest);
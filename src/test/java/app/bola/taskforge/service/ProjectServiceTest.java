@@ -13,6 +13,7 @@ import app.bola.taskforge.repository.UserRepository;
 import app.bola.taskforge.service.dto.ProjectRequest;
 import app.bola.taskforge.service.dto.ProjectResponse;
 import app.bola.taskforge.service.dto.MemberResponse;
+import app.bola.taskforge.service.mapper.ProjectMapper;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -20,7 +21,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -37,7 +37,7 @@ import static org.mockito.Mockito.when;
 class ProjectServiceTest {
 	
 	@Mock
-	private ModelMapper modelMapper;
+	private ProjectMapper projectMapper;
 	@Mock
 	private UserRepository userRepository;
 	@Mock
@@ -68,7 +68,7 @@ class ProjectServiceTest {
 					                                .organizationId("organization-id-12345")
 					                                .build();
 			
-			when(modelMapper.map(projectRequest, Project.class)).thenReturn(Project.builder()
+			when(projectMapper.toEntity(projectRequest)).thenReturn(Project.builder()
 					                                                                .name("New  Project")
 					                                                                .description("This is a new project")
 					                                                                .category(ProjectCategory.valueOf("SOFTWARE"))
@@ -94,7 +94,7 @@ class ProjectServiceTest {
 							Member.builder().publicId("member-id-2").email("").firstName("Jane").lastName("Doe").build(),
 							Member.builder().publicId("member-id-3").email("").firstName("Jim").lastName("Beam").build()
 					));
-			when(modelMapper.map(any(Project.class), eq(ProjectResponse.class))).thenReturn(ProjectResponse.builder()
+			when(projectMapper.toResponse(any(Project.class))).thenReturn(ProjectResponse.builder()
 					                                                                                .name("New  Project").description("This is a new project").category(ProjectCategory.SOFTWARE.name())
 					                                                                                .startDate(LocalDate.now().plusDays(1)).endDate(LocalDate.now().plusDays(31))
 					                                                                                .members(Set.of(
@@ -163,7 +163,7 @@ class ProjectServiceTest {
 							Member.builder().id("member-id-3").email("jimbeam@proton.mail").firstName("Jim").lastName("Beam").build()
 					));
 			
-			when(modelMapper.map(projectRequest, Project.class)).thenReturn(
+			when(projectMapper.toEntity(projectRequest)).thenReturn(
 					Project.builder().name("New Project").description("This is a new project").members(Set.of())
 							.dateRange(new DateRange(LocalDate.now().plusDays(1), LocalDate.now().plusDays(31)))
 							.build()
@@ -191,7 +191,7 @@ class ProjectServiceTest {
 			when(organizationRepository.findByIdScoped("organization-id-12345"))
 					.thenReturn(Optional.of(Organization.builder().publicId("organization-id-12345").name("Test Organization").build()));
 			
-			when(modelMapper.map(projectRequest, Project.class)).thenReturn(
+			when(projectMapper.toEntity(projectRequest)).thenReturn(
 					Project.builder().name("New Project").description("This is a new project").members(Set.of())
 //							.dateRange(new DateRange(LocalDate.now().plusDays(1), LocalDate.now().plusDays(31)))
 							.build()
@@ -227,7 +227,7 @@ class ProjectServiceTest {
 					Member.builder().id("member-id-345").email("").firstName("Jim").lastName("Beam").build()
 			)).build();
 			
-			when(modelMapper.map(any(Project.class), eq(ProjectResponse.class))).thenReturn(
+			when(projectMapper.toResponse(any(Project.class))).thenReturn(
 					ProjectResponse.builder().publicId(projectId).name("Test Project").build()
 			);
 			when(projectRepository.findByIdScoped(projectId)).thenReturn(Optional.of(project));
@@ -293,7 +293,7 @@ class ProjectServiceTest {
 			
 			Member member = Member.builder().id(memberId).firstName("John").lastName("Doe").build();
 			
-			when(modelMapper.map(any(Project.class), eq(ProjectResponse.class))).thenReturn(
+			when(projectMapper.toResponse(any(Project.class))).thenReturn(
 					ProjectResponse.builder().publicId(projectId).name("Test Project").build()
 			);
 			
@@ -330,7 +330,7 @@ class ProjectServiceTest {
 			
 			Member member = Member.builder().id(memberId).firstName("John").lastName("Doe").build();
 			
-			when(modelMapper.map(any(Project.class), eq(ProjectResponse.class))).thenReturn(
+			when(projectMapper.toResponse(any(Project.class))).thenReturn(
 					ProjectResponse.builder().publicId(projectId).name("Test Project").build()
 			);
 			
@@ -13,13 +13,13 @@ import app.bola.taskforge.repository.UserRepository;
 import app.bola.taskforge.service.dto.MemberResponse;
 import app.bola.taskforge.service.dto.TaskRequest;
 import app.bola.taskforge.service.dto.TaskResponse;
+import app.bola.taskforge.service.mapper.TaskMapper;
 import jakarta.validation.Validator;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 
 import java.time.LocalDate;
 import java.util.Optional;
@@ -45,7 +45,7 @@ public class TaskServiceTest {
 	@Mock
 	private Validator validator;
 	@Mock
-	private ModelMapper modelMapper;
+	private TaskMapper taskMapper;
 	
 	@InjectMocks
 	private TaskForgeTaskService taskService;
@@ -87,13 +87,13 @@ public class TaskServiceTest {
 				.startDate(LocalDate.now().plusDays(1)).dueDate(LocalDate.now().plusDays(3))
 	            .priority(TaskPriority.LOW).category(TaskCategory.FEATURE).build();
 			
-			when(modelMapper.map(taskRequest, Task.class)).thenReturn(task);
+			when(taskMapper.toEntity(taskRequest)).thenReturn(task);
 			when(validator.validate(taskRequest)).thenReturn(Set.of());
-			when(modelMapper.map(task, TaskResponse.class)).thenReturn(new TaskResponse());
+			when(taskMapper.toResponse(task)).thenReturn(new TaskResponse());
 			when(organizationRepository.findByIdScoped(any())).thenReturn(Optional.of(organization));
 			when(projectRepository.findByIdScoped(project.getPublicId())).thenReturn(Optional.of(project));
 			when(taskRepository.save(task)).thenReturn(task);
-			when(modelMapper.map(task, TaskResponse.class)).thenReturn(TaskResponse.builder().title("Mock Task").build());
+			when(taskMapper.toResponse(task)).thenReturn(TaskResponse.builder().title("Mock Task").build());
 			
 			TaskResponse response = taskService.createNew(taskRequest);
 
@@ -161,12 +161,12 @@ public class TaskServiceTest {
 			            .startDate(LocalDate.now().plusDays(1)).dueDate(LocalDate.now().plusDays(3))
 			            .priority(TaskPriority.LOW).category(TaskCategory.FEATURE).build();
 			
-			when(modelMapper.map(taskRequest, Task.class)).thenReturn(task);
+			when(taskMapper.toEntity(taskRequest)).thenReturn(task);
 			when(validator.validate(taskRequest)).thenReturn(Set.of());
 			when(organizationRepository.findByIdScoped(any())).thenReturn(Optional.of(organization));
 			when(projectRepository.findByIdScoped(project.getPublicId())).thenReturn(Optional.of(project));
 			when(taskRepository.save(task)).thenReturn(task);
-			when(modelMapper.map(any(Task.class), eq(TaskResponse.class))).thenAnswer(invocation -> {
+			when(taskMapper.toResponse(any(Task.class))).thenAnswer(invocation -> {
 				Task taskArg = invocation.getArgument(0);
 				return TaskResponse.builder()
 					.title(taskArg.getTitle()).description(taskArg.getDescription()).dueDate(taskArg.getDueDate())
@@ -357,12 +357,12 @@ public class TaskServiceTest {
 		            .priority(TaskPriority.LOW).status(TaskStatus.IN_PROGRESS).category(TaskCategory.FEATURE)
 		            .publicId(taskId).build();
 			
-			when(modelMapper.map(taskRequest, Task.class)).thenReturn(task);
+			when(taskMapper.toEntity(taskRequest)).thenReturn(task);
 			when(validator.validate(taskRequest)).thenReturn(Set.of());
 			when(organizationRepository.findByIdScoped(any())).thenReturn(Optional.of(organization));
 			when(projectRepository.findByIdScoped(project.getPublicId())).thenReturn(Optional.of(project));
 			when(taskRepository.save(task)).thenReturn(task);
-			when(modelMapper.map(any(Task.class), eq(TaskResponse.class))).thenAnswer(invocation -> {
+			when(taskMapper.toResponse(any(Task.class))).thenAnswer(invocation -> {
 				Task taskArg = invocation.getArgument(0);
 				return TaskResponse.builder()
 						       .title(taskArg.getTitle()).description(taskArg.getDescription())
@@ -386,7 +386,7 @@ public class TaskServiceTest {
 			
 			when(taskRepository.findByIdScoped(response.getPublicId())).thenReturn(Optional.of(task));
 			when(userRepository.findByIdScoped(memberId)).thenReturn(Optional.of(member));
-			when(modelMapper.map(any(Task.class), eq(TaskResponse.class))).thenAnswer(invocation -> {
+			when(taskMapper.toResponse(any(Task.class))).thenAnswer(invocation -> {
 				Task taskArg = invocation.getArgument(0);
 				return TaskResponse.builder()
 						       .category(taskArg.getCategory()).status(TaskStatus.IN_PROGRESS).title(taskArg.getTitle())
@@ -0,0 +1,88 @@
+package app.bola.taskforge.service.mapper;
+
+import app.bola.taskforge.domain.entity.DateRange;
+import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.domain.entity.Organization;
+import app.bola.taskforge.domain.entity.Project;
+import app.bola.taskforge.domain.entity.Task;
+import app.bola.taskforge.domain.enums.ProjectCategory;
+import app.bola.taskforge.domain.enums.Role;
+import app.bola.taskforge.domain.enums.TaskPriority;
+import app.bola.taskforge.service.dto.ProjectRequest;
+import app.bola.taskforge.service.dto.ProjectResponse;
+import app.bola.taskforge.service.dto.TaskRequest;
+import app.bola.taskforge.service.dto.TaskResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MapperTest {
+
+	private final MemberMapper memberMapper = new MemberMapperImpl();
+	private final TaskMapper taskMapper = new TaskMapperImpl(memberMapper);
+	private final ProjectMapper projectMapper = new ProjectMapperImpl(memberMapper);
+
+	@Test
+	@DisplayName("Null request fields leave the entity's defaults in place")
+	void skipsNullSourceProperties() {
+		Task task = taskMapper.toEntity(TaskRequest.builder().title("Write docs").priority(TaskPriority.HIGH).build());
+
+		assertEquals("Write docs", task.getTitle());
+		assertEquals(TaskPriority.HIGH, task.getPriority());
+		assertNull(task.getDescription());
+		assertNotNull(task.getComments());
+		assertNull(task.getProject());
+	}
+
+	@Test
+	@DisplayName("Task responses refer to the project, organization and assignee by public id")
+	void mapsTaskReferencesToPublicIds() {
+		Member assignee = Member.builder().publicId("member-1").email("ada@taskforge.com").imageUrl("https://img/ada.png")
+			.roles(Set.of(Role.TEAM_MEMBER)).build();
+		Task task = Task.builder().publicId("task-1").title("Fix login").assignee(assignee)
+			.project(Project.builder().id("internal-project").publicId("project-1").build())
+			.organization(Organization.builder().id("internal-org").publicId("org-1").build())
+			.build();
+
+		TaskResponse response = taskMapper.toResponse(task);
+
+		assertEquals("project-1", response.getProjectId());
+		assertEquals("org-1", response.getOrganizationId());
+		assertEquals("member-1", response.getAssigneeId());
+		assertEquals("https://img/ada.png", response.getAssignee().getImage());
+		assertEquals(Set.of(Role.TEAM_MEMBER), response.getAssignee().getRoles());
+	}
+
+	@Test
+	@DisplayName("Project responses flatten the date range and list member ids")
+	void mapsProjectDatesAndMembers() {
+		LocalDate start = LocalDate.of(2025, 1, 1);
+		LocalDate end = LocalDate.of(2025, 6, 30);
+		Project project = Project.builder().publicId("project-1").name("Apollo").category(ProjectCategory.SOFTWARE)
+			.dateRange(new DateRange(start, end))
+			.members(Set.of(Member.builder().publicId("member-1").build(), Member.builder().publicId("member-2").build()))
+			.build();
+
+		ProjectResponse response = projectMapper.toResponse(project);
+
+		assertEquals(start, response.getStartDate());
+		assertEquals(end, response.getEndDate());
+		assertEquals("SOFTWARE", response.getCategory());
+		assertEquals(Set.of("member-1", "member-2"), response.getMemberIds());
+		assertEquals(2, response.getMembers().size());
+	}
+
+	@Test
+	@DisplayName("The request status is not copied onto a new project")
+	void leavesProjectStatusToTheService() {
+		Project project = projectMapper.toEntity(ProjectRequest.builder().name("Apollo").status("not-a-status").build());
+
+		assertEquals("Apollo", project.getName());
+		assertNull(project.getStatus());
+		assertTrue(project.getMembers().isEmpty());
+	}
+}
@@ -0,0 +1,100 @@
+package app.bola.taskforge.service.mapper;
+
+import app.bola.taskforge.domain.entity.Member;
+import app.bola.taskforge.domain.entity.Organization;
+import app.bola.taskforge.domain.entity.Project;
+import app.bola.taskforge.domain.entity.Task;
+import app.bola.taskforge.domain.enums.Role;
+import app.bola.taskforge.domain.enums.TaskCategory;
+import app.bola.taskforge.domain.enums.TaskPriority;
+import app.bola.taskforge.domain.enums.TaskStatus;
+import app.bola.taskforge.service.dto.TaskRequest;
+import app.bola.taskforge.service.dto.TaskResponse;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.modelmapper.convention.NamingConventions;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares mappings per second, and bytes allocated per mapping, of the ModelMapper setup the services used to share
+ * against the generated mappers.
+ * <p>
+ * {@code legacy*} maps with ModelMapper configured the way {@code BeanConfig} configured it, {@code generated*} goes
+ * through {@link TaskMapper}. Allocation is reported by the GC profiler as {@code gc.alloc.rate.norm}.
+ * Run it from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=app.bola.taskforge.service.mapper.MappingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+	private ModelMapper modelMapper;
+	private TaskMapper taskMapper;
+	private Task task;
+	private TaskRequest request;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		modelMapper = new ModelMapper();
+		modelMapper.getConfiguration()
+			.setAmbiguityIgnored(true)
+			.setFieldMatchingEnabled(true)
+			.setMatchingStrategy(MatchingStrategies.STRICT)
+			.setFieldAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PRIVATE)
+			.setMethodAccessLevel(org.modelmapper.config.Configuration.AccessLevel.PUBLIC)
+			.setSkipNullEnabled(true)
+			.setSourceNamingConvention(NamingConventions.JAVABEANS_ACCESSOR)
+			.setDestinationNamingConvention(NamingConventions.JAVABEANS_ACCESSOR);
+		taskMapper = new TaskMapperImpl(new MemberMapperImpl());
+
+		Member assignee = Member.builder().publicId("member-1").email("ada@taskforge.com").firstName("Ada")
+			.lastName("Lovelace").active(true).roles(Set.of(Role.TEAM_MEMBER)).build();
+		task = Task.builder().publicId("task-1").title("Fix login").description("Sessions expire too early")
+			.status(TaskStatus.IN_PROGRESS).priority(TaskPriority.HIGH).category(TaskCategory.BUG)
+			.startDate(LocalDate.now()).dueDate(LocalDate.now().plusDays(3)).createdAt(LocalDateTime.now())
+			.project(Project.builder().publicId("project-1").name("Apollo").build())
+			.organization(Organization.builder().publicId("org-1").name("TaskForge").build())
+			.assignee(assignee)
+			.build();
+		request = TaskRequest.builder().title("Fix login").description("Sessions expire too early")
+			.projectId("project-1").organizationId("org-1").priority(TaskPriority.HIGH).category(TaskCategory.BUG)
+			.startDate(LocalDate.now()).dueDate(LocalDate.now().plusDays(3)).build();
+	}
+
+	@Benchmark
+	public TaskResponse legacyResponse() {
+		return modelMapper.map(task, TaskResponse.class);
+	}
+
+	@Benchmark
+	public TaskResponse generatedResponse() {
+		return taskMapper.toResponse(task);
+	}
+
+	@Benchmark
+	public Task legacyEntity() {
+		return modelMapper.map(request, Task.class);
+	}
+
+	@Benchmark
+	public Task generatedEntity() {
+		return taskMapper.toEntity(request);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(MappingBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+	}
+}